@@ -1,8 +1,15 @@
 package com.cardano.monitor.config;
 
+import com.cardano.monitor.model.DetectionMethod;
+import com.cardano.monitor.model.DriftPolicy;
+import com.cardano.monitor.model.LeaderSlotPolicy;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 @ConfigMapping(prefix = "monitor")
 public interface MonitorConfig {
@@ -13,12 +20,54 @@ public interface MonitorConfig {
     @WithName("secondary")
     ServerConfig secondary();
     
+    /**
+     * Further failover candidates after the secondary, highest priority first.
+     */
+    @WithName("standbys")
+    Optional<List<ServerConfig>> standbys();
+    
     @WithName("dns")
     DnsConfig dns();
     
     @WithName("timing")
     TimingConfig timing();
     
+    @WithName("simulator")
+    SimulatorConfig simulator();
+    
+    @WithName("relays")
+    RelayPoolConfig relays();
+    
+    /**
+     * Further stake pools monitored by this instance, each an independent failover group.
+     */
+    @WithName("pools")
+    PoolsConfig pools();
+    
+    @WithName("journal")
+    JournalConfig journal();
+    
+    @WithName("snapshot")
+    SnapshotConfig snapshot();
+    
+    @WithName("shadow")
+    ShadowConfig shadow();
+    
+    @WithName("leader-schedule")
+    LeaderScheduleConfig leaderSchedule();
+    
+    @WithName("standby-verification")
+    StandbyVerificationConfig standbyVerification();
+    
+    @WithName("ha")
+    HaConfig ha();
+    
+    @WithName("vantage")
+    VantageConfig vantage();
+    
+    @WithName("degradation")
+    DegradationConfig degradation();
+    
     interface ServerConfig {
         String name();
         String host();
@@ -41,6 +90,505 @@ public interface MonitorConfig {
         String recordType();
         @WithName("record-ttl")
         int recordTtl();
+        @WithName("propagation")
+        PropagationConfig propagation();
+        @WithName("ttl-lowering")
+        TtlLoweringConfig ttlLowering();
+        @WithName("switch")
+        SwitchConfig switchPolicy();
+        @WithName("quota")
+        QuotaConfig quota();
+        @WithName("additional-records")
+        Optional<List<RecordConfig>> additionalRecords();
+        @WithName("reconcile")
+        ReconcileConfig reconcile();
+        @WithName("detection")
+        DetectionConfig detection();
+        @WithName("responder")
+        ResponderConfig responder();
+    }
+    
+    interface DetectionConfig {
+        @WithDefault("DNS")
+        DetectionMethod method();
+        @WithDefault("ns1.name.com,ns2.name.com,ns3.name.com,ns4.name.com")
+        List<String> nameservers();
+        @WithName("query-timeout")
+        @WithDefault("500ms")
+        Duration queryTimeout();
+    }
+    
+    /**
+     * Built-in authoritative nameserver for a zone delegated to the monitor.
+     * Without a zone the main record's name itself is the delegated zone.
+     */
+    interface ResponderConfig {
+        @WithDefault("false")
+        boolean enabled();
+        Optional<String> zone();
+        @WithName("bind-address")
+        @WithDefault("0.0.0.0")
+        String bindAddress();
+        @WithDefault("53")
+        int port();
+        Optional<List<String>> nameservers();
+        @WithDefault("hostmaster")
+        String hostmaster();
+        @WithName("negative-ttl")
+        @WithDefault("30")
+        int negativeTtl();
+    }
+    
+    interface ReconcileConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithDefault("300s")
+        Duration interval();
+        @WithDefault("REPAIR")
+        DriftPolicy policy();
+        @WithName("history-size")
+        @WithDefault("20")
+        int historySize();
+    }
+    
+    /**
+     * Further record switched together with the main record, e.g. the AAAA twin or another name.
+     * Answers default to the server hosts, which only fits A records.
+     */
+    interface RecordConfig {
+        @WithName("record-id")
+        String recordId();
+        @WithName("record-host")
+        String recordHost();
+        @WithName("record-fqdn")
+        String recordFqdn();
+        @WithName("record-type")
+        @WithDefault("A")
+        String recordType();
+        @WithName("primary-answer")
+        Optional<String> primaryAnswer();
+        @WithName("secondary-answer")
+        Optional<String> secondaryAnswer();
+        /**
+         * Answers for the standbys, in the order of {@code monitor.standbys}; missing ones use the standby's host.
+         */
+        @WithName("standby-answers")
+        Optional<List<String>> standbyAnswers();
+    }
+    
+    interface QuotaConfig {
+        @WithDefault("true")
+        boolean enabled();
+        @WithDefault("60")
+        int capacity();
+        @WithName("refill-interval")
+        @WithDefault("1200ms")
+        Duration refillInterval();
+        @WithName("reconcile-reserve")
+        @WithDefault("10")
+        int reconcileReserve();
+        @WithName("ui-reserve")
+        @WithDefault("30")
+        int uiReserve();
+        /**
+         * How old the last known record may be to answer a read the budget refused; older, the
+         * record counts as unknown.
+         */
+        @WithName("stale-read-max-age")
+        @WithDefault("5m")
+        Duration staleReadMaxAge();
+    }
+    
+    interface SwitchConfig {
+        @WithName("max-attempts")
+        @WithDefault("4")
+        int maxAttempts();
+        @WithName("initial-backoff")
+        @WithDefault("500ms")
+        Duration initialBackoff();
+        @WithName("max-backoff")
+        @WithDefault("4s")
+        Duration maxBackoff();
+        @WithName("attempt-timeout")
+        @WithDefault("10s")
+        Duration attemptTimeout();
+        @WithName("hedge-delay")
+        @WithDefault("2s")
+        Duration hedgeDelay();
+        @WithName("read-cache-max-age")
+        @WithDefault("30s")
+        Duration readCacheMaxAge();
+        @WithName("group-deadline")
+        @WithDefault("30s")
+        Duration groupDeadline();
+    }
+    
+    interface PropagationConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithDefault("ns1.name.com,ns2.name.com,ns3.name.com,ns4.name.com")
+        List<String> nameservers();
+        @WithName("poll-interval")
+        @WithDefault("1s")
+        Duration pollInterval();
+        @WithName("query-timeout")
+        @WithDefault("2s")
+        Duration queryTimeout();
+        @WithDefault("300s")
+        Duration timeout();
+        @WithName("history-size")
+        @WithDefault("20")
+        int historySize();
+    }
+    
+    interface TtlLoweringConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithName("lowered-ttl")
+        @WithDefault("30")
+        int loweredTtl();
+        @WithName("stable-period")
+        @WithDefault("600s")
+        Duration stablePeriod();
+    }
+    
+    /**
+     * Pool of relays published as one name with an A record per healthy relay.
+     */
+    interface PoolsConfig {
+        /**
+         * Scheduler shards the pools are spread over; a pool's checks never queue behind another shard.
+         */
+        @WithDefault("4")
+        int shards();
+        Optional<List<PoolConfig>> groups();
+    }
+    
+    /**
+     * One pool's servers and main record. The API account, domain and DNS policies are shared
+     * with the top-level configuration; a full {@code timing} block replaces the global timing.
+     */
+    interface PoolConfig {
+        String name();
+        ServerConfig primary();
+        ServerConfig secondary();
+        Optional<List<ServerConfig>> standbys();
+        @WithName("record-id")
+        String recordId();
+        @WithName("record-host")
+        String recordHost();
+        @WithName("record-fqdn")
+        String recordFqdn();
+        @WithName("record-type")
+        @WithDefault("A")
+        String recordType();
+        @WithName("record-ttl")
+        Optional<Integer> recordTtl();
+        @WithName("additional-records")
+        Optional<List<RecordConfig>> additionalRecords();
+        Optional<TimingConfig> timing();
+    }
+    
+    /**
+     * Binary journal of every probe, DNS read, decision and switch, kept in memory-mapped segment files.
+     */
+    interface JournalConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithDefault("journal")
+        String directory();
+        @WithName("segment-size")
+        @WithDefault("8388608")
+        long segmentSize();
+        @WithName("sync-interval")
+        @WithDefault("200ms")
+        Duration syncInterval();
+        // Oldest segments beyond this many are deleted; 0 keeps them all
+        @WithName("max-segments")
+        @WithDefault("16")
+        int maxSegments();
+    }
+    
+    /**
+     * Local snapshot of the monitor state, restored on boot so a restart keeps the failover and failback timers.
+     */
+    interface SnapshotConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithDefault("monitor-state.snapshot")
+        String file();
+        @WithDefault("10s")
+        Duration interval();
+        @WithName("max-age")
+        @WithDefault("15m")
+        Duration maxAge();
+    }
+    
+    /**
+     * A second decision path run on the live probes with its own delays; it records the switches it would make instead of making them.
+     */
+    interface ShadowConfig {
+        @WithDefault("false")
+        boolean enabled();
+        /**
+         * Defaults to {@code timing.failover-delay}.
+         */
+        @WithName("failover-delay")
+        Optional<Duration> failoverDelay();
+        /**
+         * Defaults to {@code timing.failback-delay}.
+         */
+        @WithName("failback-delay")
+        Optional<Duration> failbackDelay();
+        @WithName("history-size")
+        @WithDefault("100")
+        int historySize();
+    }
+    
+    /**
+     * The pool's leader slots, from a cncli leaderlog JSON file that is read again whenever it changes.
+     */
+    interface LeaderScheduleConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithDefault("leaderlog.json")
+        String file();
+        /**
+         * How long before a slot a switch is unwelcome.
+         */
+        @WithDefault("120s")
+        Duration guard();
+        @WithName("failover-policy")
+        @WithDefault("EXPEDITE")
+        LeaderSlotPolicy failoverPolicy();
+        @WithName("failback-policy")
+        @WithDefault("DEFER")
+        LeaderSlotPolicy failbackPolicy();
+    }
+    
+    /**
+     * In-depth checks of the failover targets while a failover is counting down: the node-to-node
+     * handshake on the node's port, then tip age and peer count from its Prometheus metrics.
+     * The metrics settings also serve the degradation watch's tip lag.
+     */
+    interface StandbyVerificationConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithName("network-magic")
+        @WithDefault("764824073")
+        long networkMagic();
+        @WithName("metrics-port")
+        @WithDefault("12798")
+        int metricsPort();
+        @WithName("metrics-path")
+        @WithDefault("/metrics")
+        String metricsPath();
+        @WithName("tip-metric")
+        @WithDefault("cardano_node_metrics_slotNum_int")
+        String tipMetric();
+        @WithName("peers-metric")
+        @WithDefault("cardano_node_metrics_connectedPeers_int")
+        String peersMetric();
+        /**
+         * When slot 0 would have started at one slot per second; the default is mainnet's.
+         */
+        @WithName("slot-zero-time")
+        @WithDefault("2020-06-07T21:44:51Z")
+        Instant slotZeroTime();
+        @WithName("max-tip-age")
+        @WithDefault("120s")
+        Duration maxTipAge();
+        @WithName("min-peers")
+        @WithDefault("2")
+        int minPeers();
+        /**
+         * How long a verdict counts before the candidate is checked again.
+         */
+        @WithName("verdict-max-age")
+        @WithDefault("2m")
+        Duration verdictMaxAge();
+    }
+    
+    /**
+     * Several monitor instances for one group, of which only the holder of a lease in a shared file
+     * writes DNS; the others keep checking so one of them can take over when the lease runs out.
+     */
+    interface HaConfig {
+        @WithDefault("false")
+        boolean enabled();
+        /**
+         * Must differ between the instances sharing a lease. Defaults to the host name plus a random
+         * suffix drawn at start, so instances on one host or with one container host name differ.
+         */
+        @WithName("instance-id")
+        Optional<String> instanceId();
+        /**
+         * On a filesystem every instance mounts, with working locks, e.g. NFSv4.
+         */
+        @WithName("lease-file")
+        @WithDefault("monitor.lease")
+        String leaseFile();
+        /**
+         * How long a lease lasts unless renewed; a follower takes over at most this long after the leader dies.
+         */
+        @WithName("lease-period")
+        @WithDefault("15s")
+        Duration leasePeriod();
+    }
+    
+    /**
+     * Probe agents on other networks, so one monitor's broken uplink cannot fail a healthy node over.
+     * The same binary runs either as the monitor, counting agent reports towards a quorum, or as an
+     * agent that only probes and reports.
+     */
+    interface VantageConfig {
+        /**
+         * Count agent reports on this monitor.
+         */
+        @WithDefault("false")
+        boolean enabled();
+        /**
+         * Vantage points, this monitor included, that must see a node down before it counts as
+         * down; with fewer fresh vantage points, all of them must agree.
+         */
+        @WithDefault("2")
+        int quorum();
+        /**
+         * How long an agent's report counts; an agent silent for longer has no vote.
+         */
+        @WithName("report-max-age")
+        @WithDefault("90s")
+        Duration reportMaxAge();
+        /**
+         * Run as a probe agent: probe every node, report to the monitor, never check or write DNS.
+         */
+        @WithDefault("false")
+        boolean agent();
+        /**
+         * Defaults to the host name plus a random suffix drawn at start; set it to keep one id across
+         * restarts.
+         */
+        @WithName("agent-id")
+        Optional<String> agentId();
+        @WithName("report-interval")
+        @WithDefault("30s")
+        Duration reportInterval();
+    }
+    
+    /**
+     * Spotting a node on its way down before it stops answering, from a sustained rise in its
+     * connect latency or in how far its tip lags behind the wall clock. A degraded active node
+     * does not fail over by itself; it makes the monitor ready to fail over quickly.
+     */
+    interface DegradationConfig {
+        @WithDefault("false")
+        boolean enabled();
+        /**
+         * Weight of each new sample in the learned baseline.
+         */
+        @WithName("baseline-alpha")
+        @WithDefault("0.05")
+        double baselineAlpha();
+        /**
+         * How far above the baseline, in standard deviations, a sample may be without counting.
+         */
+        @WithDefault("1")
+        double slack();
+        /**
+         * Sum of counted deviations that marks the node degraded.
+         */
+        @WithDefault("5")
+        double threshold();
+        /**
+         * Samples taken to learn a baseline before a node can be marked degraded.
+         */
+        @WithName("warm-up")
+        @WithDefault("20")
+        int warmUp();
+        /**
+         * How often the servers are checked while the active one is degraded, and while the
+         * failover counts down.
+         */
+        @WithName("probe-interval")
+        @WithDefault("10s")
+        Duration probeInterval();
+        /**
+         * Also follow the active node's tip age. It has no metrics settings of its own: it uses
+         * {@code metrics-port}, {@code metrics-path}, {@code tip-metric} and {@code slot-zero-time}
+         * under {@code standby-verification}, even when standby verification is disabled.
+         */
+        @WithName("tip-lag")
+        @WithDefault("true")
+        boolean tipLag();
+    }
+    
+    interface RelayPoolConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithName("record-host")
+        @WithDefault("relays")
+        String recordHost();
+        @WithName("record-type")
+        @WithDefault("A")
+        String recordType();
+        @WithDefault("60")
+        int ttl();
+        @WithName("check-interval")
+        @WithDefault("30s")
+        Duration checkInterval();
+        @WithName("max-answers")
+        @WithDefault("0")
+        int maxAnswers();
+        @WithDefault("2")
+        int rise();
+        @WithDefault("2")
+        int fall();
+        Optional<List<RelayMemberConfig>> members();
+    }
+    
+    interface RelayMemberConfig {
+        String name();
+        String host();
+        int port();
+        @WithDefault("100")
+        int weight();
+        Optional<String> answer();
+    }
+    
+    /**
+     * Embedded name.com API simulator for offline development and benchmarks.
+     */
+    interface SimulatorConfig {
+        @WithDefault("false")
+        boolean enabled();
+        @WithDefault("8082")
+        int port();
+        @WithName("latency-median")
+        @WithDefault("80ms")
+        Duration latencyMedian();
+        @WithName("latency-p99")
+        @WithDefault("400ms")
+        Duration latencyP99();
+        @WithName("error-rate")
+        @WithDefault("0")
+        double errorRate();
+        @WithName("error-status")
+        @WithDefault("503")
+        int errorStatus();
+        @WithName("slow-body-rate")
+        @WithDefault("0")
+        double slowBodyRate();
+        @WithName("slow-body-delay")
+        @WithDefault("2s")
+        Duration slowBodyDelay();
+        @WithName("rate-limit-per-second")
+        @WithDefault("20")
+        int rateLimitPerSecond();
+        @WithName("rate-limit-burst")
+        @WithDefault("20")
+        int rateLimitBurst();
+        @WithDefault("42")
+        long seed();
     }
     
     interface TimingConfig {
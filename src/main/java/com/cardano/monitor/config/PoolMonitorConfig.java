@@ -0,0 +1,342 @@
+package com.cardano.monitor.config;
+
+import com.cardano.monitor.model.LeaderSlotPolicy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The configuration one extra pool's services see: its own servers, main record and timing on
+ * top of the shared settings. Features that exist once per process - the built-in nameserver,
+ * the relay pool and the simulator - stay with the top-level configuration.
+ */
+public record PoolMonitorConfig(MonitorConfig global, MonitorConfig.PoolConfig pool) implements MonitorConfig {
+
+    @Override
+    public ServerConfig primary() {
+        return pool.primary();
+    }
+
+    @Override
+    public ServerConfig secondary() {
+        return pool.secondary();
+    }
+
+    @Override
+    public Optional<List<ServerConfig>> standbys() {
+        return pool.standbys();
+    }
+
+    @Override
+    public DnsConfig dns() {
+        return new PoolDnsConfig(global.dns(), pool);
+    }
+
+    @Override
+    public TimingConfig timing() {
+        return pool.timing().orElse(global.timing());
+    }
+
+    @Override
+    public SimulatorConfig simulator() {
+        return global.simulator();
+    }
+
+    @Override
+    public RelayPoolConfig relays() {
+        return global.relays();
+    }
+
+    @Override
+    public PoolsConfig pools() {
+        return global.pools();
+    }
+
+    @Override
+    public JournalConfig journal() {
+        return new PoolJournalConfig(global.journal(), pool.name());
+    }
+
+    @Override
+    public SnapshotConfig snapshot() {
+        return new PoolSnapshotConfig(global.snapshot(), pool.name());
+    }
+
+    @Override
+    public ShadowConfig shadow() {
+        return global.shadow();
+    }
+
+    @Override
+    public StandbyVerificationConfig standbyVerification() {
+        return global.standbyVerification();
+    }
+
+    @Override
+    public LeaderScheduleConfig leaderSchedule() {
+        return new PoolLeaderScheduleConfig(global.leaderSchedule(), pool.name());
+    }
+
+    @Override
+    public VantageConfig vantage() {
+        return global.vantage();
+    }
+
+    @Override
+    public DegradationConfig degradation() {
+        return global.degradation();
+    }
+
+    @Override
+    public HaConfig ha() {
+        return new PoolHaConfig(global.ha(), pool.name());
+    }
+
+    private record PoolDnsConfig(DnsConfig global, PoolConfig pool) implements DnsConfig {
+
+        @Override
+        public String apiBaseUrl() {
+            return global.apiBaseUrl();
+        }
+
+        @Override
+        public String username() {
+            return global.username();
+        }
+
+        @Override
+        public String password() {
+            return global.password();
+        }
+
+        @Override
+        public String domain() {
+            return global.domain();
+        }
+
+        @Override
+        public String recordId() {
+            return pool.recordId();
+        }
+
+        @Override
+        public String recordHost() {
+            return pool.recordHost();
+        }
+
+        @Override
+        public String recordFqdn() {
+            return pool.recordFqdn();
+        }
+
+        @Override
+        public String recordType() {
+            return pool.recordType();
+        }
+
+        @Override
+        public int recordTtl() {
+            return pool.recordTtl().orElse(global.recordTtl());
+        }
+
+        @Override
+        public PropagationConfig propagation() {
+            return global.propagation();
+        }
+
+        @Override
+        public TtlLoweringConfig ttlLowering() {
+            return global.ttlLowering();
+        }
+
+        @Override
+        public SwitchConfig switchPolicy() {
+            return global.switchPolicy();
+        }
+
+        @Override
+        public QuotaConfig quota() {
+            return global.quota();
+        }
+
+        @Override
+        public Optional<List<RecordConfig>> additionalRecords() {
+            return pool.additionalRecords();
+        }
+
+        @Override
+        public ReconcileConfig reconcile() {
+            return global.reconcile();
+        }
+
+        @Override
+        public DetectionConfig detection() {
+            return global.detection();
+        }
+
+        @Override
+        public ResponderConfig responder() {
+            return new DisabledResponderConfig(global.responder());
+        }
+    }
+
+    /**
+     * Each pool journals into its own subdirectory, so pools never share a segment file.
+     */
+    private record PoolJournalConfig(JournalConfig global, String pool) implements JournalConfig {
+
+        @Override
+        public boolean enabled() {
+            return global.enabled();
+        }
+
+        @Override
+        public String directory() {
+            return Path.of(global.directory(), pool).toString();
+        }
+
+        @Override
+        public long segmentSize() {
+            return global.segmentSize();
+        }
+
+        @Override
+        public Duration syncInterval() {
+            return global.syncInterval();
+        }
+
+        @Override
+        public int maxSegments() {
+            return global.maxSegments();
+        }
+    }
+
+    /**
+     * Each pool keeps its snapshot next to the top-level one, prefixed with the pool name.
+     */
+    private record PoolSnapshotConfig(SnapshotConfig global, String pool) implements SnapshotConfig {
+
+        @Override
+        public boolean enabled() {
+            return global.enabled();
+        }
+
+        @Override
+        public String file() {
+            Path file = Path.of(global.file());
+            return file.resolveSibling(pool + "-" + file.getFileName()).toString();
+        }
+
+        @Override
+        public Duration interval() {
+            return global.interval();
+        }
+
+        @Override
+        public Duration maxAge() {
+            return global.maxAge();
+        }
+    }
+
+    /**
+     * The built-in nameserver serves the top-level group only; pools write through the API.
+     */
+    private record DisabledResponderConfig(ResponderConfig global) implements ResponderConfig {
+
+        @Override
+        public boolean enabled() {
+            return false;
+        }
+
+        @Override
+        public Optional<String> zone() {
+            return global.zone();
+        }
+
+        @Override
+        public String bindAddress() {
+            return global.bindAddress();
+        }
+
+        @Override
+        public int port() {
+            return global.port();
+        }
+
+        @Override
+        public Optional<List<String>> nameservers() {
+            return global.nameservers();
+        }
+
+        @Override
+        public String hostmaster() {
+            return global.hostmaster();
+        }
+
+        @Override
+        public int negativeTtl() {
+            return global.negativeTtl();
+        }
+    }
+
+    /**
+     * Each pool reads its own leader log next to the top-level one, prefixed with the pool name.
+     */
+    private record PoolLeaderScheduleConfig(LeaderScheduleConfig global, String pool) implements LeaderScheduleConfig {
+
+        @Override
+        public boolean enabled() {
+            return global.enabled();
+        }
+
+        @Override
+        public String file() {
+            Path file = Path.of(global.file());
+            return file.resolveSibling(pool + "-" + file.getFileName()).toString();
+        }
+
+        @Override
+        public Duration guard() {
+            return global.guard();
+        }
+
+        @Override
+        public LeaderSlotPolicy failoverPolicy() {
+            return global.failoverPolicy();
+        }
+
+        @Override
+        public LeaderSlotPolicy failbackPolicy() {
+            return global.failbackPolicy();
+        }
+    }
+
+    /**
+     * Each pool elects its leader through its own lease next to the top-level one, prefixed with the pool name.
+     */
+    private record PoolHaConfig(HaConfig global, String pool) implements HaConfig {
+
+        @Override
+        public boolean enabled() {
+            return global.enabled();
+        }
+
+        @Override
+        public Optional<String> instanceId() {
+            return global.instanceId();
+        }
+
+        @Override
+        public String leaseFile() {
+            Path file = Path.of(global.leaseFile());
+            return file.resolveSibling(pool + "-" + file.getFileName()).toString();
+        }
+
+        @Override
+        public Duration leasePeriod() {
+            return global.leasePeriod();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.cardano.monitor.dns;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves one {@link AuthoritativeZone} over UDP and TCP from a single selector thread.
+ * The zone is read through an atomic reference for every query, so {@link #swap} takes
+ * effect for the very next packet without locking the hot path.
+ */
+@Slf4j
+public class AuthoritativeDnsServer implements AutoCloseable {
+
+    private static final int MAX_UDP_RESPONSE = 512;
+    private static final int MAX_TCP_MESSAGE = 65535;
+    private static final int MAX_TCP_CONNECTIONS = 128;
+    private static final Duration TCP_IDLE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicReference<AuthoritativeZone> zone;
+    private final Selector selector;
+    private final DatagramChannel udp;
+    private final ServerSocketChannel tcp;
+    private final Thread loop;
+    private final LongAdder udpQueries = new LongAdder();
+    private final LongAdder tcpQueries = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private int tcpConnections;
+
+    private volatile boolean running = true;
+
+    public record Stats(long udpQueries, long tcpQueries, long dropped) {}
+
+    private static final class TcpConnection {
+        final ByteBuffer in = ByteBuffer.allocate(2 + MAX_TCP_MESSAGE);
+        final Deque<ByteBuffer> out = new ArrayDeque<>();
+        long lastActivityNanos = System.nanoTime();
+    }
+
+    private AuthoritativeDnsServer(InetSocketAddress bindAddress, AuthoritativeZone initialZone) throws IOException {
+        this.zone = new AtomicReference<>(initialZone);
+        this.selector = Selector.open();
+        try {
+            this.udp = DatagramChannel.open();
+            udp.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            udp.bind(bindAddress);
+            udp.configureBlocking(false);
+            udp.register(selector, SelectionKey.OP_READ);
+
+            // Same port for TCP, also when an ephemeral UDP port was picked
+            InetSocketAddress bound = (InetSocketAddress) udp.getLocalAddress();
+            this.tcp = ServerSocketChannel.open();
+            tcp.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            tcp.bind(new InetSocketAddress(bindAddress.getAddress(), bound.getPort()));
+            tcp.configureBlocking(false);
+            tcp.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            selector.close();
+            throw e;
+        }
+        this.loop = Thread.ofPlatform().name("dns-responder").daemon().unstarted(this::run);
+    }
+
+    /**
+     * Binds UDP and TCP on {@code bindAddress}; port 0 picks a free port, shared by both.
+     */
+    public static AuthoritativeDnsServer start(InetSocketAddress bindAddress, AuthoritativeZone initialZone) throws IOException {
+        AuthoritativeDnsServer server = new AuthoritativeDnsServer(bindAddress, initialZone);
+        server.loop.start();
+        log.info("Authoritative DNS responder for {} listening on {}", initialZone.apex(), server.localAddress());
+        return server;
+    }
+
+    public InetSocketAddress localAddress() {
+        try {
+            return (InetSocketAddress) udp.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public AuthoritativeZone zone() {
+        return zone.get();
+    }
+
+    public void swap(AuthoritativeZone next) {
+        zone.set(next);
+    }
+
+    public Stats stats() {
+        return new Stats(udpQueries.sum(), tcpQueries.sum(), dropped.sum());
+    }
+
+    private void run() {
+        ByteBuffer datagram = ByteBuffer.allocate(MAX_TCP_MESSAGE);
+        while (running) {
+            try {
+                selector.select(1000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.channel() == udp) {
+                        serveUdp(datagram);
+                    } else if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        serveTcp(key);
+                    }
+                }
+                closeIdleConnections();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("DNS responder I/O error", e);
+                }
+            } catch (RuntimeException e) {
+                log.error("DNS responder failed to handle a request", e);
+            }
+        }
+    }
+
+    private void serveUdp(ByteBuffer datagram) throws IOException {
+        while (true) {
+            datagram.clear();
+            InetSocketAddress client = (InetSocketAddress) udp.receive(datagram);
+            if (client == null) {
+                return;
+            }
+            udpQueries.increment();
+            byte[] response = zone.get().respond(datagram.array(), datagram.position(), MAX_UDP_RESPONSE);
+            // A full send buffer drops the answer; the client retries like after any lost datagram
+            if (response == null || udp.send(ByteBuffer.wrap(response), client) == 0) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = tcp.accept();
+        if (channel == null) {
+            return;
+        }
+        if (tcpConnections >= MAX_TCP_CONNECTIONS) {
+            channel.close();
+            dropped.increment();
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new TcpConnection());
+        tcpConnections++;
+    }
+
+    private void serveTcp(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        TcpConnection connection = (TcpConnection) key.attachment();
+        try {
+            if (key.isReadable() && channel.read(connection.in) < 0) {
+                closeConnection(key);
+                return;
+            }
+            connection.lastActivityNanos = System.nanoTime();
+            answerFramedQueries(connection);
+
+            while (!connection.out.isEmpty()) {
+                ByteBuffer pending = connection.out.peekFirst();
+                channel.write(pending);
+                if (pending.hasRemaining()) {
+                    break;
+                }
+                connection.out.pollFirst();
+            }
+            key.interestOps(connection.out.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            closeConnection(key);
+        }
+    }
+
+    /**
+     * Answers every complete length-prefixed query in the read buffer and keeps any partial one.
+     */
+    private void answerFramedQueries(TcpConnection connection) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (in.remaining() >= 2) {
+            int length = ((in.get(in.position()) & 0xFF) << 8) | (in.get(in.position() + 1) & 0xFF);
+            if (in.remaining() < 2 + length) {
+                break;
+            }
+            byte[] query = new byte[length];
+            in.position(in.position() + 2);
+            in.get(query);
+            tcpQueries.increment();
+
+            byte[] response = zone.get().respond(query, length, MAX_TCP_MESSAGE);
+            if (response == null) {
+                dropped.increment();
+                continue;
+            }
+            ByteBuffer framed = ByteBuffer.allocate(2 + response.length);
+            framed.putShort((short) response.length).put(response).flip();
+            connection.out.addLast(framed);
+        }
+        in.compact();
+    }
+
+    private void closeIdleConnections() {
+        long idleBefore = System.nanoTime() - TCP_IDLE_TIMEOUT.toNanos();
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof TcpConnection connection && connection.lastActivityNanos < idleBefore) {
+                closeConnection(key);
+            }
+        }
+    }
+
+    private void closeConnection(SelectionKey key) {
+        if (!key.isValid()) {
+            // Closed earlier in the same pass; counting it again would drift the connection count
+            return;
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Error closing DNS TCP connection", e);
+        }
+        tcpConnections--;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(Duration.ofSeconds(2));
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.debug("Error closing DNS responder", e);
+        }
+        log.info("Authoritative DNS responder stopped");
+    }
+}
@@ -0,0 +1,289 @@
+package com.cardano.monitor.dns;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a delegated zone with every possible answer encoded up front.
+ * Answering a query only copies the question out of the request and appends the
+ * precomputed records, so a new zone takes effect by swapping a single reference.
+ * Names below the apex that are not configured get NXDOMAIN, other types of a
+ * configured name get an empty NOERROR, both with the SOA for negative caching.
+ */
+public final class AuthoritativeZone {
+
+    private static final int FLAG_RESPONSE = 0x8000;
+    private static final int FLAG_AUTHORITATIVE = 0x0400;
+    private static final int FLAG_TRUNCATED = 0x0200;
+    private static final int FLAG_RECURSION_DESIRED = 0x0100;
+    private static final int OPCODE_MASK = 0x7800;
+    private static final int QUESTION_NAME_POINTER = 0xC000 | DnsMessageCodec.HEADER_SIZE;
+    private static final byte[] EMPTY = new byte[0];
+
+    public record RecordSet(String name, String type, int ttl, List<String> answers) {}
+
+    private record Answer(int rcode, boolean authoritative, int answerCount, int authorityCount, byte[] records) {}
+
+    private final String apex;
+    private final long serial;
+    private final Map<String, List<String>> addresses;
+    private final Map<String, Answer> answers;
+    private final Set<String> existingNames;
+    private final Answer noData;
+    private final Answer nxDomain;
+    private final Answer refused = new Answer(DnsMessageCodec.RCODE_REFUSED, false, 0, 0, EMPTY);
+    private final Answer notReady = new Answer(DnsMessageCodec.RCODE_SERVFAIL, false, 0, 0, EMPTY);
+    private final boolean ready;
+
+    private AuthoritativeZone(String apex, List<String> nameservers, String hostmaster, long serial, int negativeTtl,
+                              List<RecordSet> recordSets, boolean ready) {
+        this.apex = DnsMessageCodec.normalizeName(apex);
+        this.serial = serial;
+        this.ready = ready;
+
+        byte[] soa = soaRecord(this.apex, nameservers.isEmpty() ? this.apex : nameservers.getFirst(), hostmaster, serial, negativeTtl);
+        this.noData = new Answer(DnsMessageCodec.RCODE_NOERROR, true, 0, 1, soa);
+        this.nxDomain = new Answer(DnsMessageCodec.RCODE_NXDOMAIN, true, 0, 1, soa);
+
+        Map<String, List<String>> addresses = new HashMap<>();
+        Map<String, Answer> answers = new HashMap<>();
+        Set<String> existingNames = new HashSet<>();
+        existingNames.add(this.apex);
+
+        answers.put(key(this.apex, DnsMessageCodec.TYPE_SOA), new Answer(DnsMessageCodec.RCODE_NOERROR, true, 1, 0, soa));
+        if (!nameservers.isEmpty()) {
+            ByteArrayOutputStream ns = new ByteArrayOutputStream();
+            for (String nameserver : nameservers) {
+                writeRecordHeader(ns, DnsMessageCodec.TYPE_NS, negativeTtl);
+                byte[] target = encodeName(nameserver);
+                DnsMessageCodec.writeShort(ns, target.length);
+                ns.writeBytes(target);
+            }
+            answers.put(key(this.apex, DnsMessageCodec.TYPE_NS),
+                new Answer(DnsMessageCodec.RCODE_NOERROR, true, nameservers.size(), 0, ns.toByteArray()));
+        }
+
+        for (RecordSet recordSet : recordSets) {
+            String name = DnsMessageCodec.normalizeName(recordSet.name());
+            if (!inZone(name)) {
+                throw new IllegalArgumentException(recordSet.name() + " is not inside zone " + this.apex);
+            }
+            int type = DnsMessageCodec.typeOf(recordSet.type());
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            for (String address : recordSet.answers()) {
+                byte[] rdata = DnsMessageCodec.toAddressBytes(address, type);
+                writeRecordHeader(records, type, recordSet.ttl());
+                DnsMessageCodec.writeShort(records, rdata.length);
+                records.writeBytes(rdata);
+            }
+            answers.put(key(name, type),
+                new Answer(DnsMessageCodec.RCODE_NOERROR, true, recordSet.answers().size(), 0, records.toByteArray()));
+            addresses.put(key(name, type), List.copyOf(recordSet.answers()));
+
+            // Parents of a configured name exist too and must not be reported as NXDOMAIN
+            for (String owner = name; !owner.equals(this.apex); owner = owner.substring(owner.indexOf('.') + 1)) {
+                existingNames.add(owner);
+            }
+        }
+
+        this.addresses = Map.copyOf(addresses);
+        this.answers = Map.copyOf(answers);
+        this.existingNames = Set.copyOf(existingNames);
+    }
+
+    public static AuthoritativeZone of(String apex, List<String> nameservers, String hostmaster, long serial,
+                                       int negativeTtl, List<RecordSet> recordSets) {
+        return new AuthoritativeZone(apex, nameservers, hostmaster, serial, negativeTtl, recordSets, true);
+    }
+
+    /**
+     * A zone without data yet; queries for it get SERVFAIL so resolvers try another nameserver.
+     */
+    public static AuthoritativeZone notReady(String apex) {
+        return new AuthoritativeZone(apex, List.of(), "hostmaster", 0, 0, List.of(), false);
+    }
+
+    public String apex() {
+        return apex;
+    }
+
+    public long serial() {
+        return serial;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<String> answers(String name, String type) {
+        return addresses.getOrDefault(key(DnsMessageCodec.normalizeName(name), DnsMessageCodec.typeOf(type)), List.of());
+    }
+
+    /**
+     * Builds the response to a raw query.
+     *
+     * @param maxSize largest response the transport can carry; bigger answers are sent truncated
+     * @return the response, or null if the message is a response itself and must be dropped
+     */
+    public byte[] respond(byte[] query, int length, int maxSize) {
+        if (length < DnsMessageCodec.HEADER_SIZE) {
+            return null;
+        }
+        int flags = readShort(query, 2);
+        if ((flags & FLAG_RESPONSE) != 0) {
+            return null;
+        }
+
+        int questionEnd = questionEnd(query, length);
+        if (readShort(query, 4) != 1 || questionEnd < 0) {
+            return response(query, flags, DnsMessageCodec.RCODE_FORMERR, false, false, DnsMessageCodec.HEADER_SIZE, 0, 0, EMPTY);
+        }
+        if ((flags & OPCODE_MASK) != 0) {
+            return response(query, flags, DnsMessageCodec.RCODE_NOTIMP, false, false, questionEnd, 0, 0, EMPTY);
+        }
+
+        String name = readQuestionName(query);
+        int type = readShort(query, questionEnd - 4);
+        // Only the Internet class lives in this zone; CHAOS probes and the like are turned away
+        Answer answer = readShort(query, questionEnd - 2) == DnsMessageCodec.CLASS_IN ? lookup(name, type) : refused;
+
+        if (questionEnd + answer.records().length > maxSize) {
+            return response(query, flags, answer.rcode(), answer.authoritative(), true, questionEnd, 0, 0, EMPTY);
+        }
+        return response(query, flags, answer.rcode(), answer.authoritative(), false, questionEnd,
+            answer.answerCount(), answer.authorityCount(), answer.records());
+    }
+
+    private Answer lookup(String name, int type) {
+        if (!inZone(name)) {
+            return refused;
+        }
+        if (!ready) {
+            return notReady;
+        }
+        Answer answer = answers.get(key(name, type));
+        if (answer != null) {
+            return answer;
+        }
+        return existingNames.contains(name) ? noData : nxDomain;
+    }
+
+    private boolean inZone(String name) {
+        return name.equals(apex) || name.endsWith("." + apex);
+    }
+
+    /**
+     * Header plus the question copied verbatim from the query, which keeps the case of the
+     * name intact for resolvers that randomize it, followed by {@code records}.
+     */
+    private static byte[] response(byte[] query, int queryFlags, int rcode, boolean authoritative, boolean truncated,
+                                   int questionEnd, int answerCount, int authorityCount, byte[] records) {
+        byte[] response = new byte[questionEnd + records.length];
+        System.arraycopy(query, 0, response, 0, questionEnd);
+        System.arraycopy(records, 0, response, questionEnd, records.length);
+        int flags = FLAG_RESPONSE
+            | (authoritative ? FLAG_AUTHORITATIVE : 0)
+            | (truncated ? FLAG_TRUNCATED : 0)
+            | (queryFlags & (FLAG_RECURSION_DESIRED | OPCODE_MASK))
+            | (rcode & 0x0F);
+        writeShort(response, 2, flags);
+        writeShort(response, 4, questionEnd > DnsMessageCodec.HEADER_SIZE ? 1 : 0);
+        writeShort(response, 6, answerCount);
+        writeShort(response, 8, authorityCount);
+        writeShort(response, 10, 0);
+        return response;
+    }
+
+    /**
+     * Offset just past QTYPE/QCLASS of the only question, or -1 if it is malformed or compressed.
+     */
+    private static int questionEnd(byte[] query, int length) {
+        int position = DnsMessageCodec.HEADER_SIZE;
+        while (position < length) {
+            int labelLength = query[position] & 0xFF;
+            if (labelLength == 0) {
+                position += 1 + 4;
+                return position <= length ? position : -1;
+            }
+            if (labelLength > 63) {
+                return -1;
+            }
+            position += 1 + labelLength;
+        }
+        return -1;
+    }
+
+    private static String readQuestionName(byte[] query) {
+        StringBuilder name = new StringBuilder();
+        int position = DnsMessageCodec.HEADER_SIZE;
+        int labelLength;
+        while ((labelLength = query[position] & 0xFF) != 0) {
+            if (!name.isEmpty()) {
+                name.append('.');
+            }
+            name.append(new String(query, position + 1, labelLength, StandardCharsets.US_ASCII));
+            position += 1 + labelLength;
+        }
+        return name.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] soaRecord(String apex, String primaryNameserver, String hostmaster, long serial, int negativeTtl) {
+        ByteArrayOutputStream rdata = new ByteArrayOutputStream();
+        rdata.writeBytes(encodeName(primaryNameserver));
+        rdata.writeBytes(encodeName(hostmaster.contains(".") ? hostmaster : hostmaster + "." + apex));
+        writeInt(rdata, serial);
+        writeInt(rdata, 3600);   // refresh
+        writeInt(rdata, 600);    // retry
+        writeInt(rdata, 86400);  // expire
+        writeInt(rdata, negativeTtl);
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.writeBytes(encodeName(apex));
+        DnsMessageCodec.writeShort(record, DnsMessageCodec.TYPE_SOA);
+        DnsMessageCodec.writeShort(record, DnsMessageCodec.CLASS_IN);
+        writeInt(record, negativeTtl);
+        DnsMessageCodec.writeShort(record, rdata.size());
+        record.writeBytes(rdata.toByteArray());
+        return record.toByteArray();
+    }
+
+    /**
+     * Owner, type, class and TTL of a record owned by the question name.
+     */
+    private static void writeRecordHeader(ByteArrayOutputStream out, int type, int ttl) {
+        DnsMessageCodec.writeShort(out, QUESTION_NAME_POINTER);
+        DnsMessageCodec.writeShort(out, type);
+        DnsMessageCodec.writeShort(out, DnsMessageCodec.CLASS_IN);
+        writeInt(out, ttl);
+    }
+
+    private static byte[] encodeName(String name) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DnsMessageCodec.writeName(out, name);
+        return out.toByteArray();
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, long value) {
+        DnsMessageCodec.writeShort(out, (int) (value >>> 16) & 0xFFFF);
+        DnsMessageCodec.writeShort(out, (int) value & 0xFFFF);
+    }
+
+    private static int readShort(byte[] buf, int offset) {
+        return ((buf[offset] & 0xFF) << 8) | (buf[offset + 1] & 0xFF);
+    }
+
+    private static void writeShort(byte[] buf, int offset, int value) {
+        buf[offset] = (byte) (value >>> 8);
+        buf[offset + 1] = (byte) value;
+    }
+
+    private static String key(String name, int type) {
+        return name + "/" + type;
+    }
+}
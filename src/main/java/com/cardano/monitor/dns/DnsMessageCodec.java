@@ -0,0 +1,285 @@
+package com.cardano.monitor.dns;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal RFC 1035 wire-format codec.
+ * Only supports what the monitor needs: single-question queries and
+ * A / AAAA answers, including compressed names in responses.
+ */
+public final class DnsMessageCodec {
+
+    public static final int TYPE_A = 1;
+    public static final int TYPE_NS = 2;
+    public static final int TYPE_SOA = 6;
+    public static final int TYPE_AAAA = 28;
+    public static final int CLASS_IN = 1;
+
+    public static final int RCODE_NOERROR = 0;
+    public static final int RCODE_FORMERR = 1;
+    public static final int RCODE_SERVFAIL = 2;
+    public static final int RCODE_NXDOMAIN = 3;
+    public static final int RCODE_NOTIMP = 4;
+    public static final int RCODE_REFUSED = 5;
+
+    static final int HEADER_SIZE = 12;
+    private static final int MAX_POINTER_JUMPS = 16;
+
+    private DnsMessageCodec() {
+    }
+
+    public record Question(int id, String name, int type, boolean recursionDesired) {}
+
+    public record Response(int id, int rcode, boolean authoritative, boolean truncated, List<String> answers) {
+
+        public boolean isSuccess() {
+            return rcode == RCODE_NOERROR;
+        }
+    }
+
+    /**
+     * Maps a record type name from the configuration ("A" or "AAAA") to its wire value.
+     */
+    public static int typeOf(String recordType) {
+        if ("AAAA".equalsIgnoreCase(recordType)) {
+            return TYPE_AAAA;
+        }
+        if ("A".equalsIgnoreCase(recordType)) {
+            return TYPE_A;
+        }
+        throw new IllegalArgumentException("Unsupported record type: " + recordType);
+    }
+
+    public static byte[] encodeQuery(int id, String name, int type, boolean recursionDesired) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + name.length() + 6);
+        writeShort(out, id);
+        writeShort(out, recursionDesired ? 0x0100 : 0x0000);
+        writeShort(out, 1); // QDCOUNT
+        writeShort(out, 0); // ANCOUNT
+        writeShort(out, 0); // NSCOUNT
+        writeShort(out, 0); // ARCOUNT
+        writeName(out, name);
+        writeShort(out, type);
+        writeShort(out, CLASS_IN);
+        return out.toByteArray();
+    }
+
+    public static Question decodeQuery(byte[] buf, int len) {
+        ByteBuffer in = ByteBuffer.wrap(buf, 0, len);
+        try {
+            int id = in.getShort() & 0xFFFF;
+            int flags = in.getShort() & 0xFFFF;
+            int qdCount = in.getShort() & 0xFFFF;
+            in.position(HEADER_SIZE);
+            if ((flags & 0x8000) != 0 || qdCount != 1) {
+                throw new DnsFormatException("Not a single-question query");
+            }
+            String name = readName(in, buf, len);
+            int type = in.getShort() & 0xFFFF;
+            in.getShort(); // QCLASS
+            return new Question(id, name, type, (flags & 0x0100) != 0);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new DnsFormatException("Truncated query");
+        }
+    }
+
+    /**
+     * Encodes an authoritative response echoing the question.
+     * Every answer string must be an IPv4 address for {@link #TYPE_A} or an IPv6 address for {@link #TYPE_AAAA}.
+     */
+    public static byte[] encodeResponse(Question question, int rcode, List<String> answers, int ttl) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        writeShort(out, question.id());
+        int flags = 0x8000 | 0x0400 | (question.recursionDesired() ? 0x0100 : 0) | (rcode & 0x0F);
+        writeShort(out, flags);
+        writeShort(out, 1);
+        writeShort(out, answers.size());
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeName(out, question.name());
+        writeShort(out, question.type());
+        writeShort(out, CLASS_IN);
+        for (String answer : answers) {
+            byte[] address = toAddressBytes(answer, question.type());
+            writeShort(out, 0xC000 | HEADER_SIZE); // pointer to the question name
+            writeShort(out, question.type());
+            writeShort(out, CLASS_IN);
+            writeShort(out, ttl >>> 16);
+            writeShort(out, ttl & 0xFFFF);
+            writeShort(out, address.length);
+            out.writeBytes(address);
+        }
+        return out.toByteArray();
+    }
+
+    public static Response decodeResponse(byte[] buf, int len) {
+        ByteBuffer in = ByteBuffer.wrap(buf, 0, len);
+        try {
+            int id = in.getShort() & 0xFFFF;
+            int flags = in.getShort() & 0xFFFF;
+            if ((flags & 0x8000) == 0) {
+                throw new DnsFormatException("Message is not a response");
+            }
+            int qdCount = in.getShort() & 0xFFFF;
+            int anCount = in.getShort() & 0xFFFF;
+            in.position(HEADER_SIZE);
+
+            for (int i = 0; i < qdCount; i++) {
+                skipName(in);
+                in.position(in.position() + 4);
+            }
+
+            List<String> answers = new ArrayList<>(anCount);
+            for (int i = 0; i < anCount; i++) {
+                skipName(in);
+                int type = in.getShort() & 0xFFFF;
+                in.getShort(); // CLASS
+                in.getInt();   // TTL
+                int rdLength = in.getShort() & 0xFFFF;
+                if ((type == TYPE_A && rdLength == 4) || (type == TYPE_AAAA && rdLength == 16)) {
+                    byte[] address = new byte[rdLength];
+                    in.get(address);
+                    answers.add(InetAddress.getByAddress(address).getHostAddress());
+                } else {
+                    in.position(in.position() + rdLength);
+                }
+            }
+
+            return new Response(id, flags & 0x0F, (flags & 0x0400) != 0, (flags & 0x0200) != 0, List.copyOf(answers));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new DnsFormatException("Truncated or malformed response");
+        } catch (UnknownHostException e) {
+            throw new DnsFormatException("Invalid address in answer");
+        }
+    }
+
+    /**
+     * Canonical form used for comparisons: lower case, no trailing dot.
+     */
+    public static String normalizeName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".") ? lower.substring(0, lower.length() - 1) : lower;
+    }
+
+    /**
+     * Compares two textual IP addresses by value, so "2001:db8::1" matches "2001:db8:0:0:0:0:0:1".
+     */
+    public static boolean sameAddress(String a, String b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a.equals(b)) {
+            return true;
+        }
+        if (!isAddressLiteral(a) || !isAddressLiteral(b)) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(a).equals(InetAddress.getByName(b));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static boolean isAddressLiteral(String value) {
+        return value.indexOf(':') >= 0 || value.chars().allMatch(c -> c == '.' || Character.isDigit(c));
+    }
+
+    static byte[] toAddressBytes(String answer, int type) {
+        try {
+            byte[] address = InetAddress.getByName(answer).getAddress();
+            int expected = type == TYPE_AAAA ? 16 : 4;
+            if (address.length != expected) {
+                throw new IllegalArgumentException("Answer " + answer + " does not match record type " + type);
+            }
+            return address;
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Answer is not an IP address: " + answer, e);
+        }
+    }
+
+    static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write((value >>> 8) & 0xFF);
+        out.write(value & 0xFF);
+    }
+
+    static void writeName(ByteArrayOutputStream out, String name) {
+        String normalized = normalizeName(name);
+        if (!normalized.isEmpty()) {
+            for (String label : normalized.split("\\.")) {
+                byte[] bytes = label.getBytes(StandardCharsets.US_ASCII);
+                if (bytes.length == 0 || bytes.length > 63) {
+                    throw new IllegalArgumentException("Invalid DNS label in " + name);
+                }
+                out.write(bytes.length);
+                out.writeBytes(bytes);
+            }
+        }
+        out.write(0);
+    }
+
+    private static String readName(ByteBuffer in, byte[] buf, int len) {
+        StringBuilder name = new StringBuilder();
+        int position = in.position();
+        int resumeAt = -1;
+        int jumps = 0;
+        while (true) {
+            if (position >= len) {
+                throw new DnsFormatException("Name runs past end of message");
+            }
+            int labelLength = buf[position] & 0xFF;
+            if ((labelLength & 0xC0) == 0xC0) {
+                if (++jumps > MAX_POINTER_JUMPS || position + 1 >= len) {
+                    throw new DnsFormatException("Invalid compression pointer");
+                }
+                if (resumeAt < 0) {
+                    resumeAt = position + 2;
+                }
+                position = ((labelLength & 0x3F) << 8) | (buf[position + 1] & 0xFF);
+                continue;
+            }
+            if (labelLength == 0) {
+                position++;
+                break;
+            }
+            if (position + 1 + labelLength > len) {
+                throw new DnsFormatException("Label runs past end of message");
+            }
+            if (!name.isEmpty()) {
+                name.append('.');
+            }
+            name.append(new String(buf, position + 1, labelLength, StandardCharsets.US_ASCII));
+            position += 1 + labelLength;
+        }
+        in.position(resumeAt >= 0 ? resumeAt : position);
+        return name.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void skipName(ByteBuffer in) {
+        while (true) {
+            int labelLength = in.get() & 0xFF;
+            if ((labelLength & 0xC0) == 0xC0) {
+                in.get();
+                return;
+            }
+            if (labelLength == 0) {
+                return;
+            }
+            in.position(in.position() + labelLength);
+        }
+    }
+
+    public static class DnsFormatException extends RuntimeException {
+        public DnsFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.cardano.monitor.dns;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends single DNS questions over UDP and waits for the matching answer.
+ * Stateless and thread-safe; every query uses its own ephemeral socket.
+ */
+public class DnsQueryClient {
+
+    public static final int DEFAULT_PORT = 53;
+
+    private static final int MAX_UDP_PAYLOAD = 512;
+
+    /**
+     * Parses "host" or "host:port" (and "[v6]:port") into an unresolved address, defaulting to port 53.
+     */
+    public static InetSocketAddress parseNameserver(String nameserver) {
+        String value = nameserver.trim();
+        if (value.startsWith("[")) {
+            int close = value.indexOf(']');
+            String host = value.substring(1, close);
+            int port = close + 1 < value.length() ? Integer.parseInt(value.substring(close + 2)) : DEFAULT_PORT;
+            return InetSocketAddress.createUnresolved(host, port);
+        }
+        int colon = value.indexOf(':');
+        if (colon > 0 && colon == value.lastIndexOf(':')) {
+            return InetSocketAddress.createUnresolved(value.substring(0, colon), Integer.parseInt(value.substring(colon + 1)));
+        }
+        return InetSocketAddress.createUnresolved(value, DEFAULT_PORT);
+    }
+
+    public static InetSocketAddress resolve(InetSocketAddress address) throws UnknownHostException {
+        if (!address.isUnresolved()) {
+            return address;
+        }
+        return new InetSocketAddress(InetAddress.getByName(address.getHostString()), address.getPort());
+    }
+
+    /**
+     * Asks {@code server} for {@code name}/{@code type} without recursion.
+     *
+     * @throws SocketTimeoutException if no matching response arrived within {@code timeout}
+     */
+    public DnsMessageCodec.Response query(InetSocketAddress server, String name, int type, Duration timeout) throws IOException {
+        InetSocketAddress target = resolve(server);
+        int id = ThreadLocalRandom.current().nextInt(0x10000);
+        byte[] request = DnsMessageCodec.encodeQuery(id, name, type, false);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.send(new DatagramPacket(request, request.length, target));
+            byte[] buffer = new byte[MAX_UDP_PAYLOAD];
+
+            while (true) {
+                long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                if (remainingMillis <= 0) {
+                    throw new SocketTimeoutException("No answer from " + target + " for " + name);
+                }
+                socket.setSoTimeout((int) remainingMillis);
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+
+                // Ignore stray datagrams from other sources or for other queries
+                if (!target.getAddress().equals(packet.getAddress()) || target.getPort() != packet.getPort()) {
+                    continue;
+                }
+                DnsMessageCodec.Response response;
+                try {
+                    response = DnsMessageCodec.decodeResponse(packet.getData(), packet.getLength());
+                } catch (DnsMessageCodec.DnsFormatException e) {
+                    continue;
+                }
+                if (response.id() == id) {
+                    return response;
+                }
+            }
+        }
+    }
+}
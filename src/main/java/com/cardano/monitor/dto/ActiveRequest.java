@@ -7,11 +7,18 @@ import jakarta.validation.constraints.AssertTrue;
 public record ActiveRequest(
     
     @JsonProperty("active")
-    ServerType active
+    ServerType active,
+    
+    @JsonProperty("candidate")
+    String candidate
 ) {
-    @AssertTrue(message = "'active' must be specified with 'PRIMARY' or 'SECONDARY'")
+    public ActiveRequest(ServerType active) {
+        this(active, null);
+    }
+    
+    @AssertTrue(message = "'active' must be specified with 'PRIMARY' or 'SECONDARY', or 'candidate' with a server name")
     public boolean isValid() {
-        return active != null;
+        return active != null || candidate != null;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.cardano.monitor.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One probe agent's view of every node it checks, sent to the monitor in a single gzip-compressed
+ * request per round. Nodes are named by {@link #endpoint}, so one report covers every pool.
+ */
+public record ProbeReport(
+    
+    @NotBlank
+    @JsonProperty("agent")
+    String agent,
+    
+    @JsonProperty("checked_at")
+    Instant checkedAt,
+    
+    @JsonProperty("up")
+    List<String> up,
+    
+    @JsonProperty("down")
+    List<String> down
+) {
+    
+    public static String endpoint(String host, int port) {
+        return host + ":" + port;
+    }
+}
@@ -0,0 +1,234 @@
+package com.cardano.monitor.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of fixed-size records in memory-mapped segment files. An append is a
+ * copy into the mapping, so it costs no system call; a background thread forces what was
+ * appended to disk once per sync interval, committing every record of that interval with
+ * one fsync. A full segment is forced and closed, and the next one starts at the following
+ * sequence; segments beyond the retained count are deleted oldest first. Reopening a
+ * directory continues after the last record that passes its CRC.
+ */
+@Slf4j
+public final class Journal implements AutoCloseable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ByteBuffer scratch = ByteBuffer.allocate(JournalSegment.RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService syncer;
+
+    private MappedByteBuffer segment;
+    private int position;
+    private int syncedPosition;
+    private long nextSequence;
+    private boolean closed;
+
+    private Journal(Path directory, long segmentSize, Duration syncInterval, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.maxSegments = maxSegments;
+        long records = Math.max(1, (Math.min(segmentSize, Integer.MAX_VALUE) - JournalSegment.HEADER_SIZE) / JournalSegment.RECORD_SIZE);
+        this.segmentSize = (int) (JournalSegment.HEADER_SIZE + records * JournalSegment.RECORD_SIZE);
+        Files.createDirectories(directory);
+        recover();
+        prune();
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> Thread.ofPlatform()
+            .name("journal-sync-" + directory.getFileName()).daemon(true).unstarted(runnable));
+        long intervalMillis = Math.max(1, syncInterval.toMillis());
+        syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed.
+     *
+     * @param segmentSize  bytes per segment file, rounded down to whole records
+     * @param syncInterval how long appended records may wait for their fsync
+     */
+    public static Journal open(Path directory, long segmentSize, Duration syncInterval) throws IOException {
+        return open(directory, segmentSize, syncInterval, 0);
+    }
+
+    /**
+     * Like {@link #open(Path, long, Duration)}, keeping at most {@code maxSegments} segments.
+     *
+     * @param maxSegments segments to keep, including the one being written; 0 keeps them all
+     */
+    public static Journal open(Path directory, long segmentSize, Duration syncInterval, int maxSegments) throws IOException {
+        return new Journal(directory, segmentSize, syncInterval, maxSegments);
+    }
+
+    /**
+     * @return the record's sequence, or -1 once the journal is closed or a new segment could not be created
+     */
+    public synchronized long append(JournalRecord.Type type, long timestamp, int candidate, int code, long value) {
+        if (closed) {
+            return -1;
+        }
+        if (position + JournalSegment.RECORD_SIZE > segment.capacity()) {
+            try {
+                roll();
+            } catch (IOException e) {
+                log.error("Cannot start journal segment in {}", directory, e);
+                return -1;
+            }
+        }
+        long sequence = nextSequence++;
+        JournalSegment.write(segment, position, scratch, crc, sequence, timestamp, type, candidate, code, value);
+        position += JournalSegment.RECORD_SIZE;
+        return sequence;
+    }
+
+    /**
+     * Forces everything appended so far to disk now instead of at the next interval.
+     */
+    public void sync() {
+        MappedByteBuffer current;
+        int from;
+        int to;
+        synchronized (this) {
+            if (closed || position == syncedPosition) {
+                return;
+            }
+            current = segment;
+            from = syncedPosition;
+            to = position;
+            syncedPosition = position;
+        }
+        // Outside the lock, so appends keep landing in the mapping while the disk catches up
+        current.force(from, to - from);
+    }
+
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        syncer.shutdownNow();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            segment.force();
+            closed = true;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Journal sync in {} failed: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Continues the newest segment after its last valid record, or starts the first one.
+     */
+    private void recover() throws IOException {
+        List<Path> segments = JournalSegment.list(directory);
+        if (segments.isEmpty()) {
+            startSegment(0);
+            return;
+        }
+        Path last = segments.getLast();
+        MappedByteBuffer mapped = map(last, Files.size(last));
+        long first = JournalSegment.firstSequence(mapped);
+        if (first < 0) {
+            log.warn("Journal segment {} has no valid header, starting it over", last);
+            Files.delete(last);
+            startSegment(segments.size() > 1 ? lastSequenceOf(segments.get(segments.size() - 2)) + 1 : 0);
+            return;
+        }
+        segment = mapped;
+        position = endOf(mapped, first);
+        syncedPosition = position;
+        nextSequence = first + (position - JournalSegment.HEADER_SIZE) / JournalSegment.RECORD_SIZE;
+        log.info("Journal {} continues at sequence {}", directory, nextSequence);
+    }
+
+    private long lastSequenceOf(Path file) throws IOException {
+        MappedByteBuffer mapped = map(file, Files.size(file));
+        long first = JournalSegment.firstSequence(mapped);
+        if (first < 0) {
+            return -1;
+        }
+        return first + (endOf(mapped, first) - JournalSegment.HEADER_SIZE) / JournalSegment.RECORD_SIZE - 1;
+    }
+
+    /**
+     * @return the offset just past the segment's last valid record
+     */
+    private int endOf(ByteBuffer mapped, long first) {
+        int offset = JournalSegment.HEADER_SIZE;
+        long sequence = first;
+        while (JournalSegment.read(mapped, offset, crc, sequence) != null) {
+            offset += JournalSegment.RECORD_SIZE;
+            sequence++;
+        }
+        return offset;
+    }
+
+    private void roll() throws IOException {
+        segment.force();
+        startSegment(nextSequence);
+        prune();
+    }
+
+    /**
+     * Deletes the oldest segments beyond {@code maxSegments}; one that cannot be deleted is
+     * tried again at the next roll.
+     */
+    private void prune() {
+        if (maxSegments <= 0) {
+            return;
+        }
+        try {
+            List<Path> segments = JournalSegment.list(directory);
+            for (int i = 0; i < segments.size() - maxSegments; i++) {
+                Files.deleteIfExists(segments.get(i));
+                log.debug("Deleted journal segment {}", segments.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("Cannot delete old journal segments in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        MappedByteBuffer mapped = map(JournalSegment.path(directory, firstSequence), segmentSize);
+        JournalSegment.writeHeader(mapped, firstSequence, System.currentTimeMillis());
+        mapped.force(0, JournalSegment.HEADER_SIZE);
+        segment = mapped;
+        position = JournalSegment.HEADER_SIZE;
+        syncedPosition = position;
+        nextSequence = firstSequence;
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.cardano.monitor.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Streams a journal back, segment by segment, oldest first. Each segment is read up to its first
+ * torn or missing record, so a journal that is still being written, or was cut short by a crash,
+ * reads as everything that was committed. Segments are mapped read-only and one at a time.
+ */
+public final class JournalReader implements Iterator<JournalRecord> {
+
+    private final List<Path> segments;
+    private final long fromSequence;
+    private final CRC32C crc = new CRC32C();
+
+    private int nextSegment;
+    private ByteBuffer segment;
+    private int offset;
+    private long expectedSequence;
+    private JournalRecord next;
+
+    private JournalReader(List<Path> segments, long fromSequence) {
+        this.segments = segments;
+        this.fromSequence = fromSequence;
+    }
+
+    public static Stream<JournalRecord> read(Path directory) throws IOException {
+        return read(directory, 0);
+    }
+
+    /**
+     * @param fromSequence the first sequence of interest; older segments are skipped without being read
+     */
+    public static Stream<JournalRecord> read(Path directory, long fromSequence) throws IOException {
+        List<Path> all = JournalSegment.list(directory);
+        int first = 0;
+        for (int i = 1; i < all.size(); i++) {
+            if (firstSequenceOf(all.get(i)) <= fromSequence) {
+                first = i;
+            }
+        }
+        JournalReader reader = new JournalReader(all.subList(first, all.size()), fromSequence);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (segment != null) {
+                JournalRecord record = JournalSegment.read(segment, offset, crc, expectedSequence);
+                if (record != null) {
+                    offset += JournalSegment.RECORD_SIZE;
+                    expectedSequence++;
+                    if (record.sequence() >= fromSequence) {
+                        next = record;
+                    }
+                    continue;
+                }
+                segment = null;
+            }
+            if (nextSegment == segments.size()) {
+                return false;
+            }
+            openSegment(segments.get(nextSegment++));
+        }
+        return true;
+    }
+
+    @Override
+    public JournalRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JournalRecord record = next;
+        next = null;
+        return record;
+    }
+
+    private void openSegment(Path file) {
+        try {
+            ByteBuffer mapped = map(file);
+            long first = JournalSegment.firstSequence(mapped);
+            if (first >= 0) {
+                // Fixed-size records: jump straight to the first one of interest
+                long skip = Math.max(0, fromSequence - first);
+                segment = mapped;
+                offset = (int) Math.min(mapped.capacity(), JournalSegment.HEADER_SIZE + skip * JournalSegment.RECORD_SIZE);
+                expectedSequence = first + skip;
+            }
+        } catch (NoSuchFileException e) {
+            // Deleted by retention since the reader listed it
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long firstSequenceOf(Path file) throws IOException {
+        return JournalSegment.firstSequence(map(file));
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, Files.size(file));
+        }
+    }
+}
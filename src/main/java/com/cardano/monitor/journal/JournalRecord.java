@@ -0,0 +1,54 @@
+package com.cardano.monitor.journal;
+
+/**
+ * One fixed-size journal entry. What {@code candidate}, {@code code} and {@code value} mean
+ * depends on the {@link Type}; unused fields are 0, or -1 for the candidate.
+ *
+ * @param sequence  position in the journal, one higher than the entry before it
+ * @param timestamp wall clock time in epoch milliseconds
+ */
+public record JournalRecord(long sequence, long timestamp, Type type, int candidate, int code, long value) {
+
+    public enum Type {
+        /**
+         * A health probe of one candidate: {@code code} is 1 when it answered, {@code value} the probe time in microseconds.
+         */
+        PROBE(1),
+        /**
+         * Where DNS pointed at the start of a cycle: {@code candidate} is the active index, {@code value} the read time in microseconds.
+         */
+        DNS_READ(2),
+        /**
+         * A cycle's decision: {@code candidate} is the active index, {@code code} the {@code NextAction} journal code
+         * and {@code value} the switch target, or -1 when no switch was asked for.
+         */
+        DECISION(3),
+        /**
+         * An applied DNS switch: {@code candidate} is the target, {@code code} is 1 when it succeeded,
+         * {@code value} the write time in microseconds.
+         */
+        SWITCH(4);
+
+        private static final Type[] BY_ID = new Type[5];
+
+        static {
+            for (Type type : values()) {
+                BY_ID[type.id] = type;
+            }
+        }
+
+        private final byte id;
+
+        Type(int id) {
+            this.id = (byte) id;
+        }
+
+        byte id() {
+            return id;
+        }
+
+        static Type of(byte id) {
+            return id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cardano.monitor.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of one segment file: a 32-byte header followed by 32-byte records, each led by a
+ * CRC32C of the other 28 bytes. Segments are created zero-filled at full size, so the first
+ * slot that fails its CRC or breaks the sequence marks the end of the written data.
+ *
+ * <pre>
+ * header: magic(4) record size(4) first sequence(8) created at(8) reserved(8)
+ * record: crc(4) type(1) candidate(1) code(2) sequence(8) timestamp(8) value(8)
+ * </pre>
+ */
+final class JournalSegment {
+
+    static final int RECORD_SIZE = 32;
+    static final int HEADER_SIZE = 32;
+    static final int MAGIC = 0x43524A31; // "CRJ1"
+    static final String SUFFIX = ".journal";
+
+    private JournalSegment() {
+    }
+
+    static Path path(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    }
+
+    /**
+     * Segment files in the directory, oldest first; the zero-padded names sort by first sequence.
+     */
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    static void writeHeader(ByteBuffer segment, long firstSequence, long createdAt) {
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, RECORD_SIZE);
+        segment.putLong(8, firstSequence);
+        segment.putLong(16, createdAt);
+    }
+
+    /**
+     * @return the header's first sequence, or -1 when the header is not one of ours
+     */
+    static long firstSequence(ByteBuffer segment) {
+        if (segment.capacity() < HEADER_SIZE || segment.getInt(0) != MAGIC || segment.getInt(4) != RECORD_SIZE) {
+            return -1;
+        }
+        return segment.getLong(8);
+    }
+
+    /**
+     * Encodes a record into {@code scratch} and copies it to {@code offset}.
+     */
+    static void write(ByteBuffer segment, int offset, ByteBuffer scratch, CRC32C crc, long sequence, long timestamp,
+                      JournalRecord.Type type, int candidate, int code, long value) {
+        scratch.clear();
+        scratch.putInt(0);
+        scratch.put(type.id());
+        scratch.put((byte) candidate);
+        scratch.putShort((short) code);
+        scratch.putLong(sequence);
+        scratch.putLong(timestamp);
+        scratch.putLong(value);
+        scratch.putInt(0, checksum(crc, scratch, 0));
+        segment.put(offset, scratch, 0, RECORD_SIZE);
+    }
+
+    /**
+     * @return the record at {@code offset}, or null when the slot is empty, torn or not the expected sequence
+     */
+    static JournalRecord read(ByteBuffer segment, int offset, CRC32C crc, long expectedSequence) {
+        if (offset + RECORD_SIZE > segment.capacity()) {
+            return null;
+        }
+        if (segment.getInt(offset) != checksum(crc, segment, offset)) {
+            return null;
+        }
+        JournalRecord.Type type = JournalRecord.Type.of(segment.get(offset + 4));
+        long sequence = segment.getLong(offset + 8);
+        if (type == null || sequence != expectedSequence) {
+            return null;
+        }
+        return new JournalRecord(sequence, segment.getLong(offset + 16), type, segment.get(offset + 5),
+            segment.getShort(offset + 6), segment.getLong(offset + 24));
+    }
+
+    private static int checksum(CRC32C crc, ByteBuffer buffer, int offset) {
+        crc.reset();
+        crc.update(buffer.slice(offset + 4, RECORD_SIZE - 4));
+        return (int) crc.getValue();
+    }
+}
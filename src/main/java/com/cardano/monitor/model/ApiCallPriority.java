@@ -0,0 +1,23 @@
+package com.cardano.monitor.model;
+
+/**
+ * Priority lanes for DNS provider API calls, highest first.
+ * When the shared rate limit runs low, lower lanes are turned away first.
+ */
+public enum ApiCallPriority {
+    
+    /**
+     * Record writes during failover, failback and TTL changes. Never rejected locally.
+     */
+    SWITCH,
+    
+    /**
+     * Reads the monitor needs to know what DNS currently points to.
+     */
+    RECONCILE,
+    
+    /**
+     * Reads made on behalf of the dashboard or API clients.
+     */
+    UI
+}
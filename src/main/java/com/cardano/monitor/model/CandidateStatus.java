@@ -0,0 +1,20 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * One failover candidate as seen by the last check, in priority order: index 0 is the primary,
+ * 1 the secondary and higher indexes the configured standbys.
+ */
+public record CandidateStatus(
+    @JsonProperty("index") int index,
+    @JsonProperty("role") ServerType role,
+    @JsonProperty("name") String name,
+    @JsonProperty("host") String host,
+    @JsonProperty("port") int port,
+    @JsonProperty("status") ServerHealthStatus status,
+    @JsonProperty("down_since") Instant downSince,
+    @JsonProperty("up_since") Instant upSince,
+    @JsonProperty("active") boolean active
+) {}
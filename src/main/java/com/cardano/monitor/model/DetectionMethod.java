@@ -0,0 +1,17 @@
+package com.cardano.monitor.model;
+
+/**
+ * How the monitor finds out which server the DNS record currently points to.
+ */
+public enum DetectionMethod {
+    
+    /**
+     * Ask the zone's authoritative nameservers directly over UDP; fall back to the API if none answers.
+     */
+    DNS,
+    
+    /**
+     * Read the record through the name.com API.
+     */
+    REST
+}
@@ -0,0 +1,25 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * One mismatch between the server the monitor wants DNS to point to and what the provider returned.
+ * {@code groupState} is set when the main record matched but other records of the group did not.
+ */
+public record DriftEvent(
+    @JsonProperty("detected_at") Instant detectedAt,
+    @JsonProperty("desired") ServerType desired,
+    @JsonProperty("actual") ServerType actual,
+    @JsonProperty("actual_answer") String actualAnswer,
+    @JsonProperty("group_state") FailoverGroupStatus.State groupState,
+    @JsonProperty("policy") DriftPolicy policy,
+    @JsonProperty("action") Action action
+) {
+    
+    public enum Action {
+        REPAIRED,
+        REPAIR_FAILED,
+        ALERTED
+    }
+}
@@ -0,0 +1,17 @@
+package com.cardano.monitor.model;
+
+/**
+ * What the reconciler does when the DNS record no longer matches what the monitor decided.
+ */
+public enum DriftPolicy {
+    
+    /**
+     * Write the desired answer back to the provider.
+     */
+    REPAIR,
+    
+    /**
+     * Leave the record alone, log the drift and let the monitor follow the record as found.
+     */
+    ALERT
+}
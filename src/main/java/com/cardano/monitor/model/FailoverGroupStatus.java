@@ -0,0 +1,41 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of the last write to every record of the failover group.
+ * {@code PARTIAL} means some names already point to the new server while others do not.
+ */
+public record FailoverGroupStatus(
+    @JsonProperty("operation") String operation,
+    @JsonProperty("state") State state,
+    @JsonProperty("started_at") Instant startedAt,
+    @JsonProperty("completed_at") Instant completedAt,
+    @JsonProperty("records") List<RecordResult> records
+) {
+    
+    public enum State {
+        COMPLETE,
+        PARTIAL,
+        FAILED
+    }
+    
+    public record RecordResult(
+        @JsonProperty("record_id") String recordId,
+        @JsonProperty("fqdn") String fqdn,
+        @JsonProperty("type") String type,
+        @JsonProperty("answer") String answer,
+        @JsonProperty("updated") boolean updated,
+        @JsonProperty("error") String error
+    ) {}
+    
+    public static State stateOf(List<RecordResult> records) {
+        long updated = records.stream().filter(RecordResult::updated).count();
+        if (updated == records.size()) {
+            return State.COMPLETE;
+        }
+        return updated == 0 ? State.FAILED : State.PARTIAL;
+    }
+}
@@ -0,0 +1,25 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * This instance's place among the monitor instances sharing a lease. Only the leader writes DNS;
+ * {@code holder} and {@code leaseExpiresAt} are the lease as this instance last read it.
+ */
+public record HaStatus(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("instance_id") String instanceId,
+    @JsonProperty("leader") boolean leader,
+    @JsonProperty("holder") String holder,
+    @JsonProperty("term") long term,
+    @JsonProperty("lease_expires_at") Instant leaseExpiresAt
+) {
+
+    /**
+     * A single instance, which always leads.
+     */
+    public static HaStatus disabled() {
+        return new HaStatus(false, null, true, null, 0, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cardano.monitor.model;
+
+/**
+ * How a pending switch is timed around the pool's next leader slot.
+ */
+public enum LeaderSlotPolicy {
+    
+    /**
+     * Switch when the delay has passed, whatever the schedule says.
+     */
+    IGNORE,
+    
+    /**
+     * Hold a switch that falls due within the guard before a slot until the slot has passed.
+     */
+    DEFER,
+    
+    /**
+     * Switch right away, without waiting out the delay, when waiting would land the switch
+     * within the guard before a slot or after it.
+     */
+    EXPEDITE
+}
@@ -12,66 +12,105 @@ public enum NextAction {
      * Normal operation - everything is stable and no action is needed.
      * Both servers are healthy and the system is operating normally.
      */
-    NONE("none"),
+    NONE("none", 0),
     
     /**
-     * Waiting for failover delay to expire before switching to secondary.
-     * Primary server is down, secondary is available, but we're waiting
+     * Waiting for failover delay to expire before switching away from the active server.
+     * The active server is down, another candidate is available, but we're waiting
      * for the configured failover delay to prevent flapping.
      */
-    WAITING_FOR_FAILOVER("waiting_for_failover"),
+    WAITING_FOR_FAILOVER("waiting_for_failover", 1),
     
     /**
-     * Waiting for failback delay to expire before switching back to primary.
-     * Primary server is back up and we're currently using secondary,
-     * but we're waiting for the configured failback delay to ensure stability.
+     * Waiting for failback delay to expire before switching back to a higher-priority server.
+     * A server ahead of the active one is back up, but we're waiting
+     * for the configured failback delay to ensure stability.
      */
-    WAITING_FOR_FAILBACK("waiting_for_failback"),
+    WAITING_FOR_FAILBACK("waiting_for_failback", 2),
     
     /**
      * Successfully switched DNS to secondary server.
      * This indicates that a failover operation has just completed.
      */
-    SWITCHED_TO_SECONDARY("switched_to_secondary"),
+    SWITCHED_TO_SECONDARY("switched_to_secondary", 3),
     
     /**
      * Successfully switched DNS back to primary server.
      * This indicates that a failback operation has just completed.
      */
-    SWITCHED_TO_PRIMARY("switched_to_primary"),
+    SWITCHED_TO_PRIMARY("switched_to_primary", 4),
+    
+    /**
+     * Successfully switched DNS to one of the standbys after the secondary.
+     */
+    SWITCHED_TO_STANDBY("switched_to_standby", 5),
     
     /**
      * Failed to switch DNS to secondary server.
      * Attempted failover but the DNS update operation failed.
      * This requires manual intervention to resolve.
      */
-    FAILED_TO_SWITCH_TO_SECONDARY("failed_to_switch_to_secondary"),
+    FAILED_TO_SWITCH_TO_SECONDARY("failed_to_switch_to_secondary", 6),
     
     /**
      * Failed to switch DNS back to primary server.
      * Attempted failback but the DNS update operation failed.
      * This requires manual intervention to resolve.
      */
-    FAILED_TO_SWITCH_TO_PRIMARY("failed_to_switch_to_primary"),
+    FAILED_TO_SWITCH_TO_PRIMARY("failed_to_switch_to_primary", 7),
     
     /**
-     * Critical error - both servers are down.
-     * Primary server is down and secondary server is also unavailable.
+     * Failed to switch DNS to one of the standbys.
+     */
+    FAILED_TO_SWITCH_TO_STANDBY("failed_to_switch_to_standby", 8),
+    
+    /**
+     * Critical error - all servers are down.
+     * Primary server is down and secondary server and standbys are also unavailable.
      * This is a critical situation requiring immediate attention.
      */
-    BOTH_SERVERS_DOWN("both_servers_down"),
+    BOTH_SERVERS_DOWN("both_servers_down", 9),
     
     /**
      * Secondary server is down while we're using it.
-     * We're currently routing traffic to secondary but it's not responding.
-     * This is a critical situation as we have no healthy servers active.
+     * No longer reported: a down secondary or standby is failed over like the primary,
+     * via {@link #WAITING_FOR_FAILOVER}. Kept so older clients still parse the value.
      */
-    SECONDARY_SERVER_DOWN("secondary_server_down");
+    SECONDARY_SERVER_DOWN("secondary_server_down", 10),
+    
+    /**
+     * A switch is due but held until the pool's next leader slot has passed.
+     */
+    WAITING_FOR_LEADER_SLOT("waiting_for_leader_slot", 11),
+    
+    /**
+     * The active server is due to be failed over, but every candidate that is up failed
+     * in-depth verification, so the monitor stays put.
+     */
+    STANDBY_NOT_FIT("standby_not_fit", 12),
+    
+    /**
+     * The active server is up, but its connect latency or tip lag is trending the way it does
+     * before a node fails. The monitor probes faster, lowers the TTL and verifies the failover
+     * targets ahead of time.
+     */
+    DEGRADED("degraded", 13);
+    
+    private static final NextAction[] BY_JOURNAL_CODE = new NextAction[14];
+    
+    static {
+        for (NextAction action : values()) {
+            BY_JOURNAL_CODE[action.journalCode] = action;
+        }
+    }
     
     private final String value;
+    // Written to journals in place of the ordinal; never reuse or renumber one
+    private final int journalCode;
     
-    NextAction(String value) {
+    NextAction(String value, int journalCode) {
         this.value = value;
+        this.journalCode = journalCode;
     }
     
     @JsonValue
@@ -79,6 +118,17 @@ public enum NextAction {
         return value;
     }
     
+    public int getJournalCode() {
+        return journalCode;
+    }
+    
+    /**
+     * @return the action journaled as {@code code}, or null for a code this version does not know
+     */
+    public static NextAction ofJournalCode(int code) {
+        return code >= 0 && code < BY_JOURNAL_CODE.length ? BY_JOURNAL_CODE[code] : null;
+    }
+    
     /**
      * Creates a NextAction with additional context information.
      * Used for time-based actions that need to show remaining time.
@@ -0,0 +1,16 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One monitored pool and the outcome of its latest check. {@code status} is null until the
+ * first check finished; {@code skippedChecks} counts ticks dropped because a check was still running.
+ */
+public record PoolStatus(
+    @JsonProperty("name") String name,
+    @JsonProperty("shard") int shard,
+    @JsonProperty("status") ServerStatus status,
+    @JsonProperty("last_check_duration_ms") long lastCheckDurationMs,
+    @JsonProperty("skipped_checks") long skippedChecks,
+    @JsonProperty("last_error") String lastError
+) {}
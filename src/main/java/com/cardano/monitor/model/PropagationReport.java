@@ -0,0 +1,29 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of watching one DNS switch reach the zone's authoritative nameservers.
+ * {@code timeToPropagateMillis} is only set once every nameserver returned the new answer.
+ */
+public record PropagationReport(
+    @JsonProperty("fqdn") String fqdn,
+    @JsonProperty("expected_answer") String expectedAnswer,
+    @JsonProperty("switched_at") Instant switchedAt,
+    @JsonProperty("completed_at") Instant completedAt,
+    @JsonProperty("complete") boolean complete,
+    @JsonProperty("time_to_propagate_ms") Long timeToPropagateMillis,
+    @JsonProperty("nameservers") List<NameserverResult> nameservers
+) {
+    
+    public record NameserverResult(
+        @JsonProperty("nameserver") String nameserver,
+        @JsonProperty("propagated") boolean propagated,
+        @JsonProperty("time_to_propagate_ms") Long timeToPropagateMillis,
+        @JsonProperty("last_answer") List<String> lastAnswer,
+        @JsonProperty("last_error") String lastError,
+        @JsonProperty("queries") int queries
+    ) {}
+}
@@ -0,0 +1,14 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.Map;
+
+public record QuotaSnapshot(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("capacity") int capacity,
+    @JsonProperty("available") double available,
+    @JsonProperty("rate_limited_until") Instant rateLimitedUntil,
+    @JsonProperty("granted") Map<ApiCallPriority, Long> granted,
+    @JsonProperty("rejected") Map<ApiCallPriority, Long> rejected
+) {}
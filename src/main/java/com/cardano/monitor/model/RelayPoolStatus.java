@@ -0,0 +1,28 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Health of every relay in the pool and the answer set currently published for it.
+ * {@code publishedAnswers} is empty until the first successful publish.
+ */
+public record RelayPoolStatus(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("record_host") String recordHost,
+    @JsonProperty("published_answers") List<String> publishedAnswers,
+    @JsonProperty("last_change_at") Instant lastChangeAt,
+    @JsonProperty("last_error") String lastError,
+    @JsonProperty("members") List<MemberStatus> members
+) {
+    
+    public record MemberStatus(
+        @JsonProperty("name") String name,
+        @JsonProperty("host") String host,
+        @JsonProperty("port") int port,
+        @JsonProperty("weight") int weight,
+        @JsonProperty("healthy") Boolean healthy,
+        @JsonProperty("published") boolean published
+    ) {}
+}
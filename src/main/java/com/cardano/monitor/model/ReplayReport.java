@@ -0,0 +1,31 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What recorded probe history would have looked like under other failover timings, one outcome
+ * per combination of failover and failback delay, in the order they were asked for.
+ */
+public record ReplayReport(
+    @JsonProperty("from") Instant from,
+    @JsonProperty("to") Instant to,
+    @JsonProperty("cycles") int cycles,
+    @JsonProperty("candidates") int candidates,
+    @JsonProperty("replay_time_ms") long replayTimeMillis,
+    @JsonProperty("outcomes") List<PolicyOutcome> outcomes
+) {
+    
+    /**
+     * @param downtimeMillis time DNS pointed at a candidate that was down, or at none
+     * @param flaps          switches back to the candidate the previous switch left, within the flap window
+     */
+    public record PolicyOutcome(
+        @JsonProperty("failover_delay_s") long failoverDelaySeconds,
+        @JsonProperty("failback_delay_s") long failbackDelaySeconds,
+        @JsonProperty("downtime_ms") long downtimeMillis,
+        @JsonProperty("switches") int switches,
+        @JsonProperty("flaps") int flaps
+    ) {}
+}
@@ -0,0 +1,30 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the built-in nameserver currently answers and how much traffic it has served.
+ * {@code ready} stays false until the first record set is published; until then queries get SERVFAIL.
+ */
+public record ResponderStatus(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("zone") String zone,
+    @JsonProperty("listen_address") String listenAddress,
+    @JsonProperty("ready") boolean ready,
+    @JsonProperty("serial") long serial,
+    @JsonProperty("published_at") Instant publishedAt,
+    @JsonProperty("records") List<RecordSet> records,
+    @JsonProperty("udp_queries") long udpQueries,
+    @JsonProperty("tcp_queries") long tcpQueries,
+    @JsonProperty("dropped") long dropped
+) {
+    
+    public record RecordSet(
+        @JsonProperty("name") String name,
+        @JsonProperty("type") String type,
+        @JsonProperty("ttl") int ttl,
+        @JsonProperty("answers") List<String> answers
+    ) {}
+}
@@ -2,6 +2,7 @@ package com.cardano.monitor.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
+import java.util.List;
 
 public record ServerStatus(
     @JsonProperty("daemon_status") DaemonStatus daemonStatus,
@@ -12,7 +13,10 @@ public record ServerStatus(
     @JsonProperty("primary_down_since") Instant primaryDownSince,
     @JsonProperty("primary_up_since") Instant primaryUpSince,
     @JsonProperty("next_action") NextAction.WithContext nextAction,
-    @JsonProperty("config") ConfigInfo config
+    @JsonProperty("config") ConfigInfo config,
+    @JsonProperty("dns_ttl") Integer dnsTtl,
+    @JsonProperty("candidates") List<CandidateStatus> candidates,
+    @JsonProperty("next_leader_slot") Instant nextLeaderSlot
 ) {
     
     public record ConfigInfo(
@@ -3,5 +3,9 @@ package com.cardano.monitor.model;
 public enum ServerType {
     PRIMARY,
     SECONDARY,
+    /**
+     * One of the standbys configured after the secondary; the status' candidate list shows which.
+     */
+    STANDBY,
     NONE
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * How the shadow decision path compares with the live one. A cycle diverges when the two would
+ * switch DNS to different candidates, or only one of them would switch; consecutive cycles that
+ * diverge the same way are reported once, newest first.
+ */
+public record ShadowReport(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("failover_delay_s") long failoverDelaySeconds,
+    @JsonProperty("failback_delay_s") long failbackDelaySeconds,
+    @JsonProperty("cycles") long cycles,
+    @JsonProperty("divergent_cycles") long divergentCycles,
+    @JsonProperty("intended_switches") long intendedSwitches,
+    @JsonProperty("divergences") List<Divergence> divergences
+) {
+    
+    public static ShadowReport disabled() {
+        return new ShadowReport(false, 0, 0, 0, 0, 0, List.of());
+    }
+    
+    /**
+     * @param liveTarget   candidate the live path switched to, or {@code null} when it did not switch
+     * @param shadowTarget candidate the shadow path would have switched to, or {@code null}
+     */
+    public record Divergence(
+        @JsonProperty("at") Instant at,
+        @JsonProperty("active") String active,
+        @JsonProperty("live_target") String liveTarget,
+        @JsonProperty("shadow_target") String shadowTarget,
+        @JsonProperty("live_action") NextAction liveAction,
+        @JsonProperty("shadow_action") NextAction shadowAction
+    ) {}
+}
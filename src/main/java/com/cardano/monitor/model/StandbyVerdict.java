@@ -0,0 +1,17 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * Outcome of checking a failover target in depth. {@code tipAgeSeconds} and {@code peers} are
+ * only set when the node's metrics could be read.
+ */
+public record StandbyVerdict(
+    @JsonProperty("candidate") String candidate,
+    @JsonProperty("fit") boolean fit,
+    @JsonProperty("reason") String reason,
+    @JsonProperty("checked_at") Instant checkedAt,
+    @JsonProperty("tip_age_s") Long tipAgeSeconds,
+    @JsonProperty("peers") Integer peers
+) {}
@@ -0,0 +1,25 @@
+package com.cardano.monitor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The probe agents whose reports count towards the quorum, with the nodes each one last saw down.
+ * A stale agent's report is kept for display but not counted.
+ */
+public record VantageStatus(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("quorum") int quorum,
+    @JsonProperty("agents") List<Agent> agents
+) {
+    
+    public record Agent(
+        @JsonProperty("agent") String agent,
+        @JsonProperty("checked_at") Instant checkedAt,
+        @JsonProperty("received_at") Instant receivedAt,
+        @JsonProperty("fresh") boolean fresh,
+        @JsonProperty("targets") int targets,
+        @JsonProperty("down") List<String> down
+    ) {}
+}
@@ -3,15 +3,25 @@ package com.cardano.monitor.resource;
 import com.cardano.monitor.dto.ActiveRequest;
 import com.cardano.monitor.dto.ControlRequest;
 import com.cardano.monitor.dto.HealthResponse;
+import com.cardano.monitor.dto.ProbeReport;
 import com.cardano.monitor.dto.StatusResponse;
 import com.cardano.monitor.model.*;
+import com.cardano.monitor.service.ApiQuotaManagerIF;
 import com.cardano.monitor.service.BlockProducerMonitorServiceIF;
+import com.cardano.monitor.service.DnsPropagationVerifierIF;
+import com.cardano.monitor.service.DnsReconcilerIF;
+import com.cardano.monitor.service.DnsResponderIF;
 import com.cardano.monitor.service.DnsServiceIF;
+import com.cardano.monitor.service.PolicyReplayIF;
+import com.cardano.monitor.service.PoolManagerIF;
+import com.cardano.monitor.service.RelaySteeringServiceIF;
+import com.cardano.monitor.service.VantageAggregatorIF;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -20,7 +30,15 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 @Path("/api")
 @Produces(MediaType.APPLICATION_JSON)
@@ -34,6 +52,30 @@ public class MonitorResource {
     @Inject
     DnsServiceIF dnsService;
     
+    @Inject
+    DnsPropagationVerifierIF propagationVerifier;
+    
+    @Inject
+    ApiQuotaManagerIF quotaManager;
+    
+    @Inject
+    DnsReconcilerIF reconciler;
+    
+    @Inject
+    RelaySteeringServiceIF relaySteering;
+    
+    @Inject
+    DnsResponderIF responder;
+    
+    @Inject
+    PoolManagerIF poolManager;
+    
+    @Inject
+    PolicyReplayIF policyReplay;
+    
+    @Inject
+    VantageAggregatorIF vantageAggregator;
+    
     @GET
     @Path("/health")
     @Operation(summary = "Health check", description = "Returns the health status of the monitoring service")
@@ -79,35 +121,46 @@ public class MonitorResource {
         @APIResponse(responseCode = "400", description = "Invalid action provided",
                     content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
     })
-    public com.cardano.monitor.model.ApiResponse control(@Valid @Parameter(description = "Control action (START or STOP)") ControlRequest request) {
+    public CompletionStage<com.cardano.monitor.model.ApiResponse> control(@Valid @Parameter(description = "Control action (START or STOP)") ControlRequest request) {
         return switch (request.action()) {
-            case START -> monitorService.start();
-            case STOP -> monitorService.stop();
+            case START -> monitorService.submitStart();
+            case STOP -> monitorService.submitStop();
 
-            default -> com.cardano.monitor.model.ApiResponse.error("Invalid action. Use 'START' or 'STOP'");
+            default -> CompletableFuture.completedFuture(com.cardano.monitor.model.ApiResponse.error("Invalid action. Use 'START' or 'STOP'"));
         };
     }
     
     @POST
     @Path("/active")
-    @Operation(summary = "Switch active server", description = "Manually switch between primary and secondary servers")
+    @Operation(summary = "Switch active server", description = "Manually switch between primary and secondary servers, or to a standby by name")
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Server switch executed successfully",
                     content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class))),
         @APIResponse(responseCode = "400", description = "Invalid server type provided",
+                    content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class))),
+        @APIResponse(responseCode = "409", description = "This instance runs as a probe agent and does not switch DNS",
                     content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
     })
-    public com.cardano.monitor.model.ApiResponse active(@Valid @Parameter(description = "Server to make active (PRIMARY or SECONDARY)") ActiveRequest request) {
-        if (request.active() != null) {
-            return monitorService.manualSwitch(request.active());
+    public CompletionStage<Response> active(@Valid @Parameter(description = "Server to make active (PRIMARY or SECONDARY, or a candidate name)") ActiveRequest request) {
+        if (monitorService.isAgent()) {
+            return CompletableFuture.completedFuture(Response.status(Response.Status.CONFLICT)
+                    .entity(com.cardano.monitor.model.ApiResponse.error("This instance runs as a probe agent and does not switch DNS"))
+                    .build());
         }
-
-        return com.cardano.monitor.model.ApiResponse.error("Invalid request. Use 'ACTIVE' field with 'PRIMARY' or 'SECONDARY'");
+        CompletionStage<com.cardano.monitor.model.ApiResponse> result;
+        if (request.candidate() != null) {
+            result = monitorService.submitManualSwitchToCandidate(request.candidate());
+        } else if (request.active() != null) {
+            result = monitorService.submitManualSwitch(request.active());
+        } else {
+            result = CompletableFuture.completedFuture(com.cardano.monitor.model.ApiResponse.error("Invalid request. Use 'ACTIVE' field with 'PRIMARY' or 'SECONDARY'"));
+        }
+        return result.thenApply(body -> Response.ok(body).build());
    }
    
    @GET
    @Path("/dns/current")
-   @Operation(summary = "Get current DNS record", description = "Returns the current DNS record IP and active server type")
+   @Operation(summary = "Get current DNS record", description = "Returns the current DNS record IP and active server type; when the API budget is exhausted, the last known record flagged stale with its age")
    @APIResponses({
        @APIResponse(responseCode = "200", description = "DNS record retrieved successfully",
                    content = @Content(schema = @Schema(implementation = DnsRecordResponse.class))),
@@ -115,11 +168,11 @@ public class MonitorResource {
                    content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
    })
    public Response getCurrentDnsRecord() {
-       String currentIp = dnsService.getCurrentDnsRecordIp();
-       ServerType activeServer = dnsService.detectCurrentActiveServer();
+       DnsServiceIF.RecordRead read = dnsService.readCurrentRecord(ApiCallPriority.UI);
        
-       if (currentIp != null) {
-           return Response.ok(new DnsRecordResponse(currentIp, activeServer)).build();
+       if (read.known()) {
+           return Response.ok(new DnsRecordResponse(read.answer(), dnsService.classifyIp(read.answer()),
+               read.stale(), read.age().toSeconds())).build();
        } else {
            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
                    .entity(com.cardano.monitor.model.ApiResponse.error("Failed to read DNS record"))
@@ -127,6 +180,228 @@ public class MonitorResource {
        }
    }
    
-   public record DnsRecordResponse(String currentIp, ServerType activeServer) {}
+   public record DnsRecordResponse(String currentIp, ServerType activeServer, boolean stale, long ageSeconds) {}
+   
+   @GET
+   @Path("/dns/group")
+   @Operation(summary = "Get failover group state", description = "Returns the outcome of the last write to all records of the failover group")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Last group update retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = FailoverGroupStatus.class))),
+       @APIResponse(responseCode = "404", description = "No DNS records written yet",
+                   content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
+   })
+   public Response getFailoverGroupStatus() {
+       FailoverGroupStatus status = dnsService.getLastGroupUpdate();
+       
+       if (status != null) {
+           return Response.ok(status).build();
+       } else {
+           return Response.status(Response.Status.NOT_FOUND)
+                   .entity(com.cardano.monitor.model.ApiResponse.error("No DNS records written yet"))
+                   .build();
+       }
+   }
+   
+   @GET
+   @Path("/dns/propagation")
+   @Operation(summary = "Get DNS propagation reports", description = "Returns how long recent DNS switches took to reach each authoritative nameserver, newest first")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Propagation reports retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = PropagationReport.class)))
+   })
+   public List<PropagationReport> getPropagationReports() {
+       return propagationVerifier.getRecentReports();
+   }
+   
+   @GET
+   @Path("/dns/drift")
+   @Operation(summary = "Get DNS drift events", description = "Returns recent mismatches between the desired and the actual DNS record, newest first")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Drift events retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = DriftEvent.class)))
+   })
+   public List<DriftEvent> getDriftEvents() {
+       return reconciler.getRecentDrift();
+   }
+   
+   @GET
+   @Path("/dns/quota")
+   @Operation(summary = "Get DNS API budget", description = "Returns the remaining name.com API budget and granted/rejected calls per priority lane")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Quota snapshot retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = QuotaSnapshot.class)))
+   })
+   public QuotaSnapshot getQuota() {
+       return quotaManager.snapshot();
+   }
+   
+   @GET
+   @Path("/dns/responder")
+   @Operation(summary = "Get built-in nameserver status", description = "Returns the zone, records and query counters of the built-in authoritative nameserver")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Responder status retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = ResponderStatus.class)))
+   })
+   public ResponderStatus getResponder() {
+       return responder.getStatus();
+   }
+   
+   @GET
+   @Path("/relays")
+   @Operation(summary = "Get relay pool status", description = "Returns the health of every relay in the pool and the answers published for the pool name")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Relay pool status retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = RelayPoolStatus.class)))
+   })
+   public RelayPoolStatus getRelayPool() {
+       return relaySteering.getStatus();
+   }
+
+   @GET
+   @Path("/pools")
+   @Operation(summary = "Get pool statuses", description = "Returns the latest check of every pool configured under monitor.pools.groups")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Pool statuses retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = PoolStatus.class)))
+   })
+   public List<PoolStatus> getPools() {
+       return poolManager.getPools();
+   }
+
+   @GET
+   @Path("/pools/{name}")
+   @Operation(summary = "Get pool status", description = "Returns the latest check of one pool")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Pool status retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = PoolStatus.class))),
+       @APIResponse(responseCode = "404", description = "No pool with that name",
+                   content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
+   })
+   public Response getPool(@PathParam("name") String name) {
+       PoolStatus status = poolManager.getPool(name);
+       
+       if (status != null) {
+           return Response.ok(status).build();
+       } else {
+           return Response.status(Response.Status.NOT_FOUND)
+                   .entity(com.cardano.monitor.model.ApiResponse.error("Unknown pool " + name))
+                   .build();
+       }
+   }
+
+   @GET
+   @Path("/shadow")
+   @Operation(summary = "Get shadow decisions", description = "Returns how often the shadow decision path, run on the live probes with its own delays, would have switched differently, with the latest divergences first")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Shadow report retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = ShadowReport.class)))
+   })
+   public ShadowReport getShadow() {
+       return monitorService.getShadowReport();
+   }
+
+   @GET
+   @Path("/standby")
+   @Operation(summary = "Get standby verdicts", description = "Returns the latest in-depth check of each failover target: handshake, tip age and peer count")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Standby verdicts retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = StandbyVerdict.class)))
+   })
+   public List<StandbyVerdict> getStandbyVerdicts() {
+       return monitorService.getStandbyVerdicts();
+   }
+
+   @POST
+   @Path("/vantage/reports")
+   @Operation(summary = "Submit a probe agent report", description = "Takes one probe agent's view of every node it checks, usually gzip-compressed; it counts towards the quorum until it is older than monitor.vantage.report-max-age")
+   @APIResponses({
+       @APIResponse(responseCode = "204", description = "Report accepted")
+   })
+   public Response submitProbeReport(@Valid ProbeReport report) {
+       vantageAggregator.accept(report);
+       return Response.noContent().build();
+   }
+
+   @GET
+   @Path("/vantage")
+   @Operation(summary = "Get probe agents", description = "Returns the probe agents heard from, with the nodes each one last saw down and whether its report still counts")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Probe agents retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = VantageStatus.class)))
+   })
+   public VantageStatus getVantage() {
+       return vantageAggregator.getStatus();
+   }
+
+   @GET
+   @Path("/ha")
+   @Operation(summary = "Get leader election status", description = "Returns whether this instance holds the lease that allows it to write DNS, and who holds it otherwise")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Leader election status retrieved successfully",
+                   content = @Content(schema = @Schema(implementation = HaStatus.class)))
+   })
+   public HaStatus getHa() {
+       return monitorService.getHaStatus();
+   }
+
+   @GET
+   @Path("/replay")
+   @Operation(summary = "Replay the journal under other timings", description = "Feeds the journaled probe history through the failover rules once per combination of failover and failback delay, in seconds, and reports the downtime, switches and flaps each would have produced. Without delays the configured ones are used")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Replay completed",
+                   content = @Content(schema = @Schema(implementation = ReplayReport.class))),
+       @APIResponse(responseCode = "500", description = "Journal could not be read",
+                   content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
+   })
+   public Response replayJournal(@QueryParam("failover") List<Long> failoverSeconds,
+                                 @QueryParam("failback") List<Long> failbackSeconds,
+                                 @QueryParam("flap_window") @DefaultValue("600") long flapWindowSeconds) {
+       try {
+           return Response.ok(policyReplay.replayJournal(seconds(failoverSeconds), seconds(failbackSeconds),
+               Duration.ofSeconds(flapWindowSeconds))).build();
+       } catch (IOException e) {
+           return Response.serverError()
+                   .entity(com.cardano.monitor.model.ApiResponse.error("Cannot read journal: " + e.getMessage()))
+                   .build();
+       }
+   }
+
+   @POST
+   @Path("/replay")
+   @Consumes("text/csv")
+   @Operation(summary = "Replay exported history under other timings", description = "Like GET /api/replay, for probe history exported by GET /api/replay/history")
+   @APIResponses({
+       @APIResponse(responseCode = "200", description = "Replay completed",
+                   content = @Content(schema = @Schema(implementation = ReplayReport.class))),
+       @APIResponse(responseCode = "400", description = "History is not in the exported format",
+                   content = @Content(schema = @Schema(implementation = com.cardano.monitor.model.ApiResponse.class)))
+   })
+   public Response replayHistory(String history,
+                                 @QueryParam("failover") List<Long> failoverSeconds,
+                                 @QueryParam("failback") List<Long> failbackSeconds,
+                                 @QueryParam("flap_window") @DefaultValue("600") long flapWindowSeconds) {
+       try {
+           return Response.ok(policyReplay.replay(new StringReader(history), seconds(failoverSeconds),
+               seconds(failbackSeconds), Duration.ofSeconds(flapWindowSeconds))).build();
+       } catch (IOException | IllegalArgumentException e) {
+           return Response.status(Response.Status.BAD_REQUEST)
+                   .entity(com.cardano.monitor.model.ApiResponse.error("Invalid history: " + e.getMessage()))
+                   .build();
+       }
+   }
+
+   @GET
+   @Path("/replay/history")
+   @Produces("text/csv")
+   @Operation(summary = "Export probe history", description = "Returns the journaled probe history, one check cycle per line, for replaying elsewhere")
+   public Response exportHistory() {
+       return Response.ok((StreamingOutput) output ->
+           policyReplay.exportJournal(new OutputStreamWriter(output, StandardCharsets.UTF_8))).build();
+   }
+
+   private static List<Duration> seconds(List<Long> seconds) {
+       return seconds == null ? List.of() : seconds.stream().map(Duration::ofSeconds).toList();
+   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.cardano.monitor.service;
+
+import java.util.List;
+
+public interface ActiveServerDetectorIF {
+    
+    /**
+     * @return the answers currently served for the DNS record, or null if no source could tell
+     */
+    List<String> detectAnswers();
+}
@@ -0,0 +1,13 @@
+package com.cardano.monitor.service;
+
+import java.util.List;
+
+public interface AnswerSetPublisherIF {
+    
+    /**
+     * Makes {@code answers} the complete answer set of the record.
+     *
+     * @return true once the provider serves exactly that set
+     */
+    boolean publish(String host, String type, int ttl, List<String> answers);
+}
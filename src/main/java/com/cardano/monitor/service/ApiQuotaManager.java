@@ -0,0 +1,134 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.QuotaSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket shared by every name.com API call.
+ * Each lane may only spend tokens above its reserve, so UI reads run dry first, reconciliation
+ * reads next, and switches always go through - borrowing against future refills if needed.
+ * Rejected calls fail immediately instead of waiting for tokens.
+ */
+@ApplicationScoped
+@Slf4j
+public class ApiQuotaManager implements ApiQuotaManagerIF {
+
+    @Inject
+    MonitorConfig config;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final Map<ApiCallPriority, LongAdder> granted = new EnumMap<>(ApiCallPriority.class);
+    private final Map<ApiCallPriority, LongAdder> rejected = new EnumMap<>(ApiCallPriority.class);
+
+    private double tokens = Double.NaN;
+    private long lastRefillNanos;
+    private long rateLimitedUntilNanos;
+    private Instant rateLimitedUntil;
+
+    public ApiQuotaManager() {
+        for (ApiCallPriority priority : ApiCallPriority.values()) {
+            granted.put(priority, new LongAdder());
+            rejected.put(priority, new LongAdder());
+        }
+        // nanoTime has an arbitrary origin, so 0 is no safe "never rate limited"; start out expired
+        rateLimitedUntilNanos = System.nanoTime();
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gauge("dns.api.quota.available", Tags.empty(), this, manager -> manager.snapshot().available());
+        for (ApiCallPriority priority : ApiCallPriority.values()) {
+            Tags lane = Tags.of("lane", priority.name().toLowerCase());
+            meterRegistry.gauge("dns.api.quota.granted", lane, granted.get(priority), LongAdder::doubleValue);
+            meterRegistry.gauge("dns.api.quota.rejected", lane, rejected.get(priority), LongAdder::doubleValue);
+        }
+    }
+
+    public synchronized boolean tryAcquire(ApiCallPriority priority) {
+        MonitorConfig.QuotaConfig quotaConfig = config.dns().quota();
+        if (!quotaConfig.enabled()) {
+            granted.get(priority).increment();
+            return true;
+        }
+
+        long now = System.nanoTime();
+        refill(quotaConfig, now);
+
+        if (priority == ApiCallPriority.SWITCH) {
+            // Never turn away a switch; the debt starves the lower lanes until it is refilled
+            tokens = Math.max(tokens - 1, -quotaConfig.capacity());
+            granted.get(priority).increment();
+            return true;
+        }
+
+        int reserve = priority == ApiCallPriority.RECONCILE ? quotaConfig.reconcileReserve() : quotaConfig.uiReserve();
+        if (now - rateLimitedUntilNanos < 0 || tokens < reserve + 1) {
+            rejected.get(priority).increment();
+            log.debug("Rejected {} DNS API call, {} tokens available", priority, tokens);
+            return false;
+        }
+
+        tokens -= 1;
+        granted.get(priority).increment();
+        return true;
+    }
+
+    /**
+     * Called when the provider answered 429: drop the local budget to zero and hold back
+     * everything but switches until the provider's back-off has passed.
+     */
+    public synchronized void onRateLimited(Duration retryAfter) {
+        long now = System.nanoTime();
+        tokens = Double.isNaN(tokens) ? 0 : Math.min(tokens, 0);
+        lastRefillNanos = now;
+        rateLimitedUntilNanos = now + retryAfter.toNanos();
+        rateLimitedUntil = Instant.now().plus(retryAfter);
+        log.warn("DNS provider rate limit hit, holding back non-switch calls for {}", retryAfter);
+    }
+
+    public synchronized QuotaSnapshot snapshot() {
+        MonitorConfig.QuotaConfig quotaConfig = config.dns().quota();
+        long now = System.nanoTime();
+        refill(quotaConfig, now);
+        return new QuotaSnapshot(
+            quotaConfig.enabled(),
+            quotaConfig.capacity(),
+            tokens,
+            now - rateLimitedUntilNanos < 0 ? rateLimitedUntil : null,
+            counts(granted),
+            counts(rejected)
+        );
+    }
+
+    private void refill(MonitorConfig.QuotaConfig quotaConfig, long now) {
+        if (Double.isNaN(tokens)) {
+            tokens = quotaConfig.capacity();
+            lastRefillNanos = now;
+            return;
+        }
+        long refillNanos = Math.max(1, quotaConfig.refillInterval().toNanos());
+        tokens = Math.min(quotaConfig.capacity(), tokens + (double) (now - lastRefillNanos) / refillNanos);
+        lastRefillNanos = now;
+    }
+
+    private static Map<ApiCallPriority, Long> counts(Map<ApiCallPriority, LongAdder> adders) {
+        Map<ApiCallPriority, Long> counts = new EnumMap<>(ApiCallPriority.class);
+        adders.forEach((priority, adder) -> counts.put(priority, adder.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,15 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.QuotaSnapshot;
+
+import java.time.Duration;
+
+public interface ApiQuotaManagerIF {
+    
+    boolean tryAcquire(ApiCallPriority priority);
+    
+    void onRateLimited(Duration retryAfter);
+    
+    QuotaSnapshot snapshot();
+}
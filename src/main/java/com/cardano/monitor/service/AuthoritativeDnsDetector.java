@@ -0,0 +1,60 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dns.DnsMessageCodec;
+import com.cardano.monitor.dns.DnsQueryClient;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the record straight from the zone's authoritative nameservers with a single UDP query.
+ * No credentials and no API quota; a round trip takes a few milliseconds. Nameservers are
+ * tried in turn, starting with the one that answered last time.
+ */
+@ApplicationScoped
+@Slf4j
+public class AuthoritativeDnsDetector implements ActiveServerDetectorIF {
+
+    @Inject
+    MonitorConfig config;
+
+    DnsQueryClient queryClient = new DnsQueryClient();
+
+    private final AtomicInteger preferred = new AtomicInteger();
+
+    @Nullable
+    public List<String> detectAnswers() {
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        MonitorConfig.DetectionConfig detectionConfig = dnsConfig.detection();
+        List<String> nameservers = detectionConfig.nameservers();
+        String fqdn = dnsConfig.recordFqdn();
+        int type = DnsMessageCodec.typeOf(dnsConfig.recordType());
+
+        int start = preferred.get();
+        for (int i = 0; i < nameservers.size(); i++) {
+            int index = (start + i) % nameservers.size();
+            String nameserver = nameservers.get(index);
+            try {
+                DnsMessageCodec.Response response = queryClient.query(
+                    DnsQueryClient.parseNameserver(nameserver), fqdn, type, detectionConfig.queryTimeout());
+                if (!response.isSuccess() || !response.authoritative() || response.answers().isEmpty()) {
+                    log.debug("Nameserver {} gave no authoritative answer for {} (rcode {})", nameserver, fqdn, response.rcode());
+                    continue;
+                }
+                preferred.set(index);
+                return response.answers();
+            } catch (IOException e) {
+                log.debug("Nameserver {} did not answer for {}: {}", nameserver, fqdn, e.getMessage());
+            }
+        }
+
+        log.warn("No authoritative nameserver answered for {}", fqdn);
+        return null;
+    }
+}
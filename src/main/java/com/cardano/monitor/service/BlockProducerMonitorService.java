@@ -2,14 +2,33 @@ package com.cardano.monitor.service;
 
 import com.cardano.monitor.config.MonitorConfig;
 import com.cardano.monitor.model.*;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @ApplicationScoped
 @Slf4j
@@ -23,255 +42,775 @@ public class BlockProducerMonitorService implements BlockProducerMonitorServiceI
     
     @Inject
     DnsServiceIF dnsService;
+    
+    @Inject
+    DnsTtlManagerIF ttlManager;
+    
+    @Inject
+    DnsReconcilerIF reconciler;
+    
+    @Inject
+    MonitorJournalIF journal;
+    
+    @Inject
+    VantageAggregatorIF vantage;
+
+    private static final int MAILBOX_CAPACITY = 64;
+    
+    private static final String AGENT_SWITCH_REFUSAL = "This instance runs as a probe agent and does not switch DNS";
+    
+    // Every timestamp the decisions compare; replaced by a virtual clock in simulations
+    Clock clock = new MonotonicClock();
 
-    private final AtomicBoolean running = new AtomicBoolean(true);
-    private final AtomicReference<Instant> primaryDownSince = new AtomicReference<>();
-    private final AtomicReference<Instant> primaryUpSince = new AtomicReference<>();
-    private final AtomicReference<Instant> lastCheck = new AtomicReference<>(Instant.now());
-    private final AtomicReference<NextAction.WithContext> lastNextAction = new AtomicReference<>(NextAction.NONE.withoutContext());
+    // Single source of truth; replaced as a whole by the writer thread, read with one volatile read
+    private final AtomicReference<MonitorState> state = new AtomicReference<>();
+    
+    // Every state change and DNS switch runs on this loop's writer thread, one at a time
+    private final CommandLoop commands = new CommandLoop("monitor-writer", MAILBOX_CAPACITY);
+    
+    // DNS writes the decisions ask for run here, so they never hold up the writer
+    private final EffectExecutor effects = new EffectExecutor(this::switchTo, ttl -> dnsService.updateRecordTtl(ttl));
+    
+    // Only touched on the writer; one TTL change at a time
+    private boolean ttlChangeInFlight;
+    
+    private final ExecutorService probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private volatile StateSnapshots snapshots;
+    
+    private volatile ShadowDecisions shadow;
+    
+    private volatile LeaderScheduleFile leaderSchedule;
+    
+    private volatile StandbyVerifier verifier;
+    
+    private volatile LeaderElection election;
+    
+    private volatile DegradationWatch degradation;
+    
+    // Reads the active node's tip age for the degradation watch; null unless tip lag is followed
+    private volatile NodeMetrics tipLagMetrics;
+    
+    // Set while a faster check for a degraded active node is pending, so they do not pile up
+    private final AtomicBoolean followUpPending = new AtomicBoolean();
+    
+    // Counts switch outcomes on the writer, so a check that read DNS before one does not undo it
+    private volatile long switchesSettled;
+    
+    // Set in agent mode, where this instance only probes for another monitor
+    private volatile boolean agent;
     
 
     public ServerStatus checkServers() {
-        Instant currentTime = Instant.now();
-        lastCheck.set(currentTime);
+        return await(submitCheckServers());
+    }
+    
+    public CompletionStage<ServerStatus> submitCheckServers() {
+        CompletableFuture<Observed> observed;
+        try {
+            observed = CompletableFuture.supplyAsync(this::observe, probeExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return observed.thenCompose(seen -> commands.submit("check servers", () -> runCheck(seen)))
+            .thenCompose(cycle -> cycle);
+    }
+    
+    /**
+     * What one check saw: probe results, their latencies, the active candidate and its tip age.
+     */
+    private record Observed(Instant checkedAt, long switchesSettled, int active, boolean[] up, long[] latencyMicros,
+                            OptionalLong tipAge) {}
+    
+    /**
+     * Probes the candidates and reads the active one, off the writer thread, so a slow probe or
+     * DNS read never holds up another command.
+     */
+    private Observed observe() {
+        Instant currentTime = clock.instant();
+        long settled = switchesSettled;
+        CandidateGroup group = state().candidates();
+        long now = currentTime.toEpochMilli();
         
-        // Get current active server from DNS (single source of truth)
-        ServerType currentActive = dnsService.detectCurrentActiveServer();
-        log.info("Checking servers..., currentActive: {}", currentActive);
-
-        boolean primaryUp = networkService.getServerHealthStatus(ServerType.PRIMARY) == ServerHealthStatus.UP;
-        boolean secondaryUp = networkService.getServerHealthStatus(ServerType.SECONDARY) == ServerHealthStatus.UP;
-
-        // Track primary downtime
-        if (!primaryUp) {
-            primaryDownSince.compareAndSet(null, currentTime);
-            primaryUpSince.set(null);
-            if (primaryDownSince.get() == currentTime) {
-                log.info("Primary server ({}) went down at {}", config.primary().name(), currentTime);
+        // Probe every candidate at once, so a cycle takes one connection timeout at most, not one per candidate
+        long[] latencyMicros = new long[group.size()];
+        List<CompletableFuture<Boolean>> probes = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            int index = i;
+            probes.add(CompletableFuture.supplyAsync(() -> probe(group, index, now, latencyMicros), probeExecutor));
+        }
+        
+        // Get current active server from DNS, or from the reconciler's view when it owns the record
+        long started = System.nanoTime();
+        int currentActive = currentCandidate();
+        journal.dnsRead(currentActive, now, micros(started));
+        log.info("Checking servers..., currentActive: {}", CandidateGroup.roleOf(currentActive));
+        NodeMetrics currentTipLagMetrics = tipLagMetrics;
+        CompletableFuture<OptionalLong> tipAge = degradation == null || currentTipLagMetrics == null
+            || currentActive == CandidateGroup.NO_CANDIDATE
+            ? CompletableFuture.completedFuture(OptionalLong.empty())
+            : CompletableFuture.supplyAsync(() -> currentTipLagMetrics.tipAgeSeconds(group.node(currentActive), now), probeExecutor);
+        
+        boolean[] upNow = new boolean[group.size()];
+        for (int i = 0; i < upNow.length; i++) {
+            upNow[i] = await(probes.get(i));
+        }
+        if (vantage != null && vantage.isEnabled()) {
+            applyQuorum(group, upNow, now);
+        }
+        return new Observed(currentTime, settled, currentActive, upNow, latencyMicros, await(tipAge));
+    }
+    
+    /**
+     * Decides on the writer thread from what {@link #observe()} saw; a switch the decision asks for
+     * is applied by the effect executor and its outcome queued back, so the returned stage completes
+     * once the cycle has settled while the writer is free for other commands meanwhile.
+     */
+    private CompletionStage<ServerStatus> runCheck(Observed observed) {
+        Instant currentTime = observed.checkedAt();
+        MonitorState current = state();
+        CandidateGroup previous = current.candidates();
+        if (currentTime.isBefore(current.lastCheck())) {
+            // A check that started later was decided first; this one would turn the timers back
+            return CompletableFuture.completedFuture(statusOf(current, current.active(), current.lastCheck()));
+        }
+        
+        long now = currentTime.toEpochMilli();
+        ShadowDecisions currentShadow = shadow;
+        StandbyVerifier currentVerifier = verifier;
+        DegradationWatch currentDegradation = degradation;
+        // A switch that settled after the read knows better where DNS points
+        int currentActive = observed.switchesSettled() == switchesSettled ? observed.active() : current.active();
+        boolean[] upNow = observed.up();
+        
+        // Verdicts of checks still running count as fit
+        boolean[] unfit = currentVerifier == null ? null : currentVerifier.unfit(upNow.length, now);
+        String degraded = currentDegradation == null ? null
+            : currentDegradation.observe(previous, currentActive, observed.latencyMicros(), observed.tipAge());
+        
+        // The live decider takes over its arrays
+        boolean[] shadowUp = currentShadow == null ? null : upNow.clone();
+        boolean[] shadowUnfit = currentShadow == null || unfit == null ? null : unfit.clone();
+        
+        FailoverDecider decider = FailoverDecider.of(config.timing().failoverDelay(), config.timing().failbackDelay())
+            .withLeaderGate(leaderGate());
+        FailoverDecider.Decision decision = decider.decide(current, new FailoverDecider.Observation(currentActive, upNow, unfit, degraded), currentTime);
+        MonitorState updated = decision.state().withActive(currentActive);
+        state.set(updated);
+        logTransitions(previous, updated.candidates(), currentTime);
+        
+        FailoverDecider.SwitchDns pendingSwitch = null;
+        for (FailoverDecider.Effect effect : decision.effects()) {
+            switch (effect) {
+                case FailoverDecider.Alert alert -> effects.apply(alert);
+                case FailoverDecider.SwitchDns switchDns -> pendingSwitch = switchDns;
             }
-        } else {
-            if (primaryDownSince.get() != null) {
-                log.info("Primary server ({}) back up at {}", config.primary().name(), currentTime);
-                primaryDownSince.set(null);
+        }
+        boolean leader = isLeader();
+        if (pendingSwitch != null && !leader) {
+            // A follower keeps its timers running for a takeover but leaves DNS to the leader
+            updated = updated.withSwitchInFlight(CandidateGroup.NO_CANDIDATE);
+            state.set(updated);
+            pendingSwitch = null;
+        }
+        journal.decision(currentActive, updated.lastNextAction().getAction(),
+            pendingSwitch == null ? CandidateGroup.NO_CANDIDATE : pendingSwitch.target(), now);
+        if (currentShadow != null) {
+            currentShadow.observe(current, new FailoverDecider.Observation(currentActive, shadowUp, shadowUnfit, degraded), currentTime,
+                pendingSwitch == null ? CandidateGroup.NO_CANDIDATE : pendingSwitch.target(),
+                pendingSwitch == null ? updated.lastNextAction().getAction() : FailoverDecider.switchAction(pendingSwitch.target(), true).getAction());
+        }
+        if (currentVerifier != null) {
+            verifyTargets(currentVerifier, updated, currentActive);
+        }
+        if (currentDegradation != null) {
+            scheduleFollowUp(updated.lastNextAction().getAction());
+        }
+        if (pendingSwitch == null) {
+            if (leader && updated.switchInFlight() == CandidateGroup.NO_CANDIDATE) {
+                changeTtl(ttlManager.onCycle(updated.lastNextAction().getAction(), currentTime));
             }
-            primaryUpSince.compareAndSet(null, currentTime);
+            return CompletableFuture.completedFuture(statusOf(updated, currentActive, currentTime));
         }
-
-        // Decision logic (skip if manual override is active)
-        NextAction.WithContext nextAction = checkNextAction(primaryUp, currentTime, secondaryUp, currentActive);
-
-        lastNextAction.set(nextAction);
         
-        // Update currentActive if a switch occurred
-        ServerType finalCurrentActive = currentActive;
-        if (nextAction.getAction() == NextAction.SWITCHED_TO_PRIMARY) {
-            finalCurrentActive = ServerType.PRIMARY;
-        } else if (nextAction.getAction() == NextAction.SWITCHED_TO_SECONDARY) {
-            finalCurrentActive = ServerType.SECONDARY;
+        FailoverDecider.SwitchDns switchDns = pendingSwitch;
+        return effects.apply(switchDns).thenCompose(switched -> commands.submitWaiting("switch outcome",
+            () -> afterSwitch(switchDns, switched, currentTime)));
+    }
+    
+    /**
+     * Checks the candidates a failover could go to while it counts down, or while the active one
+     * is degraded, so their verdicts are in by the time it is due; a refused failover keeps
+     * checking them until one is fit again.
+     */
+    private void verifyTargets(StandbyVerifier currentVerifier, MonitorState updated, int currentActive) {
+        NextAction action = updated.lastNextAction().getAction();
+        if (action != NextAction.WAITING_FOR_FAILOVER && action != NextAction.STANDBY_NOT_FIT
+            && action != NextAction.DEGRADED) {
+            return;
         }
-        
+        CandidateGroup group = updated.candidates();
+        for (int i = 0; i < group.size(); i++) {
+            if (i != currentActive && group.isUp(i)) {
+                currentVerifier.verifyAsync(group, i, probeExecutor);
+            }
+        }
+    }
+    
+    /**
+     * Checks again after the degradation probe interval instead of waiting for the next scheduled
+     * check, while the active node is degraded and while a failover counts down, so a degraded node
+     * that dies is seen down sooner and the failover is made as soon as its delay is up.
+     */
+    private void scheduleFollowUp(NextAction action) {
+        if (action != NextAction.DEGRADED && action != NextAction.WAITING_FOR_FAILOVER) {
+            return;
+        }
+        if (!followUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            followUpPending.set(false);
+            if (isRunning()) {
+                submitCheckServers().whenComplete((status, error) -> {
+                    if (error != null) {
+                        log.warn("Follow-up check failed: {}", error.getMessage());
+                    }
+                });
+            }
+        }, CompletableFuture.delayedExecutor(config.degradation().probeInterval().toMillis(), TimeUnit.MILLISECONDS, probeExecutor));
+    }
+    
+    private ServerStatus afterSwitch(FailoverDecider.SwitchDns switchDns, boolean switched, Instant currentTime) {
+        MonitorState updated = FailoverDecider.afterSwitch(state(), switchDns, switched);
+        state.set(updated);
+        switchesSettled++;
+        changeTtl(ttlManager.onCycle(updated.lastNextAction().getAction(), currentTime));
+        return statusOf(updated, switched ? switchDns.target() : switchDns.from(), currentTime);
+    }
+    
+    /**
+     * Hands the TTL the writer decided on to the effect executor and folds the outcome back on the
+     * writer; a failed change is asked for again by the next cycle.
+     */
+    private void changeTtl(OptionalInt ttl) {
+        if (ttl.isEmpty() || ttlChangeInFlight) {
+            return;
+        }
+        ttlChangeInFlight = true;
+        int desired = ttl.getAsInt();
+        effects.applyTtl(desired).thenCompose(changed -> commands.submitWaiting("TTL change outcome", () -> {
+            ttlChangeInFlight = false;
+            if (!changed) {
+                log.warn("Could not set DNS TTL to {}s, will retry next cycle", desired);
+            }
+            return null;
+        }));
+    }
+    
+    private ServerStatus statusOf(MonitorState current, int active, Instant currentTime) {
+        CandidateGroup group = current.candidates();
         return new ServerStatus(
-            running.get() ? DaemonStatus.RUNNING : DaemonStatus.STOPPED,
-            finalCurrentActive,
-            primaryUp ? ServerHealthStatus.UP : ServerHealthStatus.DOWN,
-            secondaryUp ? ServerHealthStatus.UP : ServerHealthStatus.DOWN,
+            current.running() ? DaemonStatus.RUNNING : DaemonStatus.STOPPED,
+            CandidateGroup.roleOf(active),
+            group.isUp(0) ? ServerHealthStatus.UP : ServerHealthStatus.DOWN,
+            group.isUp(1) ? ServerHealthStatus.UP : ServerHealthStatus.DOWN,
             currentTime,
-            primaryDownSince.get(),
-            primaryUpSince.get(),
-            nextAction,
-            new ServerStatus.ConfigInfo(
-                new ServerStatus.ServerInfo(
-                    config.primary().name(),
-                    config.primary().host(),
-                    config.primary().port()
-                ),
-                new ServerStatus.ServerInfo(
-                    config.secondary().name(),
-                    config.secondary().host(),
-                    config.secondary().port()
-                )
-            )
+            group.downSince(0),
+            group.upSince(0),
+            current.lastNextAction(),
+            configInfo(),
+            dnsService.getEffectiveRecordTtl(),
+            group.snapshot(active),
+            nextLeaderSlot(currentTime)
         );
     }
+    
+    private boolean probe(CandidateGroup group, int index, long now, long[] latencyMicros) {
+        long started = System.nanoTime();
+        boolean up;
+        if (index < 2) {
+            up = networkService.getServerHealthStatus(CandidateGroup.roleOf(index)) == ServerHealthStatus.UP;
+        } else {
+            MonitorConfig.ServerConfig standby = group.node(index);
+            up = networkService.checkHostPort(standby.host(), standby.port(), config.timing().connectionTimeout());
+        }
+        long took = micros(started);
+        journal.probe(index, up, now, took);
+        latencyMicros[index] = up ? took : DegradationWatch.NO_SAMPLE;
+        return up;
+    }
+    
+    /**
+     * Replaces this monitor's own probe results with the quorum of every fresh vantage point, so a
+     * node only counts as down when enough of them agree.
+     */
+    private void applyQuorum(CandidateGroup group, boolean[] upNow, long now) {
+        for (int i = 0; i < upNow.length; i++) {
+            MonitorConfig.ServerConfig node = group.node(i);
+            boolean up = !vantage.isDown(node.host(), node.port(), !upNow[i], now);
+            if (up != upNow[i]) {
+                log.debug("{} ({}) is {} here but {} by quorum", CandidateGroup.roleOf(i), node.name(),
+                    upNow[i] ? "up" : "down", up ? "up" : "down");
+                upNow[i] = up;
+            }
+        }
+    }
+    
+    private static long micros(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000;
+    }
+    
+    private static void logTransitions(CandidateGroup previous, CandidateGroup group, Instant currentTime) {
+        for (int i = 0; i < group.size(); i++) {
+            if (group.changedSince(previous, i)) {
+                log.info("{} server ({}) {} at {}", CandidateGroup.roleOf(i), group.node(i).name(),
+                    group.isUp(i) ? "back up" : "went down", currentTime);
+            }
+        }
+    }
 
-    private NextAction.WithContext checkNextAction(boolean primaryUp, Instant currentTime, boolean secondaryUp, ServerType currentActive) {
-        var nextAction = NextAction.NONE.withoutContext();
+    /**
+     * The current state; created from the configuration on first use, since the
+     * configuration is injected after construction.
+     */
+    private MonitorState state() {
+        MonitorState current = state.get();
+        if (current != null) {
+            return current;
+        }
+        state.compareAndSet(null, MonitorState.initial(CandidateGroup.of(config), clock.instant()));
+        return state.get();
+    }
 
-        if (currentActive == ServerType.PRIMARY) {
-            // Currently using primary
-            if (!primaryUp) {
-                if (!secondaryUp) {
-                    // Both servers are down
-                    log.error("Both primary and secondary servers are down!");
-                    nextAction = NextAction.BOTH_SERVERS_DOWN.withoutContext();
-                } else if (primaryDownSince.get() != null) {
-                    Duration downDuration = Duration.between(primaryDownSince.get(), currentTime);
-                    if (downDuration.compareTo(config.timing().failoverDelay()) >= 0) {
-                        if (secondaryUp) {
-                            log.info("Primary down for {}, switching to secondary", downDuration);
-                            if (dnsService.switchDnsToServer(ServerType.SECONDARY)) {
-                                nextAction = NextAction.SWITCHED_TO_SECONDARY.withoutContext();
-                            } else {
-                                nextAction = NextAction.FAILED_TO_SWITCH_TO_SECONDARY.withoutContext();
-                            }
-                        } else {
-                            log.error("Primary down but secondary also unavailable!");
-                            nextAction = NextAction.BOTH_SERVERS_DOWN.withoutContext();
-                        }
-                    } else {
-                        long remaining = config.timing().failoverDelay().minus(downDuration).getSeconds();
-                        nextAction = NextAction.WAITING_FOR_FAILOVER.withRemainingTime(remaining);
-                    }
-                }
+    /**
+     * A follower reads the record itself; only the leader knows what it last wrote.
+     */
+    private int currentCandidate() {
+        return reconciler.isEnabled() && isLeader() ? reconciler.currentCandidate() : CandidateGroup.detectActive(dnsService);
+    }
+    
+    private boolean switchTo(int target) {
+        if (!isLeader()) {
+            // The lease may have run out between the decision and the write
+            log.warn("Not switching DNS to {}: this instance is not the leader", CandidateGroup.roleOf(target));
+            return false;
+        }
+        long started = System.nanoTime();
+        boolean switched = CandidateGroup.switchDns(dnsService, target);
+        journal.switched(target, switched, clock.millis(), micros(started));
+        if (switched) {
+            reconciler.recordSwitch(target);
+        }
+        return switched;
+    }
+    
+    public ApiResponse start() {
+        return await(submitStart());
+    }
+    
+    public CompletionStage<ApiResponse> submitStart() {
+        return control("start", () -> {
+            MonitorState current = state();
+            if (current.running()) {
+                return ApiResponse.error("Monitor is already running");
             }
-        } else if (currentActive == ServerType.SECONDARY) {
-            // Currently using secondary
-            if (!secondaryUp) {
-                if (!primaryUp) {
-                    // Both servers are down
-                    log.error("Both primary and secondary servers are down!");
-                    nextAction = NextAction.BOTH_SERVERS_DOWN.withoutContext();
-                } else {
-                    log.error("Secondary server is down!");
-                    nextAction = NextAction.SECONDARY_SERVER_DOWN.withoutContext();
-                }
-            } else if (primaryUp && primaryUpSince.get() != null) {
-                Duration upDuration = Duration.between(primaryUpSince.get(), currentTime);
-                if (upDuration.compareTo(config.timing().failbackDelay()) >= 0) {
-                    log.info("Primary up for {}, switching back to primary", upDuration);
-                    if (dnsService.switchDnsToServer(ServerType.PRIMARY)) {
-                        nextAction = NextAction.SWITCHED_TO_PRIMARY.withoutContext();
-                    } else {
-                        nextAction = NextAction.FAILED_TO_SWITCH_TO_PRIMARY.withoutContext();
-                    }
-                } else {
-                    long remaining = config.timing().failbackDelay().minus(upDuration).getSeconds();
-                    nextAction = NextAction.WAITING_FOR_FAILBACK.withRemainingTime(remaining);
-                }
+            state.set(current.withRunning(true));
+            log.info("Starting block producer monitoring daemon");
+            return ApiResponse.success("Monitor started successfully");
+        }).thenCompose(response -> response.success()
+            // Initial check
+            ? submitCheckServers().thenApply(status -> response)
+            : CompletableFuture.completedFuture(response));
+    }
+    
+    public ApiResponse stop() {
+        return await(submitStop());
+    }
+    
+    public CompletionStage<ApiResponse> submitStop() {
+        return control("stop", () -> {
+            MonitorState current = state();
+            if (!current.running()) {
+                return ApiResponse.error("Monitor is not running");
+            }
+            state.set(current.withRunning(false));
+            log.info("Stopping block producer monitoring daemon");
+            
+            return ApiResponse.success("Monitor stopped successfully");
+        });
+    }
+    
+    public ApiResponse manualSwitch(ServerType targetServer) {
+        return await(submitManualSwitch(targetServer));
+    }
+    
+    public CompletionStage<ApiResponse> submitManualSwitch(ServerType targetServer) {
+        if (targetServer == ServerType.NONE) {
+            return CompletableFuture.completedFuture(ApiResponse.error("Cannot manually switch to NONE. Use specific server type."));
+        }
+        if (targetServer == ServerType.STANDBY) {
+            return CompletableFuture.completedFuture(ApiResponse.error("Cannot manually switch to STANDBY. Name the standby candidate instead."));
+        }
+        return manualSwitchTo(CandidateGroup.indexOf(targetServer));
+    }
+    
+    public ApiResponse manualSwitchToCandidate(String name) {
+        return await(submitManualSwitchToCandidate(name));
+    }
+    
+    public CompletionStage<ApiResponse> submitManualSwitchToCandidate(String name) {
+        int target = state().candidates().indexOfName(name);
+        if (target == CandidateGroup.NO_CANDIDATE) {
+            return CompletableFuture.completedFuture(ApiResponse.error(String.format("Unknown candidate %s", name)));
+        }
+        return manualSwitchTo(target);
+    }
+    
+    /**
+     * Queues a control command; a full mailbox answers with an error instead of failing the stage.
+     */
+    private CompletionStage<ApiResponse> control(String command, Supplier<ApiResponse> action) {
+        return control(command, action, ApiResponse::error);
+    }
+    
+    private <T> CompletionStage<T> control(String command, Supplier<T> action, Function<String, T> rejected) {
+        return commands.submit(command, action).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                return rejected.apply(cause.getMessage());
             }
-        } else if (currentActive == ServerType.NONE) {
-            // Currently no active server - check if any server is available
-            if (primaryUp) {
-                log.info("Primary server available, switching from NONE to primary");
-                if (dnsService.switchDnsToServer(ServerType.PRIMARY)) {
-                    nextAction = NextAction.SWITCHED_TO_PRIMARY.withoutContext();
-                } else {
-                    nextAction = NextAction.FAILED_TO_SWITCH_TO_PRIMARY.withoutContext();
-                }
-            } else if (secondaryUp) {
-                log.info("Secondary server available, switching from NONE to secondary");
-                if (dnsService.switchDnsToServer(ServerType.SECONDARY)) {
-                    nextAction = NextAction.SWITCHED_TO_SECONDARY.withoutContext();
-                } else {
-                    nextAction = NextAction.FAILED_TO_SWITCH_TO_SECONDARY.withoutContext();
-                }
-            } else {
-                nextAction = NextAction.BOTH_SERVERS_DOWN.withoutContext();
+            throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
+    }
+    
+    private static <T> T await(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
         }
-
-        return nextAction;
     }
     
-
-    public ApiResponse start() {
-        if (running.get()) {
-            return ApiResponse.error("Monitor is already running");
+    void onStart(@Observes StartupEvent event) {
+        boot();
+    }
+    
+    /**
+     * Starts the enabled optional features, restores the last snapshot and checks right away.
+     * In agent mode it only marks this instance as a probe agent. Checking right away keeps a
+     * restart during an outage counting down the failover delay. Returns without waiting for the
+     * check. Restores nothing unless snapshots are enabled.
+     */
+    void boot() {
+        if (config.vantage().agent()) {
+            agent = true;
+            log.info("Running as probe agent {}; checks and DNS writes are left to the monitor",
+                config.vantage().agentId().orElseGet(InstanceId::defaultId));
+            return;
         }
         
-        running.set(true);
-        log.info("Starting block producer monitoring daemon");
+        MonitorConfig.ShadowConfig shadowConfig = config.shadow();
+        if (shadowConfig.enabled()) {
+            FailoverDecider shadowDecider = FailoverDecider.of(
+                shadowConfig.failoverDelay().orElse(config.timing().failoverDelay()),
+                shadowConfig.failbackDelay().orElse(config.timing().failbackDelay()));
+            shadow = new ShadowDecisions(shadowDecider, shadowConfig.historySize());
+            log.info("Shadow decisions enabled with failover delay {} and failback delay {}",
+                Duration.ofMillis(shadowDecider.failoverDelayMillis()), Duration.ofMillis(shadowDecider.failbackDelayMillis()));
+        }
         
-        // Initial check
-        checkServers();
+        MonitorConfig.LeaderScheduleConfig scheduleConfig = config.leaderSchedule();
+        if (scheduleConfig.enabled()) {
+            leaderSchedule = new LeaderScheduleFile(Path.of(scheduleConfig.file()));
+            leaderSchedule.current();
+        }
         
-        return ApiResponse.success("Monitor started successfully");
-    }
-    
-    public ApiResponse stop() {
-        if (!running.get()) {
-            return ApiResponse.error("Monitor is not running");
+        MonitorConfig.StandbyVerificationConfig verificationConfig = config.standbyVerification();
+        if (verificationConfig.enabled()) {
+            verifier = new StandbyVerifier(verificationConfig, CandidateGroup.nodes(config).size(),
+                config.timing().connectionTimeout(), clock);
+        }
+        
+        MonitorConfig.DegradationConfig degradationConfig = config.degradation();
+        if (degradationConfig.enabled()) {
+            degradation = new DegradationWatch(degradationConfig, CandidateGroup.nodes(config).size());
+            if (degradationConfig.tipLag()) {
+                // Reads the metrics endpoint and slot settings of standby verification, enabled or not
+                tipLagMetrics = new NodeMetrics(verificationConfig, config.timing().connectionTimeout());
+            }
         }
         
-        running.set(false);
-        log.info("Stopping block producer monitoring daemon");
+        MonitorConfig.HaConfig haConfig = config.ha();
+        if (haConfig.enabled()) {
+            String instanceId = haConfig.instanceId().orElseGet(InstanceId::defaultId);
+            log.info("HA enabled as instance {} on lease file {}", instanceId, haConfig.leaseFile());
+            election = new LeaderElection(new FileLeaseStore(Path.of(haConfig.leaseFile())),
+                instanceId, haConfig.leasePeriod(), clock, reconciler::forget);
+            dnsService.fenceWrites(election::leaderForMillis);
+            election.start();
+        }
         
-        return ApiResponse.success("Monitor stopped successfully");
+        MonitorConfig.SnapshotConfig snapshotConfig = config.snapshot();
+        if (!snapshotConfig.enabled()) {
+            return;
+        }
+        StateSnapshots restoring = new StateSnapshots(Path.of(snapshotConfig.file()), snapshotConfig.maxAge(), clock, state::get);
+        snapshots = restoring;
+        commands.submit("restore", () -> {
+            state.set(restoring.restore(state(), clock.instant()));
+            return null;
+        });
+        submitCheckServers().whenComplete((status, error) -> {
+            if (error != null) {
+                log.warn("First check after boot failed: {}", error.getMessage());
+            }
+        });
+        restoring.start(snapshotConfig.interval());
     }
     
-    public ApiResponse manualSwitch(ServerType targetServer) {
-        if (targetServer == ServerType.NONE) {
-            return ApiResponse.error("Cannot manually switch to NONE. Use specific server type.");
+    @PreDestroy
+    void shutdown() {
+        commands.close();
+        effects.close();
+        probeExecutor.shutdownNow();
+        StateSnapshots current = snapshots;
+        if (current != null) {
+            current.close();
+        }
+        // Hand over right away instead of when the lease runs out
+        LeaderElection currentElection = election;
+        if (currentElection != null) {
+            currentElection.close();
         }
+    }
+    
+    /**
+     * What a manual switch needs to know before it is decided: where DNS points and whether the
+     * target answers.
+     */
+    private record ManualSwitchCheck(long switchesSettled, int active, boolean reachable) {}
+    
+    /**
+     * Either the switch a manual switch claimed the slot for, or why it was refused.
+     */
+    private record ManualSwitchClaim(FailoverDecider.SwitchDns switchDns, ApiResponse refusal) {
         
-        ServerType currentActive = dnsService.detectCurrentActiveServer();
-        if (targetServer == currentActive) {
-            return ApiResponse.error(String.format("Already using %s server", targetServer.name().toLowerCase()));
+        static ManualSwitchClaim refused(String message) {
+            return new ManualSwitchClaim(null, ApiResponse.error(message));
+        }
+    }
+    
+    /**
+     * Reads DNS and probes the target off the writer, decides on it and hands the switch to the
+     * effect executor like any other; the outcome is folded back on the writer.
+     */
+    private CompletionStage<ApiResponse> manualSwitchTo(int target) {
+        if (agent) {
+            return CompletableFuture.completedFuture(ApiResponse.error(AGENT_SWITCH_REFUSAL));
+        }
+        CompletableFuture<ManualSwitchCheck> checked;
+        try {
+            checked = CompletableFuture.supplyAsync(() -> checkManualSwitch(target), probeExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ApiResponse.error(e.getMessage()));
+        }
+        String label = CandidateGroup.roleOf(target).name().toLowerCase();
+        return checked.thenCompose(check -> control("switch to " + label, () -> claimManualSwitch(target, check),
+            ManualSwitchClaim::refused)).thenCompose(claim -> {
+            FailoverDecider.SwitchDns switchDns = claim.switchDns();
+            if (switchDns == null) {
+                return CompletableFuture.completedFuture(claim.refusal());
+            }
+            return effects.apply(switchDns).thenCompose(switched -> commands.submitWaiting("manual switch outcome", () -> {
+                state.set(FailoverDecider.afterManualSwitch(state(), switchDns, switched));
+                switchesSettled++;
+                return switched
+                    ? ApiResponse.success(String.format("Successfully switched to %s server", label))
+                    : ApiResponse.error(String.format("Failed to switch to %s server", label));
+            }));
+        });
+    }
+    
+    private ManualSwitchCheck checkManualSwitch(int target) {
+        long settled = switchesSettled;
+        MonitorConfig.ServerConfig targetConfig = state().candidates().node(target);
+        return new ManualSwitchCheck(settled, currentCandidate(),
+            networkService.checkHostPort(targetConfig.host(), targetConfig.port(), config.timing().connectionTimeout()));
+    }
+    
+    /**
+     * Claims the switch slot for a manual switch on the writer; answers with the reason when the
+     * switch must not be made.
+     */
+    private ManualSwitchClaim claimManualSwitch(int target, ManualSwitchCheck check) {
+        String label = CandidateGroup.roleOf(target).name().toLowerCase();
+        MonitorState current = state();
+        // A switch that settled since the read knows better where DNS points
+        int active = check.switchesSettled() == switchesSettled ? check.active() : current.active();
+        FailoverDecider.Decision decision = FailoverDecider.manualSwitch(current, active, target);
+        if (decision.effects().isEmpty()) {
+            return ManualSwitchClaim.refused("A DNS switch is already in progress");
         }
         
-        // Check if target server is available
-        MonitorConfig.ServerConfig targetConfig = targetServer == ServerType.PRIMARY 
-            ? config.primary() : config.secondary();
+        if (agent) {
+            return ManualSwitchClaim.refused(AGENT_SWITCH_REFUSAL);
+        }
+        // Not an agent, so only an election can make this instance a follower
+        if (!isLeader()) {
+            String holder = election.lease().holder();
+            return ManualSwitchClaim.refused(holder.isEmpty() ? "This instance is a follower and no instance holds the lease yet"
+                : String.format("This instance is a follower, switch through the leader (%s)", holder));
+        }
         
-        boolean isReachable = networkService.checkHostPort(
-            targetConfig.host(),
-            targetConfig.port(),
-            config.timing().connectionTimeout()
-        );
+        if (target == active) {
+            return ManualSwitchClaim.refused(String.format("Already using %s server", label));
+        }
         
-        if (!isReachable) {
-            return ApiResponse.error(String.format(
+        if (!check.reachable()) {
+            return ManualSwitchClaim.refused(String.format(
                 "Target %s server (%s) is not reachable",
-                targetServer.name().toLowerCase(),
-                targetConfig.name()
+                label,
+                current.candidates().node(target).name()
             ));
         }
         
-        // Perform the switch
-        if (dnsService.switchDnsToServer(targetServer)) {
-            // Reset timing tracking when manual switch occurs
-            primaryDownSince.set(null);
-            primaryUpSince.set(null);
-            return ApiResponse.success(String.format("Successfully switched to %s server", targetServer.name().toLowerCase()));
-        } else {
-            return ApiResponse.error(String.format("Failed to switch to %s server", targetServer.name().toLowerCase()));
-        }
+        state.set(decision.state());
+        return new ManualSwitchClaim((FailoverDecider.SwitchDns) decision.effects().getFirst(), null);
     }
 
     public void resetState() {
-        running.set(true);
-        primaryDownSince.set(null);
-        primaryUpSince.set(null);
-        lastNextAction.set(NextAction.NONE.withoutContext());
-        lastCheck.set(Instant.now());
+        await(commands.submit("reset", () -> {
+            state.set(state().reset(clock.instant()));
+            return null;
+        }));
+    }
+    
+    /**
+     * Claims the switch slot on the writer thread, so a repair never overlaps a failover or a
+     * manual switch, and checks there that the reconciler still wants it; the write itself runs
+     * on the effect executor and the slot is released on the writer again.
+     */
+    public DnsReconcilerIF.RepairResult repairDns(int candidate, BooleanSupplier stillWanted) {
+        Boolean claimed = commands.submit("repair dns", () -> {
+            MonitorState current = state();
+            if (current.switchInFlight() != CandidateGroup.NO_CANDIDATE) {
+                log.info("DNS switch to {} in flight, not repairing", CandidateGroup.roleOf(current.switchInFlight()));
+                return false;
+            }
+            if (!isLeader() || !stillWanted.getAsBoolean()) {
+                log.info("DNS changed since the drift was seen, not repairing");
+                return false;
+            }
+            state.set(current.withSwitchInFlight(candidate));
+            return true;
+        }).exceptionally(e -> {
+            log.warn("Could not queue DNS repair: {}", e.getMessage());
+            return false;
+        }).join();
+        if (!claimed) {
+            return DnsReconcilerIF.RepairResult.SKIPPED;
+        }
+        
+        FailoverDecider.SwitchDns repair = new FailoverDecider.SwitchDns(CandidateGroup.NO_CANDIDATE, candidate,
+            String.format("Repairing DNS drift, pointing it back at %s", CandidateGroup.roleOf(candidate)));
+        boolean repaired = effects.apply(repair).join();
+        commands.submitWaiting("repair outcome", () -> {
+            MonitorState current = state();
+            if (current.switchInFlight() == candidate) {
+                MonitorState settled = current.withSwitchInFlight(CandidateGroup.NO_CANDIDATE);
+                state.set(repaired ? settled.withActive(candidate) : settled);
+            }
+            switchesSettled++;
+            return null;
+        }).join();
+        return repaired ? DnsReconcilerIF.RepairResult.REPAIRED : DnsReconcilerIF.RepairResult.FAILED;
     }
     
     public boolean isRunning() {
-        return running.get();
+        return !agent && state().running();
     }
     
+    /**
+     * Served from the state the last check and switch left, without reading DNS or probing.
+     */
     public ServerStatus getStatus() {
+        MonitorState current = state();
+        List<CandidateStatus> candidateStatuses = current.candidates().snapshot(current.active());
         return new ServerStatus(
-            running.get() ? DaemonStatus.RUNNING : DaemonStatus.STOPPED,
-            dnsService.detectCurrentActiveServer(),
-            networkService.getServerHealthStatus(ServerType.PRIMARY),
-            networkService.getServerHealthStatus(ServerType.SECONDARY),
-            lastCheck.get(),
-            primaryDownSince.get(),
-            primaryUpSince.get(),
-            lastNextAction.get(),
-            new ServerStatus.ConfigInfo(
-                new ServerStatus.ServerInfo(
-                    config.primary().name(),
-                    config.primary().host(),
-                    config.primary().port()
-                ),
-                new ServerStatus.ServerInfo(
-                    config.secondary().name(),
-                    config.secondary().host(),
-                    config.secondary().port()
-                )
+            current.running() ? DaemonStatus.RUNNING : DaemonStatus.STOPPED,
+            CandidateGroup.roleOf(current.active()),
+            candidateStatuses.get(0).status(),
+            candidateStatuses.get(1).status(),
+            current.lastCheck(),
+            candidateStatuses.getFirst().downSince(),
+            candidateStatuses.getFirst().upSince(),
+            current.lastNextAction(),
+            configInfo(),
+            dnsService.getEffectiveRecordTtl(),
+            candidateStatuses,
+            nextLeaderSlot(clock.instant())
+        );
+    }
+    
+    public ShadowReport getShadowReport() {
+        ShadowDecisions current = shadow;
+        return current == null ? ShadowReport.disabled() : current.report();
+    }
+    
+    public boolean isLeader() {
+        LeaderElection current = election;
+        return !agent && (current == null || current.isLeader());
+    }
+    
+    public boolean isAgent() {
+        return agent;
+    }
+    
+    public HaStatus getHaStatus() {
+        LeaderElection current = election;
+        if (current == null) {
+            return HaStatus.disabled();
+        }
+        LeaseStoreIF.Lease lease = current.lease();
+        return new HaStatus(true, current.instanceId(), current.isLeader(), lease.holder().isEmpty() ? null : lease.holder(),
+            lease.term(), lease.expiresAtMillis() == Long.MIN_VALUE ? null : Instant.ofEpochMilli(lease.expiresAtMillis()));
+    }
+    
+    public List<StandbyVerdict> getStandbyVerdicts() {
+        StandbyVerifier current = verifier;
+        return current == null ? List.of() : current.verdicts();
+    }
+    
+    private FailoverDecider.LeaderGate leaderGate() {
+        LeaderScheduleFile file = leaderSchedule;
+        if (file == null) {
+            return FailoverDecider.LeaderGate.NONE;
+        }
+        MonitorConfig.LeaderScheduleConfig scheduleConfig = config.leaderSchedule();
+        return new FailoverDecider.LeaderGate(file.current(), scheduleConfig.guard().toMillis(),
+            scheduleConfig.failoverPolicy(), scheduleConfig.failbackPolicy());
+    }
+    
+    private Instant nextLeaderSlot(Instant now) {
+        return leaderGate().nextSlot(now.toEpochMilli());
+    }
+    
+    private ServerStatus.ConfigInfo configInfo() {
+        return new ServerStatus.ConfigInfo(
+            new ServerStatus.ServerInfo(
+                config.primary().name(),
+                config.primary().host(),
+                config.primary().port()
+            ),
+            new ServerStatus.ServerInfo(
+                config.secondary().name(),
+                config.secondary().host(),
+                config.secondary().port()
             )
         );
     }
-}
\ No newline at end of file
+}
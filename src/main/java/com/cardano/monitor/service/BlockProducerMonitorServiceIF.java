@@ -1,22 +1,77 @@
 package com.cardano.monitor.service;
 
 import com.cardano.monitor.model.ApiResponse;
+import com.cardano.monitor.model.HaStatus;
 import com.cardano.monitor.model.ServerStatus;
 import com.cardano.monitor.model.ServerType;
+import com.cardano.monitor.model.ShadowReport;
+import com.cardano.monitor.model.StandbyVerdict;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Monitor of one failover group. Every command is queued to a single writer and runs after the
+ * ones submitted before it; the plain methods wait for their command, the {@code submit}
+ * variants return as soon as it is queued. Reads never wait for the writer.
+ */
 public interface BlockProducerMonitorServiceIF {
     
     ServerStatus checkServers();
     
+    CompletionStage<ServerStatus> submitCheckServers();
+    
     ApiResponse start();
     
+    CompletionStage<ApiResponse> submitStart();
+    
     ApiResponse stop();
     
+    CompletionStage<ApiResponse> submitStop();
+    
     ApiResponse manualSwitch(ServerType targetServer);
     
+    CompletionStage<ApiResponse> submitManualSwitch(ServerType targetServer);
+    
+    /**
+     * Switches to a candidate by its configured name, which also reaches the standbys.
+     */
+    ApiResponse manualSwitchToCandidate(String name);
+    
+    CompletionStage<ApiResponse> submitManualSwitchToCandidate(String name);
+    
     void resetState();
     
+    /**
+     * Writes a reconciler repair like any other switch, skipping it while one is in flight.
+     */
+    DnsReconcilerIF.RepairResult repairDns(int candidate, BooleanSupplier stillWanted);
+    
     boolean isRunning();
     
     ServerStatus getStatus();
-}
\ No newline at end of file
+    
+    /**
+     * Where the shadow decision path, when enabled, would have switched differently from the live one.
+     */
+    ShadowReport getShadowReport();
+    
+    /**
+     * The latest in-depth check of each failover target, empty unless standby verification is enabled.
+     */
+    List<StandbyVerdict> getStandbyVerdicts();
+    
+    /**
+     * Whether this instance may write DNS: always, unless it is a probe agent, or HA is enabled and another
+     * instance holds the lease.
+     */
+    boolean isLeader();
+    
+    /**
+     * Whether this instance only probes for another monitor and never switches DNS.
+     */
+    boolean isAgent();
+    
+    HaStatus getHaStatus();
+}
@@ -0,0 +1,231 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.CandidateStatus;
+import com.cardano.monitor.model.ServerHealthStatus;
+import com.cardano.monitor.model.ServerType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Failover candidates in priority order: primary, secondary, then the configured standbys.
+ * Health and its timestamps live in arrays indexed by priority. Instances are immutable:
+ * a check cycle derives the next group with one copy of each array, however many
+ * candidates there are, so a group can be shared freely between threads.
+ */
+final class CandidateGroup {
+
+    static final int NO_CANDIDATE = -1;
+
+    // Timestamp of a timer that is not running
+    static final long UNSET = Long.MIN_VALUE;
+
+    private final MonitorConfig.ServerConfig[] nodes;
+    private final boolean[] up;
+    private final boolean[] observed;
+    private final long[] downSinceMillis;
+    private final long[] upSinceMillis;
+
+    private CandidateGroup(MonitorConfig.ServerConfig[] nodes, boolean[] up, boolean[] observed,
+                           long[] downSinceMillis, long[] upSinceMillis) {
+        this.nodes = nodes;
+        this.up = up;
+        this.observed = observed;
+        this.downSinceMillis = downSinceMillis;
+        this.upSinceMillis = upSinceMillis;
+    }
+
+    static CandidateGroup of(MonitorConfig config) {
+        MonitorConfig.ServerConfig[] nodes = nodes(config).toArray(MonitorConfig.ServerConfig[]::new);
+        return new CandidateGroup(nodes, new boolean[nodes.length], new boolean[nodes.length],
+            unset(nodes.length), unset(nodes.length));
+    }
+
+    private static long[] unset(int size) {
+        long[] millis = new long[size];
+        Arrays.fill(millis, UNSET);
+        return millis;
+    }
+
+    static List<MonitorConfig.ServerConfig> nodes(MonitorConfig config) {
+        List<MonitorConfig.ServerConfig> nodes = new ArrayList<>();
+        nodes.add(config.primary());
+        nodes.add(config.secondary());
+        nodes.addAll(config.standbys().orElse(List.of()));
+        return nodes;
+    }
+
+    static ServerType roleOf(int index) {
+        return switch (index) {
+            case NO_CANDIDATE -> ServerType.NONE;
+            case 0 -> ServerType.PRIMARY;
+            case 1 -> ServerType.SECONDARY;
+            default -> ServerType.STANDBY;
+        };
+    }
+
+    /**
+     * Index of a named role; a standby cannot be told apart by its role and gives {@link #NO_CANDIDATE}.
+     */
+    static int indexOf(ServerType role) {
+        return switch (role) {
+            case PRIMARY -> 0;
+            case SECONDARY -> 1;
+            case STANDBY, NONE -> NO_CANDIDATE;
+        };
+    }
+
+    /**
+     * The candidate DNS points to. Costs one extra lookup only when it is a standby.
+     */
+    static int detectActive(DnsServiceIF dnsService) {
+        ServerType role = dnsService.detectCurrentActiveServer();
+        return role == ServerType.STANDBY ? dnsService.detectActiveCandidate() : indexOf(role);
+    }
+
+    /**
+     * Primary and secondary keep going through the role-based switch; standbys are switched by index.
+     */
+    static boolean switchDns(DnsServiceIF dnsService, int index) {
+        return index < 2 ? dnsService.switchDnsToServer(roleOf(index)) : dnsService.switchDnsToCandidate(index);
+    }
+
+    int size() {
+        return nodes.length;
+    }
+
+    MonitorConfig.ServerConfig node(int index) {
+        return nodes[index];
+    }
+
+    int indexOfName(String name) {
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i].name().equals(name)) {
+                return i;
+            }
+        }
+        return NO_CANDIDATE;
+    }
+
+    /**
+     * The group after one health observation of every candidate, {@code upNow} indexed like
+     * the group. The array is taken over, not copied.
+     */
+    CandidateGroup observe(boolean[] upNow, long nowMillis) {
+        boolean[] nextObserved = new boolean[nodes.length];
+        long[] nextDownSince = downSinceMillis.clone();
+        long[] nextUpSince = upSinceMillis.clone();
+        for (int i = 0; i < nodes.length; i++) {
+            nextObserved[i] = true;
+            if (upNow[i]) {
+                nextDownSince[i] = UNSET;
+                if (nextUpSince[i] == UNSET) {
+                    nextUpSince[i] = nowMillis;
+                }
+            } else {
+                nextUpSince[i] = UNSET;
+                if (nextDownSince[i] == UNSET) {
+                    nextDownSince[i] = nowMillis;
+                }
+            }
+        }
+        return new CandidateGroup(nodes, upNow, nextObserved, nextDownSince, nextUpSince);
+    }
+
+    /**
+     * The group with health and timers of earlier observations put back, e.g. from a snapshot
+     * taken before a restart. The arrays are indexed like the group and taken over, not copied;
+     * {@link #UNSET} marks a timer that is not running.
+     */
+    CandidateGroup restored(boolean[] observed, boolean[] up, long[] downSinceMillis, long[] upSinceMillis) {
+        return new CandidateGroup(nodes, up, observed, downSinceMillis, upSinceMillis);
+    }
+
+    boolean isObserved(int index) {
+        return observed[index];
+    }
+
+    long downSinceMillis(int index) {
+        return downSinceMillis[index];
+    }
+
+    long upSinceMillis(int index) {
+        return upSinceMillis[index];
+    }
+
+    /**
+     * True if the candidate was up in {@code previous} and is down here, or the other way round.
+     */
+    boolean changedSince(CandidateGroup previous, int index) {
+        return previous.observed[index] && previous.up[index] != up[index];
+    }
+
+    boolean isUp(int index) {
+        return up[index];
+    }
+
+    long downForMillis(int index, long nowMillis) {
+        return downSinceMillis[index] == UNSET ? 0 : nowMillis - downSinceMillis[index];
+    }
+
+    long upForMillis(int index, long nowMillis) {
+        return upSinceMillis[index] == UNSET ? 0 : nowMillis - upSinceMillis[index];
+    }
+
+    Instant downSince(int index) {
+        return downSinceMillis[index] == UNSET ? null : Instant.ofEpochMilli(downSinceMillis[index]);
+    }
+
+    Instant upSince(int index) {
+        return upSinceMillis[index] == UNSET ? null : Instant.ofEpochMilli(upSinceMillis[index]);
+    }
+
+    /**
+     * Highest-priority candidate that is up, other than {@code excluded}.
+     */
+    int bestUp(int excluded) {
+        return bestUp(excluded, null);
+    }
+
+    /**
+     * Highest-priority candidate that is up, other than {@code excluded} and those set in
+     * {@code skipped}, which may be null.
+     */
+    int bestUp(int excluded, boolean[] skipped) {
+        for (int i = 0; i < nodes.length; i++) {
+            if (i != excluded && up[i] && (skipped == null || !skipped[i])) {
+                return i;
+            }
+        }
+        return NO_CANDIDATE;
+    }
+
+    /**
+     * Forgets how long candidates have been up or down, e.g. after a manual switch.
+     */
+    CandidateGroup withoutTimers() {
+        return new CandidateGroup(nodes, up, observed, unset(nodes.length), unset(nodes.length));
+    }
+
+    /**
+     * Forgets everything observed so far.
+     */
+    CandidateGroup reset() {
+        return new CandidateGroup(nodes, new boolean[nodes.length], new boolean[nodes.length],
+            unset(nodes.length), unset(nodes.length));
+    }
+
+    List<CandidateStatus> snapshot(int active) {
+        List<CandidateStatus> candidates = new ArrayList<>(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            ServerHealthStatus status = !observed[i] ? ServerHealthStatus.UNKNOWN
+                : up[i] ? ServerHealthStatus.UP : ServerHealthStatus.DOWN;
+            candidates.add(new CandidateStatus(i, roleOf(i), nodes[i].name(), nodes[i].host(), nodes[i].port(),
+                status, downSince(i), upSince(i), i == active));
+        }
+        return candidates;
+    }
+}
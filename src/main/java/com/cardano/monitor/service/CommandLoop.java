@@ -0,0 +1,124 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands one at a time on a single writer thread, in the order they were submitted.
+ * The mailbox is bounded: when it is full a command is rejected right away instead of
+ * queueing without limit behind a slow DNS write. A command submitted from the writer
+ * thread itself runs inline, so one command may build on another without deadlocking.
+ */
+@Slf4j
+final class CommandLoop implements AutoCloseable {
+
+    private record Command<T>(String name, Supplier<T> action, CompletableFuture<T> result) {}
+
+    private final String name;
+    private final BlockingQueue<Command<?>> mailbox;
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    CommandLoop(String name, int capacity) {
+        this.name = name;
+        this.mailbox = new ArrayBlockingQueue<>(capacity);
+    }
+
+    <T> CompletableFuture<T> submit(String command, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new RejectedExecutionException(name + " is closed"));
+            return result;
+        }
+        if (Thread.currentThread() == writer) {
+            execute(new Command<>(command, action, result));
+            return result;
+        }
+        ensureStarted();
+        if (!mailbox.offer(new Command<>(command, action, result))) {
+            log.warn("{} mailbox full, rejecting {}", name, command);
+            result.completeExceptionally(new RejectedExecutionException(name + " is busy, rejected " + command));
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #submit} but waits for room in the mailbox instead of rejecting. Meant for the
+     * outcome of work a command already started, which must not be lost to a busy mailbox; the
+     * caller must not be the thread that drains it.
+     */
+    <T> CompletableFuture<T> submitWaiting(String command, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (Thread.currentThread() == writer) {
+            execute(new Command<>(command, action, result));
+            return result;
+        }
+        ensureStarted();
+        Command<T> queued = new Command<>(command, action, result);
+        try {
+            while (!closed) {
+                if (mailbox.offer(queued, 100, TimeUnit.MILLISECONDS)) {
+                    return result;
+                }
+                log.debug("{} mailbox full, waiting to queue {}", name, command);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        result.completeExceptionally(new RejectedExecutionException(name + " is closed"));
+        return result;
+    }
+
+    int pending() {
+        return mailbox.size();
+    }
+
+    private void ensureStarted() {
+        if (writer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (writer == null && !closed) {
+                writer = Thread.ofVirtual().name(name).start(this::run);
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                execute(mailbox.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        Command<?> abandoned;
+        while ((abandoned = mailbox.poll()) != null) {
+            abandoned.result().completeExceptionally(new RejectedExecutionException(name + " is closed"));
+        }
+    }
+
+    private static <T> void execute(Command<T> command) {
+        try {
+            command.result().complete(command.action().get());
+        } catch (RuntimeException e) {
+            log.error("Command {} failed", command.name(), e);
+            command.result().completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread current = writer;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+}
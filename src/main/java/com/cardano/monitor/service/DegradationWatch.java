@@ -0,0 +1,71 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+
+import java.util.OptionalLong;
+
+/**
+ * Follows each candidate's connect latency, and the active candidate's tip age, through a
+ * {@link TrendDetector} each, and says when the active candidate looks about to fail. Every
+ * candidate learns its latency baseline all along, so a freshly switched-to one is judged against
+ * its own history; the tip age restarts from scratch whenever another candidate becomes active.
+ * Used on the writer thread only.
+ */
+final class DegradationWatch {
+
+    // Smallest spreads, so a perfectly steady series does not alarm on jitter
+    private static final double MIN_LATENCY_DEVIATION_MICROS = 1_000;
+    private static final double MIN_TIP_LAG_DEVIATION_SECONDS = 5;
+
+    static final long NO_SAMPLE = -1;
+
+    private final TrendDetector[] latency;
+    private final TrendDetector tipLag;
+    private int tipLagOf = CandidateGroup.NO_CANDIDATE;
+
+    DegradationWatch(MonitorConfig.DegradationConfig config, int candidates) {
+        latency = new TrendDetector[candidates];
+        for (int i = 0; i < candidates; i++) {
+            latency[i] = detector(config, MIN_LATENCY_DEVIATION_MICROS);
+        }
+        tipLag = detector(config, MIN_TIP_LAG_DEVIATION_SECONDS);
+    }
+
+    /**
+     * Takes one cycle's samples.
+     *
+     * @param latencyMicros connect latency per candidate, {@link #NO_SAMPLE} for a failed probe
+     * @param tipAgeSeconds the active candidate's tip age, if it could be read
+     * @return why the active candidate looks degraded, or null when it does not
+     */
+    String observe(CandidateGroup group, int active, long[] latencyMicros, OptionalLong tipAgeSeconds) {
+        for (int i = 0; i < latency.length && i < latencyMicros.length; i++) {
+            if (latencyMicros[i] != NO_SAMPLE) {
+                latency[i].add(latencyMicros[i]);
+            }
+        }
+        if (active == CandidateGroup.NO_CANDIDATE || active >= latency.length) {
+            return null;
+        }
+        if (active != tipLagOf) {
+            tipLag.reset();
+            tipLagOf = active;
+        }
+        boolean lagging = tipAgeSeconds.isPresent() && tipLag.add(tipAgeSeconds.getAsLong());
+
+        String node = String.format("%s (%s)", CandidateGroup.roleOf(active), group.node(active).name());
+        if (latencyMicros[active] != NO_SAMPLE && latency[active].alarmed()) {
+            return String.format("connect latency of %s rising, %dms against %dms usual", node,
+                latencyMicros[active] / 1_000, Math.round(latency[active].baseline() / 1_000));
+        }
+        if (lagging) {
+            return String.format("tip of %s falling behind, %ds old against %ds usual", node,
+                tipAgeSeconds.getAsLong(), Math.round(tipLag.baseline()));
+        }
+        return null;
+    }
+
+    private static TrendDetector detector(MonitorConfig.DegradationConfig config, double minDeviation) {
+        return new TrendDetector(config.baselineAlpha(), config.slack(), config.threshold(), config.warmUp(), minDeviation);
+    }
+}
@@ -0,0 +1,157 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dns.DnsMessageCodec;
+import com.cardano.monitor.dns.DnsQueryClient;
+import com.cardano.monitor.model.PropagationReport;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watches a DNS switch reach the zone's authoritative nameservers.
+ * Every nameserver is polled in parallel with non-recursive UDP queries until it
+ * answers with the new address or the configured timeout expires.
+ */
+@ApplicationScoped
+@Slf4j
+public class DnsPropagationVerifier implements DnsPropagationVerifierIF {
+
+    @Inject
+    MonitorConfig config;
+
+    DnsQueryClient queryClient = new DnsQueryClient();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicReference<Future<?>> inFlight = new AtomicReference<>();
+    private final Deque<PropagationReport> reports = new ConcurrentLinkedDeque<>();
+
+    public void verifyAsync(String expectedAnswer) {
+        if (!config.dns().propagation().enabled()) {
+            return;
+        }
+
+        Future<?> previous = inFlight.getAndSet(executor.submit(() -> {
+            PropagationReport report = verify(expectedAnswer);
+            if (report != null) {
+                record(report);
+            }
+        }));
+
+        // A newer switch supersedes whatever we were still waiting for
+        if (previous != null) {
+            previous.cancel(true);
+        }
+    }
+
+    public PropagationReport verify(String expectedAnswer) {
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        MonitorConfig.PropagationConfig propagationConfig = dnsConfig.propagation();
+        String fqdn = dnsConfig.recordFqdn();
+        int type = DnsMessageCodec.typeOf(dnsConfig.recordType());
+
+        Instant switchedAt = Instant.now();
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + propagationConfig.timeout().toNanos();
+
+        List<Callable<PropagationReport.NameserverResult>> tasks = new ArrayList<>();
+        for (String nameserver : propagationConfig.nameservers()) {
+            tasks.add(() -> pollNameserver(nameserver, fqdn, type, expectedAnswer, startNanos, deadlineNanos, propagationConfig));
+        }
+
+        List<PropagationReport.NameserverResult> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<PropagationReport.NameserverResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Propagation check for {} -> {} superseded", fqdn, expectedAnswer);
+            return null;
+        } catch (ExecutionException e) {
+            log.error("Propagation check for {} failed", fqdn, e.getCause());
+            return null;
+        }
+
+        boolean complete = !results.isEmpty() && results.stream().allMatch(PropagationReport.NameserverResult::propagated);
+        Long timeToPropagate = complete
+            ? results.stream().mapToLong(PropagationReport.NameserverResult::timeToPropagateMillis).max().orElse(0)
+            : null;
+
+        if (complete) {
+            log.info("DNS change {} -> {} visible on all {} nameservers after {}ms", fqdn, expectedAnswer, results.size(), timeToPropagate);
+        } else {
+            log.warn("DNS change {} -> {} not visible on all nameservers within {}", fqdn, expectedAnswer, propagationConfig.timeout());
+        }
+
+        return new PropagationReport(fqdn, expectedAnswer, switchedAt, Instant.now(), complete, timeToPropagate, List.copyOf(results));
+    }
+
+    private PropagationReport.NameserverResult pollNameserver(String nameserver, String fqdn, int type, String expectedAnswer,
+                                                             long startNanos, long deadlineNanos,
+                                                             MonitorConfig.PropagationConfig propagationConfig) throws InterruptedException {
+        InetSocketAddress address = DnsQueryClient.parseNameserver(nameserver);
+        List<String> lastAnswer = List.of();
+        String lastError = null;
+        int queries = 0;
+
+        while (System.nanoTime() < deadlineNanos) {
+            try {
+                queries++;
+                DnsMessageCodec.Response response = queryClient.query(address, fqdn, type, propagationConfig.queryTimeout());
+                lastAnswer = response.answers();
+                lastError = response.isSuccess() ? null : "rcode " + response.rcode();
+                if (lastAnswer.stream().anyMatch(answer -> DnsMessageCodec.sameAddress(answer, expectedAnswer))) {
+                    long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+                    log.debug("Nameserver {} returns {} after {}ms", nameserver, expectedAnswer, elapsedMillis);
+                    return new PropagationReport.NameserverResult(nameserver, true, elapsedMillis, lastAnswer, null, queries);
+                }
+            } catch (IOException e) {
+                lastError = e.getMessage();
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long sleepNanos = Math.min(propagationConfig.pollInterval().toNanos(), deadlineNanos - System.nanoTime());
+            if (sleepNanos > 0) {
+                Thread.sleep(Duration.ofNanos(sleepNanos));
+            }
+        }
+
+        return new PropagationReport.NameserverResult(nameserver, false, null, lastAnswer, lastError, queries);
+    }
+
+    private void record(PropagationReport report) {
+        reports.addFirst(report);
+        int historySize = Math.max(1, config.dns().propagation().historySize());
+        while (reports.size() > historySize) {
+            reports.pollLast();
+        }
+    }
+
+    public List<PropagationReport> getRecentReports() {
+        return List.copyOf(reports);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.PropagationReport;
+
+import java.util.List;
+
+public interface DnsPropagationVerifierIF {
+    
+    void verifyAsync(String expectedAnswer);
+    
+    PropagationReport verify(String expectedAnswer);
+    
+    List<PropagationReport> getRecentReports();
+}
@@ -0,0 +1,22 @@
+package com.cardano.monitor.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class DnsReconcileJob {
+    
+    @Inject
+    BlockProducerMonitorServiceIF monitorService;
+    
+    @Inject
+    DnsReconcilerIF reconciler;
+    
+    @Scheduled(every = "${monitor.dns.reconcile.interval:300s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void reconcile() {
+        if (reconciler.isEnabled() && monitorService.isRunning() && monitorService.isLeader()) {
+            reconciler.reconcile(monitorService::repairDns);
+        }
+    }
+}
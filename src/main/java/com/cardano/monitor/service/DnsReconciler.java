@@ -0,0 +1,155 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.DriftEvent;
+import com.cardano.monitor.model.DriftPolicy;
+import com.cardano.monitor.model.FailoverGroupStatus;
+import com.cardano.monitor.model.ServerType;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the monitor's idea of the active server separate from the provider's record.
+ * The monitor reads {@link #currentActive()} every cycle without touching the API; this
+ * reconciler compares it with the record at a low frequency and repairs or reports drift,
+ * e.g. after someone edited the record in the name.com UI.
+ */
+@ApplicationScoped
+@Slf4j
+public class DnsReconciler implements DnsReconcilerIF {
+
+    @Inject
+    MonitorConfig config;
+
+    @Inject
+    DnsServiceIF dnsService;
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    // Candidate index DNS should point to, see CandidateGroup
+    private final AtomicInteger desired = new AtomicInteger(UNKNOWN);
+    // Bumped on every switch, so a reconcile pass that raced with one discards its stale read
+    private final AtomicLong generation = new AtomicLong();
+    private final Deque<DriftEvent> events = new ConcurrentLinkedDeque<>();
+
+    public boolean isEnabled() {
+        return config.dns().reconcile().enabled();
+    }
+
+    /**
+     * The server DNS should point to. Read from the provider once when nothing is known yet.
+     */
+    public ServerType currentActive() {
+        return CandidateGroup.roleOf(currentCandidate());
+    }
+
+    public int currentCandidate() {
+        int known = desired.get();
+        if (known != UNKNOWN) {
+            return known;
+        }
+
+        long readGeneration = generation.get();
+        int actual = CandidateGroup.detectActive(dnsService);
+        if (actual == CandidateGroup.NO_CANDIDATE) {
+            // Unreadable or unknown answer; ask again next cycle
+            return actual;
+        }
+        if (generation.get() == readGeneration && desired.compareAndSet(UNKNOWN, actual)) {
+            log.info("Initial DNS state: {} ({})", CandidateGroup.roleOf(actual), actual);
+        }
+        return desired.get();
+    }
+
+    public void recordSwitch(ServerType target) {
+        recordSwitch(CandidateGroup.indexOf(target));
+    }
+
+    public void recordSwitch(int candidate) {
+        generation.incrementAndGet();
+        desired.set(candidate);
+    }
+
+    public void forget() {
+        generation.incrementAndGet();
+        desired.set(UNKNOWN);
+    }
+
+    @Nullable
+    public DriftEvent reconcile(RepairWriter writer) {
+        int wanted = desired.get();
+        if (wanted == UNKNOWN || wanted == CandidateGroup.NO_CANDIDATE) {
+            log.debug("No desired DNS state yet, nothing to reconcile");
+            return null;
+        }
+
+        long readGeneration = generation.get();
+        String actualAnswer = dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE);
+        if (actualAnswer == null) {
+            // A stale answer may predate the last switch and would make a repair undo it
+            log.warn("Could not read DNS record live, skipping reconciliation");
+            return null;
+        }
+
+        ServerType actualRole = dnsService.classifyIp(actualAnswer);
+        int actual = actualRole == ServerType.STANDBY
+            ? dnsService.classifyCandidate(actualAnswer)
+            : CandidateGroup.indexOf(actualRole);
+        ServerType wantedRole = CandidateGroup.roleOf(wanted);
+        FailoverGroupStatus group = dnsService.getLastGroupUpdate();
+        boolean groupIncomplete = group != null && group.state() != FailoverGroupStatus.State.COMPLETE;
+        if (actual == wanted && !groupIncomplete) {
+            return null;
+        }
+        if (generation.get() != readGeneration) {
+            log.debug("DNS switched during reconciliation, discarding read");
+            return null;
+        }
+
+        DriftPolicy policy = config.dns().reconcile().policy();
+        DriftEvent.Action action;
+        if (policy == DriftPolicy.REPAIR) {
+            log.warn("DNS drift: expected {} ({}) but record is {} ({}), repairing", wantedRole, wanted, actualRole, actualAnswer);
+            // A switch made after the read wins over the repair
+            RepairResult repaired = writer.repair(wanted, () -> generation.get() == readGeneration && desired.get() == wanted);
+            if (repaired == RepairResult.SKIPPED) {
+                log.info("DNS repair to {} skipped, checking again next pass", wantedRole);
+                return null;
+            }
+            action = repaired == RepairResult.REPAIRED ? DriftEvent.Action.REPAIRED : DriftEvent.Action.REPAIR_FAILED;
+        } else {
+            log.error("DNS drift: expected {} ({}) but record is {} ({}), leaving it as found", wantedRole, wanted, actualRole, actualAnswer);
+            if (actual != CandidateGroup.NO_CANDIDATE) {
+                desired.compareAndSet(wanted, actual);
+            }
+            action = DriftEvent.Action.ALERTED;
+        }
+
+        DriftEvent event = new DriftEvent(Instant.now(), wantedRole, actualRole, actualAnswer,
+            groupIncomplete ? group.state() : null, policy, action);
+        record(event);
+        return event;
+    }
+
+    private void record(DriftEvent event) {
+        events.addFirst(event);
+        int historySize = Math.max(1, config.dns().reconcile().historySize());
+        while (events.size() > historySize) {
+            events.pollLast();
+        }
+    }
+
+    public List<DriftEvent> getRecentDrift() {
+        return List.copyOf(events);
+    }
+}
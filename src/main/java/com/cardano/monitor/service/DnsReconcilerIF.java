@@ -0,0 +1,54 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.DriftEvent;
+import com.cardano.monitor.model.ServerType;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+public interface DnsReconcilerIF {
+    
+    boolean isEnabled();
+    
+    ServerType currentActive();
+    
+    /**
+     * Candidate index DNS should point to, or -1 if unknown; see {@link #currentActive()}.
+     */
+    int currentCandidate();
+    
+    void recordSwitch(ServerType target);
+    
+    void recordSwitch(int candidate);
+    
+    /**
+     * Drops the desired state, so the next {@link #currentCandidate()} reads the record again,
+     * e.g. after another monitor instance may have switched it.
+     */
+    void forget();
+    
+    /**
+     * Compares the record with the desired state and reports drift; a repair the policy asks for
+     * is handed to {@code writer}, so it is made by the monitor that owns the record.
+     */
+    DriftEvent reconcile(RepairWriter writer);
+    
+    List<DriftEvent> getRecentDrift();
+    
+    enum RepairResult {
+        REPAIRED,
+        FAILED,
+        // Not attempted, e.g. because a switch was in flight; the next pass looks again
+        SKIPPED
+    }
+    
+    /**
+     * Points DNS back at a candidate, unless {@code stillWanted} no longer holds by the time the
+     * write would start.
+     */
+    @FunctionalInterface
+    interface RepairWriter {
+        
+        RepairResult repair(int candidate, BooleanSupplier stillWanted);
+    }
+}
@@ -0,0 +1,116 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dns.AuthoritativeDnsServer;
+import com.cardano.monitor.dns.AuthoritativeZone;
+import com.cardano.monitor.model.ResponderStatus;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runs the built-in authoritative nameserver when {@code monitor.dns.responder.enabled} is set.
+ * Each publish encodes a complete new zone and swaps it in, so a failover is visible to the
+ * next resolver query instead of waiting for a provider API call and its propagation.
+ */
+@ApplicationScoped
+@Slf4j
+public class DnsResponder implements DnsResponderIF {
+
+    @Inject
+    MonitorConfig config;
+
+    private AuthoritativeDnsServer server;
+    private volatile AuthoritativeZone zone;
+    private volatile List<ResponderStatus.RecordSet> recordSets = List.of();
+    private volatile Instant publishedAt;
+
+    void onStart(@Observes StartupEvent event) throws IOException {
+        validate();
+        if (!isEnabled()) {
+            return;
+        }
+        MonitorConfig.ResponderConfig responderConfig = config.dns().responder();
+        InetSocketAddress bindAddress = new InetSocketAddress(InetAddress.getByName(responderConfig.bindAddress()), responderConfig.port());
+        server = AuthoritativeDnsServer.start(bindAddress, currentZone());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * Refuses to serve alongside leader election: only the leader publishes, so a follower's responder
+     * would answer SERVFAIL for as long as it follows.
+     */
+    void validate() {
+        if (isEnabled() && config.ha().enabled()) {
+            throw new IllegalStateException(
+                "The DNS responder cannot be combined with HA: followers never publish and would answer SERVFAIL");
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.dns().responder().enabled();
+    }
+
+    public synchronized void publish(List<ResponderStatus.RecordSet> recordSets) {
+        MonitorConfig.ResponderConfig responderConfig = config.dns().responder();
+        AuthoritativeZone previous = currentZone();
+        // SOA serials only need to increase; seconds keep them readable across restarts
+        long serial = Math.max(previous.serial() + 1, Instant.now().getEpochSecond());
+
+        AuthoritativeZone next = AuthoritativeZone.of(zoneName(), responderConfig.nameservers().orElse(List.of()),
+            responderConfig.hostmaster(), serial, responderConfig.negativeTtl(),
+            recordSets.stream()
+                .map(recordSet -> new AuthoritativeZone.RecordSet(recordSet.name(), recordSet.type(), recordSet.ttl(), recordSet.answers()))
+                .toList());
+
+        zone = next;
+        if (server != null) {
+            server.swap(next);
+        }
+        this.recordSets = List.copyOf(recordSets);
+        this.publishedAt = Instant.now();
+        log.info("DNS responder serves zone {} serial {}: {}", next.apex(), serial, recordSets);
+    }
+
+    @Nullable
+    public String currentAnswer(String fqdn, String type) {
+        List<String> answers = currentZone().answers(fqdn, type);
+        return answers.isEmpty() ? null : answers.getFirst();
+    }
+
+    public ResponderStatus getStatus() {
+        AuthoritativeZone current = currentZone();
+        AuthoritativeDnsServer.Stats stats = server != null ? server.stats() : new AuthoritativeDnsServer.Stats(0, 0, 0);
+        String listenAddress = server != null ? server.localAddress().toString() : null;
+        return new ResponderStatus(isEnabled(), current.apex(), listenAddress, current.isReady(), current.serial(),
+            publishedAt, recordSets, stats.udpQueries(), stats.tcpQueries(), stats.dropped());
+    }
+
+    private AuthoritativeZone currentZone() {
+        AuthoritativeZone current = zone;
+        if (current == null) {
+            current = AuthoritativeZone.notReady(zoneName());
+            zone = current;
+        }
+        return current;
+    }
+
+    private String zoneName() {
+        return config.dns().responder().zone().orElse(config.dns().recordFqdn());
+    }
+}
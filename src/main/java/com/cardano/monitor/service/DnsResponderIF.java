@@ -0,0 +1,21 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.ResponderStatus;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+public interface DnsResponderIF {
+    
+    boolean isEnabled();
+    
+    /**
+     * Replaces every record of the zone at once; the next query already sees the new answers.
+     */
+    void publish(List<ResponderStatus.RecordSet> recordSets);
+    
+    @Nullable
+    String currentAnswer(String fqdn, String type);
+    
+    ResponderStatus getStatus();
+}
@@ -1,9 +1,18 @@
 package com.cardano.monitor.service;
 
 import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dns.DnsMessageCodec;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.DetectionMethod;
+import com.cardano.monitor.model.FailoverGroupStatus;
+import com.cardano.monitor.model.ResponderStatus;
 import com.cardano.monitor.model.ServerType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -13,6 +22,24 @@ import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 @Slf4j
@@ -25,54 +52,442 @@ public class DnsService implements DnsServiceIF {
     @Inject
     NameComApiClient nameComClient;
     
+    @Inject
+    DnsPropagationVerifierIF propagationVerifier;
+    
+    @Inject
+    DnsSwitchExecutor switchExecutor;
+    
+    @Inject
+    ApiQuotaManagerIF quotaManager;
+    
+    @Inject
+    ActiveServerDetectorIF activeServerDetector;
+    
+    @Inject
+    DnsResponderIF responder;
+    
+    // TTL of the main record last written to or read from the provider; -1 until known
+    private final AtomicInteger effectiveTtl = new AtomicInteger(-1);
+    
+    // Last answer written to or read from the provider per record id, used to skip redundant writes
+    private final Map<String, KnownRecord> knownRecords = new ConcurrentHashMap<>();
+    
+    private final ExecutorService groupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private volatile FailoverGroupStatus lastGroupUpdate;
+    
+    // Milliseconds this instance may still write for; unbounded unless fenced by a leader election
+    private volatile LongSupplier writeLease = () -> Long.MAX_VALUE;
+    
+    private record KnownRecord(String answer, int ttl, long observedAtNanos) {}
+    
+    /**
+     * One record of the failover group. The main record comes first; its answers are the server hosts.
+     */
+    private record GroupRecord(String recordId, String host, String fqdn, String type,
+                               Optional<String> primaryAnswer, Optional<String> secondaryAnswer,
+                               Optional<List<String>> standbyAnswers) {
+        
+        String answerFor(int index, List<MonitorConfig.ServerConfig> candidates) {
+            return switch (index) {
+                case 0 -> primaryAnswer.orElse(candidates.get(0).host());
+                case 1 -> secondaryAnswer.orElse(candidates.get(1).host());
+                default -> standbyAnswers
+                    .filter(answers -> answers.size() > index - 2)
+                    .map(answers -> answers.get(index - 2))
+                    .orElse(candidates.get(index).host());
+            };
+        }
+    }
+    
+    private record RecordWrite(GroupRecord record, String answer) {}
+    
+    void onStart(@Observes StartupEvent event) {
+        validateGroup();
+    }
+    
+    /**
+     * Refuses a group with an AAAA record that has no IPv6 answer for some candidate; it would
+     * otherwise fall back to the candidate's host and publish an IPv4 address in an AAAA record.
+     *
+     * @throws IllegalStateException naming the record and the candidate
+     */
+    void validateGroup() {
+        List<MonitorConfig.ServerConfig> candidates = CandidateGroup.nodes(config);
+        for (GroupRecord record : groupRecords()) {
+            if (!"AAAA".equalsIgnoreCase(record.type())) {
+                continue;
+            }
+            for (int i = 0; i < candidates.size(); i++) {
+                String answer = record.answerFor(i, candidates);
+                if (answer.indexOf(':') < 0) {
+                    throw new IllegalStateException(String.format(
+                        "AAAA record %s has no IPv6 answer for %s, only its host %s", record.fqdn(), candidates.get(i).name(), answer));
+                }
+            }
+        }
+    }
+    
     public boolean switchDnsToServer(ServerType serverType) {
-        if (serverType == ServerType.NONE) {
-            log.error("Cannot switch DNS to NONE - no server specified");
+        return switch (serverType) {
+            case PRIMARY -> switchDnsToCandidate(0);
+            case SECONDARY -> switchDnsToCandidate(1);
+            case STANDBY -> {
+                log.error("Cannot switch DNS to STANDBY - ambiguous, switch to a candidate index instead");
+                yield false;
+            }
+            case NONE -> {
+                log.error("Cannot switch DNS to NONE - no server specified");
+                yield false;
+            }
+        };
+    }
+    
+    public boolean switchDnsToCandidate(int index) {
+        List<MonitorConfig.ServerConfig> candidates = CandidateGroup.nodes(config);
+        if (index < 0 || index >= candidates.size()) {
+            log.error("Cannot switch DNS to candidate {} - only {} candidates configured", index, candidates.size());
             return false;
         }
+        ServerType serverType = CandidateGroup.roleOf(index);
         
         try {
-            MonitorConfig.ServerConfig serverConfig = switch (serverType) {
-                case PRIMARY -> config.primary();
-                case SECONDARY -> config.secondary();
-                case NONE -> throw new IllegalArgumentException("NONE is not a valid DNS target");
-            };
+            MonitorConfig.ServerConfig serverConfig = candidates.get(index);
             
-            MonitorConfig.DnsConfig dnsConfig = config.dns();
+            String targetIp = serverConfig.host();
+            int ttl = getEffectiveRecordTtl();
+            
+            List<RecordWrite> writes = new ArrayList<>();
+            for (GroupRecord record : groupRecords()) {
+                writes.add(new RecordWrite(record, record.answerFor(index, candidates)));
+            }
+            
+            if (writes.stream().allMatch(write -> isKnownToPointTo(write.record(), write.answer()))) {
+                log.info("DNS already points to {} ({}: {}), skipping write", serverType, serverConfig.name(), targetIp);
+                return true;
+            }
             
-            DnsUpdateRequest request = new DnsUpdateRequest(
-                dnsConfig.recordHost(),
-                dnsConfig.recordFqdn(),
-                dnsConfig.recordType(),
-                serverConfig.host(),
-                dnsConfig.recordTtl()
-            );
+            log.info("Switching DNS to {} ({}: {})", serverType, serverConfig.name(), targetIp);
             
-            log.info("Switching DNS to {} ({}: {})", serverType, serverConfig.name(), serverConfig.host());
+            FailoverGroupStatus status = applyGroup("switch to " + serverConfig.name(), writes, ttl, false);
             
-            String auth = java.util.Base64.getEncoder().encodeToString(
-                (dnsConfig.username() + ":" + dnsConfig.password()).getBytes(StandardCharsets.UTF_8)
-            );
+            if (status.records().getFirst().updated() && !responder.isEnabled()) {
+                propagationVerifier.verifyAsync(targetIp);
+            }
+            
+            if (status.state() == FailoverGroupStatus.State.COMPLETE) {
+                log.info("Successfully switched DNS to {} ({})", serverType, serverConfig.name());
+                return true;
+            }
+            
+            if (status.state() == FailoverGroupStatus.State.PARTIAL) {
+                log.error("DNS switch to {} only partially applied: {}", serverConfig.name(), status.records());
+            } else {
+                log.error("Failed to switch DNS to {} ({})", serverType, serverConfig.name());
+            }
+            return false;
 
-            try (Response response = nameComClient.updateDnsRecord(
-                    "Basic " + auth,
-                    dnsConfig.domain(),
-                    dnsConfig.recordId(),
-                    request
-            )) {
-                if (response.getStatus() == 200) {
-                    log.info("Successfully switched DNS to {}", serverType);
-                    return true;
+        } catch (Exception e) {
+            log.error("Error switching DNS to {} ({})", serverType, index, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Rewrites the record with its current answer and a new TTL.
+     * Used to shorten resolver caching ahead of a likely switch and to restore it afterwards.
+     * The rest of the group is rewritten with the answers for the server the main record points to.
+     */
+    public boolean updateRecordTtl(int ttl) {
+        // A stale answer could point the record back to a server it has since left
+        @Nullable String currentIp = getCurrentDnsRecordIp(ApiCallPriority.SWITCH);
+        if (currentIp == null) {
+            log.warn("Cannot change DNS record TTL to {}s - current record could not be read live", ttl);
+            return false;
+        }
+        
+        try {
+            List<GroupRecord> records = groupRecords();
+            List<RecordWrite> writes = new ArrayList<>();
+            writes.add(new RecordWrite(records.getFirst(), currentIp));
+            if (records.size() > 1) {
+                int active = classifyCandidate(currentIp);
+                if (active != CandidateGroup.NO_CANDIDATE) {
+                    List<MonitorConfig.ServerConfig> candidates = CandidateGroup.nodes(config);
+                    for (GroupRecord record : records.subList(1, records.size())) {
+                        writes.add(new RecordWrite(record, record.answerFor(active, candidates)));
+                    }
+                }
+            }
+            
+            FailoverGroupStatus status = applyGroup("TTL change to " + ttl + "s", writes, ttl, true);
+            
+            if (status.state() == FailoverGroupStatus.State.COMPLETE) {
+                log.info("DNS record TTL set to {}s", ttl);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            log.error("Error setting DNS record TTL to {}s", ttl, e);
+            return false;
+        }
+    }
+    
+    private FailoverGroupStatus applyGroup(String operation, List<RecordWrite> writes, int ttl, boolean verifyTtl)
+            throws InterruptedException {
+        return responder.isEnabled()
+            ? publishGroup(operation, writes, ttl)
+            : writeGroup(operation, writes, ttl, verifyTtl);
+    }
+    
+    /**
+     * Hands the whole group to the built-in nameserver, which switches every record in one step.
+     * Records sharing a name and type become one record set with several answers.
+     */
+    private FailoverGroupStatus publishGroup(String operation, List<RecordWrite> writes, int ttl) {
+        Instant startedAt = Instant.now();
+        Map<String, ResponderStatus.RecordSet> recordSets = new LinkedHashMap<>();
+        for (RecordWrite write : writes) {
+            GroupRecord record = write.record();
+            recordSets.merge(record.fqdn() + "/" + record.type(),
+                new ResponderStatus.RecordSet(record.fqdn(), record.type(), ttl, List.of(write.answer())),
+                (existing, added) -> new ResponderStatus.RecordSet(existing.name(), existing.type(), ttl,
+                    Stream.concat(existing.answers().stream(), added.answers().stream()).toList()));
+        }
+        
+        String error = null;
+        try {
+            responder.publish(List.copyOf(recordSets.values()));
+        } catch (IllegalArgumentException e) {
+            log.error("DNS responder rejected {}: {}", operation, e.getMessage());
+            error = e.getMessage();
+        }
+        
+        List<FailoverGroupStatus.RecordResult> results = new ArrayList<>(writes.size());
+        for (RecordWrite write : writes) {
+            GroupRecord record = write.record();
+            if (error == null) {
+                if (isMainRecord(record)) {
+                    effectiveTtl.set(ttl);
+                }
+                knownRecords.put(record.recordId(), new KnownRecord(write.answer(), ttl, System.nanoTime()));
+            }
+            results.add(new FailoverGroupStatus.RecordResult(
+                record.recordId(), record.fqdn(), record.type(), write.answer(), error == null, error));
+        }
+        
+        FailoverGroupStatus status = new FailoverGroupStatus(
+            operation, FailoverGroupStatus.stateOf(results), startedAt, Instant.now(), List.copyOf(results));
+        lastGroupUpdate = status;
+        return status;
+    }
+    
+    /**
+     * Writes every record in parallel, each with its own retries and hedging, under one shared deadline.
+     * Records that ran out of attempts are written again, in rounds, while the deadline allows, so a
+     * group is not left half switched by one record's bad minute; a record the provider rejects for
+     * good is not. Writes still running when the deadline passes are cancelled and reported as failed.
+     * The deadline never outlasts the write lease, and no attempt starts once the lease is gone.
+     */
+    private FailoverGroupStatus writeGroup(String operation, List<RecordWrite> writes, int ttl, boolean verifyTtl)
+            throws InterruptedException {
+        Instant startedAt = Instant.now();
+        MonitorConfig.SwitchConfig switchPolicy = config.dns().switchPolicy();
+        Duration deadline = switchPolicy.groupDeadline();
+        long leaseNanos = TimeUnit.MILLISECONDS.toNanos(writeLease.getAsLong());
+        boolean leaseBound = leaseNanos < deadline.toNanos();
+        long deadlineAt = System.nanoTime() + Math.min(deadline.toNanos(), leaseNanos);
+        
+        boolean[] updated = new boolean[writes.size()];
+        String[] errors = new String[writes.size()];
+        List<Integer> pending = new ArrayList<>(writes.size());
+        for (int i = 0; i < writes.size(); i++) {
+            pending.add(i);
+        }
+        
+        for (int round = 1; !pending.isEmpty(); round++) {
+            if (round > 1) {
+                long pause = Math.min(switchPolicy.maxBackoff().toNanos(), deadlineAt - System.nanoTime());
+                if (pause > 0) {
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                }
+            }
+            long remaining = deadlineAt - System.nanoTime();
+            if (remaining <= 0 || !mayWrite()) {
+                break;
+            }
+            if (round > 1) {
+                log.warn("DNS {} left {} of {} records unapplied, writing them again (round {})",
+                    operation, pending.size(), writes.size(), round);
+            }
+            
+            List<Callable<DnsSwitchExecutor.AttemptResult>> tasks = new ArrayList<>(pending.size());
+            for (int i : pending) {
+                RecordWrite write = writes.get(i);
+                GroupRecord record = write.record();
+                String recordOperation = writes.size() > 1 ? operation + " of " + record.fqdn() + " " + record.type() : operation;
+                tasks.add(() -> switchExecutor.executeForResult(
+                    recordOperation,
+                    () -> writeRecord(record, write.answer(), ttl),
+                    () -> isApplied(record, write.answer(), ttl, verifyTtl)
+                ));
+            }
+            
+            List<Future<DnsSwitchExecutor.AttemptResult>> futures = groupExecutor.invokeAll(tasks, remaining, TimeUnit.NANOSECONDS);
+            
+            List<Integer> retry = new ArrayList<>();
+            for (int n = 0; n < pending.size(); n++) {
+                int i = pending.get(n);
+                try {
+                    DnsSwitchExecutor.AttemptResult result = futures.get(n).get();
+                    updated[i] = result == DnsSwitchExecutor.AttemptResult.SUCCESS;
+                    if (result == DnsSwitchExecutor.AttemptResult.RETRYABLE_FAILURE) {
+                        errors[i] = "write failed";
+                        retry.add(i);
+                    } else if (result == DnsSwitchExecutor.AttemptResult.PERMANENT_FAILURE) {
+                        errors[i] = "write rejected";
+                    } else {
+                        errors[i] = null;
+                    }
+                } catch (CancellationException e) {
+                    errors[i] = leaseBound ? "leadership ended" : "deadline of " + deadline + " exceeded";
+                } catch (ExecutionException e) {
+                    errors[i] = String.valueOf(e.getCause());
+                    retry.add(i);
                 }
+            }
+            pending = retry;
+        }
+        if (!mayWrite()) {
+            for (int i = 0; i < writes.size(); i++) {
+                if (!updated[i]) {
+                    errors[i] = "leadership ended";
+                }
+            }
+        }
+        
+        List<FailoverGroupStatus.RecordResult> results = new ArrayList<>(writes.size());
+        for (int i = 0; i < writes.size(); i++) {
+            RecordWrite write = writes.get(i);
+            GroupRecord record = write.record();
+            results.add(new FailoverGroupStatus.RecordResult(
+                record.recordId(), record.fqdn(), record.type(), write.answer(), updated[i], errors[i]));
+        }
+        
+        FailoverGroupStatus status = new FailoverGroupStatus(
+            operation, FailoverGroupStatus.stateOf(results), startedAt, Instant.now(), List.copyOf(results));
+        lastGroupUpdate = status;
+        return status;
+    }
+    
+    private boolean isApplied(GroupRecord record, String answer, int ttl, boolean verifyTtl) {
+        if (!answer.equals(readRecord(record, ApiCallPriority.SWITCH).liveAnswer())) {
+            return false;
+        }
+        if (!verifyTtl) {
+            return true;
+        }
+        KnownRecord known = knownRecords.get(record.recordId());
+        return known != null && known.ttl() == ttl;
+    }
+    
+    private DnsSwitchExecutor.AttemptResult writeRecord(GroupRecord record, String answer, int ttl) {
+        // Checked before every attempt and hedge: the provider has no conditional writes to fence with
+        if (!mayWrite()) {
+            log.warn("Not writing DNS record {} to {}: this instance is no longer leader", record.fqdn(), answer);
+            return DnsSwitchExecutor.AttemptResult.PERMANENT_FAILURE;
+        }
+        quotaManager.tryAcquire(ApiCallPriority.SWITCH);
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        
+        DnsUpdateRequest request = new DnsUpdateRequest(
+            record.host(),
+            record.fqdn(),
+            record.type(),
+            answer,
+            ttl
+        );
 
-                log.error("Failed to switch DNS to {}: HTTP {}", serverType, response.getStatus());
-                return false;
+        try (Response response = nameComClient.updateDnsRecord(
+                basicAuth(dnsConfig),
+                dnsConfig.domain(),
+                record.recordId(),
+                request
+        )) {
+            if (response.getStatus() == 200) {
+                if (isMainRecord(record)) {
+                    effectiveTtl.set(ttl);
+                }
+                knownRecords.put(record.recordId(), new KnownRecord(answer, ttl, System.nanoTime()));
+                return DnsSwitchExecutor.AttemptResult.SUCCESS;
             }
 
-        } catch (Exception e) {
-            log.error("Error switching DNS to {}", serverType, e);
+            log.error("Failed to update DNS record {} to {} (TTL {}s): HTTP {}", record.fqdn(), answer, ttl, response.getStatus());
+            trackRateLimit(response);
+            return DnsSwitchExecutor.classify(response.getStatus());
+        }
+    }
+    
+    /**
+     * True if a recent read or write already shows the record at {@code answer}.
+     */
+    private boolean isKnownToPointTo(GroupRecord record, String answer) {
+        KnownRecord known = knownRecords.get(record.recordId());
+        if (known == null || !known.answer().equals(answer)) {
             return false;
         }
+        long maxAgeNanos = config.dns().switchPolicy().readCacheMaxAge().toNanos();
+        return System.nanoTime() - known.observedAtNanos() <= maxAgeNanos;
+    }
+    
+    /**
+     * The main record followed by any additional records of the failover group.
+     */
+    private List<GroupRecord> groupRecords() {
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        List<GroupRecord> records = new ArrayList<>();
+        records.add(mainRecord());
+        for (MonitorConfig.RecordConfig additional : dnsConfig.additionalRecords().orElse(List.of())) {
+            records.add(new GroupRecord(additional.recordId(), additional.recordHost(), additional.recordFqdn(),
+                additional.recordType(), additional.primaryAnswer(), additional.secondaryAnswer(),
+                additional.standbyAnswers()));
+        }
+        return records;
+    }
+    
+    private GroupRecord mainRecord() {
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        return new GroupRecord(dnsConfig.recordId(), dnsConfig.recordHost(), dnsConfig.recordFqdn(),
+            dnsConfig.recordType(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+    
+    private boolean isMainRecord(GroupRecord record) {
+        return record.recordId().equals(config.dns().recordId());
+    }
+    
+    private boolean mayWrite() {
+        return writeLease.getAsLong() > 0;
+    }
+    
+    public void fenceWrites(LongSupplier millisLeft) {
+        writeLease = millisLeft;
+    }
+    
+    @Nullable
+    public FailoverGroupStatus getLastGroupUpdate() {
+        return lastGroupUpdate;
+    }
+    
+    public int getEffectiveRecordTtl() {
+        int ttl = effectiveTtl.get();
+        return ttl < 0 ? config.dns().recordTtl() : ttl;
+    }
+    
+    static String basicAuth(MonitorConfig.DnsConfig dnsConfig) {
+        return "Basic " + java.util.Base64.getEncoder().encodeToString(
+            (dnsConfig.username() + ":" + dnsConfig.password()).getBytes(StandardCharsets.UTF_8)
+        );
     }
     
     public record DnsUpdateRequest(
@@ -82,20 +497,66 @@ public class DnsService implements DnsServiceIF {
         String answer,
         int ttl
     ) {}
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record DnsRecordEntry(
+        String id,
+        String host,
+        String fqdn,
+        String type,
+        String answer,
+        int ttl
+    ) {}
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record DnsRecordList(
+        List<DnsRecordEntry> records
+    ) {}
 
     @Nullable
     public String getCurrentDnsRecordIp() {
+        return getCurrentDnsRecordIp(ApiCallPriority.RECONCILE);
+    }
+    
+    @Nullable
+    public String getCurrentDnsRecordIp(ApiCallPriority priority) {
+        return readCurrentRecord(priority).liveAnswer();
+    }
+    
+    /**
+     * Reads the record through the API quota. When the lane is out of budget the last known
+     * answer is returned instead, flagged stale, so a throttled read never looks like a missing record.
+     */
+    public RecordRead readCurrentRecord(ApiCallPriority priority) {
+        if (responder.isEnabled()) {
+            return RecordRead.live(responder.currentAnswer(config.dns().recordFqdn(), config.dns().recordType()));
+        }
+        return readRecord(mainRecord(), priority);
+    }
+    
+    private RecordRead readRecord(GroupRecord record, ApiCallPriority priority) {
+        if (!quotaManager.tryAcquire(priority)) {
+            KnownRecord known = knownRecords.get(record.recordId());
+            if (known == null) {
+                log.warn("DNS API budget exhausted for {} reads and no record known yet", priority);
+                return RecordRead.UNKNOWN;
+            }
+            Duration age = Duration.ofNanos(System.nanoTime() - known.observedAtNanos());
+            if (age.compareTo(config.dns().quota().staleReadMaxAge()) > 0) {
+                log.warn("DNS API budget exhausted for {} reads and the last known record is {} old", priority, age);
+                return RecordRead.UNKNOWN;
+            }
+            log.debug("DNS API budget exhausted for {} reads, using last known record {} from {} ago", priority, known.answer(), age);
+            return RecordRead.cached(known.answer(), age);
+        }
+        
         try {
             MonitorConfig.DnsConfig dnsConfig = config.dns();
-            
-            String auth = java.util.Base64.getEncoder().encodeToString(
-                (dnsConfig.username() + ":" + dnsConfig.password()).getBytes(StandardCharsets.UTF_8)
-            );
 
             try (Response response = nameComClient.getDnsRecord(
-                    "Basic " + auth,
+                    basicAuth(dnsConfig),
                     dnsConfig.domain(),
-                    dnsConfig.recordId()
+                    record.recordId()
             )) {
                 if (response.getStatus() == 200) {
                     String responseBody = response.readEntity(String.class);
@@ -107,28 +568,96 @@ public class DnsService implements DnsServiceIF {
                         if (start > 9 && end > start) {
                             String currentIp = responseBody.substring(start, end);
                             log.info("Current DNS record IP: {}", currentIp);
-                            return currentIp;
+                            int ttl = parseTtl(responseBody);
+                            if (ttl >= 0 && isMainRecord(record)) {
+                                effectiveTtl.set(ttl);
+                            }
+                            knownRecords.put(record.recordId(), new KnownRecord(currentIp, ttl, System.nanoTime()));
+                            return RecordRead.live(currentIp);
                         }
                     }
                 }
                 
                 log.error("Failed to read DNS record: HTTP {}", response.getStatus());
-                return null;
+                trackRateLimit(response);
+                return RecordRead.UNKNOWN;
             }
         } catch (Exception e) {
             log.error("Error reading DNS record", e);
-            return null;
+            return RecordRead.UNKNOWN;
         }
     }
     
+    private static int parseTtl(String responseBody) {
+        int start = responseBody.indexOf("\"ttl\":");
+        if (start < 0) {
+            return -1;
+        }
+        int position = start + 6;
+        int end = position;
+        while (end < responseBody.length() && Character.isDigit(responseBody.charAt(end))) {
+            end++;
+        }
+        return end > position ? Integer.parseInt(responseBody.substring(position, end)) : -1;
+    }
+    
+    private void trackRateLimit(Response response) {
+        if (response.getStatus() == 429) {
+            quotaManager.onRateLimited(retryAfter(response));
+        }
+    }
+    
+    static Duration retryAfter(Response response) {
+        String header = response.getHeaderString("Retry-After");
+        if (header != null && !header.isBlank() && header.trim().chars().allMatch(Character::isDigit)) {
+            return Duration.ofSeconds(Long.parseLong(header.trim()));
+        }
+        return Duration.ofSeconds(5);
+    }
+    
     public ServerType detectCurrentActiveServer() {
-        @Nullable String currentDnsIp = getCurrentDnsRecordIp();
+        return detectCurrentActiveServer(ApiCallPriority.RECONCILE);
+    }
+    
+    public ServerType detectCurrentActiveServer(ApiCallPriority priority) {
+        @Nullable String currentDnsIp = detectAnswer(priority);
         
         if (currentDnsIp == null) {
             log.warn("Could not determine current DNS IP, defaulting to NONE");
             return ServerType.NONE;
         }
         
+        return classifyIp(currentDnsIp);
+    }
+    
+    /**
+     * Asks the authoritative nameservers first. Their answer is trusted when it matches the record
+     * last seen through the API; anything new, or no answer at all, is confirmed with an API read.
+     * With the built-in responder the monitor is the authoritative nameserver, so its own zone is the answer.
+     * A stale answer is only used within {@code stale-read-max-age}, and logged as such.
+     */
+    @Nullable
+    private String detectAnswer(ApiCallPriority priority) {
+        if (config.dns().detection().method() == DetectionMethod.DNS && !responder.isEnabled()) {
+            List<String> answers = activeServerDetector.detectAnswers();
+            if (answers != null && !answers.isEmpty()) {
+                String recordId = config.dns().recordId();
+                KnownRecord known = knownRecords.get(recordId);
+                if (known != null && DnsMessageCodec.sameAddress(known.answer(), answers.getFirst())) {
+                    knownRecords.put(recordId, new KnownRecord(known.answer(), known.ttl(), System.nanoTime()));
+                    return known.answer();
+                }
+                log.info("Authoritative DNS answers {}, confirming through the API", answers);
+            }
+        }
+        RecordRead read = readCurrentRecord(priority);
+        if (read.stale()) {
+            log.warn("DNS API budget exhausted, taking the record as {} from {} ago", read.answer(), read.age());
+        }
+        return read.answer();
+    }
+    
+    public ServerType classifyIp(String currentDnsIp) {
         String primaryIp = config.primary().host();
         String secondaryIp = config.secondary().host();
         
@@ -141,12 +670,47 @@ public class DnsService implements DnsServiceIF {
             log.info("DNS currently points to SECONDARY server ({})", secondaryIp);
             return ServerType.SECONDARY;
         }
+        
+        int standby = classifyCandidate(currentDnsIp);
+        if (standby != CandidateGroup.NO_CANDIDATE) {
+            log.info("DNS currently points to STANDBY server {} ({})",
+                CandidateGroup.nodes(config).get(standby).name(), currentDnsIp);
+            return ServerType.STANDBY;
+        }
 
-        log.warn("DNS points to unknown IP ({}) - not matching PRIMARY ({}) or SECONDARY ({}), defaulting to NONE",
+        log.warn("DNS points to unknown IP ({}) - not matching PRIMARY ({}), SECONDARY ({}) or a standby, defaulting to NONE",
                 currentDnsIp, primaryIp, secondaryIp);
 
         return ServerType.NONE;
     }
+    
+    public int classifyCandidate(String currentDnsIp) {
+        List<MonitorConfig.ServerConfig> candidates = CandidateGroup.nodes(config);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (currentDnsIp.equals(candidates.get(i).host())) {
+                return i;
+            }
+        }
+        return CandidateGroup.NO_CANDIDATE;
+    }
+    
+    /**
+     * Index of the candidate the main record points to. Uses the last known answer when it is
+     * fresh, which it is right after {@link #detectCurrentActiveServer()} reported a standby.
+     */
+    public int detectActiveCandidate() {
+        KnownRecord known = knownRecords.get(config.dns().recordId());
+        if (known != null && isKnownToPointTo(mainRecord(), known.answer())) {
+            return classifyCandidate(known.answer());
+        }
+        @Nullable String currentDnsIp = detectAnswer(ApiCallPriority.RECONCILE);
+        return currentDnsIp == null ? CandidateGroup.NO_CANDIDATE : classifyCandidate(currentDnsIp);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        groupExecutor.shutdownNow();
+    }
 
     @RegisterRestClient(configKey = "name-com-api")
     @Path("/v4/domains")
@@ -171,6 +735,32 @@ public class DnsService implements DnsServiceIF {
             @PathParam("domain") String domain,
             @PathParam("recordId") String recordId
         );
+        
+        @GET
+        @Path("/{domain}/records")
+        @Produces(MediaType.APPLICATION_JSON)
+        Response listDnsRecords(
+            @HeaderParam("Authorization") String authorization,
+            @PathParam("domain") String domain
+        );
+        
+        @POST
+        @Path("/{domain}/records")
+        @Produces(MediaType.APPLICATION_JSON)
+        @Consumes(MediaType.APPLICATION_JSON)
+        Response createDnsRecord(
+            @HeaderParam("Authorization") String authorization,
+            @PathParam("domain") String domain,
+            DnsUpdateRequest request
+        );
+        
+        @DELETE
+        @Path("/{domain}/records/{recordId}")
+        Response deleteDnsRecord(
+            @HeaderParam("Authorization") String authorization,
+            @PathParam("domain") String domain,
+            @PathParam("recordId") String recordId
+        );
     }
 
 }
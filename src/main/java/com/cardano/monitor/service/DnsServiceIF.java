@@ -1,12 +1,88 @@
 package com.cardano.monitor.service;
 
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.FailoverGroupStatus;
 import com.cardano.monitor.model.ServerType;
 
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
 public interface DnsServiceIF {
     
+    /**
+     * The record as read from the provider. A read the API budget refused is answered from the
+     * last known record, flagged stale with its age, as long as that is recent enough; otherwise
+     * the answer is null.
+     */
+    record RecordRead(String answer, boolean stale, Duration age) {
+        
+        public static final RecordRead UNKNOWN = new RecordRead(null, false, Duration.ZERO);
+        
+        public static RecordRead live(String answer) {
+            return answer == null ? UNKNOWN : new RecordRead(answer, false, Duration.ZERO);
+        }
+        
+        public static RecordRead cached(String answer, Duration age) {
+            return new RecordRead(answer, true, age);
+        }
+        
+        public boolean known() {
+            return answer != null;
+        }
+        
+        /**
+         * The answer if it was read just now, null if it is stale or unknown.
+         */
+        public String liveAnswer() {
+            return stale ? null : answer;
+        }
+    }
+    
+
     boolean switchDnsToServer(ServerType serverType);
     
+    /**
+     * Switches to the candidate at {@code index}: 0 is the primary, 1 the secondary, then the standbys.
+     */
+    boolean switchDnsToCandidate(int index);
+    
+    /**
+     * The record's current answer, or null when it cannot be read live.
+     */
     String getCurrentDnsRecordIp();
     
+    String getCurrentDnsRecordIp(ApiCallPriority priority);
+    
+    /**
+     * The record's answer, from the cache when the API budget refuses the read.
+     */
+    RecordRead readCurrentRecord(ApiCallPriority priority);
+    
     ServerType detectCurrentActiveServer();
+    
+    ServerType detectCurrentActiveServer(ApiCallPriority priority);
+    
+    ServerType classifyIp(String ip);
+    
+    /**
+     * Candidate index the address belongs to, or -1 if it is none of them.
+     */
+    int classifyCandidate(String ip);
+    
+    /**
+     * Candidate index DNS currently points to, or -1 if unknown.
+     */
+    int detectActiveCandidate();
+    
+    boolean updateRecordTtl(int ttl);
+    
+    int getEffectiveRecordTtl();
+    
+    FailoverGroupStatus getLastGroupUpdate();
+    
+    /**
+     * Limits writes to the time this instance may still write: no attempt or hedge starts once
+     * {@code millisLeft} reaches 0, and a group write is cut off when it does.
+     */
+    void fenceWrites(LongSupplier millisLeft);
 }
\ No newline at end of file
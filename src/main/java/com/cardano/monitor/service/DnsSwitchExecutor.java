@@ -0,0 +1,181 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs DNS record writes with bounded retries, exponential backoff and an optional hedged
+ * second request when the first one is slow. Writes must be idempotent full-record PUTs,
+ * so a hedge or a retry after a lost response can never leave the record in a mixed state.
+ */
+@ApplicationScoped
+@Slf4j
+public class DnsSwitchExecutor {
+
+    public enum AttemptResult {
+        SUCCESS,
+        RETRYABLE_FAILURE,
+        PERMANENT_FAILURE
+    }
+
+    @Inject
+    MonitorConfig config;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Maps a provider HTTP status to whether retrying can help.
+     * Client errors other than timeouts and rate limiting will fail the same way again.
+     */
+    public static AttemptResult classify(int httpStatus) {
+        if (httpStatus >= 200 && httpStatus < 300) {
+            return AttemptResult.SUCCESS;
+        }
+        if (httpStatus == 408 || httpStatus == 429 || httpStatus >= 500) {
+            return AttemptResult.RETRYABLE_FAILURE;
+        }
+        return AttemptResult.PERMANENT_FAILURE;
+    }
+
+    /**
+     * @param operation      description used in log messages
+     * @param write          performs one write attempt
+     * @param alreadyApplied checked before every retry; returns true if an earlier attempt landed after all
+     * @return true once a write succeeded or the change turned out to be applied already
+     */
+    public boolean execute(String operation, Callable<AttemptResult> write, BooleanSupplier alreadyApplied) {
+        return executeForResult(operation, write, alreadyApplied) == AttemptResult.SUCCESS;
+    }
+
+    /**
+     * Like {@link #execute}, but tells a write that can never succeed from one that ran out of attempts.
+     */
+    public AttemptResult executeForResult(String operation, Callable<AttemptResult> write, BooleanSupplier alreadyApplied) {
+        MonitorConfig.SwitchConfig switchConfig = config.dns().switchPolicy();
+        int maxAttempts = Math.max(1, switchConfig.maxAttempts());
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                if (!sleepBackoff(switchConfig, attempt - 1)) {
+                    return AttemptResult.PERMANENT_FAILURE;
+                }
+                if (alreadyApplied.getAsBoolean()) {
+                    log.info("DNS {} already applied by an earlier attempt", operation);
+                    return AttemptResult.SUCCESS;
+                }
+                log.info("Retrying DNS {} (attempt {}/{})", operation, attempt, maxAttempts);
+            }
+
+            AttemptResult result = runHedged(operation, write, switchConfig);
+            if (result == AttemptResult.SUCCESS) {
+                return result;
+            }
+            if (result == AttemptResult.PERMANENT_FAILURE) {
+                log.error("DNS {} failed permanently, not retrying", operation);
+                return result;
+            }
+        }
+
+        log.error("DNS {} failed after {} attempts", operation, maxAttempts);
+        return AttemptResult.RETRYABLE_FAILURE;
+    }
+
+    private AttemptResult runHedged(String operation, Callable<AttemptResult> write, MonitorConfig.SwitchConfig switchConfig) {
+        ExecutorCompletionService<AttemptResult> completion = new ExecutorCompletionService<>(executor);
+        List<Future<AttemptResult>> inFlight = new ArrayList<>(2);
+        boolean hedgingEnabled = switchConfig.hedgeDelay().toNanos() > 0;
+
+        long start = System.nanoTime();
+        long deadline = start + switchConfig.attemptTimeout().toNanos();
+        long hedgeAt = start + switchConfig.hedgeDelay().toNanos();
+        boolean hedged = false;
+        AttemptResult worst = AttemptResult.RETRYABLE_FAILURE;
+
+        inFlight.add(completion.submit(write));
+        int pending = 1;
+        try {
+            while (pending > 0) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    log.warn("DNS {} timed out after {}", operation, switchConfig.attemptTimeout());
+                    return AttemptResult.RETRYABLE_FAILURE;
+                }
+
+                boolean mayHedge = hedgingEnabled && !hedged;
+                long waitUntil = mayHedge ? Math.min(deadline, hedgeAt) : deadline;
+                Future<AttemptResult> done = completion.poll(Math.max(0, waitUntil - now), TimeUnit.NANOSECONDS);
+
+                if (done == null) {
+                    if (mayHedge && System.nanoTime() >= hedgeAt) {
+                        log.info("DNS {} slower than {}, sending hedged request", operation, switchConfig.hedgeDelay());
+                        inFlight.add(completion.submit(write));
+                        hedged = true;
+                        pending++;
+                    }
+                    continue;
+                }
+
+                pending--;
+                AttemptResult result = resultOf(done, operation);
+                if (result == AttemptResult.SUCCESS) {
+                    return result;
+                }
+                if (result == AttemptResult.PERMANENT_FAILURE) {
+                    worst = result;
+                }
+            }
+            return worst;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AttemptResult.PERMANENT_FAILURE;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static AttemptResult resultOf(Future<AttemptResult> future, String operation) throws InterruptedException {
+        try {
+            AttemptResult result = future.get();
+            return result != null ? result : AttemptResult.RETRYABLE_FAILURE;
+        } catch (ExecutionException e) {
+            log.error("Error during DNS {}", operation, e.getCause());
+            return AttemptResult.RETRYABLE_FAILURE;
+        }
+    }
+
+    private static boolean sleepBackoff(MonitorConfig.SwitchConfig switchConfig, int retry) {
+        long initial = switchConfig.initialBackoff().toMillis();
+        long cap = switchConfig.maxBackoff().toMillis();
+        long backoff = Math.min(cap, initial << Math.min(retry - 1, 20));
+        // Equal jitter: at least half the backoff, so retries never bunch up at zero
+        long sleep = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+            Thread.sleep(Duration.ofMillis(sleep));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.NextAction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Lowers the record TTL while a switch is likely and restores it once things are stable again.
+ * Resolvers that cached the record before the lowering still hold the old TTL, so the lowering
+ * only pays off fully when the failover delay is at least the normal record TTL.
+ */
+@ApplicationScoped
+@Slf4j
+public class DnsTtlManager implements DnsTtlManagerIF {
+
+    // Actions that announce an upcoming switch
+    private static final Set<NextAction> LOWERING_TRIGGERS = EnumSet.of(
+        NextAction.WAITING_FOR_FAILOVER,
+        NextAction.WAITING_FOR_FAILBACK,
+        NextAction.DEGRADED
+    );
+
+    @Inject
+    MonitorConfig config;
+
+    @Inject
+    DnsServiceIF dnsService;
+
+    private volatile boolean lowered;
+    private volatile Instant stableSince;
+
+    public OptionalInt onCycle(NextAction action, Instant currentTime) {
+        MonitorConfig.TtlLoweringConfig ttlConfig = config.dns().ttlLowering();
+        if (!ttlConfig.enabled()) {
+            return OptionalInt.empty();
+        }
+
+        if (LOWERING_TRIGGERS.contains(action)) {
+            if (!lowered) {
+                log.info("Switch likely ({}), lowering DNS TTL to {}s", action.getValue(), ttlConfig.loweredTtl());
+            }
+            lowered = true;
+            stableSince = null;
+        } else if (lowered) {
+            if (action != NextAction.NONE) {
+                // A switch just made or refused - stay low until things settle
+                stableSince = null;
+            } else if (stableSince == null) {
+                stableSince = currentTime;
+            } else if (Duration.between(stableSince, currentTime).compareTo(ttlConfig.stablePeriod()) >= 0) {
+                log.info("Stable for {}, restoring DNS TTL to {}s", ttlConfig.stablePeriod(), config.dns().recordTtl());
+                lowered = false;
+                stableSince = null;
+            }
+        }
+
+        int desiredTtl = lowered ? Math.min(ttlConfig.loweredTtl(), config.dns().recordTtl()) : config.dns().recordTtl();
+        // Until a write takes, every cycle asks for it again
+        return dnsService.getEffectiveRecordTtl() != desiredTtl ? OptionalInt.of(desiredTtl) : OptionalInt.empty();
+    }
+
+    public boolean isLowered() {
+        return lowered;
+    }
+}
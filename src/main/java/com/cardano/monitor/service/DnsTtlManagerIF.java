@@ -0,0 +1,17 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.NextAction;
+
+import java.time.Instant;
+import java.util.OptionalInt;
+
+public interface DnsTtlManagerIF {
+    
+    /**
+     * Notes the cycle's next action and returns the TTL the record should be set to, empty while it
+     * already has it. Only decides; the caller writes.
+     */
+    OptionalInt onCycle(NextAction action, Instant currentTime);
+    
+    boolean isLowered();
+}
@@ -0,0 +1,69 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Applies the effects the {@link FailoverDecider} asks for, and TTL changes, off the monitor's
+ * writer thread, so a slow DNS write never holds up the next decision. Each switch completes with
+ * whether DNS now points at the target; a write that throws counts as a failed switch. DNS writes
+ * run one at a time: a TTL change rewrites the answer it reads, which must not race a switch.
+ */
+@Slf4j
+final class EffectExecutor implements AutoCloseable {
+
+    private final IntPredicate switcher;
+    private final IntPredicate ttlWriter;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock dnsWrites = new ReentrantLock();
+
+    /**
+     * @param switcher points DNS at a candidate index and tells whether it worked
+     * @param ttlWriter sets the record TTL and tells whether it worked
+     */
+    EffectExecutor(IntPredicate switcher, IntPredicate ttlWriter) {
+        this.switcher = switcher;
+        this.ttlWriter = ttlWriter;
+    }
+
+    CompletableFuture<Boolean> apply(FailoverDecider.SwitchDns effect) {
+        log.info(effect.reason());
+        return CompletableFuture.supplyAsync(() -> write(switcher, effect.target()), executor)
+            .exceptionally(e -> {
+                log.error("DNS switch from {} to {} failed", CandidateGroup.roleOf(effect.from()),
+                    CandidateGroup.roleOf(effect.target()), e);
+                return false;
+            });
+    }
+
+    CompletableFuture<Boolean> applyTtl(int ttl) {
+        return CompletableFuture.supplyAsync(() -> write(ttlWriter, ttl), executor)
+            .exceptionally(e -> {
+                log.error("DNS TTL change to {}s failed", ttl, e);
+                return false;
+            });
+    }
+
+    private boolean write(IntPredicate writer, int value) {
+        dnsWrites.lock();
+        try {
+            return writer.test(value);
+        } finally {
+            dnsWrites.unlock();
+        }
+    }
+
+    void apply(FailoverDecider.Alert effect) {
+        log.error(effect.message());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,246 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.LeaderSlotPolicy;
+import com.cardano.monitor.model.NextAction;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The failover rules as a pure function: given the current state, one cycle's observations and
+ * the time, it returns the next state and the effects to apply. It never touches DNS, the network
+ * or the clock, so it can be run millions of times in tests and replays; the monitor applies the
+ * effects through an {@link EffectExecutor} and feeds each outcome back with {@link #afterSwitch}.
+ */
+record FailoverDecider(long failoverDelayMillis, long failbackDelayMillis, LeaderGate leaderGate) {
+
+    /**
+     * What one cycle saw: the candidate DNS currently points at, which candidates answered and
+     * which failover targets an in-depth check found unfit. {@code unfit} is null when none were;
+     * {@code degradation} says why the active candidate looks about to fail, or is null.
+     * The decider takes over the arrays.
+     */
+    record Observation(int active, boolean[] up, boolean[] unfit, String degradation) {
+
+        Observation(int active, boolean[] up, boolean[] unfit) {
+            this(active, up, unfit, null);
+        }
+
+        Observation(int active, boolean[] up) {
+            this(active, up, null, null);
+        }
+    }
+
+    /**
+     * The state after the cycle and the effects it asks for. While a switch is in flight the
+     * state keeps the previous next action; the outcome replaces it.
+     */
+    record Decision(MonitorState state, List<Effect> effects) {}
+
+    sealed interface Effect permits SwitchDns, Alert {}
+
+    /**
+     * Points DNS from one candidate to another.
+     */
+    record SwitchDns(int from, int target, String reason) implements Effect {}
+
+    /**
+     * Something an operator must look at; no automatic action can fix it.
+     */
+    record Alert(String message) implements Effect {}
+
+    /**
+     * When switches are welcome around the pool's leader slots; {@link #NONE} never holds or
+     * hurries one. A switch due within {@code guardMillis} before a slot is unwelcome.
+     */
+    record LeaderGate(LeaderSchedule schedule, long guardMillis, LeaderSlotPolicy failover, LeaderSlotPolicy failback) {
+
+        static final LeaderGate NONE = new LeaderGate(LeaderSchedule.EMPTY, 0, LeaderSlotPolicy.IGNORE, LeaderSlotPolicy.IGNORE);
+
+        /**
+         * Whether a switch that is due now waits for the next slot to pass.
+         */
+        boolean defers(LeaderSlotPolicy policy, long nowMillis) {
+            return policy == LeaderSlotPolicy.DEFER && schedule.nextAtOrAfter(nowMillis) - nowMillis <= guardMillis;
+        }
+
+        /**
+         * Whether a switch that would fall due in {@code remainingMillis} happens now instead,
+         * because by then the next slot is too close or gone.
+         */
+        boolean expedites(LeaderSlotPolicy policy, long remainingMillis, long nowMillis) {
+            return policy == LeaderSlotPolicy.EXPEDITE && schedule.nextAtOrAfter(nowMillis) - nowMillis <= remainingMillis + guardMillis;
+        }
+
+        NextAction.WithContext waiting(long nowMillis) {
+            long untilSlot = schedule.nextAtOrAfter(nowMillis) - nowMillis;
+            return NextAction.WAITING_FOR_LEADER_SLOT.withRemainingTime(Duration.ofMillis(untilSlot).getSeconds());
+        }
+
+        Instant nextSlot(long nowMillis) {
+            long slot = schedule.nextAtOrAfter(nowMillis);
+            return slot == LeaderSchedule.NO_SLOT ? null : Instant.ofEpochMilli(slot);
+        }
+    }
+
+    static FailoverDecider of(Duration failoverDelay, Duration failbackDelay) {
+        return new FailoverDecider(failoverDelay.toMillis(), failbackDelay.toMillis(), LeaderGate.NONE);
+    }
+
+    FailoverDecider withLeaderGate(LeaderGate leaderGate) {
+        return new FailoverDecider(failoverDelayMillis, failbackDelayMillis, leaderGate);
+    }
+
+    /**
+     * Fails over to the highest-priority candidate that is up once the active one has been down for
+     * the failover delay, and fails back to a higher-priority candidate once it has been up for the
+     * failback delay. The {@link LeaderGate} may hold a due switch until a leader slot has passed,
+     * or make one before its delay is up so it does not land next to a slot. Candidates are compared
+     * by index only, so the cost per cycle does not depend on which of them is active. A failover
+     * skips targets the observation marks unfit and is refused when every one is. With nothing
+     * else to do, a reported degradation of the active candidate turns {@code NONE} into
+     * {@code DEGRADED}. No new switch is asked for while one is still in flight.
+     */
+    Decision decide(MonitorState state, Observation observation, Instant checkedAt) {
+        long now = checkedAt.toEpochMilli();
+        CandidateGroup group = state.candidates().observe(observation.up(), now);
+        int currentActive = observation.active();
+
+        if (state.switchInFlight() != CandidateGroup.NO_CANDIDATE) {
+            return unchanged(state.afterCheck(checkedAt, state.lastNextAction(), group));
+        }
+
+        if (currentActive == CandidateGroup.NO_CANDIDATE) {
+            // Currently no active server - check if any server is available
+            int target = group.bestUp(CandidateGroup.NO_CANDIDATE);
+            if (target == CandidateGroup.NO_CANDIDATE) {
+                return settled(state, checkedAt, NextAction.BOTH_SERVERS_DOWN.withoutContext(), group);
+            }
+            return switchTo(state, checkedAt, group, currentActive, target,
+                String.format("%s server available, switching from NONE to it", CandidateGroup.roleOf(target)));
+        }
+
+        if (!group.isUp(currentActive)) {
+            int target = group.bestUp(currentActive);
+            if (target == CandidateGroup.NO_CANDIDATE) {
+                return new Decision(
+                    state.afterCheck(checkedAt, NextAction.BOTH_SERVERS_DOWN.withoutContext(), group),
+                    List.of(new Alert("All servers are down!")));
+            }
+            long downFor = group.downForMillis(currentActive, now);
+            long remaining = failoverDelayMillis - downFor;
+            if (remaining > 0 && !leaderGate.expedites(leaderGate.failover(), remaining, now)) {
+                return settled(state, checkedAt, NextAction.WAITING_FOR_FAILOVER.withRemainingTime(Duration.ofMillis(remaining).getSeconds()), group);
+            }
+            if (remaining <= 0 && leaderGate.defers(leaderGate.failover(), now)) {
+                return settled(state, checkedAt, leaderGate.waiting(now), group);
+            }
+            if (observation.unfit() != null) {
+                // Pass over targets that answer but cannot make blocks; refuse if none is left
+                target = group.bestUp(currentActive, observation.unfit());
+                if (target == CandidateGroup.NO_CANDIDATE) {
+                    return new Decision(
+                        state.afterCheck(checkedAt, NextAction.STANDBY_NOT_FIT.withoutContext(), group),
+                        List.of(new Alert(String.format("%s (%s) is down and no failover target passed verification",
+                            CandidateGroup.roleOf(currentActive), group.node(currentActive).name()))));
+                }
+            }
+            return switchTo(state, checkedAt, group, currentActive, target, String.format("%s (%s) down for %s, switching to %s (%s)%s",
+                CandidateGroup.roleOf(currentActive), group.node(currentActive).name(), Duration.ofMillis(downFor),
+                CandidateGroup.roleOf(target), group.node(target).name(), remaining > 0 ? aheadOfSlot(now) : ""));
+        }
+
+        // Active server is up; fail back to the highest-priority candidate that has been up long enough
+        long shortestWait = Long.MAX_VALUE;
+        for (int i = 0; i < currentActive; i++) {
+            if (!group.isUp(i)) {
+                continue;
+            }
+            long upFor = group.upForMillis(i, now);
+            long remaining = failbackDelayMillis - upFor;
+            if (remaining <= 0) {
+                if (leaderGate.defers(leaderGate.failback(), now)) {
+                    // The slot holds back every candidate alike
+                    return settled(state, checkedAt, leaderGate.waiting(now), group);
+                }
+                return switchTo(state, checkedAt, group, currentActive, i, String.format("%s (%s) up for %s, switching back to it",
+                    CandidateGroup.roleOf(i), group.node(i).name(), Duration.ofMillis(upFor)));
+            }
+            if (leaderGate.expedites(leaderGate.failback(), remaining, now)) {
+                return switchTo(state, checkedAt, group, currentActive, i, String.format("%s (%s) up for %s, switching back to it%s",
+                    CandidateGroup.roleOf(i), group.node(i).name(), Duration.ofMillis(upFor), aheadOfSlot(now)));
+            }
+            shortestWait = Math.min(shortestWait, remaining);
+        }
+        if (shortestWait != Long.MAX_VALUE) {
+            long remaining = Duration.ofMillis(shortestWait).getSeconds();
+            return settled(state, checkedAt, NextAction.WAITING_FOR_FAILBACK.withRemainingTime(remaining), group);
+        }
+        if (observation.degradation() != null) {
+            return settled(state, checkedAt, new NextAction.WithContext(NextAction.DEGRADED, observation.degradation()), group);
+        }
+        return settled(state, checkedAt, NextAction.NONE.withoutContext(), group);
+    }
+
+    /**
+     * Folds the outcome of a {@link SwitchDns} back into the state. An outcome for a switch that is
+     * no longer in flight, because the state was reset meanwhile, leaves the state as it is.
+     */
+    static MonitorState afterSwitch(MonitorState state, SwitchDns effect, boolean switched) {
+        if (state.switchInFlight() != effect.target()) {
+            return state;
+        }
+        return state.afterSwitch(switchAction(effect.target(), switched)).withActive(switched ? effect.target() : effect.from());
+    }
+
+    /**
+     * A switch an operator asked for, once the caller has seen the target reachable and not
+     * active yet; no effect while another switch is still in flight.
+     */
+    static Decision manualSwitch(MonitorState state, int from, int target) {
+        if (state.switchInFlight() != CandidateGroup.NO_CANDIDATE) {
+            return unchanged(state);
+        }
+        return new Decision(state.withSwitchInFlight(target), List.of(new SwitchDns(from, target,
+            String.format("Manual switch from %s to %s", CandidateGroup.roleOf(from), CandidateGroup.roleOf(target)))));
+    }
+
+    /**
+     * Folds the outcome of a manual switch back into the state; a switch that worked restarts the
+     * candidate timers but keeps the last next action.
+     */
+    static MonitorState afterManualSwitch(MonitorState state, SwitchDns effect, boolean switched) {
+        if (state.switchInFlight() != effect.target()) {
+            return state;
+        }
+        MonitorState settled = state.withSwitchInFlight(CandidateGroup.NO_CANDIDATE);
+        return switched ? settled.afterManualSwitch().withActive(effect.target()) : settled.withActive(effect.from());
+    }
+
+    static NextAction.WithContext switchAction(int target, boolean switched) {
+        NextAction action = switch (CandidateGroup.roleOf(target)) {
+            case PRIMARY -> switched ? NextAction.SWITCHED_TO_PRIMARY : NextAction.FAILED_TO_SWITCH_TO_PRIMARY;
+            case SECONDARY -> switched ? NextAction.SWITCHED_TO_SECONDARY : NextAction.FAILED_TO_SWITCH_TO_SECONDARY;
+            case STANDBY, NONE -> switched ? NextAction.SWITCHED_TO_STANDBY : NextAction.FAILED_TO_SWITCH_TO_STANDBY;
+        };
+        return action.withoutContext();
+    }
+
+    private String aheadOfSlot(long now) {
+        return " ahead of the leader slot at " + leaderGate.nextSlot(now);
+    }
+
+    private static Decision unchanged(MonitorState state) {
+        return new Decision(state, List.of());
+    }
+
+    private static Decision settled(MonitorState state, Instant checkedAt, NextAction.WithContext nextAction, CandidateGroup group) {
+        return unchanged(state.afterCheck(checkedAt, nextAction, group));
+    }
+
+    private static Decision switchTo(MonitorState state, Instant checkedAt, CandidateGroup group, int from, int target, String reason) {
+        MonitorState switching = state.afterCheck(checkedAt, state.lastNextAction(), group).withSwitchInFlight(target);
+        return new Decision(switching, List.of(new SwitchDns(from, target, reason)));
+    }
+}
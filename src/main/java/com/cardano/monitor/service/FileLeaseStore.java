@@ -0,0 +1,92 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The lease in a small text file on a filesystem every instance mounts. Each request locks the
+ * whole file, reads the lease, writes the outcome and syncs before unlocking, so two instances
+ * never both see it free. Works across hosts wherever {@link FileChannel#lock()} does, e.g. NFSv4.
+ *
+ * <pre>
+ * holder
+ * expires at (epoch millis)
+ * term
+ * </pre>
+ */
+@Slf4j
+final class FileLeaseStore implements LeaseStoreIF {
+
+    // A JVM holds file locks per process; requests of several stores in one JVM take turns here first
+    private static final Object PROCESS_LOCK = new Object();
+
+    private final Path file;
+
+    FileLeaseStore(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Lease tryAcquire(String holder, long nowMillis, long untilMillis) throws IOException {
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                Lease current = read(channel);
+                Lease next = current.request(holder, nowMillis, untilMillis);
+                if (!next.equals(current)) {
+                    write(channel, next);
+                }
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public void release(String holder) throws IOException {
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                Lease current = read(channel);
+                if (current.heldBy(holder)) {
+                    write(channel, current.released());
+                }
+            }
+        }
+    }
+
+    private Lease read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 4_096));
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // keep reading
+        }
+        String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        if (text.isBlank()) {
+            return Lease.NONE;
+        }
+        String[] lines = text.split("\n");
+        try {
+            return new Lease(lines[0], Long.parseLong(lines[1].trim()), Long.parseLong(lines[2].trim()));
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            // Only a writer that died mid-write leaves this, and it held the lock, so nobody else leads
+            log.warn("Lease file {} is unreadable, treating the lease as free", file);
+            return Lease.NONE;
+        }
+    }
+
+    private static void write(FileChannel channel, Lease lease) throws IOException {
+        byte[] bytes = (lease.holder() + "\n" + lease.expiresAtMillis() + "\n" + lease.term() + "\n").getBytes(StandardCharsets.UTF_8);
+        channel.truncate(0);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.force(false);
+    }
+}
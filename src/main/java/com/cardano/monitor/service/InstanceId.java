@@ -0,0 +1,30 @@
+package com.cardano.monitor.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * The id this process goes by when none is configured: the host name plus a suffix drawn once per
+ * process. Instances sharing a host name, such as containers started from one image, still differ,
+ * which the HA lease depends on; a restart gets a new id.
+ */
+final class InstanceId {
+
+    private static final String DEFAULT = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private InstanceId() {
+    }
+
+    static String defaultId() {
+        return DEFAULT;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "monitor";
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether this monitor instance may write DNS, by holding a lease in a {@link LeaseStoreIF}
+ * shared with the other instances of the group. The leader renews the lease four times per period;
+ * a follower asks again when the lease it saw runs out, or sooner, so it takes over at most one
+ * lease period after the leader stopped renewing.
+ *
+ * <p>The leader counts itself leader only until a quarter period before the lease runs out, so a
+ * leader cut off from the store stops writing before anyone can take over, even with the two
+ * clocks that far apart.
+ */
+@Slf4j
+final class LeaderElection implements AutoCloseable {
+
+    private final LeaseStoreIF store;
+    private final String instanceId;
+    private final long periodMillis;
+    private final Clock clock;
+    private final Runnable onChange;
+
+    private volatile LeaseStoreIF.Lease lease = LeaseStoreIF.Lease.NONE;
+    private volatile long leaderUntilMillis = Long.MIN_VALUE;
+    private boolean wasLeader;
+    private ScheduledExecutorService renewer;
+
+    /**
+     * @param onChange run on the renewing thread whenever this instance becomes or stops being the leader
+     */
+    LeaderElection(LeaseStoreIF store, String instanceId, Duration period, Clock clock, Runnable onChange) {
+        this.store = store;
+        this.instanceId = instanceId;
+        this.periodMillis = period.toMillis();
+        this.clock = clock;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Asks for the lease now, then keeps asking in the background.
+     */
+    synchronized void start() {
+        if (renewer != null) {
+            return;
+        }
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> Thread.ofPlatform()
+            .name("lease-" + instanceId).daemon(true).unstarted(runnable));
+        renewer.execute(this::renewAndReschedule);
+    }
+
+    boolean isLeader() {
+        return clock.millis() < leaderUntilMillis;
+    }
+
+    /**
+     * How much longer this instance counts itself leader unless it renews, 0 once it is not.
+     */
+    long leaderForMillis() {
+        long until = leaderUntilMillis;
+        return until == Long.MIN_VALUE ? 0 : Math.max(0, until - clock.millis());
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * The lease as last seen in the store.
+     */
+    LeaseStoreIF.Lease lease() {
+        return lease;
+    }
+
+    /**
+     * Takes or renews the lease if it can and reports a change of leader.
+     *
+     * @return milliseconds until the next attempt is due
+     */
+    synchronized long renew() {
+        long now = clock.millis();
+        long quarter = Math.max(1, periodMillis / 4);
+        long nextAttempt = quarter;
+        try {
+            LeaseStoreIF.Lease seen = store.tryAcquire(instanceId, now, now + periodMillis);
+            lease = seen;
+            if (seen.heldBy(instanceId)) {
+                leaderUntilMillis = seen.expiresAtMillis() - quarter;
+            } else {
+                leaderUntilMillis = Long.MIN_VALUE;
+                nextAttempt = Math.clamp(seen.expiresAtMillis() - now, 1, quarter);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Leadership runs out on its own at leaderUntilMillis
+            log.warn("Cannot reach lease store as {}: {}", instanceId, e.getMessage());
+        }
+
+        boolean leader = isLeader();
+        if (leader != wasLeader) {
+            wasLeader = leader;
+            if (leader) {
+                log.info("{} is now the leader (term {})", instanceId, lease.term());
+            } else {
+                log.warn("{} is no longer the leader; the lease is held by {}", instanceId,
+                    lease.holder().isEmpty() ? "nobody" : lease.holder());
+            }
+            onChange.run();
+        }
+        return nextAttempt;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+            renewer = null;
+        }
+        if (lease.heldBy(instanceId)) {
+            leaderUntilMillis = Long.MIN_VALUE;
+            try {
+                store.release(instanceId);
+                log.info("{} released the lease", instanceId);
+            } catch (IOException e) {
+                log.warn("Cannot release the lease as {}: {}", instanceId, e.getMessage());
+            }
+        }
+    }
+
+    private void renewAndReschedule() {
+        long delay = renew();
+        synchronized (this) {
+            if (renewer != null) {
+                renewer.schedule(this::renewAndReschedule, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cardano.monitor.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * The pool's leader slots as a sorted array of epoch milliseconds, so the next slot is one binary
+ * search away however long the schedule is. Read from the JSON {@code cncli leaderlog} writes:
+ *
+ * <pre>
+ * {"epoch": 512, "assignedSlots": [{"no": 1, "slot": 131234567, "at": "2024-09-01T12:34:56+00:00"}, ...]}
+ * </pre>
+ */
+final class LeaderSchedule {
+
+    static final LeaderSchedule EMPTY = new LeaderSchedule(new long[0]);
+
+    // Returned when there is no slot ahead
+    static final long NO_SLOT = Long.MAX_VALUE;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final long[] slotMillis;
+
+    private LeaderSchedule(long[] slotMillis) {
+        this.slotMillis = slotMillis;
+    }
+
+    static LeaderSchedule of(long... slotMillis) {
+        long[] sorted = slotMillis.clone();
+        Arrays.sort(sorted);
+        return new LeaderSchedule(sorted);
+    }
+
+    /**
+     * @throws IOException when the JSON is malformed or a slot has no readable {@code at} time
+     */
+    static LeaderSchedule parse(InputStream json) throws IOException {
+        JsonNode slots = MAPPER.readTree(json).path("assignedSlots");
+        long[] millis = new long[slots.size()];
+        for (int i = 0; i < millis.length; i++) {
+            String at = slots.get(i).path("at").asText(null);
+            if (at == null) {
+                throw new IOException("Assigned slot " + i + " has no 'at' time");
+            }
+            try {
+                millis[i] = OffsetDateTime.parse(at).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new IOException("Assigned slot " + i + " has an unreadable time " + at, e);
+            }
+        }
+        return of(millis);
+    }
+
+    /**
+     * The first slot at or after {@code nowMillis}, or {@link #NO_SLOT}.
+     */
+    long nextAtOrAfter(long nowMillis) {
+        int index = Arrays.binarySearch(slotMillis, nowMillis);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < slotMillis.length ? slotMillis[index] : NO_SLOT;
+    }
+
+    int size() {
+        return slotMillis.length;
+    }
+}
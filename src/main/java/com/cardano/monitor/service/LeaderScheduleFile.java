@@ -0,0 +1,53 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * The leader schedule in a file that a cron job rewrites every epoch. Each call checks the
+ * modification time and parses the file again only when it changed; a missing or unreadable
+ * file keeps the schedule read last, so a half-written leader log never clears it.
+ */
+@Slf4j
+final class LeaderScheduleFile {
+
+    private final Path file;
+    private FileTime loadedAt;
+    private LeaderSchedule schedule = LeaderSchedule.EMPTY;
+
+    LeaderScheduleFile(Path file) {
+        this.file = file;
+    }
+
+    synchronized LeaderSchedule current() {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(file);
+        } catch (NoSuchFileException e) {
+            if (loadedAt == null) {
+                log.warn("Leader schedule {} does not exist yet", file);
+                loadedAt = FileTime.fromMillis(0);
+            }
+            return schedule;
+        } catch (IOException e) {
+            return schedule;
+        }
+        if (modified.equals(loadedAt)) {
+            return schedule;
+        }
+        loadedAt = modified;
+        try (InputStream in = Files.newInputStream(file)) {
+            schedule = LeaderSchedule.parse(in);
+            log.info("Loaded {} leader slots from {}", schedule.size(), file);
+        } catch (IOException e) {
+            log.warn("Cannot read leader schedule {}, keeping the previous one: {}", file, e.getMessage());
+        }
+        return schedule;
+    }
+}
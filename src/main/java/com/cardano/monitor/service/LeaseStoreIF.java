@@ -0,0 +1,57 @@
+package com.cardano.monitor.service;
+
+import java.io.IOException;
+
+/**
+ * Where monitor instances of one group compete for the right to write DNS. A store only has to
+ * make {@link #tryAcquire} atomic; who leads and for how long follows from the lease it returns.
+ * Times are epoch milliseconds of each instance's own clock, so instances sharing a store need
+ * clocks that agree to well within a lease period.
+ */
+public interface LeaseStoreIF {
+
+    /**
+     * Who holds the lease and until when. The term goes up each time the lease changes hands,
+     * so it tells one reign from the next in logs even when an instance leads twice.
+     */
+    record Lease(String holder, long expiresAtMillis, long term) {
+
+        static final Lease NONE = new Lease("", Long.MIN_VALUE, 0);
+
+        /**
+         * The lease after {@code requester} asks for it until {@code untilMillis}: renewed if it
+         * holds it, taken over if it ran out, otherwise unchanged.
+         */
+        Lease request(String requester, long nowMillis, long untilMillis) {
+            if (holder.equals(requester)) {
+                return new Lease(holder, untilMillis, term);
+            }
+            if (nowMillis >= expiresAtMillis) {
+                return new Lease(requester, untilMillis, term + 1);
+            }
+            return this;
+        }
+
+        Lease released() {
+            return new Lease(holder, Long.MIN_VALUE, term);
+        }
+
+        boolean heldBy(String instance) {
+            return holder.equals(instance);
+        }
+    }
+
+    /**
+     * Takes or renews the lease for {@code holder} until {@code untilMillis} if it is free, expired
+     * or already the holder's, as one atomic step.
+     *
+     * @return the lease in force afterwards, whoever holds it
+     * @throws IOException when the store cannot be read or written; the caller's lease then runs out on its own
+     */
+    Lease tryAcquire(String holder, long nowMillis, long untilMillis) throws IOException;
+
+    /**
+     * Gives the lease up early if {@code holder} has it, so another instance need not wait for it to run out.
+     */
+    void release(String holder) throws IOException;
+}
@@ -0,0 +1,90 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.journal.Journal;
+import com.cardano.monitor.journal.JournalRecord;
+import com.cardano.monitor.model.NextAction;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Journals the monitor's probes, DNS reads, decisions and switches when {@code monitor.journal}
+ * is enabled. The journal is opened on first use; if it cannot be opened journaling is turned
+ * off with an error instead of failing the check cycle. A switch forces the journal to disk
+ * right away rather than waiting for the next group commit.
+ */
+@ApplicationScoped
+@Slf4j
+public class MonitorJournal implements MonitorJournalIF {
+    
+    @Inject
+    MonitorConfig config;
+    
+    private volatile Journal journal;
+    private volatile boolean failed;
+    
+    public boolean isEnabled() {
+        return config.journal().enabled() && !failed;
+    }
+    
+    public void probe(int candidate, boolean up, long timestamp, long micros) {
+        append(JournalRecord.Type.PROBE, timestamp, candidate, up ? 1 : 0, micros);
+    }
+    
+    public void dnsRead(int active, long timestamp, long micros) {
+        append(JournalRecord.Type.DNS_READ, timestamp, active, 0, micros);
+    }
+    
+    public void decision(int active, NextAction action, int switchTarget, long timestamp) {
+        append(JournalRecord.Type.DECISION, timestamp, active, action.getJournalCode(), switchTarget);
+    }
+    
+    public void switched(int target, boolean switched, long timestamp, long micros) {
+        Journal current = append(JournalRecord.Type.SWITCH, timestamp, target, switched ? 1 : 0, micros);
+        if (current != null) {
+            current.sync();
+        }
+    }
+    
+    private Journal append(JournalRecord.Type type, long timestamp, int candidate, int code, long value) {
+        Journal current = journal();
+        if (current != null) {
+            current.append(type, timestamp, candidate, code, value);
+        }
+        return current;
+    }
+    
+    private Journal journal() {
+        Journal current = journal;
+        if (current != null || !isEnabled()) {
+            return current;
+        }
+        synchronized (this) {
+            if (journal == null && !failed) {
+                MonitorConfig.JournalConfig journalConfig = config.journal();
+                try {
+                    journal = Journal.open(Path.of(journalConfig.directory()), journalConfig.segmentSize(), journalConfig.syncInterval(),
+                        journalConfig.maxSegments());
+                    log.info("Journaling to {}", journal.directory().toAbsolutePath());
+                } catch (IOException | RuntimeException e) {
+                    log.error("Cannot open journal in {}, journaling disabled", journalConfig.directory(), e);
+                    failed = true;
+                }
+            }
+            return journal;
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        Journal current = journal;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.NextAction;
+
+/**
+ * Records what the monitor saw and did, one fixed-size journal record per event.
+ * Candidates are given by index; durations are in microseconds.
+ */
+public interface MonitorJournalIF {
+    
+    boolean isEnabled();
+    
+    void probe(int candidate, boolean up, long timestamp, long micros);
+    
+    void dnsRead(int active, long timestamp, long micros);
+    
+    /**
+     * @param switchTarget the candidate a switch was asked for, or {@link CandidateGroup#NO_CANDIDATE}
+     */
+    void decision(int active, NextAction action, int switchTarget, long timestamp);
+    
+    void switched(int target, boolean switched, long timestamp, long micros);
+}
@@ -0,0 +1,57 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.NextAction;
+
+import java.time.Instant;
+
+/**
+ * Everything the monitor knows, as one immutable value. Only the monitor's writer thread
+ * replaces it, always as a whole, so a reader sees the daemon flag, last check, next action
+ * and candidate timers from the same moment with one volatile read. {@code switchInFlight}
+ * is the candidate a DNS switch is being applied for, or {@link CandidateGroup#NO_CANDIDATE}.
+ * {@code active} is the candidate DNS pointed at as of the last check or switch, so the status
+ * can be served without reading the record.
+ */
+record MonitorState(
+    boolean running,
+    Instant lastCheck,
+    NextAction.WithContext lastNextAction,
+    CandidateGroup candidates,
+    int switchInFlight,
+    int active
+) {
+
+    static MonitorState initial(CandidateGroup candidates, Instant now) {
+        return new MonitorState(true, now, NextAction.NONE.withoutContext(), candidates,
+            CandidateGroup.NO_CANDIDATE, CandidateGroup.NO_CANDIDATE);
+    }
+
+    MonitorState withRunning(boolean running) {
+        return new MonitorState(running, lastCheck, lastNextAction, candidates, switchInFlight, active);
+    }
+
+    MonitorState afterCheck(Instant checkedAt, NextAction.WithContext nextAction, CandidateGroup observed) {
+        return new MonitorState(running, checkedAt, nextAction, observed, switchInFlight, active);
+    }
+
+    MonitorState withSwitchInFlight(int target) {
+        return new MonitorState(running, lastCheck, lastNextAction, candidates, target, active);
+    }
+
+    MonitorState withActive(int candidate) {
+        return new MonitorState(running, lastCheck, lastNextAction, candidates, switchInFlight, candidate);
+    }
+
+    MonitorState afterSwitch(NextAction.WithContext nextAction) {
+        return new MonitorState(running, lastCheck, nextAction, candidates, CandidateGroup.NO_CANDIDATE, active);
+    }
+
+    MonitorState afterManualSwitch() {
+        return new MonitorState(running, lastCheck, lastNextAction, candidates.withoutTimers(), switchInFlight, active);
+    }
+
+    MonitorState reset(Instant now) {
+        return new MonitorState(true, now, NextAction.NONE.withoutContext(), candidates.reset(),
+            CandidateGroup.NO_CANDIDATE, CandidateGroup.NO_CANDIDATE);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cardano.monitor.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Wall-clock time that never goes backwards: the system time when the clock was created plus the
+ * monotonic time elapsed since. An NTP step or a manual change of the system clock can therefore
+ * neither cut short nor stretch a failover or failback delay that is counting down. Over a long
+ * uptime the reading may drift from the system clock by whatever corrections NTP slewed in.
+ */
+final class MonotonicClock extends Clock {
+
+    private final long originMillis;
+    private final long originNanos;
+    private final ZoneId zone;
+
+    MonotonicClock() {
+        this(System.currentTimeMillis(), System.nanoTime(), ZoneOffset.UTC);
+    }
+
+    private MonotonicClock(long originMillis, long originNanos, ZoneId zone) {
+        this.originMillis = originMillis;
+        this.originNanos = originNanos;
+        this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new MonotonicClock(originMillis, originNanos, zone);
+    }
+
+    @Override
+    public long millis() {
+        return originMillis + (System.nanoTime() - originNanos) / 1_000_000;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(originMillis).plusNanos(System.nanoTime() - originNanos);
+    }
+}
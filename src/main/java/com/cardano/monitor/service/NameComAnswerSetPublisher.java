@@ -0,0 +1,150 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.service.DnsService.DnsRecordEntry;
+import com.cardano.monitor.service.DnsService.DnsRecordList;
+import com.cardano.monitor.service.DnsService.DnsUpdateRequest;
+import com.cardano.monitor.service.DnsService.NameComApiClient;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publishes an answer set on name.com, where every answer is its own record.
+ * Only the difference to what is published is written: new answers are created before
+ * dropped ones are deleted, so the name never resolves to nothing in between.
+ * Creates are not idempotent, so a failed call is not retried here; the next cycle lists
+ * the records again and recomputes the difference.
+ */
+@ApplicationScoped
+@Slf4j
+public class NameComAnswerSetPublisher implements AnswerSetPublisherIF {
+
+    @Inject
+    MonitorConfig config;
+
+    @RestClient
+    @Inject
+    NameComApiClient nameComClient;
+
+    @Inject
+    ApiQuotaManagerIF quotaManager;
+
+    // Record id per published answer; null until listed from the provider or after a failed write
+    private Map<String, String> published;
+
+    public synchronized boolean publish(String host, String type, int ttl, List<String> answers) {
+        try {
+            if (published == null && !loadPublished(host, type)) {
+                return false;
+            }
+
+            Set<String> desired = new LinkedHashSet<>(answers);
+            List<String> toAdd = desired.stream().filter(answer -> !published.containsKey(answer)).toList();
+            List<String> toRemove = published.keySet().stream().filter(answer -> !desired.contains(answer)).toList();
+
+            for (String answer : toAdd) {
+                if (!create(host, type, answer, ttl)) {
+                    published = null;
+                    return false;
+                }
+            }
+            for (String answer : toRemove) {
+                if (!delete(published.get(answer))) {
+                    published = null;
+                    return false;
+                }
+                published.remove(answer);
+            }
+
+            log.info("Published {} answers for {}: added {}, removed {}", desired.size(), host, toAdd, toRemove);
+            return true;
+        } catch (Exception e) {
+            log.error("Error publishing answers for {}", host, e);
+            published = null;
+            return false;
+        }
+    }
+
+    private boolean loadPublished(String host, String type) {
+        if (!quotaManager.tryAcquire(ApiCallPriority.RECONCILE)) {
+            log.warn("DNS API budget exhausted, cannot list records for {}", host);
+            return false;
+        }
+
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        try (Response response = nameComClient.listDnsRecords(DnsService.basicAuth(dnsConfig), dnsConfig.domain())) {
+            if (response.getStatus() != 200) {
+                log.error("Failed to list DNS records: HTTP {}", response.getStatus());
+                trackRateLimit(response);
+                return false;
+            }
+
+            DnsRecordList list = response.readEntity(DnsRecordList.class);
+            Map<String, String> current = new LinkedHashMap<>();
+            List<String> duplicates = new ArrayList<>();
+            for (DnsRecordEntry entry : list.records() != null ? list.records() : List.<DnsRecordEntry>of()) {
+                if (host.equalsIgnoreCase(entry.host()) && type.equalsIgnoreCase(entry.type())) {
+                    if (current.putIfAbsent(entry.answer(), entry.id()) != null) {
+                        duplicates.add(entry.id());
+                    }
+                }
+            }
+            for (String recordId : duplicates) {
+                log.info("Removing duplicate record {} for {}", recordId, host);
+                if (!delete(recordId)) {
+                    return false;
+                }
+            }
+            published = current;
+            return true;
+        }
+    }
+
+    private boolean create(String host, String type, String answer, int ttl) {
+        quotaManager.tryAcquire(ApiCallPriority.SWITCH);
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        DnsUpdateRequest request = new DnsUpdateRequest(host, null, type, answer, ttl);
+
+        try (Response response = nameComClient.createDnsRecord(DnsService.basicAuth(dnsConfig), dnsConfig.domain(), request)) {
+            if (response.getStatus() == 200) {
+                published.put(answer, response.readEntity(DnsRecordEntry.class).id());
+                return true;
+            }
+            log.error("Failed to add {} to {}: HTTP {}", answer, host, response.getStatus());
+            trackRateLimit(response);
+            return false;
+        }
+    }
+
+    private boolean delete(String recordId) {
+        quotaManager.tryAcquire(ApiCallPriority.SWITCH);
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+
+        try (Response response = nameComClient.deleteDnsRecord(DnsService.basicAuth(dnsConfig), dnsConfig.domain(), recordId)) {
+            // Already gone counts as deleted
+            if (response.getStatus() == 200 || response.getStatus() == 404) {
+                return true;
+            }
+            log.error("Failed to delete DNS record {}: HTTP {}", recordId, response.getStatus());
+            trackRateLimit(response);
+            return false;
+        }
+    }
+
+    private void trackRateLimit(Response response) {
+        if (response.getStatus() == 429) {
+            quotaManager.onRateLimited(DnsService.retryAfter(response));
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class NetworkService implements NetworkServiceIF {
             return switch (serverType) {
                 case ServerType.PRIMARY -> checkHostPort(config.primary().host(), config.primary().port(), timeout) ? ServerHealthStatus.UP : ServerHealthStatus.DOWN;
                 case ServerType.SECONDARY -> checkHostPort(config.secondary().host(), config.secondary().port(), timeout) ? ServerHealthStatus.UP : ServerHealthStatus.DOWN;
-                case ServerType.NONE ->  ServerHealthStatus.UNKNOWN;
+                case ServerType.STANDBY, ServerType.NONE ->  ServerHealthStatus.UNKNOWN;
             };
         } catch (Exception e) {
             log.error("Error checking server health for {}: {}", serverType, e.getMessage());
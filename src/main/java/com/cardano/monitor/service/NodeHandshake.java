@@ -0,0 +1,135 @@
+package com.cardano.monitor.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+
+/**
+ * Runs the Ouroboros node-to-node handshake against a Cardano node and hangs up. The proposal
+ * sets the query flag, so a node that speaks one of the versions answers with the versions it
+ * supports and closes the connection without starting any mini-protocol; an older node accepts
+ * a version instead, which proves as much. A refusal, usually a different network magic, means
+ * the port is open but the node is not one this pool can use.
+ *
+ * <p>Messages are CBOR inside one multiplexer segment on mini-protocol 0:
+ * <pre>
+ * header:  time(4) mode|protocol(2) length(2)
+ * propose: [0, {version: [magic, initiatorOnly, peerSharing, query], ...}]
+ * reply:   [1, version, data] accept | [2, reason] refuse | [3, {version: data}] query reply
+ * </pre>
+ */
+final class NodeHandshake {
+
+    /**
+     * @param accepted whether the node speaks a proposed version with the given network magic
+     */
+    record Result(boolean accepted, String detail) {}
+
+    // Node-to-node versions that carry the query flag
+    private static final int[] VERSIONS = {11, 12, 13, 14};
+
+    private static final int HANDSHAKE_PROTOCOL = 0;
+    private static final int MSG_ACCEPT = 1;
+    private static final int MSG_REFUSE = 2;
+    private static final int MSG_QUERY_REPLY = 3;
+
+    private NodeHandshake() {
+    }
+
+    /**
+     * @throws IOException when the node cannot be reached, hangs up or answers with something else
+     */
+    static Result query(String host, int port, long networkMagic, Duration timeout) throws IOException {
+        try (Socket socket = new Socket()) {
+            int millis = (int) timeout.toMillis();
+            socket.connect(new InetSocketAddress(host, port), millis);
+            socket.setSoTimeout(millis);
+
+            OutputStream out = socket.getOutputStream();
+            out.write(segment(proposeVersions(networkMagic)));
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            in.readInt(); // sender's timestamp
+            int protocol = in.readUnsignedShort() & 0x7FFF;
+            int length = in.readUnsignedShort();
+            if (protocol != HANDSHAKE_PROTOCOL) {
+                throw new IOException("Reply on mini-protocol " + protocol + " instead of the handshake");
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            return reply(payload);
+        }
+    }
+
+    static byte[] proposeVersions(long networkMagic) {
+        ByteArrayOutputStream cbor = new ByteArrayOutputStream(64);
+        header(cbor, 4, 2);
+        header(cbor, 0, 0);
+        header(cbor, 5, VERSIONS.length);
+        for (int version : VERSIONS) {
+            header(cbor, 0, version);
+            header(cbor, 4, 4);
+            header(cbor, 0, networkMagic);
+            cbor.write(0xF5); // initiator only
+            header(cbor, 0, 0); // no peer sharing
+            cbor.write(0xF5); // query
+        }
+        return cbor.toByteArray();
+    }
+
+    static Result reply(byte[] payload) throws IOException {
+        if (payload.length < 2 || (payload[0] & 0xE0) != 0x80) {
+            throw new IOException("Handshake reply is not a CBOR array");
+        }
+        int message = payload[1] & 0xFF;
+        return switch (message) {
+            case MSG_ACCEPT -> new Result(true, "version accepted");
+            case MSG_QUERY_REPLY -> new Result(true, "versions listed");
+            case MSG_REFUSE -> new Result(false, "handshake refused, network magic or versions do not match");
+            default -> throw new IOException("Unknown handshake message " + message);
+        };
+    }
+
+    private static byte[] segment(byte[] payload) {
+        byte[] segment = new byte[8 + payload.length];
+        int time = (int) (System.nanoTime() / 1_000);
+        segment[0] = (byte) (time >>> 24);
+        segment[1] = (byte) (time >>> 16);
+        segment[2] = (byte) (time >>> 8);
+        segment[3] = (byte) time;
+        // Mode bit clear: sent by the initiator
+        segment[4] = 0;
+        segment[5] = HANDSHAKE_PROTOCOL;
+        segment[6] = (byte) (payload.length >>> 8);
+        segment[7] = (byte) payload.length;
+        System.arraycopy(payload, 0, segment, 8, payload.length);
+        return segment;
+    }
+
+    /**
+     * A CBOR head: major type and an unsigned argument in the shortest form.
+     */
+    private static void header(ByteArrayOutputStream out, int major, long value) {
+        int type = major << 5;
+        if (value < 24) {
+            out.write(type | (int) value);
+        } else if (value < 0x100) {
+            out.write(type | 24);
+            out.write((int) value);
+        } else if (value < 0x10000) {
+            out.write(type | 25);
+            out.write((int) (value >>> 8));
+            out.write((int) value);
+        } else {
+            out.write(type | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift));
+            }
+        }
+    }
+}
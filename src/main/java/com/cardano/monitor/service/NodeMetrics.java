@@ -0,0 +1,91 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+/**
+ * Reads a Cardano node's Prometheus metrics, at the port, path and metric names configured under
+ * {@code standby-verification}, and turns its slot number into the age of its tip.
+ */
+final class NodeMetrics {
+
+    private final MonitorConfig.StandbyVerificationConfig config;
+    private final Duration timeout;
+    private final HttpClient http;
+
+    NodeMetrics(MonitorConfig.StandbyVerificationConfig config, Duration timeout) {
+        this.config = config;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * The node's metrics in Prometheus text format.
+     *
+     * @throws IOException when the endpoint cannot be reached or does not answer 200
+     */
+    String fetch(String host) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(
+                URI.create("http://" + host + ":" + config.metricsPort() + config.metricsPath()))
+            .timeout(timeout).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * How far the node's tip lags behind {@code nowMillis}, or empty when it cannot be read.
+     */
+    OptionalLong tipAgeSeconds(MonitorConfig.ServerConfig node, long nowMillis) {
+        try {
+            OptionalDouble slot = metric(fetch(node.host()), config.tipMetric());
+            return slot.isEmpty() ? OptionalLong.empty() : OptionalLong.of(tipAgeSeconds(slot.getAsDouble(), nowMillis));
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OptionalLong.empty();
+        }
+    }
+
+    long tipAgeSeconds(double slot, long nowMillis) {
+        long tipMillis = config.slotZeroTime().toEpochMilli() + (long) slot * 1_000;
+        return Math.max(0, nowMillis - tipMillis) / 1_000;
+    }
+
+    /**
+     * The value of an unlabelled sample in Prometheus text format.
+     */
+    static OptionalDouble metric(String metrics, String name) {
+        int from = 0;
+        while (true) {
+            int at = metrics.indexOf(name, from);
+            if (at < 0) {
+                return OptionalDouble.empty();
+            }
+            int end = at + name.length();
+            boolean lineStart = at == 0 || metrics.charAt(at - 1) == '\n';
+            if (lineStart && end < metrics.length() && metrics.charAt(end) == ' ') {
+                int lineEnd = metrics.indexOf('\n', end);
+                String value = metrics.substring(end + 1, lineEnd < 0 ? metrics.length() : lineEnd).trim();
+                int space = value.indexOf(' ');
+                try {
+                    // A sample may carry a timestamp after the value
+                    return OptionalDouble.of(Double.parseDouble(space < 0 ? value : value.substring(0, space)));
+                } catch (NumberFormatException e) {
+                    return OptionalDouble.empty();
+                }
+            }
+            from = end;
+        }
+    }
+}
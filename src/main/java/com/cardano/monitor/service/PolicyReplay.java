@@ -0,0 +1,178 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.journal.JournalReader;
+import com.cardano.monitor.journal.JournalRecord;
+import com.cardano.monitor.model.ReplayReport;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Feeds recorded probe history through the {@link FailoverDecider} once per timing, spread over
+ * the cores with fork/join. Every replay starts from where DNS pointed in the first recorded
+ * cycle and then moves DNS itself, assuming each switch succeeds; what the live monitor decided
+ * is ignored. A gap of more than three check intervals between cycles, when the monitor was not
+ * running, does not count as downtime.
+ */
+@ApplicationScoped
+@Slf4j
+public class PolicyReplay implements PolicyReplayIF {
+
+    @Inject
+    MonitorConfig config;
+
+    public ReplayReport replayJournal(List<Duration> failoverDelays, List<Duration> failbackDelays, Duration flapWindow) throws IOException {
+        return replay(journalHistory(), failoverDelays, failbackDelays, flapWindow);
+    }
+
+    public ReplayReport replay(Reader csv, List<Duration> failoverDelays, List<Duration> failbackDelays, Duration flapWindow) throws IOException {
+        return replay(ProbeHistory.parse(csv), failoverDelays, failbackDelays, flapWindow);
+    }
+
+    public void exportJournal(Writer csv) throws IOException {
+        journalHistory().export(csv);
+    }
+
+    private ProbeHistory journalHistory() throws IOException {
+        try (Stream<JournalRecord> records = JournalReader.read(Path.of(config.journal().directory()))) {
+            return ProbeHistory.fromJournal(records);
+        }
+    }
+
+    private ReplayReport replay(ProbeHistory history, List<Duration> failoverDelays, List<Duration> failbackDelays, Duration flapWindow) {
+        List<Duration> failovers = failoverDelays.isEmpty() ? List.of(config.timing().failoverDelay()) : failoverDelays;
+        List<Duration> failbacks = failbackDelays.isEmpty() ? List.of(config.timing().failbackDelay()) : failbackDelays;
+        List<FailoverDecider> policies = new ArrayList<>(failovers.size() * failbacks.size());
+        for (Duration failoverDelay : failovers) {
+            for (Duration failbackDelay : failbacks) {
+                policies.add(FailoverDecider.of(failoverDelay, failbackDelay));
+            }
+        }
+
+        long started = System.nanoTime();
+        List<ReplayReport.PolicyOutcome> outcomes = replay(history, MonitorState.initial(CandidateGroup.of(config), Instant.EPOCH),
+            policies, 3 * config.timing().checkInterval().toMillis(), flapWindow.toMillis());
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+        log.info("Replayed {} cycles under {} timings in {}ms", history.cycles(), policies.size(), elapsed);
+
+        int cycles = history.cycles();
+        return new ReplayReport(
+            cycles == 0 ? null : Instant.ofEpochMilli(history.timestamp(0)),
+            cycles == 0 ? null : Instant.ofEpochMilli(history.timestamp(cycles - 1)),
+            cycles,
+            history.candidates(),
+            elapsed,
+            outcomes);
+    }
+
+    /**
+     * @param initial       the state every replay starts from, with the candidates to replay
+     * @param maxStepMillis longest time between two cycles still counted as downtime
+     */
+    static List<ReplayReport.PolicyOutcome> replay(ProbeHistory history, MonitorState initial, List<FailoverDecider> policies,
+                                                   long maxStepMillis, long flapWindowMillis) {
+        ReplayReport.PolicyOutcome[] outcomes = new ReplayReport.PolicyOutcome[policies.size()];
+        ForkJoinPool.commonPool().invoke(new ReplayTask(history, initial, policies, maxStepMillis, flapWindowMillis, outcomes, 0, outcomes.length));
+        return Arrays.asList(outcomes);
+    }
+
+    static ReplayReport.PolicyOutcome replay(ProbeHistory history, MonitorState initial, FailoverDecider policy,
+                                             long maxStepMillis, long flapWindowMillis) {
+        int size = initial.candidates().size();
+        MonitorState state = initial;
+        int active = history.cycles() == 0 || history.active(0) >= size ? CandidateGroup.NO_CANDIDATE : history.active(0);
+        int left = CandidateGroup.NO_CANDIDATE;
+        long leftAt = 0;
+        long downtime = 0;
+        int switches = 0;
+        int flaps = 0;
+
+        for (int cycle = 0; cycle < history.cycles(); cycle++) {
+            long now = history.timestamp(cycle);
+            FailoverDecider.Decision decision = policy.decide(state,
+                new FailoverDecider.Observation(active, history.upArray(cycle, size)), Instant.ofEpochMilli(now));
+            state = decision.state();
+            for (FailoverDecider.Effect effect : decision.effects()) {
+                if (effect instanceof FailoverDecider.SwitchDns switchDns) {
+                    state = FailoverDecider.afterSwitch(state, switchDns, true);
+                    if (switchDns.target() == left && now - leftAt <= flapWindowMillis) {
+                        flaps++;
+                    }
+                    left = active;
+                    leftAt = now;
+                    active = switchDns.target();
+                    switches++;
+                }
+            }
+
+            if (cycle + 1 < history.cycles() && !history.isUp(cycle, active)) {
+                long step = history.timestamp(cycle + 1) - now;
+                if (step <= maxStepMillis) {
+                    downtime += step;
+                }
+            }
+        }
+
+        return new ReplayReport.PolicyOutcome(
+            policy.failoverDelayMillis() / 1_000,
+            policy.failbackDelayMillis() / 1_000,
+            downtime,
+            switches,
+            flaps);
+    }
+
+    /**
+     * Halves its range of policies until one is left, which it replays into its slot of the outcomes.
+     */
+    private static final class ReplayTask extends RecursiveAction {
+
+        private final ProbeHistory history;
+        private final MonitorState initial;
+        private final List<FailoverDecider> policies;
+        private final long maxStepMillis;
+        private final long flapWindowMillis;
+        private final ReplayReport.PolicyOutcome[] outcomes;
+        private final int from;
+        private final int to;
+
+        ReplayTask(ProbeHistory history, MonitorState initial, List<FailoverDecider> policies, long maxStepMillis,
+                   long flapWindowMillis, ReplayReport.PolicyOutcome[] outcomes, int from, int to) {
+            this.history = history;
+            this.initial = initial;
+            this.policies = policies;
+            this.maxStepMillis = maxStepMillis;
+            this.flapWindowMillis = flapWindowMillis;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    outcomes[from] = replay(history, initial, policies.get(from), maxStepMillis, flapWindowMillis);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new ReplayTask(history, initial, policies, maxStepMillis, flapWindowMillis, outcomes, from, middle),
+                new ReplayTask(history, initial, policies, maxStepMillis, flapWindowMillis, outcomes, middle, to));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.ReplayReport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replays recorded probe history through the failover rules under other timings, to choose
+ * {@code failover-delay} and {@code failback-delay} from data. Every failover delay is combined
+ * with every failback delay; an empty list stands for the configured delay.
+ */
+public interface PolicyReplayIF {
+    
+    /**
+     * Replays the local journal.
+     */
+    ReplayReport replayJournal(List<Duration> failoverDelays, List<Duration> failbackDelays, Duration flapWindow) throws IOException;
+    
+    /**
+     * Replays history exported by {@link #exportJournal}.
+     */
+    ReplayReport replay(Reader csv, List<Duration> failoverDelays, List<Duration> failbackDelays, Duration flapWindow) throws IOException;
+    
+    void exportJournal(Writer csv) throws IOException;
+}
@@ -0,0 +1,152 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.config.PoolMonitorConfig;
+import com.cardano.monitor.model.PoolStatus;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the pools listed under {@code monitor.pools.groups} next to the top-level group.
+ * Every pool gets its own monitor, DNS service, TTL manager, reconciler and journal reading a
+ * {@link PoolMonitorConfig}; the API client, quota and switch executor are shared, so all
+ * pools draw from the one name.com account budget.
+ */
+@ApplicationScoped
+@Slf4j
+public class PoolManager implements PoolManagerIF {
+
+    @Inject
+    MonitorConfig config;
+
+    @RestClient
+    @Inject
+    DnsService.NameComApiClient nameComClient;
+
+    @Inject
+    DnsSwitchExecutor switchExecutor;
+
+    @Inject
+    ApiQuotaManagerIF quotaManager;
+
+    @Inject
+    VantageAggregatorIF vantage;
+
+    private final Map<String, PoolMonitor> pools = new LinkedHashMap<>();
+    private PoolScheduler scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        List<MonitorConfig.PoolConfig> groups = config.pools().groups().orElse(List.of());
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        Set<String> names = new HashSet<>();
+        names.add(config.primary().name());
+        for (MonitorConfig.PoolConfig group : groups) {
+            if (!names.add(group.name())) {
+                throw new IllegalStateException("Duplicate pool name: " + group.name());
+            }
+        }
+
+        scheduler = new PoolScheduler(config.pools().shards());
+        for (int i = 0; i < groups.size(); i++) {
+            PoolMonitor pool = wire(groups.get(i), scheduler.shardOf(i));
+            pools.put(pool.name(), pool);
+        }
+        scheduler.start(List.copyOf(pools.values()), config.dns().reconcile().interval());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+        pools.values().forEach(PoolMonitor::close);
+    }
+
+    /**
+     * Builds one pool's services by hand, the same way the container wires the top-level group.
+     */
+    private PoolMonitor wire(MonitorConfig.PoolConfig group, int shard) {
+        MonitorConfig poolConfig = new PoolMonitorConfig(config, group);
+
+        NetworkService networkService = new NetworkService();
+        networkService.config = poolConfig;
+
+        DnsPropagationVerifier propagationVerifier = new DnsPropagationVerifier();
+        propagationVerifier.config = poolConfig;
+
+        AuthoritativeDnsDetector detector = new AuthoritativeDnsDetector();
+        detector.config = poolConfig;
+
+        DnsResponder responder = new DnsResponder();
+        responder.config = poolConfig;
+        responder.validate();
+
+        DnsService dnsService = new DnsService();
+        dnsService.config = poolConfig;
+        dnsService.nameComClient = nameComClient;
+        dnsService.propagationVerifier = propagationVerifier;
+        dnsService.switchExecutor = switchExecutor;
+        dnsService.quotaManager = quotaManager;
+        dnsService.activeServerDetector = detector;
+        dnsService.responder = responder;
+        dnsService.validateGroup();
+
+        DnsTtlManager ttlManager = new DnsTtlManager();
+        ttlManager.config = poolConfig;
+        ttlManager.dnsService = dnsService;
+
+        DnsReconciler reconciler = new DnsReconciler();
+        reconciler.config = poolConfig;
+        reconciler.dnsService = dnsService;
+
+        MonitorJournal journal = new MonitorJournal();
+        journal.config = poolConfig;
+
+        BlockProducerMonitorService monitor = new BlockProducerMonitorService();
+        monitor.config = poolConfig;
+        monitor.networkService = networkService;
+        monitor.dnsService = dnsService;
+        monitor.ttlManager = ttlManager;
+        monitor.reconciler = reconciler;
+        monitor.journal = journal;
+        monitor.vantage = vantage;
+        monitor.boot();
+
+        log.info("Pool {} ({} -> {}) on shard {}", group.name(), group.recordFqdn(), group.primary().name(), shard);
+        return new PoolMonitor(group.name(), shard, poolConfig.timing().checkInterval(), monitor, reconciler, () -> {
+            monitor.shutdown();
+            dnsService.shutdown();
+            propagationVerifier.shutdown();
+            journal.shutdown();
+        });
+    }
+
+    public List<PoolStatus> getPools() {
+        List<PoolStatus> statuses = new ArrayList<>(pools.size());
+        for (PoolMonitor pool : pools.values()) {
+            statuses.add(pool.status());
+        }
+        return statuses;
+    }
+
+    @Nullable
+    public PoolStatus getPool(String name) {
+        PoolMonitor pool = pools.get(name);
+        return pool == null ? null : pool.status();
+    }
+}
@@ -0,0 +1,14 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.PoolStatus;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+public interface PoolManagerIF {
+    
+    List<PoolStatus> getPools();
+    
+    @Nullable
+    PoolStatus getPool(String name);
+}
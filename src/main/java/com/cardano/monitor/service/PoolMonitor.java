@@ -0,0 +1,108 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.PoolStatus;
+import com.cardano.monitor.model.ServerStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One extra pool: its own monitor and reconciler, plus the state the scheduler and the status
+ * endpoint need. A check or reconcile pass that is still running makes the next tick a no-op,
+ * so a pool with a slow DNS API call only ever delays itself.
+ */
+@Slf4j
+final class PoolMonitor {
+
+    private final String name;
+    private final int shard;
+    private final Duration checkInterval;
+    private final BlockProducerMonitorServiceIF monitor;
+    private final DnsReconcilerIF reconciler;
+    private final Runnable onClose;
+
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final AtomicReference<ServerStatus> lastStatus = new AtomicReference<>();
+    private final LongAdder skippedChecks = new LongAdder();
+    private volatile long lastCheckDurationMs;
+    private volatile String lastError;
+
+    PoolMonitor(String name, int shard, Duration checkInterval, BlockProducerMonitorServiceIF monitor,
+                DnsReconcilerIF reconciler, Runnable onClose) {
+        this.name = name;
+        this.shard = shard;
+        this.checkInterval = checkInterval;
+        this.monitor = monitor;
+        this.reconciler = reconciler;
+        this.onClose = onClose;
+    }
+
+    String name() {
+        return name;
+    }
+
+    int shard() {
+        return shard;
+    }
+
+    Duration checkInterval() {
+        return checkInterval;
+    }
+
+    BlockProducerMonitorServiceIF monitor() {
+        return monitor;
+    }
+
+    /**
+     * Claims the next check; false if the previous one has not finished yet.
+     */
+    boolean tryStartCheck() {
+        if (checking.compareAndSet(false, true)) {
+            return true;
+        }
+        skippedChecks.increment();
+        return false;
+    }
+
+    void check() {
+        long startedAt = System.nanoTime();
+        try {
+            if (monitor.isRunning()) {
+                lastStatus.set(monitor.checkServers());
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            log.error("Check of pool {} failed", name, e);
+            lastError = String.valueOf(e);
+        } finally {
+            lastCheckDurationMs = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+            checking.set(false);
+        }
+    }
+
+    boolean tryStartReconcile() {
+        return reconciler.isEnabled() && monitor.isLeader() && reconciling.compareAndSet(false, true);
+    }
+
+    void reconcile() {
+        try {
+            reconciler.reconcile(monitor::repairDns);
+        } catch (RuntimeException e) {
+            log.error("Reconciling pool {} failed", name, e);
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    PoolStatus status() {
+        return new PoolStatus(name, shard, lastStatus.get(), lastCheckDurationMs, skippedChecks.sum(), lastError);
+    }
+
+    void close() {
+        onClose.run();
+    }
+}
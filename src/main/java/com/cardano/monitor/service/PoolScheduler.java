@@ -0,0 +1,81 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks pools from a fixed set of shard threads. A shard thread only decides that a pool is due
+ * and hands the check to a virtual thread, so a pool blocked on the DNS API neither holds its
+ * shard nor delays the other pools on it; it only skips its own ticks until it is done.
+ */
+@Slf4j
+final class PoolScheduler implements AutoCloseable {
+
+    private final ScheduledExecutorService[] shards;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    PoolScheduler(int shardCount) {
+        this.shards = new ScheduledExecutorService[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("pool-shard-" + i).daemon().factory());
+        }
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Shard a pool lands on; stable for a given position in the configuration.
+     */
+    int shardOf(int poolIndex) {
+        return poolIndex % shards.length;
+    }
+
+    /**
+     * Starts checking every pool at its own interval, staggered over the interval so pools
+     * configured together don't hit the DNS API in the same instant.
+     */
+    void start(List<PoolMonitor> pools, Duration reconcileInterval) {
+        for (int i = 0; i < pools.size(); i++) {
+            PoolMonitor pool = pools.get(i);
+            ScheduledExecutorService shard = shards[pool.shard() % shards.length];
+            long intervalMillis = Math.max(1, pool.checkInterval().toMillis());
+            long offsetMillis = intervalMillis * i / pools.size();
+            shard.scheduleWithFixedDelay(() -> dispatchCheck(pool), offsetMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+            long reconcileMillis = Math.max(1, reconcileInterval.toMillis());
+            shard.scheduleWithFixedDelay(() -> dispatchReconcile(pool), reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("Scheduled {} pools on {} shards", pools.size(), shards.length);
+    }
+
+    private void dispatchCheck(PoolMonitor pool) {
+        if (pool.tryStartCheck()) {
+            workers.execute(pool::check);
+        } else {
+            log.warn("Previous check of pool {} still running, skipping this one", pool.name());
+        }
+    }
+
+    private void dispatchReconcile(PoolMonitor pool) {
+        if (pool.tryStartReconcile()) {
+            workers.execute(pool::reconcile);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ScheduledExecutorService shard : shards) {
+            shard.shutdownNow();
+        }
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,126 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.config.PoolMonitorConfig;
+import com.cardano.monitor.dto.ProbeReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The agent side of multi-vantage probing: probes the nodes of the top-level group and of every
+ * pool from wherever this instance runs, all at once, and posts the results to the monitor as one
+ * gzip-compressed JSON report. A node listed by several pools is probed once.
+ */
+@ApplicationScoped
+@Slf4j
+public class ProbeAgent implements ProbeAgentIF {
+
+    @Inject
+    MonitorConfig config;
+
+    @Inject
+    NetworkServiceIF networkService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @RestClient
+    @Inject
+    MonitorReportClient monitorClient;
+
+    private final ExecutorService probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public boolean isEnabled() {
+        return config.vantage().agent();
+    }
+
+    public ProbeReport runRound() {
+        Map<String, MonitorConfig.ServerConfig> targets = targets(config);
+        Map<String, CompletableFuture<Boolean>> probes = new LinkedHashMap<>(targets.size() * 4 / 3 + 1);
+        targets.forEach((endpoint, node) -> probes.put(endpoint, CompletableFuture.supplyAsync(
+            () -> networkService.checkHostPort(node.host(), node.port(), config.timing().connectionTimeout()), probeExecutor)));
+
+        List<String> up = new ArrayList<>();
+        List<String> down = new ArrayList<>();
+        probes.forEach((endpoint, probe) -> (probe.join() ? up : down).add(endpoint));
+        ProbeReport report = new ProbeReport(agentId(), Instant.now(), up, down);
+
+        try {
+            byte[] body = encode(objectMapper, report);
+            try (Response response = monitorClient.report("gzip", body)) {
+                if (response.getStatus() >= 300) {
+                    log.warn("Monitor refused the report of {} nodes: HTTP {}", targets.size(), response.getStatus());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot send the report of {} nodes to the monitor: {}", targets.size(), e.getMessage());
+        }
+        return report;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * Every node of the top-level group and the pools, by endpoint.
+     */
+    static Map<String, MonitorConfig.ServerConfig> targets(MonitorConfig config) {
+        Map<String, MonitorConfig.ServerConfig> targets = new LinkedHashMap<>();
+        CandidateGroup.nodes(config).forEach(node -> targets.putIfAbsent(ProbeReport.endpoint(node.host(), node.port()), node));
+        for (MonitorConfig.PoolConfig pool : config.pools().groups().orElse(List.of())) {
+            CandidateGroup.nodes(new PoolMonitorConfig(config, pool))
+                .forEach(node -> targets.putIfAbsent(ProbeReport.endpoint(node.host(), node.port()), node));
+        }
+        return targets;
+    }
+
+    static byte[] encode(ObjectMapper objectMapper, ProbeReport report) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, report);
+        }
+        return bytes.toByteArray();
+    }
+
+    private String agentId() {
+        return config.vantage().agentId().orElseGet(InstanceId::defaultId);
+    }
+
+    @RegisterRestClient(configKey = "vantage-monitor")
+    @Path("/api/vantage")
+    public interface MonitorReportClient {
+
+        /**
+         * @param body the report as gzip-compressed JSON
+         */
+        @POST
+        @Path("/reports")
+        @Consumes(MediaType.APPLICATION_JSON)
+        Response report(@HeaderParam("Content-Encoding") String contentEncoding, byte[] body);
+    }
+}
@@ -0,0 +1,16 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.dto.ProbeReport;
+
+public interface ProbeAgentIF {
+    
+    /**
+     * True when this instance runs as a probe agent instead of a monitor.
+     */
+    boolean isEnabled();
+    
+    /**
+     * Probes every node of every pool once and sends the results to the monitor in one report.
+     */
+    ProbeReport runRound();
+}
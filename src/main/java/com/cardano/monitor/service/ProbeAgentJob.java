@@ -0,0 +1,19 @@
+package com.cardano.monitor.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class ProbeAgentJob {
+    
+    @Inject
+    ProbeAgentIF probeAgent;
+    
+    @Scheduled(every = "${monitor.vantage.report-interval:30s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void report() {
+        if (probeAgent.isEnabled()) {
+            probeAgent.runRound();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.journal.JournalRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * What the monitor saw, one entry per check cycle: when it ran, where DNS pointed and which
+ * candidates answered, as a bit per candidate. Built from the journal, where all probes and the
+ * DNS read of a cycle share its timestamp, or from the CSV {@link #export} writes:
+ *
+ * <pre>
+ * timestamp,active,up
+ * 1767225600000,0,1;1;0
+ * </pre>
+ *
+ * {@code active} is -1 when DNS pointed at no candidate; {@code up} lists one 0 or 1 per
+ * candidate in priority order. A candidate without a probe in a cycle counts as down.
+ */
+final class ProbeHistory {
+
+    static final int MAX_CANDIDATES = Long.SIZE;
+
+    private static final String HEADER = "timestamp,active,up";
+
+    private final int candidates;
+    private final long[] timestamps;
+    private final int[] active;
+    private final long[] up;
+
+    private ProbeHistory(int candidates, long[] timestamps, int[] active, long[] up) {
+        this.candidates = candidates;
+        this.timestamps = timestamps;
+        this.active = active;
+        this.up = up;
+    }
+
+    static ProbeHistory fromJournal(Stream<JournalRecord> records) {
+        Builder builder = new Builder();
+        records.forEach(record -> {
+            switch (record.type()) {
+                case PROBE -> builder.cycle(record.timestamp()).probe(record.candidate(), record.code() == 1);
+                case DNS_READ -> builder.cycle(record.timestamp()).active(record.candidate());
+                case DECISION, SWITCH -> {
+                    // What the live policy decided is not what the replayed one would
+                }
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * @throws IllegalArgumentException on a line that is not {@code timestamp,active,up}
+     */
+    static ProbeHistory parse(Reader csv) throws IOException {
+        Builder builder = new Builder();
+        BufferedReader reader = new BufferedReader(csv);
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.equals(HEADER)) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Line " + number + ": expected " + HEADER + ", got " + line);
+            }
+            try {
+                builder.cycle(Long.parseLong(fields[0])).active(Integer.parseInt(fields[1]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + number + ": " + e.getMessage(), e);
+            }
+            String[] flags = fields[2].split(";");
+            for (int i = 0; i < flags.length; i++) {
+                builder.probe(i, flags[i].equals("1"));
+            }
+        }
+        return builder.build();
+    }
+
+    void export(Writer csv) {
+        try {
+            csv.write(HEADER);
+            csv.write('\n');
+            StringBuilder line = new StringBuilder(32 + candidates * 2);
+            for (int cycle = 0; cycle < timestamps.length; cycle++) {
+                line.setLength(0);
+                line.append(timestamps[cycle]).append(',').append(active[cycle]).append(',');
+                for (int i = 0; i < candidates; i++) {
+                    line.append(i == 0 ? "" : ";").append(isUp(cycle, i) ? '1' : '0');
+                }
+                csv.append(line).append('\n');
+            }
+            csv.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int cycles() {
+        return timestamps.length;
+    }
+
+    int candidates() {
+        return candidates;
+    }
+
+    long timestamp(int cycle) {
+        return timestamps[cycle];
+    }
+
+    int active(int cycle) {
+        return active[cycle];
+    }
+
+    boolean isUp(int cycle, int candidate) {
+        return candidate >= 0 && (up[cycle] & (1L << candidate)) != 0;
+    }
+
+    /**
+     * A fresh array for {@link FailoverDecider.Observation}, which takes it over.
+     */
+    boolean[] upArray(int cycle, int size) {
+        boolean[] flags = new boolean[size];
+        long bits = up[cycle];
+        for (int i = 0; i < size; i++) {
+            flags[i] = (bits & (1L << i)) != 0;
+        }
+        return flags;
+    }
+
+    /**
+     * Collects cycles in timestamp order; records of the same cycle must be adjacent.
+     */
+    private static final class Builder {
+
+        private long[] timestamps = new long[1024];
+        private int[] active = new int[1024];
+        private long[] up = new long[1024];
+        private int cycles;
+        private int candidates;
+
+        Builder cycle(long timestamp) {
+            if (cycles == 0 || timestamps[cycles - 1] != timestamp) {
+                if (cycles == timestamps.length) {
+                    timestamps = Arrays.copyOf(timestamps, cycles * 2);
+                    active = Arrays.copyOf(active, cycles * 2);
+                    up = Arrays.copyOf(up, cycles * 2);
+                }
+                timestamps[cycles] = timestamp;
+                active[cycles] = CandidateGroup.NO_CANDIDATE;
+                up[cycles] = 0;
+                cycles++;
+            }
+            return this;
+        }
+
+        Builder active(int candidate) {
+            active[cycles - 1] = candidate;
+            return this;
+        }
+
+        Builder probe(int candidate, boolean answered) {
+            if (candidate < 0 || candidate >= MAX_CANDIDATES) {
+                throw new IllegalArgumentException("Candidate index " + candidate + " out of range");
+            }
+            candidates = Math.max(candidates, candidate + 1);
+            if (answered) {
+                up[cycles - 1] |= 1L << candidate;
+            }
+            return this;
+        }
+
+        ProbeHistory build() {
+            return new ProbeHistory(candidates, Arrays.copyOf(timestamps, cycles),
+                Arrays.copyOf(active, cycles), Arrays.copyOf(up, cycles));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cardano.monitor.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class RelaySteeringJob {
+    
+    @Inject
+    RelaySteeringServiceIF relaySteering;
+    
+    @Inject
+    BlockProducerMonitorServiceIF monitorService;
+    
+    @Scheduled(every = "${monitor.relays.check-interval:30s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void steer() {
+        // Like the block producer record, relay answers are only written by the leader; probe agents never lead
+        if (relaySteering.isEnabled() && monitorService.isLeader()) {
+            relaySteering.runCycle();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.RelayPoolStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps the relay pool name pointing at the relays that are up.
+ * All relays are probed in parallel every cycle; a relay changes state only after
+ * {@code rise} consecutive successes or {@code fall} consecutive failures, so one lost
+ * probe does not churn the published set. Healthy relays are published by descending
+ * weight, up to {@code max-answers}. A weight of 0 drains a relay without removing it
+ * from the configuration.
+ */
+@ApplicationScoped
+@Slf4j
+public class RelaySteeringService implements RelaySteeringServiceIF {
+
+    @Inject
+    MonitorConfig config;
+
+    @Inject
+    NetworkServiceIF networkService;
+
+    @Inject
+    AnswerSetPublisherIF publisher;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, MemberState> members = new ConcurrentHashMap<>();
+
+    private volatile List<String> publishedAnswers = List.of();
+    private volatile Instant lastChangeAt;
+    private volatile String lastError;
+
+    private static final class MemberState {
+        // null until the first probe
+        Boolean healthy;
+        int consecutiveSuccesses;
+        int consecutiveFailures;
+
+        void observe(boolean up, int rise, int fall) {
+            if (up) {
+                consecutiveSuccesses++;
+                consecutiveFailures = 0;
+                if (healthy == null || (!healthy && consecutiveSuccesses >= rise)) {
+                    healthy = true;
+                }
+            } else {
+                consecutiveFailures++;
+                consecutiveSuccesses = 0;
+                if (healthy == null || (healthy && consecutiveFailures >= fall)) {
+                    healthy = false;
+                }
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.relays().enabled();
+    }
+
+    public synchronized void runCycle() {
+        MonitorConfig.RelayPoolConfig pool = config.relays();
+        List<MonitorConfig.RelayMemberConfig> memberConfigs = pool.members().orElse(List.of());
+        if (memberConfigs.isEmpty()) {
+            return;
+        }
+
+        List<Boolean> results;
+        try {
+            results = probe(memberConfigs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        int rise = Math.max(1, pool.rise());
+        int fall = Math.max(1, pool.fall());
+        for (int i = 0; i < memberConfigs.size(); i++) {
+            MonitorConfig.RelayMemberConfig member = memberConfigs.get(i);
+            MemberState state = members.computeIfAbsent(member.name(), name -> new MemberState());
+            Boolean before = state.healthy;
+            state.observe(results.get(i), rise, fall);
+            if (before != null && !before.equals(state.healthy)) {
+                log.warn("Relay {} ({}:{}) is now {}", member.name(), member.host(), member.port(), state.healthy ? "UP" : "DOWN");
+            }
+        }
+
+        List<String> desired = desiredAnswers(pool, memberConfigs);
+        if (desired.isEmpty()) {
+            // Publishing nothing would take the whole pool offline; stale answers are better than none
+            lastError = "No healthy relay, keeping the current answers";
+            log.error("No healthy relay in pool {}, keeping {}", pool.recordHost(), publishedAnswers);
+            return;
+        }
+        if (new HashSet<>(desired).equals(new HashSet<>(publishedAnswers))) {
+            return;
+        }
+
+        log.info("Relay pool {} changes from {} to {}", pool.recordHost(), publishedAnswers, desired);
+        if (publisher.publish(pool.recordHost(), pool.recordType(), pool.ttl(), desired)) {
+            publishedAnswers = List.copyOf(desired);
+            lastChangeAt = Instant.now();
+            lastError = null;
+        } else {
+            lastError = "Failed to publish " + desired;
+        }
+    }
+
+    private List<Boolean> probe(List<MonitorConfig.RelayMemberConfig> memberConfigs) throws InterruptedException {
+        List<Callable<Boolean>> probes = new ArrayList<>(memberConfigs.size());
+        for (MonitorConfig.RelayMemberConfig member : memberConfigs) {
+            probes.add(() -> networkService.checkHostPort(member.host(), member.port(), config.timing().connectionTimeout()));
+        }
+
+        List<Boolean> results = new ArrayList<>(probes.size());
+        for (Future<Boolean> future : executor.invokeAll(probes)) {
+            try {
+                results.add(Boolean.TRUE.equals(future.get()));
+            } catch (ExecutionException e) {
+                log.debug("Relay probe failed", e.getCause());
+                results.add(false);
+            }
+        }
+        return results;
+    }
+
+    private List<String> desiredAnswers(MonitorConfig.RelayPoolConfig pool, List<MonitorConfig.RelayMemberConfig> memberConfigs) {
+        List<String> answers = memberConfigs.stream()
+            .filter(member -> member.weight() > 0)
+            .filter(member -> Boolean.TRUE.equals(members.get(member.name()).healthy))
+            .sorted(Comparator.comparingInt(MonitorConfig.RelayMemberConfig::weight).reversed()
+                .thenComparing(MonitorConfig.RelayMemberConfig::name))
+            .map(member -> member.answer().orElse(member.host()))
+            .distinct()
+            .toList();
+        return pool.maxAnswers() > 0 && answers.size() > pool.maxAnswers()
+            ? answers.subList(0, pool.maxAnswers())
+            : answers;
+    }
+
+    public RelayPoolStatus getStatus() {
+        MonitorConfig.RelayPoolConfig pool = config.relays();
+        List<String> published = publishedAnswers;
+        List<RelayPoolStatus.MemberStatus> memberStatuses = pool.members().orElse(List.of()).stream()
+            .map(member -> {
+                MemberState state = members.get(member.name());
+                String answer = member.answer().orElse(member.host());
+                return new RelayPoolStatus.MemberStatus(member.name(), member.host(), member.port(), member.weight(),
+                    state != null ? state.healthy : null, published.contains(answer));
+            })
+            .toList();
+        return new RelayPoolStatus(pool.enabled(), pool.recordHost(), published, lastChangeAt, lastError, memberStatuses);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.RelayPoolStatus;
+
+public interface RelaySteeringServiceIF {
+    
+    boolean isEnabled();
+    
+    void runCycle();
+    
+    RelayPoolStatus getStatus();
+}
@@ -0,0 +1,89 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.NextAction;
+import com.cardano.monitor.model.ShadowReport;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+
+/**
+ * A dry-run decision path beside the live one. Every cycle it runs its own {@link FailoverDecider}
+ * on the same probe results and DNS reading the live path used, and records the switch it would
+ * have made instead of making it. Since DNS only moves with the live path, a shadow switch is
+ * taken as done for the shadow's timers but is asked for again while the live path holds off;
+ * one intended switch is counted per run of such cycles.
+ *
+ * <p>Only the monitor's writer thread observes; reports may be taken from any thread.
+ */
+final class ShadowDecisions {
+
+    private final FailoverDecider decider;
+    private final int historySize;
+    private final Deque<ShadowReport.Divergence> divergences = new ArrayDeque<>();
+
+    private MonitorState state;
+    private long cycles;
+    private long divergentCycles;
+    private long intendedSwitches;
+    private int lastLiveTarget = CandidateGroup.NO_CANDIDATE;
+    private int lastShadowTarget = CandidateGroup.NO_CANDIDATE;
+
+    ShadowDecisions(FailoverDecider decider, int historySize) {
+        this.decider = decider;
+        this.historySize = historySize;
+    }
+
+    /**
+     * @param live        the live state before this cycle; the shadow starts from it on its first cycle,
+     *                    so timers restored from a snapshot count for both paths
+     * @param observation the live observation, with an array of its own
+     * @param liveTarget  the candidate the live path switches to, or {@link CandidateGroup#NO_CANDIDATE}
+     */
+    synchronized void observe(MonitorState live, FailoverDecider.Observation observation, Instant checkedAt,
+                              int liveTarget, NextAction liveAction) {
+        if (state == null) {
+            state = live.withSwitchInFlight(CandidateGroup.NO_CANDIDATE);
+        }
+        FailoverDecider.Decision decision = decider.decide(state, observation, checkedAt);
+        state = decision.state();
+        int shadowTarget = CandidateGroup.NO_CANDIDATE;
+        for (FailoverDecider.Effect effect : decision.effects()) {
+            if (effect instanceof FailoverDecider.SwitchDns switchDns) {
+                shadowTarget = switchDns.target();
+                state = FailoverDecider.afterSwitch(state, switchDns, true);
+            }
+        }
+
+        cycles++;
+        if (shadowTarget != CandidateGroup.NO_CANDIDATE && shadowTarget != lastShadowTarget) {
+            intendedSwitches++;
+        }
+        if (shadowTarget != liveTarget) {
+            divergentCycles++;
+            if (shadowTarget != lastShadowTarget || liveTarget != lastLiveTarget) {
+                record(new ShadowReport.Divergence(checkedAt, name(observation.active()), name(liveTarget), name(shadowTarget),
+                    liveAction, state.lastNextAction().getAction()));
+            }
+        }
+        lastLiveTarget = liveTarget;
+        lastShadowTarget = shadowTarget;
+    }
+
+    synchronized ShadowReport report() {
+        return new ShadowReport(true, decider.failoverDelayMillis() / 1_000, decider.failbackDelayMillis() / 1_000,
+            cycles, divergentCycles, intendedSwitches, new ArrayList<>(divergences));
+    }
+
+    private void record(ShadowReport.Divergence divergence) {
+        divergences.addFirst(divergence);
+        while (divergences.size() > historySize) {
+            divergences.removeLast();
+        }
+    }
+
+    private String name(int index) {
+        return index == CandidateGroup.NO_CANDIDATE ? null : state.candidates().node(index).name();
+    }
+}
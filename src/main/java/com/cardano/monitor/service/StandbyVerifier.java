@@ -0,0 +1,146 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.StandbyVerdict;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Checks failover targets in depth while a failover counts down, so a node whose port is open
+ * but that cannot make blocks is not switched to. A candidate is fit when it completes the
+ * node-to-node handshake for the configured network, its tip is recent and it has enough peers.
+ * Checks run on the given executor, at most one per candidate at a time; the monitor reads the
+ * verdicts without waiting. A candidate without a recent verdict counts as fit, so a check that
+ * has not finished never holds a failover back.
+ */
+@Slf4j
+final class StandbyVerifier {
+
+    private final MonitorConfig.StandbyVerificationConfig config;
+    private final Duration timeout;
+    private final Clock clock;
+    private final NodeMetrics nodeMetrics;
+    private final AtomicReferenceArray<StandbyVerdict> verdicts;
+    private final AtomicIntegerArray running;
+
+    /**
+     * @param timeout for the handshake and the metrics request each
+     */
+    StandbyVerifier(MonitorConfig.StandbyVerificationConfig config, int candidates, Duration timeout, Clock clock) {
+        this.config = config;
+        this.timeout = timeout;
+        this.clock = clock;
+        this.nodeMetrics = new NodeMetrics(config, timeout);
+        this.verdicts = new AtomicReferenceArray<>(candidates);
+        this.running = new AtomicIntegerArray(candidates);
+    }
+
+    /**
+     * Starts checking a candidate unless it has a recent verdict or a check is already running.
+     */
+    void verifyAsync(CandidateGroup group, int index, Executor executor) {
+        if (isFresh(verdicts.get(index), clock.millis()) || !running.compareAndSet(index, 0, 1)) {
+            return;
+        }
+        MonitorConfig.ServerConfig node = group.node(index);
+        executor.execute(() -> {
+            try {
+                StandbyVerdict verdict = verify(node);
+                StandbyVerdict previous = verdicts.getAndSet(index, verdict);
+                if (!verdict.fit()) {
+                    log.warn("Standby {} is not fit for failover: {}", node.name(), verdict.reason());
+                } else if (previous != null && !previous.fit()) {
+                    log.info("Standby {} passed verification again", node.name());
+                }
+            } finally {
+                running.set(index, 0);
+            }
+        });
+    }
+
+    /**
+     * Candidates a recent verdict found unfit, or {@code null} when there are none.
+     */
+    boolean[] unfit(int size, long nowMillis) {
+        boolean[] unfit = null;
+        for (int i = 0; i < Math.min(size, verdicts.length()); i++) {
+            StandbyVerdict verdict = verdicts.get(i);
+            if (verdict != null && !verdict.fit() && isFresh(verdict, nowMillis)) {
+                if (unfit == null) {
+                    unfit = new boolean[size];
+                }
+                unfit[i] = true;
+            }
+        }
+        return unfit;
+    }
+
+    List<StandbyVerdict> verdicts() {
+        List<StandbyVerdict> all = new ArrayList<>(verdicts.length());
+        for (int i = 0; i < verdicts.length(); i++) {
+            StandbyVerdict verdict = verdicts.get(i);
+            if (verdict != null) {
+                all.add(verdict);
+            }
+        }
+        return all;
+    }
+
+    StandbyVerdict verify(MonitorConfig.ServerConfig node) {
+        Instant checkedAt = clock.instant();
+        try {
+            NodeHandshake.Result handshake = NodeHandshake.query(node.host(), node.port(), config.networkMagic(), timeout);
+            if (!handshake.accepted()) {
+                return unfit(node, checkedAt, handshake.detail(), null, null);
+            }
+        } catch (IOException e) {
+            return unfit(node, checkedAt, "handshake failed: " + e.getMessage(), null, null);
+        }
+
+        String metrics;
+        try {
+            metrics = nodeMetrics.fetch(node.host());
+        } catch (IOException e) {
+            return unfit(node, checkedAt, "metrics unreachable: " + e.getMessage(), null, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return unfit(node, checkedAt, "interrupted", null, null);
+        }
+
+        OptionalDouble slot = NodeMetrics.metric(metrics, config.tipMetric());
+        if (slot.isEmpty()) {
+            return unfit(node, checkedAt, "no " + config.tipMetric() + " in metrics", null, null);
+        }
+        long tipAgeSeconds = nodeMetrics.tipAgeSeconds(slot.getAsDouble(), checkedAt.toEpochMilli());
+
+        OptionalDouble peerCount = NodeMetrics.metric(metrics, config.peersMetric());
+        Integer peers = peerCount.isPresent() ? (int) peerCount.getAsDouble() : null;
+
+        if (tipAgeSeconds > config.maxTipAge().getSeconds()) {
+            return unfit(node, checkedAt, "tip is " + tipAgeSeconds + "s old", tipAgeSeconds, peers);
+        }
+        if (config.minPeers() > 0 && (peers == null || peers < config.minPeers())) {
+            return unfit(node, checkedAt, peers == null ? "no " + config.peersMetric() + " in metrics"
+                : peers + " peers, fewer than " + config.minPeers(), tipAgeSeconds, peers);
+        }
+        return new StandbyVerdict(node.name(), true, "handshake, tip and peers fine", checkedAt, tipAgeSeconds, peers);
+    }
+
+    private boolean isFresh(StandbyVerdict verdict, long nowMillis) {
+        return verdict != null && nowMillis - verdict.checkedAt().toEpochMilli() < config.verdictMaxAge().toMillis();
+    }
+
+    private static StandbyVerdict unfit(MonitorConfig.ServerConfig node, Instant checkedAt, String reason, Long tipAgeSeconds, Integer peers) {
+        return new StandbyVerdict(node.name(), false, reason, checkedAt, tipAgeSeconds, peers);
+    }
+}
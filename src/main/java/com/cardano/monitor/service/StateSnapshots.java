@@ -0,0 +1,208 @@
+package com.cardano.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves the monitor state to a local file periodically and on shutdown, and puts it back on
+ * boot, so a restart during an outage does not start the failover delay over again. Saving
+ * reads the immutable state from its own thread; the file is replaced with an atomic move,
+ * so a crash mid-write leaves the previous snapshot. Candidates are matched by name, so a
+ * changed candidate list restores whatever still exists.
+ *
+ * <pre>
+ * magic(4) version(4) saved at(8) running(1) count(4)
+ *   count x [name(UTF) observed(1) up(1) down since(8) up since(8)]
+ * crc32c(4)
+ * </pre>
+ */
+@Slf4j
+final class StateSnapshots implements AutoCloseable {
+
+    private static final int MAGIC = 0x43525331; // "CRS1"
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final Supplier<MonitorState> source;
+    private ScheduledExecutorService saver;
+
+    /**
+     * @param maxAge snapshots older than this are ignored; the candidates were not watched for that long
+     * @param clock  the monitor's clock, for the time a snapshot is saved at
+     * @param source the state to save, read from the saver thread
+     */
+    StateSnapshots(Path file, Duration maxAge, Clock clock, Supplier<MonitorState> source) {
+        this.file = file;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.source = source;
+    }
+
+    /**
+     * Saves every {@code interval} from now on.
+     */
+    synchronized void start(Duration interval) {
+        if (saver != null) {
+            return;
+        }
+        saver = Executors.newSingleThreadScheduledExecutor(runnable -> Thread.ofPlatform()
+            .name("snapshot-" + file.getFileName()).daemon(true).unstarted(runnable));
+        long millis = Math.max(1, interval.toMillis());
+        saver.scheduleWithFixedDelay(this::saveQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The fresh state with the saved candidates, timers and daemon flag put back, or the fresh
+     * state unchanged when there is no usable snapshot.
+     */
+    MonitorState restore(MonitorState fresh, Instant now) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return fresh;
+        } catch (IOException e) {
+            log.warn("Cannot read state snapshot {}: {}", file, e.getMessage());
+            return fresh;
+        }
+        try {
+            MonitorState restored = decode(bytes, fresh, now, maxAge);
+            if (restored != fresh) {
+                log.info("Restored monitor state from {} saved at {}", file, restored.lastCheck());
+            }
+            return restored;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable state snapshot {}: {}", file, e.getMessage());
+            return fresh;
+        }
+    }
+
+    void save() throws IOException {
+        MonitorState state = source.get();
+        if (state == null) {
+            return;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, encode(state, clock.instant()));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (saver != null) {
+            saver.shutdownNow();
+            saver = null;
+        }
+        // Last snapshot on the way down
+        saveQuietly();
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot save state snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    static byte[] encode(MonitorState state, Instant savedAt) throws IOException {
+        CandidateGroup group = state.candidates();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + group.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(savedAt.toEpochMilli());
+        out.writeBoolean(state.running());
+        out.writeInt(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            out.writeUTF(group.node(i).name());
+            out.writeBoolean(group.isObserved(i));
+            out.writeBoolean(group.isUp(i));
+            out.writeLong(group.downSinceMillis(i));
+            out.writeLong(group.upSinceMillis(i));
+        }
+        out.writeInt(checksum(bytes.toByteArray(), bytes.size()));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the restored state, or {@code fresh} itself when the snapshot is too old
+     * @throws IOException when the snapshot is truncated, corrupt or of another format
+     */
+    static MonitorState decode(byte[] bytes, MonitorState fresh, Instant now, Duration maxAge) throws IOException {
+        if (bytes.length < 4 || checksum(bytes, bytes.length - 4) != readInt(bytes, bytes.length - 4)) {
+            throw new IOException("checksum mismatch");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("not a version " + VERSION + " state snapshot");
+        }
+        Instant savedAt = Instant.ofEpochMilli(in.readLong());
+        if (Duration.between(savedAt, now).compareTo(maxAge) > 0) {
+            log.info("State snapshot saved at {} is older than {}, starting fresh", savedAt, maxAge);
+            return fresh;
+        }
+        boolean running = in.readBoolean();
+
+        CandidateGroup group = fresh.candidates();
+        boolean[] observed = new boolean[group.size()];
+        boolean[] up = new boolean[group.size()];
+        long[] downSince = new long[group.size()];
+        long[] upSince = new long[group.size()];
+        Arrays.fill(downSince, CandidateGroup.UNSET);
+        Arrays.fill(upSince, CandidateGroup.UNSET);
+        int count = in.readInt();
+        for (int saved = 0; saved < count; saved++) {
+            String name = in.readUTF();
+            boolean wasObserved = in.readBoolean();
+            boolean wasUp = in.readBoolean();
+            long wasDownSince = in.readLong();
+            long wasUpSince = in.readLong();
+            int index = group.indexOfName(name);
+            if (index == CandidateGroup.NO_CANDIDATE) {
+                continue;
+            }
+            observed[index] = wasObserved;
+            up[index] = wasUp;
+            downSince[index] = wasDownSince;
+            upSince[index] = wasUpSince;
+        }
+        return new MonitorState(running, savedAt, fresh.lastNextAction(),
+            group.restored(observed, up, downSince, upSince), CandidateGroup.NO_CANDIDATE, fresh.active());
+    }
+
+    private static int checksum(byte[] bytes, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+            | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
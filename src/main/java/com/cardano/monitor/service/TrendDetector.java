@@ -0,0 +1,87 @@
+package com.cardano.monitor.service;
+
+/**
+ * An online detector for a sustained rise in one series, e.g. a node's connect latency. It keeps a
+ * slow moving average as the baseline and a moving mean absolute deviation as its spread, and runs
+ * a one-sided CUSUM over the deviations from the baseline in units of that spread: each sample adds
+ * how far it is above the baseline less a slack, and the sum never drops below zero. No sample adds
+ * more than half the threshold, so a lone spike, however tall, drains away again; a level that keeps
+ * climbing pushes the sum over the threshold within a few samples.
+ *
+ * <p>While alarmed the baseline learns ten times slower, so a rise cannot hide by dragging the
+ * baseline up with it; a shift that stays for good is still absorbed in the end.
+ * The detector clears once the sum falls below half the threshold, so it does not flap at the edge.
+ * Not thread-safe.
+ */
+final class TrendDetector {
+
+    private final double alpha;
+    private final double slack;
+    private final double threshold;
+    private final int warmUp;
+    private final double minDeviation;
+
+    private long samples;
+    private double mean;
+    private double deviation;
+    private double sum;
+    private boolean alarmed;
+
+    /**
+     * @param alpha        weight of a new sample in the baseline, e.g. 0.05
+     * @param slack        standard deviations that a sample may rise without counting
+     * @param threshold    sum of counted deviations that raises the alarm
+     * @param warmUp       samples taken to learn the baseline before any alarm
+     * @param minDeviation smallest spread, in the series' unit, so a flat series is not hair-trigger
+     */
+    TrendDetector(double alpha, double slack, double threshold, int warmUp, double minDeviation) {
+        this.alpha = alpha;
+        this.slack = slack;
+        this.threshold = threshold;
+        this.warmUp = warmUp;
+        this.minDeviation = minDeviation;
+    }
+
+    /**
+     * Takes the next sample.
+     *
+     * @return whether the series is now rising
+     */
+    boolean add(double value) {
+        if (samples++ == 0) {
+            mean = value;
+            return false;
+        }
+        // The mean absolute deviation of a normal series is 0.8 of its standard deviation
+        double spread = Math.max(Math.max(1.25 * deviation, 0.1 * Math.abs(mean)), minDeviation);
+        double error = value - mean;
+        if (samples > warmUp) {
+            sum = Math.max(0, sum + Math.min(error / spread - slack, threshold / 2));
+            if (!alarmed && sum > threshold) {
+                alarmed = true;
+            } else if (alarmed && sum < threshold / 2) {
+                alarmed = false;
+            }
+        }
+        double rate = alarmed ? alpha * 0.1 : alpha;
+        mean += rate * error;
+        deviation += rate * (Math.abs(error) - deviation);
+        return alarmed;
+    }
+
+    boolean alarmed() {
+        return alarmed;
+    }
+
+    double baseline() {
+        return mean;
+    }
+
+    void reset() {
+        samples = 0;
+        mean = 0;
+        deviation = 0;
+        sum = 0;
+        alarmed = false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dto.ProbeReport;
+import com.cardano.monitor.model.VantageStatus;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The latest report of every probe agent, shared by the top-level group and the pools. Each check
+ * asks once per node; that costs one map lookup per agent, so hundreds of nodes and dozens of
+ * agents stay well inside a check cycle. Freshness is judged by when a report arrived, not by the
+ * agent's clock.
+ */
+@ApplicationScoped
+@Slf4j
+public class VantageAggregator implements VantageAggregatorIF {
+
+    @Inject
+    MonitorConfig config;
+
+    // Same wall-clock reading as the monitors' clocks; replaced in tests
+    Clock clock = new MonotonicClock();
+
+    private final Map<String, AgentView> views = new ConcurrentHashMap<>();
+
+    /**
+     * @param up whether each endpoint the agent probed answered
+     */
+    private record AgentView(ProbeReport report, long receivedAtMillis, Map<String, Boolean> up) {}
+
+    public boolean isEnabled() {
+        return config.vantage().enabled();
+    }
+
+    public void accept(ProbeReport report) {
+        List<String> up = report.up() == null ? List.of() : report.up();
+        List<String> down = report.down() == null ? List.of() : report.down();
+        Map<String, Boolean> results = new HashMap<>((up.size() + down.size()) * 4 / 3 + 1);
+        up.forEach(endpoint -> results.put(endpoint, true));
+        down.forEach(endpoint -> results.put(endpoint, false));
+        AgentView view = new AgentView(report, clock.millis(), results);
+
+        views.merge(report.agent(), view, (kept, offered) -> isNewer(offered.report(), kept.report()) ? offered : kept);
+        log.debug("Report from agent {}: {} up, {} down", report.agent(), up.size(), down.size());
+    }
+
+    public boolean isDown(String host, int port, boolean downHere, long nowMillis) {
+        String endpoint = ProbeReport.endpoint(host, port);
+        long maxAge = config.vantage().reportMaxAge().toMillis();
+        int voters = 1;
+        int downVotes = downHere ? 1 : 0;
+        for (AgentView view : views.values()) {
+            if (nowMillis - view.receivedAtMillis() > maxAge) {
+                continue;
+            }
+            Boolean up = view.up().get(endpoint);
+            if (up != null) {
+                voters++;
+                if (!up) {
+                    downVotes++;
+                }
+            }
+        }
+        return downVotes >= Math.min(config.vantage().quorum(), voters);
+    }
+
+    public VantageStatus getStatus() {
+        long now = clock.millis();
+        long maxAge = config.vantage().reportMaxAge().toMillis();
+        List<VantageStatus.Agent> agents = new ArrayList<>(views.size());
+        for (AgentView view : views.values()) {
+            ProbeReport report = view.report();
+            agents.add(new VantageStatus.Agent(report.agent(), report.checkedAt(), Instant.ofEpochMilli(view.receivedAtMillis()),
+                now - view.receivedAtMillis() <= maxAge, view.up().size(), report.down() == null ? List.of() : report.down()));
+        }
+        return new VantageStatus(isEnabled(), config.vantage().quorum(), agents);
+    }
+
+    private static boolean isNewer(ProbeReport offered, ProbeReport kept) {
+        return offered.checkedAt() == null || kept.checkedAt() == null || !offered.checkedAt().isBefore(kept.checkedAt());
+    }
+}
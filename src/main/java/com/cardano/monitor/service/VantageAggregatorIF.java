@@ -0,0 +1,22 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.dto.ProbeReport;
+import com.cardano.monitor.model.VantageStatus;
+
+public interface VantageAggregatorIF {
+    
+    boolean isEnabled();
+    
+    /**
+     * Keeps the report as its agent's latest view, unless a newer one is already kept.
+     */
+    void accept(ProbeReport report);
+    
+    /**
+     * Whether a node counts as down once the fresh agent reports are heard alongside this
+     * monitor's own probe; see {@code monitor.vantage.quorum}.
+     */
+    boolean isDown(String host, int port, boolean downHere, long nowMillis);
+    
+    VantageStatus getStatus();
+}
@@ -0,0 +1,57 @@
+package com.cardano.monitor.simulator;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Response time distribution of the simulated API.
+ * Log-normal is the usual shape for HTTP APIs: most calls near the median, a long right tail.
+ */
+public abstract class LatencyModel {
+
+    // z-score of the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    public abstract Duration sample(Random random);
+
+    public static LatencyModel none() {
+        return fixed(Duration.ZERO);
+    }
+
+    public static LatencyModel fixed(Duration latency) {
+        return new LatencyModel() {
+            @Override
+            public Duration sample(Random random) {
+                return latency;
+            }
+        };
+    }
+
+    public static LatencyModel uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long spreadNanos = Math.max(0, max.toNanos() - minNanos);
+        return new LatencyModel() {
+            @Override
+            public Duration sample(Random random) {
+                return Duration.ofNanos(minNanos + (spreadNanos == 0 ? 0 : (long) (random.nextDouble() * spreadNanos)));
+            }
+        };
+    }
+
+    /**
+     * Log-normal distribution fitted to a median and a 99th percentile.
+     */
+    public static LatencyModel logNormal(Duration median, Duration p99) {
+        if (median.isZero() || p99.compareTo(median) <= 0) {
+            return fixed(median);
+        }
+        double mu = Math.log(median.toNanos());
+        double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        return new LatencyModel() {
+            @Override
+            public Duration sample(Random random) {
+                return Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+            }
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package com.cardano.monitor.simulator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the name.com record endpoints
+ * ({@code GET/PUT/DELETE /v4/domains/{domain}/records/{id}}, {@code GET/POST /v4/domains/{domain}/records})
+ * with injectable latency, errors, slow bodies and rate limiting. Runs on the JDK HTTP server,
+ * one virtual thread per request, so it works the same from a JUnit test and from the dev profile.
+ */
+@Slf4j
+public class NameComSimulator implements AutoCloseable {
+
+    private static final Pattern RECORD_PATH = Pattern.compile("^/v4/domains/([^/]+)/records/([^/]+)$");
+    private static final Pattern RECORDS_PATH = Pattern.compile("^/v4/domains/([^/]+)/records$");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Map<String, Object>> records = new ConcurrentHashMap<>();
+    private final Deque<Integer> forcedFailures = new ArrayDeque<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> responses = new ConcurrentHashMap<>();
+    private final AtomicLong nextRecordId = new AtomicLong(1_000_000);
+
+    private volatile SimulatorSettings settings;
+    private Random random;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public record Stats(Map<String, Long> requests, Map<Integer, Long> responses) {
+
+        public long requests(String method) {
+            return requests.getOrDefault(method, 0L);
+        }
+
+        public long responses(int status) {
+            return responses.getOrDefault(status, 0L);
+        }
+    }
+
+    private NameComSimulator(HttpServer server, SimulatorSettings settings) {
+        this.server = server;
+        configure(settings);
+        server.createContext("/v4/domains/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a simulator on the loopback interface; port 0 picks a free port.
+     */
+    public static NameComSimulator start(int port, SimulatorSettings settings) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        NameComSimulator simulator = new NameComSimulator(server, settings);
+        server.start();
+        log.info("name.com API simulator listening on {}", simulator.baseUri());
+        return simulator;
+    }
+
+    public URI baseUri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort());
+    }
+
+    /**
+     * Replaces the behaviour settings and restarts the random sequence and rate limiter,
+     * so runs with the same settings see the same latencies and failures.
+     */
+    public synchronized void configure(SimulatorSettings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+        this.tokens = settings.rateLimitBurst();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public SimulatorSettings settings() {
+        return settings;
+    }
+
+    public void putRecord(String domain, String recordId, Map<String, Object> fields) {
+        Map<String, Object> record = new LinkedHashMap<>(fields);
+        record.put("id", recordId);
+        record.put("domainName", domain);
+        records.put(key(domain, recordId), record);
+    }
+
+    public List<Map<String, Object>> listRecords(String domain) {
+        return records.values().stream()
+            .filter(record -> domain.equals(record.get("domainName")))
+            .map(Map::copyOf)
+            .toList();
+    }
+
+    public Optional<Map<String, Object>> getRecord(String domain, String recordId) {
+        return Optional.ofNullable(records.get(key(domain, recordId))).map(Map::copyOf);
+    }
+
+    /**
+     * The next {@code count} requests fail with {@code status}, after any configured latency.
+     */
+    public synchronized void failNext(int count, int status) {
+        for (int i = 0; i < count; i++) {
+            forcedFailures.addLast(status);
+        }
+    }
+
+    public Stats stats() {
+        Map<String, Long> requestCounts = new LinkedHashMap<>();
+        requests.forEach((method, adder) -> requestCounts.put(method, adder.sum()));
+        Map<Integer, Long> responseCounts = new LinkedHashMap<>();
+        responses.forEach((status, adder) -> responseCounts.put(status, adder.sum()));
+        return new Stats(requestCounts, responseCounts);
+    }
+
+    public void resetStats() {
+        requests.clear();
+        responses.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            requests.computeIfAbsent(method, m -> new LongAdder()).increment();
+
+            Decision decision = decide();
+            if (decision.retryAfterSeconds() > 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+                respond(exchange, 429, error("Rate limit exceeded"), Duration.ZERO);
+                return;
+            }
+
+            sleep(decision.latency());
+            if (decision.failureStatus() > 0) {
+                respond(exchange, decision.failureStatus(), error("Simulated failure"), Duration.ZERO);
+                return;
+            }
+
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Basic ")) {
+                respond(exchange, 401, error("Unauthenticated"), Duration.ZERO);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            Matcher collection = RECORDS_PATH.matcher(path);
+            if (collection.matches()) {
+                handleCollection(exchange, method, collection.group(1), decision);
+                return;
+            }
+
+            Matcher matcher = RECORD_PATH.matcher(path);
+            if (!matcher.matches()) {
+                respond(exchange, 404, error("Not Found"), Duration.ZERO);
+                return;
+            }
+
+            String key = key(matcher.group(1), matcher.group(2));
+            switch (method) {
+                case "GET" -> {
+                    Map<String, Object> record = records.get(key);
+                    if (record == null) {
+                        respond(exchange, 404, error("Not Found"), Duration.ZERO);
+                    } else {
+                        respond(exchange, 200, MAPPER.writeValueAsBytes(record), decision.bodyDelay());
+                    }
+                }
+                case "PUT" -> {
+                    Map<String, Object> update = readBody(exchange.getRequestBody());
+                    if (update == null) {
+                        respond(exchange, 400, error("Invalid JSON"), Duration.ZERO);
+                        return;
+                    }
+                    putRecord(matcher.group(1), matcher.group(2), update);
+                    respond(exchange, 200, MAPPER.writeValueAsBytes(records.get(key)), decision.bodyDelay());
+                }
+                case "DELETE" -> {
+                    if (records.remove(key) == null) {
+                        respond(exchange, 404, error("Not Found"), Duration.ZERO);
+                    } else {
+                        respond(exchange, 200, "{}".getBytes(StandardCharsets.UTF_8), Duration.ZERO);
+                    }
+                }
+                default -> respond(exchange, 405, error("Method Not Allowed"), Duration.ZERO);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleCollection(HttpExchange exchange, String method, String domain, Decision decision)
+            throws IOException, InterruptedException {
+        switch (method) {
+            case "GET" -> respond(exchange, 200, MAPPER.writeValueAsBytes(Map.of("records", listRecords(domain))), decision.bodyDelay());
+            case "POST" -> {
+                Map<String, Object> created = readBody(exchange.getRequestBody());
+                if (created == null) {
+                    respond(exchange, 400, error("Invalid JSON"), Duration.ZERO);
+                    return;
+                }
+                String recordId = String.valueOf(nextRecordId.getAndIncrement());
+                putRecord(domain, recordId, created);
+                respond(exchange, 200, MAPPER.writeValueAsBytes(records.get(key(domain, recordId))), decision.bodyDelay());
+            }
+            default -> respond(exchange, 405, error("Method Not Allowed"), Duration.ZERO);
+        }
+    }
+
+    private record Decision(Duration latency, int failureStatus, Duration bodyDelay, long retryAfterSeconds) {}
+
+    /**
+     * Draws everything random about one request under a single lock, so the sequence of
+     * outcomes only depends on the seed and the order of arrival.
+     */
+    private synchronized Decision decide() {
+        SimulatorSettings current = settings;
+
+        if (current.rateLimitPerSecond() > 0) {
+            long now = System.nanoTime();
+            double refill = (now - lastRefillNanos) / 1e9 * current.rateLimitPerSecond();
+            tokens = Math.min(Math.max(1, current.rateLimitBurst()), tokens + refill);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                long retryAfter = (long) Math.ceil((1 - tokens) / current.rateLimitPerSecond());
+                return new Decision(Duration.ZERO, 0, Duration.ZERO, Math.max(1, retryAfter));
+            }
+            tokens -= 1;
+        }
+
+        Duration latency = current.latency().sample(random);
+        Integer forced = forcedFailures.pollFirst();
+        int failureStatus = forced != null ? forced
+            : random.nextDouble() < current.errorRate() ? current.errorStatus() : 0;
+        Duration bodyDelay = random.nextDouble() < current.slowBodyRate() ? current.slowBodyDelay() : Duration.ZERO;
+        return new Decision(latency, failureStatus, bodyDelay, 0);
+    }
+
+    /**
+     * Sends the headers and the first half of the body at once and the rest after {@code bodyDelay}.
+     */
+    private void respond(HttpExchange exchange, int status, byte[] body, Duration bodyDelay) throws IOException, InterruptedException {
+        responses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        OutputStream out = exchange.getResponseBody();
+        int split = bodyDelay.isZero() ? body.length : body.length / 2;
+        out.write(body, 0, split);
+        if (split < body.length) {
+            out.flush();
+            sleep(bodyDelay);
+            out.write(body, split, body.length - split);
+        }
+        out.flush();
+    }
+
+    private static Map<String, Object> readBody(InputStream in) throws IOException {
+        try {
+            return MAPPER.readValue(in.readAllBytes(), new TypeReference<Map<String, Object>>() {});
+        } catch (com.fasterxml.jackson.core.JacksonException e) {
+            return null;
+        }
+    }
+
+    private static byte[] error(String message) {
+        return ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero() && !duration.isNegative()) {
+            Thread.sleep(duration);
+        }
+    }
+
+    private static String key(String domain, String recordId) {
+        return domain + "/" + recordId;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        log.info("name.com API simulator stopped");
+    }
+}
@@ -0,0 +1,72 @@
+package com.cardano.monitor.simulator;
+
+import com.cardano.monitor.config.MonitorConfig;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the name.com simulator with the application when {@code monitor.simulator.enabled} is set,
+ * seeded with the configured DNS record pointing to the primary server.
+ */
+@ApplicationScoped
+@Slf4j
+public class NameComSimulatorLauncher {
+
+    @Inject
+    MonitorConfig config;
+
+    private NameComSimulator simulator;
+
+    void onStart(@Observes StartupEvent event) throws IOException {
+        MonitorConfig.SimulatorConfig simulatorConfig = config.simulator();
+        if (!simulatorConfig.enabled()) {
+            return;
+        }
+
+        SimulatorSettings settings = SimulatorSettings.defaults()
+            .withLatency(LatencyModel.logNormal(simulatorConfig.latencyMedian(), simulatorConfig.latencyP99()))
+            .withErrors(simulatorConfig.errorRate(), simulatorConfig.errorStatus())
+            .withSlowBodies(simulatorConfig.slowBodyRate(), simulatorConfig.slowBodyDelay())
+            .withRateLimit(simulatorConfig.rateLimitPerSecond(), simulatorConfig.rateLimitBurst())
+            .withSeed(simulatorConfig.seed());
+
+        simulator = NameComSimulator.start(simulatorConfig.port(), settings);
+
+        MonitorConfig.DnsConfig dnsConfig = config.dns();
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("host", dnsConfig.recordHost());
+        record.put("fqdn", dnsConfig.recordFqdn());
+        record.put("type", dnsConfig.recordType());
+        record.put("answer", config.primary().host());
+        record.put("ttl", dnsConfig.recordTtl());
+        simulator.putRecord(dnsConfig.domain(), dnsConfig.recordId(), record);
+
+        dnsConfig.additionalRecords().ifPresent(additional -> additional.forEach(recordConfig -> {
+            Map<String, Object> extra = new LinkedHashMap<>();
+            extra.put("host", recordConfig.recordHost());
+            extra.put("fqdn", recordConfig.recordFqdn());
+            extra.put("type", recordConfig.recordType());
+            extra.put("answer", recordConfig.primaryAnswer().orElse(config.primary().host()));
+            extra.put("ttl", dnsConfig.recordTtl());
+            simulator.putRecord(dnsConfig.domain(), recordConfig.recordId(), extra);
+        }));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    public NameComSimulator simulator() {
+        return simulator;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cardano.monitor.simulator;
+
+import java.time.Duration;
+
+/**
+ * Behaviour of the simulated name.com API. Rates are probabilities per request between 0 and 1;
+ * a rate limit of 0 requests per second disables limiting.
+ */
+public record SimulatorSettings(
+    LatencyModel latency,
+    double errorRate,
+    int errorStatus,
+    double slowBodyRate,
+    Duration slowBodyDelay,
+    int rateLimitPerSecond,
+    int rateLimitBurst,
+    long seed
+) {
+
+    public static SimulatorSettings defaults() {
+        return new SimulatorSettings(LatencyModel.none(), 0, 503, 0, Duration.ZERO, 0, 0, 42);
+    }
+
+    public SimulatorSettings withLatency(LatencyModel latency) {
+        return new SimulatorSettings(latency, errorRate, errorStatus, slowBodyRate, slowBodyDelay, rateLimitPerSecond, rateLimitBurst, seed);
+    }
+
+    public SimulatorSettings withErrors(double errorRate, int errorStatus) {
+        return new SimulatorSettings(latency, errorRate, errorStatus, slowBodyRate, slowBodyDelay, rateLimitPerSecond, rateLimitBurst, seed);
+    }
+
+    public SimulatorSettings withSlowBodies(double slowBodyRate, Duration slowBodyDelay) {
+        return new SimulatorSettings(latency, errorRate, errorStatus, slowBodyRate, slowBodyDelay, rateLimitPerSecond, rateLimitBurst, seed);
+    }
+
+    public SimulatorSettings withRateLimit(int rateLimitPerSecond, int rateLimitBurst) {
+        return new SimulatorSettings(latency, errorRate, errorStatus, slowBodyRate, slowBodyDelay, rateLimitPerSecond, rateLimitBurst, seed);
+    }
+
+    public SimulatorSettings withSeed(long seed) {
+        return new SimulatorSettings(latency, errorRate, errorStatus, slowBodyRate, slowBodyDelay, rateLimitPerSecond, rateLimitBurst, seed);
+    }
+}
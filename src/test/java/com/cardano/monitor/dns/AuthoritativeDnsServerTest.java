@@ -0,0 +1,192 @@
+package com.cardano.monitor.dns;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuthoritativeDnsServer Tests")
+class AuthoritativeDnsServerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private final DnsQueryClient client = new DnsQueryClient();
+    private AuthoritativeDnsServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = AuthoritativeDnsServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+            zone(1, "10.0.0.1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should answer configured names authoritatively over UDP")
+    void shouldAnswerOverUdp() throws Exception {
+        // When
+        DnsMessageCodec.Response response = query("BP.Failover.Example.com", DnsMessageCodec.TYPE_A);
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertTrue(response.authoritative());
+        assertEquals(List.of("10.0.0.1"), response.answers());
+    }
+
+    @Test
+    @DisplayName("Should serve the new answer on the very next query after a swap")
+    void shouldServeSwappedZoneImmediately() throws Exception {
+        // When
+        server.swap(zone(2, "10.0.0.2"));
+        DnsMessageCodec.Response response = query("bp.failover.example.com", DnsMessageCodec.TYPE_A);
+
+        // Then
+        assertEquals(List.of("10.0.0.2"), response.answers());
+        assertEquals(2, server.zone().serial());
+    }
+
+    @Test
+    @DisplayName("Should separate NXDOMAIN, empty answers and foreign names")
+    void shouldClassifyNegativeAnswers() throws Exception {
+        // When
+        DnsMessageCodec.Response missing = query("nope.failover.example.com", DnsMessageCodec.TYPE_A);
+        DnsMessageCodec.Response otherType = query("bp.failover.example.com", DnsMessageCodec.TYPE_AAAA);
+        DnsMessageCodec.Response emptyParent = query("relays.failover.example.com", DnsMessageCodec.TYPE_A);
+        DnsMessageCodec.Response foreign = query("bp.example.org", DnsMessageCodec.TYPE_A);
+
+        // Then
+        assertEquals(DnsMessageCodec.RCODE_NXDOMAIN, missing.rcode());
+        assertTrue(missing.authoritative());
+        assertEquals(DnsMessageCodec.RCODE_NOERROR, otherType.rcode());
+        assertTrue(otherType.answers().isEmpty());
+        assertEquals(DnsMessageCodec.RCODE_NOERROR, emptyParent.rcode());
+        assertEquals(DnsMessageCodec.RCODE_REFUSED, foreign.rcode());
+        assertFalse(foreign.authoritative());
+    }
+
+    @Test
+    @DisplayName("Should answer SERVFAIL until the first zone is published")
+    void shouldServfailBeforeFirstPublish() throws Exception {
+        // Given
+        server.swap(AuthoritativeZone.notReady("failover.example.com"));
+
+        // When
+        DnsMessageCodec.Response response = query("bp.failover.example.com", DnsMessageCodec.TYPE_A);
+
+        // Then
+        assertEquals(DnsMessageCodec.RCODE_SERVFAIL, response.rcode());
+    }
+
+    @Test
+    @DisplayName("Should truncate large UDP answers and serve them in full over TCP")
+    void shouldTruncateUdpAndAnswerOverTcp() throws Exception {
+        // Given
+        List<String> relays = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            relays.add("10.0.1." + i);
+        }
+        server.swap(AuthoritativeZone.of("failover.example.com", List.of("ns1.failover.example.com"), "hostmaster", 3, 30,
+            List.of(new AuthoritativeZone.RecordSet("relays.failover.example.com", "A", 60, relays))));
+
+        // When
+        DnsMessageCodec.Response udp = query("relays.failover.example.com", DnsMessageCodec.TYPE_A);
+        List<DnsMessageCodec.Response> tcp = queryTcp("relays.failover.example.com", 2);
+
+        // Then
+        assertTrue(udp.truncated());
+        assertTrue(udp.answers().isEmpty());
+        assertEquals(2, tcp.size());
+        for (DnsMessageCodec.Response response : tcp) {
+            assertFalse(response.truncated());
+            assertEquals(relays, response.answers());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop responses sent to it and reject multi-question queries")
+    void shouldHandleMalformedMessages() {
+        // Given
+        AuthoritativeZone zone = server.zone();
+        byte[] response = DnsMessageCodec.encodeResponse(
+            new DnsMessageCodec.Question(1, "bp.failover.example.com", DnsMessageCodec.TYPE_A, false),
+            DnsMessageCodec.RCODE_NOERROR, List.of("10.0.0.9"), 30);
+        byte[] twoQuestions = DnsMessageCodec.encodeQuery(2, "bp.failover.example.com", DnsMessageCodec.TYPE_A, false);
+        twoQuestions[5] = 2;
+
+        // When
+        byte[] toResponse = zone.respond(response, response.length, 512);
+        byte[] toTwoQuestions = zone.respond(twoQuestions, twoQuestions.length, 512);
+
+        // Then
+        assertNull(toResponse);
+        assertEquals(DnsMessageCodec.RCODE_FORMERR,
+            DnsMessageCodec.decodeResponse(toTwoQuestions, toTwoQuestions.length).rcode());
+    }
+
+    @Test
+    @DisplayName("Should refuse questions outside the Internet class")
+    void shouldRefuseOtherClasses() {
+        // Given: the same question in the CHAOS class
+        byte[] chaos = DnsMessageCodec.encodeQuery(3, "bp.failover.example.com", DnsMessageCodec.TYPE_A, false);
+        chaos[chaos.length - 1] = 3;
+
+        // When
+        byte[] response = server.zone().respond(chaos, chaos.length, 512);
+
+        // Then
+        DnsMessageCodec.Response decoded = DnsMessageCodec.decodeResponse(response, response.length);
+        assertEquals(DnsMessageCodec.RCODE_REFUSED, decoded.rcode());
+        assertTrue(decoded.answers().isEmpty());
+    }
+
+    private DnsMessageCodec.Response query(String name, int type) throws Exception {
+        return client.query(server.localAddress(), name, type, TIMEOUT);
+    }
+
+    /**
+     * Sends {@code count} queries on one connection before reading any answer.
+     */
+    private List<DnsMessageCodec.Response> queryTcp(String name, int count) throws Exception {
+        try (Socket socket = new Socket()) {
+            socket.connect(server.localAddress(), (int) TIMEOUT.toMillis());
+            socket.setSoTimeout((int) TIMEOUT.toMillis());
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            for (int i = 0; i < count; i++) {
+                byte[] query = DnsMessageCodec.encodeQuery(100 + i, name, DnsMessageCodec.TYPE_A, false);
+                out.writeShort(query.length);
+                out.write(query);
+            }
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            List<DnsMessageCodec.Response> responses = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                byte[] response = new byte[in.readUnsignedShort()];
+                in.readFully(response);
+                responses.add(DnsMessageCodec.decodeResponse(response, response.length));
+            }
+            return responses;
+        }
+    }
+
+    private static AuthoritativeZone zone(long serial, String answer) {
+        return AuthoritativeZone.of("failover.example.com", List.of("ns1.failover.example.com"), "hostmaster", serial, 30,
+            List.of(
+                new AuthoritativeZone.RecordSet("bp.failover.example.com", "A", 30, List.of(answer)),
+                new AuthoritativeZone.RecordSet("a.relays.failover.example.com", "A", 30, List.of("10.0.1.1"))));
+    }
+}
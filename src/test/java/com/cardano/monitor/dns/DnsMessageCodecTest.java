@@ -0,0 +1,86 @@
+package com.cardano.monitor.dns;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DnsMessageCodec Tests")
+class DnsMessageCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a query through encode and decode")
+    void shouldRoundTripQuery() {
+        // When
+        byte[] wire = DnsMessageCodec.encodeQuery(0xBEEF, "Relay.Example.COM.", DnsMessageCodec.TYPE_A, false);
+        DnsMessageCodec.Question question = DnsMessageCodec.decodeQuery(wire, wire.length);
+
+        // Then
+        assertEquals(0xBEEF, question.id());
+        assertEquals("relay.example.com", question.name());
+        assertEquals(DnsMessageCodec.TYPE_A, question.type());
+        assertFalse(question.recursionDesired());
+    }
+
+    @Test
+    @DisplayName("Should decode A answers that use name compression")
+    void shouldDecodeCompressedAnswers() {
+        // Given
+        DnsMessageCodec.Question question = new DnsMessageCodec.Question(7, "bp.example.com", DnsMessageCodec.TYPE_A, false);
+        byte[] wire = DnsMessageCodec.encodeResponse(question, DnsMessageCodec.RCODE_NOERROR, List.of("10.0.0.1", "10.0.0.2"), 30);
+
+        // When
+        DnsMessageCodec.Response response = DnsMessageCodec.decodeResponse(wire, wire.length);
+
+        // Then
+        assertEquals(7, response.id());
+        assertTrue(response.isSuccess());
+        assertTrue(response.authoritative());
+        assertEquals(List.of("10.0.0.1", "10.0.0.2"), response.answers());
+    }
+
+    @Test
+    @DisplayName("Should decode AAAA answers and compare addresses by value")
+    void shouldDecodeAaaaAnswers() {
+        // Given
+        DnsMessageCodec.Question question = new DnsMessageCodec.Question(9, "bp.example.com", DnsMessageCodec.TYPE_AAAA, false);
+        byte[] wire = DnsMessageCodec.encodeResponse(question, DnsMessageCodec.RCODE_NOERROR, List.of("2001:db8::1"), 30);
+
+        // When
+        DnsMessageCodec.Response response = DnsMessageCodec.decodeResponse(wire, wire.length);
+
+        // Then
+        assertEquals(1, response.answers().size());
+        assertTrue(DnsMessageCodec.sameAddress("2001:db8::1", response.answers().get(0)));
+        assertFalse(DnsMessageCodec.sameAddress("2001:db8::2", response.answers().get(0)));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated responses")
+    void shouldRejectTruncatedResponses() {
+        // Given
+        DnsMessageCodec.Question question = new DnsMessageCodec.Question(1, "bp.example.com", DnsMessageCodec.TYPE_A, false);
+        byte[] wire = DnsMessageCodec.encodeResponse(question, DnsMessageCodec.RCODE_NOERROR, List.of("10.0.0.1"), 30);
+
+        // Then
+        assertThrows(DnsMessageCodec.DnsFormatException.class,
+                () -> DnsMessageCodec.decodeResponse(wire, wire.length - 3));
+    }
+
+    @Test
+    @DisplayName("Should query a stub nameserver over UDP")
+    void shouldQueryStubNameserver() throws Exception {
+        try (StubNameserver nameserver = new StubNameserver("192.168.1.100")) {
+            // When
+            DnsMessageCodec.Response response = new DnsQueryClient().query(
+                    DnsQueryClient.parseNameserver(nameserver.address()), "bp.example.com", DnsMessageCodec.TYPE_A, Duration.ofSeconds(2));
+
+            // Then
+            assertEquals(List.of("192.168.1.100"), response.answers());
+            assertEquals(1, nameserver.queryCount());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cardano.monitor.dns;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loopback UDP nameserver for offline tests.
+ * Answers every A/AAAA question with the currently configured answer set.
+ */
+public class StubNameserver implements AutoCloseable {
+
+    private final DatagramSocket socket;
+    private final Thread worker;
+    private final AtomicReference<List<String>> answers = new AtomicReference<>(List.of());
+    private final AtomicInteger queryCount = new AtomicInteger();
+    private volatile boolean silent;
+    private volatile int rcode = DnsMessageCodec.RCODE_NOERROR;
+
+    public StubNameserver(String... initialAnswers) throws SocketException {
+        this.socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        this.answers.set(List.of(initialAnswers));
+        this.worker = Thread.ofVirtual().start(this::serve);
+    }
+
+    public String address() {
+        return "127.0.0.1:" + socket.getLocalPort();
+    }
+
+    public void answer(String... newAnswers) {
+        answers.set(List.of(newAnswers));
+    }
+
+    /**
+     * Drops every query without answering, simulating an unreachable nameserver.
+     */
+    public void silent(boolean silent) {
+        this.silent = silent;
+    }
+
+    /**
+     * Answers with {@code rcode} and no records, e.g. NXDOMAIN or REFUSED; NOERROR restores normal answers.
+     */
+    public void rcode(int rcode) {
+        this.rcode = rcode;
+    }
+
+    public int queryCount() {
+        return queryCount.get();
+    }
+
+    private void serve() {
+        byte[] buffer = new byte[512];
+        while (!socket.isClosed()) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+                queryCount.incrementAndGet();
+                if (silent) {
+                    continue;
+                }
+                DnsMessageCodec.Question question = DnsMessageCodec.decodeQuery(packet.getData(), packet.getLength());
+                int currentRcode = rcode;
+                List<String> currentAnswers = currentRcode == DnsMessageCodec.RCODE_NOERROR ? answers.get() : List.of();
+                byte[] response = DnsMessageCodec.encodeResponse(question, currentRcode, currentAnswers, 60);
+                socket.send(new DatagramPacket(response, response.length, packet.getSocketAddress()));
+            } catch (IOException | RuntimeException e) {
+                // closed socket or garbage input - keep serving until closed
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+        worker.interrupt();
+    }
+}
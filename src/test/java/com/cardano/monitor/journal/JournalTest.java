@@ -0,0 +1,138 @@
+package com.cardano.monitor.journal;
+
+import com.cardano.monitor.model.NextAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Journal Tests")
+class JournalTest {
+
+    // Header plus four records per segment
+    private static final long SMALL_SEGMENT = JournalSegment.HEADER_SIZE + 4L * JournalSegment.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back appended records and continue the sequence after reopening")
+    void shouldRoundTripAndReopen() throws Exception {
+        // Given
+        try (Journal journal = Journal.open(directory, 1 << 16, Duration.ofMillis(10))) {
+            journal.append(JournalRecord.Type.DNS_READ, 1_000, 0, 0, 250);
+            journal.append(JournalRecord.Type.PROBE, 1_000, 1, 1, 1_200);
+            journal.append(JournalRecord.Type.DECISION, 1_000, -1, 9, -1);
+        }
+
+        // When
+        long sequence;
+        try (Journal journal = Journal.open(directory, 1 << 16, Duration.ofMillis(10))) {
+            sequence = journal.append(JournalRecord.Type.SWITCH, 2_000, 3, 1, 80_000);
+        }
+
+        // Then
+        assertEquals(3, sequence);
+        List<JournalRecord> records = readAll(0);
+        assertEquals(4, records.size());
+        assertEquals(new JournalRecord(1, 1_000, JournalRecord.Type.PROBE, 1, 1, 1_200), records.get(1));
+        assertEquals(new JournalRecord(2, 1_000, JournalRecord.Type.DECISION, -1, 9, -1), records.get(2));
+        assertEquals(new JournalRecord(3, 2_000, JournalRecord.Type.SWITCH, 3, 1, 80_000), records.get(3));
+    }
+
+    @Test
+    @DisplayName("Should keep the journal code of every next action stable")
+    void shouldKeepJournalCodesStable() {
+        // Then - codes already written to journals must keep their meaning
+        assertEquals(0, NextAction.NONE.getJournalCode());
+        assertEquals(9, NextAction.BOTH_SERVERS_DOWN.getJournalCode());
+        assertEquals(13, NextAction.DEGRADED.getJournalCode());
+        for (NextAction action : NextAction.values()) {
+            assertEquals(action, NextAction.ofJournalCode(action.getJournalCode()));
+        }
+        assertNull(NextAction.ofJournalCode(-1));
+        assertNull(NextAction.ofJournalCode(99));
+    }
+
+    @Test
+    @DisplayName("Should roll full segments and start reading at a given sequence")
+    void shouldRollSegments() throws Exception {
+        // Given
+        try (Journal journal = Journal.open(directory, SMALL_SEGMENT, Duration.ofMillis(10))) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(JournalRecord.Type.PROBE, i, 0, 1, i);
+            }
+        }
+
+        // When
+        List<JournalRecord> all = readAll(0);
+        List<JournalRecord> tail = readAll(6);
+
+        // Then
+        assertEquals(3, JournalSegment.list(directory).size());
+        assertEquals(10, all.size());
+        assertEquals(9, all.getLast().sequence());
+        assertEquals(List.of(6L, 7L, 8L, 9L), tail.stream().map(JournalRecord::sequence).toList());
+    }
+
+    @Test
+    @DisplayName("Should delete the oldest segments beyond the retained count")
+    void shouldDeleteOldestSegments() throws Exception {
+        // Given
+        try (Journal journal = Journal.open(directory, SMALL_SEGMENT, Duration.ofMillis(10), 2)) {
+            // When
+            for (int i = 0; i < 14; i++) {
+                journal.append(JournalRecord.Type.PROBE, i, 0, 1, i);
+            }
+        }
+
+        // Then
+        assertEquals(2, JournalSegment.list(directory).size());
+        assertEquals(List.of(8L, 9L, 10L, 11L, 12L, 13L), readAll(0).stream().map(JournalRecord::sequence).toList());
+    }
+
+    @Test
+    @DisplayName("Should stop at a torn record and append after the last valid one")
+    void shouldRecoverFromTornRecord() throws Exception {
+        // Given
+        try (Journal journal = Journal.open(directory, 1 << 16, Duration.ofMillis(10))) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(JournalRecord.Type.PROBE, i, 0, 1, i);
+            }
+        }
+        Path segment = JournalSegment.list(directory).getFirst();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Flip a byte in the value of the third record
+            long offset = JournalSegment.HEADER_SIZE + 2L * JournalSegment.RECORD_SIZE + 30;
+            file.seek(offset);
+            int original = file.read();
+            file.seek(offset);
+            file.write(original ^ 0xFF);
+        }
+
+        // When
+        List<JournalRecord> surviving = readAll(0);
+        long sequence;
+        try (Journal journal = Journal.open(directory, 1 << 16, Duration.ofMillis(10))) {
+            sequence = journal.append(JournalRecord.Type.SWITCH, 5, 1, 1, 0);
+        }
+
+        // Then
+        assertEquals(2, surviving.size());
+        assertEquals(2, sequence);
+        assertEquals(JournalRecord.Type.SWITCH, readAll(0).getLast().type());
+    }
+
+    private List<JournalRecord> readAll(long fromSequence) throws Exception {
+        try (Stream<JournalRecord> records = JournalReader.read(directory, fromSequence)) {
+            return records.toList();
+        }
+    }
+}
@@ -98,7 +98,10 @@ class MonitorResourceStatusTest {
             new ServerStatus.ConfigInfo(
                 new ServerStatus.ServerInfo("test-primary", "127.0.0.1", 9001),
                 new ServerStatus.ServerInfo("test-secondary", "127.0.0.2", 9002)
-            )
+            ),
+            null,
+            null,
+            null
         );
         when(monitorService.getStatus()).thenReturn(cachedStatus);
 
@@ -180,7 +183,10 @@ class MonitorResourceStatusTest {
             new ServerStatus.ConfigInfo(
                 new ServerStatus.ServerInfo("test-primary", "127.0.0.1", 9001),
                 new ServerStatus.ServerInfo("test-secondary", "127.0.0.2", 9002)
-            )
+            ),
+            null,
+            null,
+            null
         );
     }
 }
\ No newline at end of file
@@ -219,7 +219,10 @@ class MonitorResourceTest {
             new ServerStatus.ConfigInfo(
                 new ServerStatus.ServerInfo("test-primary", "127.0.0.1", 9001),
                 new ServerStatus.ServerInfo("test-secondary", "127.0.0.2", 9002)
-            )
+            ),
+            null,
+            null,
+            null
         );
     }
 }
\ No newline at end of file
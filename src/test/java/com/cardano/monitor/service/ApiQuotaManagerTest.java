@@ -0,0 +1,138 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.QuotaSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ApiQuotaManager Tests")
+class ApiQuotaManagerTest {
+
+    private ApiQuotaManager quotaManager;
+    private MonitorConfig.QuotaConfig quotaConfig;
+
+    @BeforeEach
+    void setUp() {
+        // Refill slow enough that no token comes back during a test
+        quotaConfig = mock(MonitorConfig.QuotaConfig.class);
+        when(quotaConfig.enabled()).thenReturn(true);
+        when(quotaConfig.capacity()).thenReturn(10);
+        when(quotaConfig.refillInterval()).thenReturn(Duration.ofHours(1));
+        when(quotaConfig.reconcileReserve()).thenReturn(2);
+        when(quotaConfig.uiReserve()).thenReturn(5);
+
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.quota()).thenReturn(quotaConfig);
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        quotaManager = new ApiQuotaManager();
+        quotaManager.config = config;
+    }
+
+    @Test
+    @DisplayName("Should run the UI lane dry before reconciliation")
+    void shouldRunUiLaneDryBeforeReconciliation() {
+        // When
+        int uiGranted = drain(ApiCallPriority.UI);
+        int reconcileGranted = drain(ApiCallPriority.RECONCILE);
+
+        // Then
+        assertEquals(5, uiGranted);
+        assertEquals(3, reconcileGranted);
+        assertFalse(quotaManager.tryAcquire(ApiCallPriority.UI));
+    }
+
+    @Test
+    @DisplayName("Should always grant switches, even past an empty bucket")
+    void shouldAlwaysGrantSwitches() {
+        // Given
+        drain(ApiCallPriority.RECONCILE);
+
+        // When / Then
+        for (int i = 0; i < 5; i++) {
+            assertTrue(quotaManager.tryAcquire(ApiCallPriority.SWITCH));
+        }
+        assertTrue(quotaManager.snapshot().available() < 0);
+        assertFalse(quotaManager.tryAcquire(ApiCallPriority.RECONCILE));
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillTokensOverTime() throws InterruptedException {
+        // Given
+        when(quotaConfig.refillInterval()).thenReturn(Duration.ofMillis(10));
+        drain(ApiCallPriority.RECONCILE);
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertTrue(quotaManager.tryAcquire(ApiCallPriority.UI));
+    }
+
+    @Test
+    @DisplayName("Should hold back lower lanes while the provider rate limit lasts")
+    void shouldHoldBackLowerLanesWhileRateLimited() {
+        // When
+        quotaManager.onRateLimited(Duration.ofMinutes(1));
+
+        // Then
+        assertFalse(quotaManager.tryAcquire(ApiCallPriority.RECONCILE));
+        assertFalse(quotaManager.tryAcquire(ApiCallPriority.UI));
+        assertTrue(quotaManager.tryAcquire(ApiCallPriority.SWITCH));
+        assertNotNull(quotaManager.snapshot().rateLimitedUntil());
+    }
+
+    @Test
+    @DisplayName("Should count granted and rejected calls per lane")
+    void shouldCountGrantedAndRejectedCallsPerLane() {
+        // Given
+        drain(ApiCallPriority.UI);
+        quotaManager.tryAcquire(ApiCallPriority.SWITCH);
+
+        // When
+        QuotaSnapshot snapshot = quotaManager.snapshot();
+
+        // Then
+        assertEquals(5L, (long) snapshot.granted().get(ApiCallPriority.UI));
+        assertEquals(1L, (long) snapshot.rejected().get(ApiCallPriority.UI));
+        assertEquals(1L, (long) snapshot.granted().get(ApiCallPriority.SWITCH));
+        assertEquals(0L, (long) snapshot.rejected().get(ApiCallPriority.SWITCH));
+        assertEquals(4.0, snapshot.available(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should grant everything when disabled")
+    void shouldGrantEverythingWhenDisabled() {
+        // Given
+        when(quotaConfig.enabled()).thenReturn(false);
+
+        // When
+        int granted = 0;
+        for (int i = 0; i < 50; i++) {
+            if (quotaManager.tryAcquire(ApiCallPriority.UI)) {
+                granted++;
+            }
+        }
+
+        // Then
+        assertEquals(50, granted);
+    }
+
+    private int drain(ApiCallPriority priority) {
+        int granted = 0;
+        while (quotaManager.tryAcquire(priority)) {
+            granted++;
+        }
+        return granted;
+    }
+}
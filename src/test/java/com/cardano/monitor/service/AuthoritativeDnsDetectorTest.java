@@ -0,0 +1,106 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dns.DnsMessageCodec;
+import com.cardano.monitor.dns.StubNameserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuthoritativeDnsDetector Tests")
+class AuthoritativeDnsDetectorTest {
+
+    private AuthoritativeDnsDetector detector;
+    private StubNameserver firstNameserver;
+    private StubNameserver secondNameserver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        firstNameserver = new StubNameserver("192.168.1.100");
+        secondNameserver = new StubNameserver("192.168.1.100");
+
+        MonitorConfig.DetectionConfig detectionConfig = mock(MonitorConfig.DetectionConfig.class);
+        when(detectionConfig.nameservers()).thenReturn(List.of(firstNameserver.address(), secondNameserver.address()));
+        when(detectionConfig.queryTimeout()).thenReturn(Duration.ofMillis(200));
+
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.recordFqdn()).thenReturn("bp.example.com.");
+        when(dnsConfig.recordType()).thenReturn("A");
+        when(dnsConfig.detection()).thenReturn(detectionConfig);
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        detector = new AuthoritativeDnsDetector();
+        detector.config = config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstNameserver.close();
+        secondNameserver.close();
+    }
+
+    @Test
+    @DisplayName("Should return the answer of the first nameserver")
+    void shouldReturnAnswerOfFirstNameserver() {
+        // When
+        List<String> answers = detector.detectAnswers();
+
+        // Then
+        assertEquals(List.of("192.168.1.100"), answers);
+        assertEquals(1, firstNameserver.queryCount());
+        assertEquals(0, secondNameserver.queryCount());
+    }
+
+    @Test
+    @DisplayName("Should move on to the next nameserver when one does not answer")
+    void shouldSkipUnresponsiveNameserver() {
+        // Given
+        firstNameserver.silent(true);
+        secondNameserver.answer("192.168.1.101");
+
+        // When
+        List<String> first = detector.detectAnswers();
+        List<String> second = detector.detectAnswers();
+
+        // Then
+        assertEquals(List.of("192.168.1.101"), first);
+        assertEquals(List.of("192.168.1.101"), second);
+        // The nameserver that answered is asked first next time
+        assertEquals(1, firstNameserver.queryCount());
+        assertEquals(2, secondNameserver.queryCount());
+    }
+
+    @Test
+    @DisplayName("Should ignore error responses")
+    void shouldIgnoreErrorResponses() {
+        // Given
+        firstNameserver.rcode(DnsMessageCodec.RCODE_REFUSED);
+        secondNameserver.answer("192.168.1.101");
+
+        // When
+        List<String> answers = detector.detectAnswers();
+
+        // Then
+        assertEquals(List.of("192.168.1.101"), answers);
+    }
+
+    @Test
+    @DisplayName("Should return null when no nameserver answers")
+    void shouldReturnNullWhenNoNameserverAnswers() {
+        // Given
+        firstNameserver.silent(true);
+        secondNameserver.silent(true);
+
+        // When / Then
+        assertNull(detector.detectAnswers());
+    }
+}
@@ -0,0 +1,167 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiResponse;
+import com.cardano.monitor.model.NextAction;
+import com.cardano.monitor.model.ServerHealthStatus;
+import com.cardano.monitor.model.ServerStatus;
+import com.cardano.monitor.model.ServerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Candidate Failover Tests")
+class CandidateFailoverTest {
+
+    private BlockProducerMonitorService monitorService;
+    private NetworkServiceIF networkService;
+    private DnsServiceIF dnsService;
+    private MonitorConfig.TimingConfig timing;
+
+    @BeforeEach
+    void setUp() {
+        timing = mock(MonitorConfig.TimingConfig.class);
+        when(timing.failoverDelay()).thenReturn(Duration.ZERO);
+        when(timing.failbackDelay()).thenReturn(Duration.ZERO);
+        when(timing.connectionTimeout()).thenReturn(Duration.ofSeconds(1));
+
+        MonitorConfig config = TestCandidates.config(
+            TestCandidates.server("bp-a", "10.0.0.1"), TestCandidates.server("bp-b", "10.0.0.2"),
+            TestCandidates.server("bp-c", "10.0.0.3"), TestCandidates.server("bp-d", "10.0.0.4"));
+        when(config.timing()).thenReturn(timing);
+
+        networkService = mock(NetworkServiceIF.class);
+        dnsService = mock(DnsServiceIF.class);
+        when(dnsService.switchDnsToServer(any())).thenReturn(true);
+        when(dnsService.switchDnsToCandidate(anyInt())).thenReturn(true);
+        DnsReconcilerIF reconciler = mock(DnsReconcilerIF.class);
+
+        monitorService = new BlockProducerMonitorService();
+        monitorService.config = config;
+        monitorService.networkService = networkService;
+        monitorService.dnsService = dnsService;
+        monitorService.ttlManager = mock(DnsTtlManagerIF.class);
+        monitorService.reconciler = reconciler;
+        monitorService.journal = mock(MonitorJournalIF.class);
+    }
+
+    @Test
+    @DisplayName("Should fail over to the highest-priority standby when primary and secondary are down")
+    void shouldFailOverToFirstHealthyStandby() {
+        // Given
+        activeCandidate(0);
+        health(false, false, true, true);
+
+        // When
+        ServerStatus status = monitorService.checkServers();
+
+        // Then
+        assertEquals(NextAction.SWITCHED_TO_STANDBY, status.nextAction().getAction());
+        assertEquals(ServerType.STANDBY, status.currentActive());
+        assertTrue(status.candidates().get(2).active());
+        verify(dnsService).switchDnsToCandidate(2);
+        verify(dnsService, never()).switchDnsToCandidate(3);
+    }
+
+    @Test
+    @DisplayName("Should fail over away from a down standby instead of only reporting it")
+    void shouldFailOverFromDownStandby() {
+        // Given
+        activeCandidate(2);
+        health(false, false, false, true);
+
+        // When
+        ServerStatus status = monitorService.checkServers();
+
+        // Then
+        assertEquals(NextAction.SWITCHED_TO_STANDBY, status.nextAction().getAction());
+        verify(dnsService).switchDnsToCandidate(3);
+    }
+
+    @Test
+    @DisplayName("Should fail back to the highest-priority candidate that is up")
+    void shouldFailBackToHighestPriority() {
+        // Given
+        activeCandidate(3);
+        health(false, true, true, true);
+
+        // When
+        ServerStatus status = monitorService.checkServers();
+
+        // Then
+        assertEquals(NextAction.SWITCHED_TO_SECONDARY, status.nextAction().getAction());
+        assertEquals(ServerType.SECONDARY, status.currentActive());
+        verify(dnsService).switchDnsToServer(ServerType.SECONDARY);
+        verify(dnsService, never()).switchDnsToCandidate(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should wait for the failback delay before leaving a healthy standby")
+    void shouldWaitForFailbackDelay() {
+        // Given
+        when(timing.failbackDelay()).thenReturn(Duration.ofMinutes(5));
+        activeCandidate(2);
+        health(true, false, true, false);
+
+        // When
+        ServerStatus status = monitorService.checkServers();
+
+        // Then
+        assertEquals(NextAction.WAITING_FOR_FAILBACK, status.nextAction().getAction());
+        assertEquals(ServerHealthStatus.UP, status.candidates().getFirst().status());
+        verify(dnsService, never()).switchDnsToServer(any());
+    }
+
+    @Test
+    @DisplayName("Should report all servers down when no candidate is up")
+    void shouldReportAllServersDown() {
+        // Given
+        activeCandidate(1);
+        health(false, false, false, false);
+
+        // When
+        ServerStatus status = monitorService.checkServers();
+
+        // Then
+        assertEquals(NextAction.BOTH_SERVERS_DOWN, status.nextAction().getAction());
+        assertEquals(4, status.candidates().size());
+        verify(dnsService, never()).switchDnsToCandidate(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should switch manually to a standby by name")
+    void shouldSwitchManuallyToStandbyByName() {
+        // Given
+        activeCandidate(0);
+        when(networkService.checkHostPort(eq("10.0.0.4"), anyInt(), any(Duration.class))).thenReturn(true);
+
+        // When
+        ApiResponse response = monitorService.manualSwitchToCandidate("bp-d");
+        ApiResponse unknown = monitorService.manualSwitchToCandidate("bp-z");
+
+        // Then
+        assertTrue(response.success());
+        assertEquals("Successfully switched to standby server", response.message());
+        assertFalse(unknown.success());
+        verify(dnsService).switchDnsToCandidate(3);
+    }
+
+    private void activeCandidate(int index) {
+        ServerType role = CandidateGroup.roleOf(index);
+        when(dnsService.detectCurrentActiveServer()).thenReturn(role);
+        when(dnsService.detectActiveCandidate()).thenReturn(index);
+    }
+
+    private void health(boolean primary, boolean secondary, boolean firstStandby, boolean secondStandby) {
+        when(networkService.getServerHealthStatus(ServerType.PRIMARY)).thenReturn(primary ? ServerHealthStatus.UP : ServerHealthStatus.DOWN);
+        when(networkService.getServerHealthStatus(ServerType.SECONDARY)).thenReturn(secondary ? ServerHealthStatus.UP : ServerHealthStatus.DOWN);
+        when(networkService.checkHostPort(eq("10.0.0.3"), anyInt(), any(Duration.class))).thenReturn(firstStandby);
+        when(networkService.checkHostPort(eq("10.0.0.4"), anyInt(), any(Duration.class))).thenReturn(secondStandby);
+    }
+}
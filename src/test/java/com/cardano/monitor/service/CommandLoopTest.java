@@ -0,0 +1,129 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommandLoop Tests")
+class CommandLoopTest {
+
+    private final CommandLoop loop = new CommandLoop("test-writer", 2);
+
+    @AfterEach
+    void tearDown() {
+        loop.close();
+    }
+
+    @Test
+    @DisplayName("Should run commands from many threads one at a time in submission order")
+    void shouldRunCommandsOneAtATime() throws Exception {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            results.add(awaitCapacity(() -> loop.submit("command " + value, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(value);
+                running.decrementAndGet();
+                return value;
+            })));
+        }
+
+        // Then
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(Integer.valueOf(i), results.get(i).get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(1, maxRunning.get());
+        assertEquals(50, order.size());
+    }
+
+    @Test
+    @DisplayName("Should reject commands right away when the mailbox is full")
+    void shouldRejectWhenMailboxFull() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blocking = loop.submit("blocking", () -> {
+            started.countDown();
+            await(release);
+            return "done";
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        loop.submit("queued 1", () -> "1");
+        loop.submit("queued 2", () -> "2");
+
+        // When
+        CompletableFuture<String> rejected = loop.submit("overflow", () -> "3");
+
+        // Then
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        assertEquals("done", blocking.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should run a command submitted by another command inline")
+    void shouldRunNestedCommandInline() throws Exception {
+        // When
+        CompletableFuture<String> outer = loop.submit("outer", () -> "outer+" + loop.submit("inner", () -> "inner").join());
+
+        // Then
+        assertEquals("outer+inner", outer.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fail the stage when a command throws and keep serving")
+    void shouldSurviveFailingCommand() throws Exception {
+        // When
+        CompletableFuture<String> failing = loop.submit("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = loop.submit("next", () -> "ok");
+
+        // Then
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failing.get(2, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+        assertEquals("ok", next.get(2, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Resubmits while the small test mailbox is full, so the ordering test is not about capacity.
+     */
+    private static <T> CompletableFuture<T> awaitCapacity(Supplier<CompletableFuture<T>> submit)
+            throws InterruptedException {
+        while (true) {
+            CompletableFuture<T> result = submit.get();
+            if (!result.isCompletedExceptionally()) {
+                return result;
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dns.StubNameserver;
+import com.cardano.monitor.model.PropagationReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DnsPropagationVerifier Tests")
+class DnsPropagationVerifierTest {
+
+    private DnsPropagationVerifier verifier;
+    private MonitorConfig.PropagationConfig propagationConfig;
+    private StubNameserver fastNameserver;
+    private StubNameserver slowNameserver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fastNameserver = new StubNameserver("192.168.1.100");
+        slowNameserver = new StubNameserver("192.168.1.100");
+
+        propagationConfig = mock(MonitorConfig.PropagationConfig.class);
+        when(propagationConfig.enabled()).thenReturn(true);
+        when(propagationConfig.nameservers()).thenReturn(List.of(fastNameserver.address(), slowNameserver.address()));
+        when(propagationConfig.pollInterval()).thenReturn(Duration.ofMillis(50));
+        when(propagationConfig.queryTimeout()).thenReturn(Duration.ofMillis(200));
+        when(propagationConfig.timeout()).thenReturn(Duration.ofSeconds(3));
+        when(propagationConfig.historySize()).thenReturn(5);
+
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.recordFqdn()).thenReturn("bp.example.com.");
+        when(dnsConfig.recordType()).thenReturn("A");
+        when(dnsConfig.propagation()).thenReturn(propagationConfig);
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        verifier = new DnsPropagationVerifier();
+        verifier.config = config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+        fastNameserver.close();
+        slowNameserver.close();
+    }
+
+    @Test
+    @DisplayName("Should record per-nameserver time to propagate")
+    void shouldRecordPerNameserverTimeToPropagate() throws Exception {
+        // Given - one nameserver already serves the new IP, the other picks it up later
+        fastNameserver.answer("192.168.1.101");
+        CompletableFuture.delayedExecutor(400, TimeUnit.MILLISECONDS)
+                .execute(() -> slowNameserver.answer("192.168.1.101"));
+
+        // When
+        PropagationReport report = verifier.verify("192.168.1.101");
+
+        // Then
+        assertTrue(report.complete());
+        assertEquals(2, report.nameservers().size());
+        PropagationReport.NameserverResult fast = report.nameservers().get(0);
+        PropagationReport.NameserverResult slow = report.nameservers().get(1);
+        assertTrue(fast.propagated());
+        assertTrue(slow.propagated());
+        assertTrue(slow.timeToPropagateMillis() >= 300);
+        assertTrue(fast.timeToPropagateMillis() < slow.timeToPropagateMillis());
+        assertEquals(slow.timeToPropagateMillis(), report.timeToPropagateMillis());
+        assertTrue(slow.queries() > 1);
+    }
+
+    @Test
+    @DisplayName("Should report incomplete propagation when a nameserver never updates")
+    void shouldReportIncompletePropagation() {
+        // Given
+        when(propagationConfig.timeout()).thenReturn(Duration.ofMillis(500));
+        fastNameserver.answer("192.168.1.101");
+        slowNameserver.silent(true);
+
+        // When
+        PropagationReport report = verifier.verify("192.168.1.101");
+
+        // Then
+        assertFalse(report.complete());
+        assertNull(report.timeToPropagateMillis());
+        assertTrue(report.nameservers().get(0).propagated());
+        assertFalse(report.nameservers().get(1).propagated());
+        assertNotNull(report.nameservers().get(1).lastError());
+    }
+
+    @Test
+    @DisplayName("Should keep asynchronous reports newest first")
+    void shouldKeepAsyncReportsNewestFirst() {
+        // Given
+        fastNameserver.answer("192.168.1.101");
+        slowNameserver.answer("192.168.1.101");
+
+        // When
+        verifier.verifyAsync("192.168.1.101");
+
+        // Then
+        await().atMost(Duration.ofSeconds(3)).until(() -> verifier.getRecentReports().size() == 1);
+        assertEquals("192.168.1.101", verifier.getRecentReports().get(0).expectedAnswer());
+    }
+
+    @Test
+    @DisplayName("Should not query nameservers when propagation checks are disabled")
+    void shouldNotQueryWhenDisabled() throws Exception {
+        // Given
+        when(propagationConfig.enabled()).thenReturn(false);
+
+        // When
+        verifier.verifyAsync("192.168.1.101");
+        Thread.sleep(200);
+
+        // Then
+        assertEquals(0, fastNameserver.queryCount());
+        assertTrue(verifier.getRecentReports().isEmpty());
+    }
+}
@@ -0,0 +1,221 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.DriftEvent;
+import com.cardano.monitor.model.DriftPolicy;
+import com.cardano.monitor.model.FailoverGroupStatus;
+import com.cardano.monitor.model.ServerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DnsReconciler Tests")
+class DnsReconcilerTest {
+
+    private DnsReconciler reconciler;
+    private DnsServiceIF dnsService;
+    private MonitorConfig.ReconcileConfig reconcileConfig;
+    // Writes right away, as the monitor does when no switch is in flight
+    private final DnsReconcilerIF.RepairWriter writer = (candidate, stillWanted) -> !stillWanted.getAsBoolean()
+        ? DnsReconcilerIF.RepairResult.SKIPPED
+        : CandidateGroup.switchDns(dnsService, candidate) ? DnsReconcilerIF.RepairResult.REPAIRED : DnsReconcilerIF.RepairResult.FAILED;
+
+    @BeforeEach
+    void setUp() {
+        reconcileConfig = mock(MonitorConfig.ReconcileConfig.class);
+        when(reconcileConfig.enabled()).thenReturn(true);
+        when(reconcileConfig.interval()).thenReturn(Duration.ofSeconds(300));
+        when(reconcileConfig.policy()).thenReturn(DriftPolicy.REPAIR);
+        when(reconcileConfig.historySize()).thenReturn(20);
+
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.reconcile()).thenReturn(reconcileConfig);
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        dnsService = mock(DnsServiceIF.class);
+        when(dnsService.classifyIp("10.0.0.1")).thenReturn(ServerType.PRIMARY);
+        when(dnsService.classifyIp("10.0.0.2")).thenReturn(ServerType.SECONDARY);
+        when(dnsService.classifyIp("10.9.9.9")).thenReturn(ServerType.NONE);
+
+        reconciler = new DnsReconciler();
+        reconciler.config = config;
+        reconciler.dnsService = dnsService;
+    }
+
+    @Test
+    @DisplayName("Should read DNS once and then serve the known state")
+    void shouldReadDnsOnceThenServeKnownState() {
+        // Given
+        when(dnsService.detectCurrentActiveServer()).thenReturn(ServerType.PRIMARY);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ServerType.PRIMARY, reconciler.currentActive());
+        }
+        reconciler.recordSwitch(ServerType.SECONDARY);
+
+        // Then
+        assertEquals(ServerType.SECONDARY, reconciler.currentActive());
+        verify(dnsService, times(1)).detectCurrentActiveServer();
+    }
+
+    @Test
+    @DisplayName("Should keep asking while the initial state is unknown")
+    void shouldKeepAskingWhileInitialStateUnknown() {
+        // Given
+        when(dnsService.detectCurrentActiveServer()).thenReturn(ServerType.NONE, ServerType.PRIMARY);
+
+        // When / Then
+        assertEquals(ServerType.NONE, reconciler.currentActive());
+        assertEquals(ServerType.PRIMARY, reconciler.currentActive());
+        assertEquals(ServerType.PRIMARY, reconciler.currentActive());
+        verify(dnsService, times(2)).detectCurrentActiveServer();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the record matches")
+    void shouldDoNothingWhenRecordMatches() {
+        // Given
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn("10.0.0.1");
+
+        // When
+        DriftEvent event = reconciler.reconcile(writer);
+
+        // Then
+        assertNull(event);
+        verify(dnsService, never()).switchDnsToServer(any());
+        assertTrue(reconciler.getRecentDrift().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should repair a record edited outside the monitor")
+    void shouldRepairEditedRecord() {
+        // Given
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn("10.9.9.9");
+        when(dnsService.switchDnsToServer(ServerType.PRIMARY)).thenReturn(true);
+
+        // When
+        DriftEvent event = reconciler.reconcile(writer);
+
+        // Then
+        assertNotNull(event);
+        assertEquals(ServerType.PRIMARY, event.desired());
+        assertEquals(ServerType.NONE, event.actual());
+        assertEquals("10.9.9.9", event.actualAnswer());
+        assertEquals(DriftEvent.Action.REPAIRED, event.action());
+        assertEquals(List.of(event), reconciler.getRecentDrift());
+    }
+
+    @Test
+    @DisplayName("Should record nothing when the monitor skips the repair")
+    void shouldRecordNothingWhenRepairSkipped() {
+        // Given
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn("10.9.9.9");
+
+        // When
+        DriftEvent event = reconciler.reconcile((candidate, stillWanted) -> DnsReconcilerIF.RepairResult.SKIPPED);
+
+        // Then
+        assertNull(event);
+        assertTrue(reconciler.getRecentDrift().isEmpty());
+        verify(dnsService, never()).switchDnsToServer(any());
+    }
+
+    @Test
+    @DisplayName("Should not repair once a switch made after the read changed the desired state")
+    void shouldNotRepairAfterLaterSwitch() {
+        // Given
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn("10.9.9.9");
+
+        // When
+        DriftEvent event = reconciler.reconcile((candidate, stillWanted) -> {
+            reconciler.recordSwitch(ServerType.SECONDARY);
+            return writer.repair(candidate, stillWanted);
+        });
+
+        // Then
+        assertNull(event);
+        verify(dnsService, never()).switchDnsToServer(any());
+    }
+
+    @Test
+    @DisplayName("Should only alert and follow the record when the policy says so")
+    void shouldAlertAndFollowRecord() {
+        // Given
+        when(reconcileConfig.policy()).thenReturn(DriftPolicy.ALERT);
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn("10.0.0.2");
+
+        // When
+        DriftEvent event = reconciler.reconcile(writer);
+
+        // Then
+        assertEquals(DriftEvent.Action.ALERTED, event.action());
+        assertEquals(ServerType.SECONDARY, reconciler.currentActive());
+        verify(dnsService, never()).switchDnsToServer(any());
+    }
+
+    @Test
+    @DisplayName("Should repair a partially switched failover group")
+    void shouldRepairPartiallySwitchedGroup() {
+        // Given
+        reconciler.recordSwitch(ServerType.SECONDARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn("10.0.0.2");
+        when(dnsService.getLastGroupUpdate()).thenReturn(new FailoverGroupStatus(
+            "switch to SECONDARY", FailoverGroupStatus.State.PARTIAL, Instant.now(), Instant.now(), List.of()));
+        when(dnsService.switchDnsToServer(ServerType.SECONDARY)).thenReturn(true);
+
+        // When
+        DriftEvent event = reconciler.reconcile(writer);
+
+        // Then
+        assertEquals(FailoverGroupStatus.State.PARTIAL, event.groupState());
+        assertEquals(DriftEvent.Action.REPAIRED, event.action());
+        verify(dnsService).switchDnsToServer(ServerType.SECONDARY);
+    }
+
+    @Test
+    @DisplayName("Should discard a read that raced with a switch")
+    void shouldDiscardReadThatRacedWithSwitch() {
+        // Given
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenAnswer(invocation -> {
+            reconciler.recordSwitch(ServerType.SECONDARY);
+            return "10.0.0.1";
+        });
+
+        // When
+        DriftEvent event = reconciler.reconcile(writer);
+
+        // Then
+        assertNull(event);
+        verify(dnsService, never()).switchDnsToServer(any());
+    }
+
+    @Test
+    @DisplayName("Should skip reconciliation when the record cannot be read")
+    void shouldSkipWhenRecordCannotBeRead() {
+        // Given
+        reconciler.recordSwitch(ServerType.PRIMARY);
+        when(dnsService.getCurrentDnsRecordIp(ApiCallPriority.RECONCILE)).thenReturn(null);
+
+        // When / Then
+        assertNull(reconciler.reconcile(writer));
+        verify(dnsService, never()).switchDnsToServer(any());
+    }
+}
@@ -1,6 +1,10 @@
 package com.cardano.monitor.service;
 
 import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.DetectionMethod;
+import com.cardano.monitor.model.FailoverGroupStatus;
+import com.cardano.monitor.model.ResponderStatus;
 import com.cardano.monitor.model.ServerType;
 import com.cardano.monitor.service.DnsService.DnsUpdateRequest;
 import com.cardano.monitor.service.DnsService.NameComApiClient;
@@ -13,6 +17,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +40,15 @@ class DnsServiceUnitTest {
     @Mock
     private Response mockResponse;
 
+    @Mock
+    private DnsPropagationVerifierIF mockPropagationVerifier;
+
+    @Mock
+    private ActiveServerDetectorIF mockActiveServerDetector;
+
+    @Mock
+    private DnsResponderIF mockResponder;
+
     private MonitorConfig.DnsConfig mockDnsConfig;
     private MonitorConfig.ServerConfig mockPrimaryConfig;
     private MonitorConfig.ServerConfig mockSecondaryConfig;
@@ -43,6 +61,17 @@ class DnsServiceUnitTest {
         dnsService = new DnsService();
         dnsService.config = mockConfig;
         dnsService.nameComClient = mockNameComClient;
+        dnsService.propagationVerifier = mockPropagationVerifier;
+        dnsService.activeServerDetector = mockActiveServerDetector;
+        dnsService.responder = mockResponder;
+
+        DnsSwitchExecutor switchExecutor = new DnsSwitchExecutor();
+        switchExecutor.config = mockConfig;
+        dnsService.switchExecutor = switchExecutor;
+
+        ApiQuotaManager quotaManager = new ApiQuotaManager();
+        quotaManager.config = mockConfig;
+        dnsService.quotaManager = quotaManager;
 
         // Setup DNS config
         mockDnsConfig = mock(MonitorConfig.DnsConfig.class);
@@ -55,6 +84,32 @@ class DnsServiceUnitTest {
         when(mockDnsConfig.username()).thenReturn("testuser");
         when(mockDnsConfig.password()).thenReturn("testpass");
 
+        // Fast retries and no hedging so failures resolve instantly
+        MonitorConfig.SwitchConfig mockSwitchConfig = mock(MonitorConfig.SwitchConfig.class);
+        when(mockSwitchConfig.maxAttempts()).thenReturn(3);
+        when(mockSwitchConfig.initialBackoff()).thenReturn(Duration.ofMillis(1));
+        when(mockSwitchConfig.maxBackoff()).thenReturn(Duration.ofMillis(5));
+        when(mockSwitchConfig.attemptTimeout()).thenReturn(Duration.ofSeconds(2));
+        when(mockSwitchConfig.hedgeDelay()).thenReturn(Duration.ZERO);
+        when(mockSwitchConfig.readCacheMaxAge()).thenReturn(Duration.ofSeconds(30));
+        when(mockSwitchConfig.groupDeadline()).thenReturn(Duration.ofSeconds(5));
+        when(mockDnsConfig.switchPolicy()).thenReturn(mockSwitchConfig);
+
+        MonitorConfig.QuotaConfig mockQuotaConfig = mock(MonitorConfig.QuotaConfig.class);
+        when(mockQuotaConfig.enabled()).thenReturn(true);
+        when(mockQuotaConfig.capacity()).thenReturn(60);
+        when(mockQuotaConfig.refillInterval()).thenReturn(Duration.ofMillis(1200));
+        when(mockQuotaConfig.reconcileReserve()).thenReturn(10);
+        when(mockQuotaConfig.uiReserve()).thenReturn(30);
+        when(mockQuotaConfig.staleReadMaxAge()).thenReturn(Duration.ofMinutes(5));
+        when(mockDnsConfig.quota()).thenReturn(mockQuotaConfig);
+
+        // Authoritative detection enabled, but the detector gives no answer unless a test says so
+        MonitorConfig.DetectionConfig mockDetectionConfig = mock(MonitorConfig.DetectionConfig.class);
+        when(mockDetectionConfig.method()).thenReturn(DetectionMethod.DNS);
+        when(mockDnsConfig.detection()).thenReturn(mockDetectionConfig);
+        when(mockActiveServerDetector.detectAnswers()).thenReturn(null);
+
         // Setup server configs
         mockPrimaryConfig = mock(MonitorConfig.ServerConfig.class);
         when(mockPrimaryConfig.name()).thenReturn("Primary Server");
@@ -158,6 +213,23 @@ class DnsServiceUnitTest {
             assertFalse(result);
         }
 
+        @Test
+        @DisplayName("Should start propagation check only after a successful switch")
+        void shouldStartPropagationCheckOnlyAfterSuccessfulSwitch() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(200, 500);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+
+            // When
+            dnsService.switchDnsToServer(ServerType.SECONDARY);
+            dnsService.switchDnsToServer(ServerType.PRIMARY);
+
+            // Then
+            verify(mockPropagationVerifier).verifyAsync("192.168.1.101");
+            verify(mockPropagationVerifier, never()).verifyAsync("192.168.1.100");
+        }
+
         @Test
         @DisplayName("Should return false when API throws exception")
         void shouldReturnFalseWhenApiThrowsException() {
@@ -173,6 +245,115 @@ class DnsServiceUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("switchDnsToServer Retry Tests")
+    class SwitchDnsToServerRetryTests {
+
+        @Test
+        @DisplayName("Should retry transient provider errors until the switch succeeds")
+        void shouldRetryTransientErrors() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(503, 503, 200);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            verify(mockNameComClient, times(3)).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should give up after the configured number of attempts")
+        void shouldGiveUpAfterMaxAttempts() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(503);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertFalse(result);
+            verify(mockNameComClient, times(3)).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should not retry errors that cannot succeed on retry")
+        void shouldNotRetryPermanentErrors() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(401);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertFalse(result);
+            verify(mockNameComClient, times(1)).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should stop retrying when a re-read shows the earlier write landed")
+        void shouldStopRetryingWhenEarlierWriteLanded() {
+            // Given - the first PUT times out on our side, but the provider applied it
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenThrow(new RuntimeException("Read timed out"));
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn("{\"answer\":\"192.168.1.101\",\"ttl\":300}");
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            verify(mockNameComClient, times(1)).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+            verify(mockPropagationVerifier).verifyAsync("192.168.1.101");
+        }
+
+        @Test
+        @DisplayName("Should skip the write when a recent read already shows the target")
+        void shouldSkipWriteWhenRecentReadShowsTarget() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn("{\"answer\":\"192.168.1.101\",\"ttl\":300}");
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            dnsService.getCurrentDnsRecordIp();
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            verify(mockNameComClient, never()).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should write again once the cached read is too old")
+        void shouldWriteWhenCachedReadIsStale() {
+            // Given
+            when(mockDnsConfig.switchPolicy().readCacheMaxAge()).thenReturn(Duration.ZERO);
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn("{\"answer\":\"192.168.1.101\",\"ttl\":300}");
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+            dnsService.getCurrentDnsRecordIp();
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            verify(mockNameComClient).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+        }
+    }
+
     @Nested
     @DisplayName("getCurrentDnsRecordIp Tests")
     class GetCurrentDnsRecordIpTests {
@@ -246,6 +427,264 @@ class DnsServiceUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Failover group Tests")
+    class FailoverGroupTests {
+
+        @BeforeEach
+        void setUpGroup() {
+            MonitorConfig.RecordConfig aaaaRecord = mock(MonitorConfig.RecordConfig.class);
+            when(aaaaRecord.recordId()).thenReturn("223344");
+            when(aaaaRecord.recordHost()).thenReturn("test");
+            when(aaaaRecord.recordFqdn()).thenReturn("test.example.com");
+            when(aaaaRecord.recordType()).thenReturn("AAAA");
+            when(aaaaRecord.primaryAnswer()).thenReturn(Optional.of("2001:db8::100"));
+            when(aaaaRecord.secondaryAnswer()).thenReturn(Optional.of("2001:db8::101"));
+
+            MonitorConfig.RecordConfig aliasRecord = mock(MonitorConfig.RecordConfig.class);
+            when(aliasRecord.recordId()).thenReturn("334455");
+            when(aliasRecord.recordHost()).thenReturn("bp");
+            when(aliasRecord.recordFqdn()).thenReturn("bp.example.com");
+            when(aliasRecord.recordType()).thenReturn("A");
+            when(aliasRecord.primaryAnswer()).thenReturn(Optional.empty());
+            when(aliasRecord.secondaryAnswer()).thenReturn(Optional.empty());
+
+            when(mockDnsConfig.additionalRecords()).thenReturn(Optional.of(List.of(aaaaRecord, aliasRecord)));
+        }
+
+        @Test
+        @DisplayName("Should write every record of the group with its own answer")
+        void shouldWriteEveryRecordOfTheGroup() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            ArgumentCaptor<DnsUpdateRequest> requestCaptor = ArgumentCaptor.forClass(DnsUpdateRequest.class);
+            verify(mockNameComClient).updateDnsRecord(anyString(), eq("example.com"), eq("123456"), requestCaptor.capture());
+            assertEquals("192.168.1.101", requestCaptor.getValue().answer());
+            verify(mockNameComClient).updateDnsRecord(anyString(), eq("example.com"), eq("223344"), requestCaptor.capture());
+            assertEquals("2001:db8::101", requestCaptor.getValue().answer());
+            assertEquals("AAAA", requestCaptor.getValue().type());
+            verify(mockNameComClient).updateDnsRecord(anyString(), eq("example.com"), eq("334455"), requestCaptor.capture());
+            assertEquals("192.168.1.101", requestCaptor.getValue().answer());
+            assertEquals(FailoverGroupStatus.State.COMPLETE, dnsService.getLastGroupUpdate().state());
+        }
+
+        @Test
+        @DisplayName("Should write records that ran out of attempts again within the group deadline")
+        void shouldRetryFailedRecordsWithinDeadline() {
+            // Given: the AAAA record fails more often than one round of attempts allows
+            Response unavailable = mock(Response.class);
+            when(unavailable.getStatus()).thenReturn(503);
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), eq("223344"), any(DnsUpdateRequest.class)))
+                    .thenReturn(unavailable, unavailable, unavailable, unavailable, mockResponse);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            assertEquals(FailoverGroupStatus.State.COMPLETE, dnsService.getLastGroupUpdate().state());
+            verify(mockNameComClient, times(5)).updateDnsRecord(anyString(), anyString(), eq("223344"), any(DnsUpdateRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should refuse an AAAA record without an IPv6 answer for every candidate")
+        void shouldRejectAaaaRecordWithoutAddress() {
+            // Given
+            MonitorConfig.RecordConfig incomplete = mock(MonitorConfig.RecordConfig.class);
+            when(incomplete.recordId()).thenReturn("445566");
+            when(incomplete.recordFqdn()).thenReturn("v6.example.com");
+            when(incomplete.recordType()).thenReturn("AAAA");
+            when(incomplete.primaryAnswer()).thenReturn(Optional.of("2001:db8::100"));
+            when(incomplete.secondaryAnswer()).thenReturn(Optional.empty());
+            when(mockDnsConfig.additionalRecords()).thenReturn(Optional.of(List.of(incomplete)));
+
+            // When
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> dnsService.validateGroup());
+
+            // Then
+            assertTrue(error.getMessage().contains("v6.example.com"));
+        }
+
+        @Test
+        @DisplayName("Should report a partial failure when one record cannot be written")
+        void shouldReportPartialFailure() {
+            // Given
+            Response rejected = mock(Response.class);
+            when(rejected.getStatus()).thenReturn(400);
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), eq("223344"), any(DnsUpdateRequest.class)))
+                    .thenReturn(rejected);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertFalse(result);
+            FailoverGroupStatus status = dnsService.getLastGroupUpdate();
+            assertEquals(FailoverGroupStatus.State.PARTIAL, status.state());
+            assertTrue(status.records().get(0).updated());
+            assertFalse(status.records().get(1).updated());
+            assertTrue(status.records().get(2).updated());
+            verify(mockPropagationVerifier).verifyAsync("192.168.1.101");
+        }
+
+        @Test
+        @DisplayName("Should give up on records still pending at the shared deadline")
+        void shouldGiveUpOnRecordsPendingAtDeadline() {
+            // Given
+            when(mockDnsConfig.switchPolicy().groupDeadline()).thenReturn(Duration.ofMillis(200));
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), eq("334455"), any(DnsUpdateRequest.class)))
+                    .thenAnswer(invocation -> {
+                        Thread.sleep(5_000);
+                        return mockResponse;
+                    });
+
+            // When
+            long start = System.nanoTime();
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            // Then
+            assertFalse(result);
+            assertTrue(elapsedMillis < 2_000, "switch should end at the group deadline, took " + elapsedMillis + "ms");
+            FailoverGroupStatus status = dnsService.getLastGroupUpdate();
+            assertEquals(FailoverGroupStatus.State.PARTIAL, status.state());
+            assertFalse(status.records().get(2).updated());
+            assertTrue(status.records().get(2).error().contains("deadline"));
+        }
+
+        @Test
+        @DisplayName("Should not write without a lease")
+        void shouldNotWriteWithoutLease() {
+            // Given
+            dnsService.fenceWrites(() -> 0);
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertFalse(result);
+            verify(mockNameComClient, never()).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+            assertEquals(FailoverGroupStatus.State.FAILED, dnsService.getLastGroupUpdate().state());
+        }
+
+        @Test
+        @DisplayName("Should stop retrying once the lease runs out during a switch")
+        void shouldStopRetryingWhenLeaseRunsOut() {
+            // Given: the lease is lost while the first AAAA attempt is in flight
+            AtomicLong lease = new AtomicLong(60_000);
+            dnsService.fenceWrites(lease::get);
+            Response unavailable = mock(Response.class);
+            when(unavailable.getStatus()).thenReturn(503);
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), eq("223344"), any(DnsUpdateRequest.class)))
+                    .thenAnswer(invocation -> {
+                        lease.set(0);
+                        return unavailable;
+                    });
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertFalse(result);
+            verify(mockNameComClient, times(1)).updateDnsRecord(anyString(), anyString(), eq("223344"), any(DnsUpdateRequest.class));
+            assertEquals("leadership ended", dnsService.getLastGroupUpdate().records().get(1).error());
+        }
+    }
+
+    @Nested
+    @DisplayName("API quota Tests")
+    class ApiQuotaTests {
+
+        @Test
+        @DisplayName("Should serve the last known record flagged stale when the read budget is exhausted")
+        void shouldServeLastKnownRecordWhenBudgetExhausted() {
+            // Given
+            String jsonResponse = "{\"answer\":\"192.168.1.100\"}";
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn(jsonResponse);
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            dnsService.getCurrentDnsRecordIp();
+
+            ApiQuotaManagerIF exhaustedQuota = mock(ApiQuotaManagerIF.class);
+            when(exhaustedQuota.tryAcquire(ApiCallPriority.UI)).thenReturn(false);
+            dnsService.quotaManager = exhaustedQuota;
+
+            // When
+            DnsServiceIF.RecordRead read = dnsService.readCurrentRecord(ApiCallPriority.UI);
+            String liveAnswer = dnsService.getCurrentDnsRecordIp(ApiCallPriority.UI);
+
+            // Then
+            assertEquals("192.168.1.100", read.answer());
+            assertTrue(read.stale());
+            assertNull(liveAnswer);
+            verify(mockNameComClient, times(1)).getDnsRecord(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should treat the last known record as unknown once it is older than the stale limit")
+        void shouldNotServeRecordBeyondStaleLimit() throws InterruptedException {
+            // Given
+            String jsonResponse = "{\"answer\":\"192.168.1.100\"}";
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn(jsonResponse);
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            dnsService.getCurrentDnsRecordIp();
+
+            ApiQuotaManagerIF exhaustedQuota = mock(ApiQuotaManagerIF.class);
+            when(exhaustedQuota.tryAcquire(any())).thenReturn(false);
+            dnsService.quotaManager = exhaustedQuota;
+            when(mockDnsConfig.quota().staleReadMaxAge()).thenReturn(Duration.ofMillis(1));
+            Thread.sleep(5);
+
+            // When
+            DnsServiceIF.RecordRead read = dnsService.readCurrentRecord(ApiCallPriority.UI);
+            ServerType active = dnsService.detectCurrentActiveServer();
+
+            // Then
+            assertFalse(read.known());
+            assertEquals(ServerType.NONE, active);
+        }
+
+        @Test
+        @DisplayName("Should report provider rate limiting to the quota manager")
+        void shouldReportRateLimitingToQuotaManager() {
+            // Given
+            ApiQuotaManagerIF quotaManager = mock(ApiQuotaManagerIF.class);
+            when(quotaManager.tryAcquire(any())).thenReturn(true);
+            dnsService.quotaManager = quotaManager;
+            when(mockResponse.getStatus()).thenReturn(429);
+            when(mockResponse.getHeaderString("Retry-After")).thenReturn("12");
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+
+            // When
+            String result = dnsService.getCurrentDnsRecordIp();
+
+            // Then
+            assertNull(result);
+            verify(quotaManager).onRateLimited(Duration.ofSeconds(12));
+        }
+    }
+
     @Nested
     @DisplayName("detectCurrentActiveServer Tests")
     class DetectCurrentActiveServerTests {
@@ -331,6 +770,213 @@ class DnsServiceUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Authoritative detection Tests")
+    class AuthoritativeDetectionTests {
+
+        @Test
+        @DisplayName("Should trust the nameserver answer once it matches the last API read")
+        void shouldTrustNameserverAnswerMatchingLastRead() {
+            // Given
+            String jsonResponse = "{\"answer\":\"192.168.1.101\"}";
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn(jsonResponse);
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            when(mockActiveServerDetector.detectAnswers()).thenReturn(List.of("192.168.1.101"));
+
+            // When
+            ServerType first = dnsService.detectCurrentActiveServer();
+            ServerType second = dnsService.detectCurrentActiveServer();
+            ServerType third = dnsService.detectCurrentActiveServer();
+
+            // Then
+            assertEquals(ServerType.SECONDARY, first);
+            assertEquals(ServerType.SECONDARY, second);
+            assertEquals(ServerType.SECONDARY, third);
+            verify(mockNameComClient, times(1)).getDnsRecord(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should confirm a changed nameserver answer through the API")
+        void shouldConfirmChangedAnswerThroughApi() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class))
+                    .thenReturn("{\"answer\":\"192.168.1.100\"}", "{\"answer\":\"192.168.1.101\"}");
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            when(mockActiveServerDetector.detectAnswers()).thenReturn(List.of("192.168.1.100"), List.of("192.168.1.101"));
+
+            // When
+            ServerType before = dnsService.detectCurrentActiveServer();
+            ServerType after = dnsService.detectCurrentActiveServer();
+
+            // Then
+            assertEquals(ServerType.PRIMARY, before);
+            assertEquals(ServerType.SECONDARY, after);
+            verify(mockNameComClient, times(2)).getDnsRecord(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should not query nameservers when detection uses the API")
+        void shouldNotQueryNameserversInRestMode() {
+            // Given
+            when(mockDnsConfig.detection().method()).thenReturn(DetectionMethod.REST);
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn("{\"answer\":\"192.168.1.100\"}");
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+
+            // When
+            ServerType result = dnsService.detectCurrentActiveServer();
+
+            // Then
+            assertEquals(ServerType.PRIMARY, result);
+            verify(mockActiveServerDetector, never()).detectAnswers();
+        }
+    }
+
+    @Nested
+    @DisplayName("Built-in responder Tests")
+    class ResponderTests {
+
+        @BeforeEach
+        void enableResponder() {
+            when(mockResponder.isEnabled()).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("Should publish the switch to the responder without calling the API")
+        void shouldPublishSwitchToResponder() {
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            assertTrue(result);
+            verify(mockResponder).publish(List.of(
+                new ResponderStatus.RecordSet("test.example.com", "A", 300, List.of("192.168.1.101"))));
+            verifyNoInteractions(mockNameComClient, mockPropagationVerifier);
+            assertEquals(FailoverGroupStatus.State.COMPLETE, dnsService.getLastGroupUpdate().state());
+        }
+
+        @Test
+        @DisplayName("Should merge group records with the same name and type into one record set")
+        void shouldMergeRecordsWithSameName() {
+            // Given
+            MonitorConfig.RecordConfig second = mock(MonitorConfig.RecordConfig.class);
+            when(second.recordId()).thenReturn("222");
+            when(second.recordHost()).thenReturn("test");
+            when(second.recordFqdn()).thenReturn("test.example.com");
+            when(second.recordType()).thenReturn("A");
+            when(second.primaryAnswer()).thenReturn(Optional.of("192.168.2.100"));
+            when(second.secondaryAnswer()).thenReturn(Optional.of("192.168.2.101"));
+            when(mockDnsConfig.additionalRecords()).thenReturn(Optional.of(List.of(second)));
+
+            // When
+            dnsService.switchDnsToServer(ServerType.PRIMARY);
+
+            // Then
+            verify(mockResponder).publish(List.of(
+                new ResponderStatus.RecordSet("test.example.com", "A", 300, List.of("192.168.1.100", "192.168.2.100"))));
+        }
+
+        @Test
+        @DisplayName("Should detect the active server from the responder's zone")
+        void shouldDetectFromResponder() {
+            // Given
+            when(mockResponder.currentAnswer("test.example.com", "A")).thenReturn("192.168.1.101", (String) null);
+
+            // When
+            ServerType active = dnsService.detectCurrentActiveServer();
+            ServerType beforeFirstPublish = dnsService.detectCurrentActiveServer();
+
+            // Then
+            assertEquals(ServerType.SECONDARY, active);
+            assertEquals(ServerType.NONE, beforeFirstPublish);
+            verifyNoInteractions(mockNameComClient, mockActiveServerDetector);
+        }
+
+        @Test
+        @DisplayName("Should report a rejected zone as a failed switch")
+        void shouldReportRejectedZone() {
+            // Given
+            doThrow(new IllegalArgumentException("test.example.com is not inside zone bp.example.com"))
+                .when(mockResponder).publish(anyList());
+
+            // When
+            boolean result = dnsService.switchDnsToServer(ServerType.PRIMARY);
+
+            // Then
+            assertFalse(result);
+            assertEquals(FailoverGroupStatus.State.FAILED, dnsService.getLastGroupUpdate().state());
+        }
+    }
+
+    @Nested
+    @DisplayName("updateRecordTtl Tests")
+    class UpdateRecordTtlTests {
+
+        @Test
+        @DisplayName("Should rewrite the current answer with the new TTL")
+        void shouldRewriteCurrentAnswerWithNewTtl() {
+            // Given
+            String jsonResponse = "{\"answer\":\"192.168.1.101\",\"ttl\":300}";
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn(jsonResponse);
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.updateRecordTtl(30);
+
+            // Then
+            assertTrue(result);
+            assertEquals(30, dnsService.getEffectiveRecordTtl());
+
+            ArgumentCaptor<DnsUpdateRequest> requestCaptor = ArgumentCaptor.forClass(DnsUpdateRequest.class);
+            verify(mockNameComClient).updateDnsRecord(anyString(), eq("example.com"), eq("123456"), requestCaptor.capture());
+            assertEquals("192.168.1.101", requestCaptor.getValue().answer());
+            assertEquals(30, requestCaptor.getValue().ttl());
+        }
+
+        @Test
+        @DisplayName("Should keep the lowered TTL when switching servers")
+        void shouldKeepLoweredTtlWhenSwitching() {
+            // Given
+            String jsonResponse = "{\"answer\":\"192.168.1.100\",\"ttl\":300}";
+            when(mockResponse.getStatus()).thenReturn(200);
+            when(mockResponse.readEntity(String.class)).thenReturn(jsonResponse);
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+            when(mockNameComClient.updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class)))
+                    .thenReturn(mockResponse);
+            dnsService.updateRecordTtl(30);
+
+            // When
+            dnsService.switchDnsToServer(ServerType.SECONDARY);
+
+            // Then
+            ArgumentCaptor<DnsUpdateRequest> requestCaptor = ArgumentCaptor.forClass(DnsUpdateRequest.class);
+            verify(mockNameComClient, times(2)).updateDnsRecord(anyString(), anyString(), anyString(), requestCaptor.capture());
+            assertEquals("192.168.1.101", requestCaptor.getValue().answer());
+            assertEquals(30, requestCaptor.getValue().ttl());
+        }
+
+        @Test
+        @DisplayName("Should not write anything when the current record cannot be read")
+        void shouldNotWriteWhenRecordCannotBeRead() {
+            // Given
+            when(mockResponse.getStatus()).thenReturn(500);
+            when(mockNameComClient.getDnsRecord(anyString(), anyString(), anyString())).thenReturn(mockResponse);
+
+            // When
+            boolean result = dnsService.updateRecordTtl(30);
+
+            // Then
+            assertFalse(result);
+            assertEquals(300, dnsService.getEffectiveRecordTtl());
+            verify(mockNameComClient, never()).updateDnsRecord(anyString(), anyString(), anyString(), any(DnsUpdateRequest.class));
+        }
+    }
+
     @Nested
     @DisplayName("DnsUpdateRequest Tests")
     class DnsUpdateRequestTests {
@@ -0,0 +1,135 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.service.DnsSwitchExecutor.AttemptResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DnsSwitchExecutor Tests")
+class DnsSwitchExecutorTest {
+
+    private DnsSwitchExecutor switchExecutor;
+    private MonitorConfig.SwitchConfig switchConfig;
+
+    @BeforeEach
+    void setUp() {
+        switchConfig = mock(MonitorConfig.SwitchConfig.class);
+        when(switchConfig.maxAttempts()).thenReturn(3);
+        when(switchConfig.initialBackoff()).thenReturn(Duration.ofMillis(10));
+        when(switchConfig.maxBackoff()).thenReturn(Duration.ofMillis(40));
+        when(switchConfig.attemptTimeout()).thenReturn(Duration.ofSeconds(2));
+        when(switchConfig.hedgeDelay()).thenReturn(Duration.ofMillis(100));
+
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.switchPolicy()).thenReturn(switchConfig);
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        switchExecutor = new DnsSwitchExecutor();
+        switchExecutor.config = config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        switchExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should classify provider status codes")
+    void shouldClassifyStatusCodes() {
+        assertEquals(AttemptResult.SUCCESS, DnsSwitchExecutor.classify(200));
+        assertEquals(AttemptResult.RETRYABLE_FAILURE, DnsSwitchExecutor.classify(429));
+        assertEquals(AttemptResult.RETRYABLE_FAILURE, DnsSwitchExecutor.classify(503));
+        assertEquals(AttemptResult.PERMANENT_FAILURE, DnsSwitchExecutor.classify(401));
+        assertEquals(AttemptResult.PERMANENT_FAILURE, DnsSwitchExecutor.classify(404));
+    }
+
+    @Test
+    @DisplayName("Should send a hedged request when the first one is slow")
+    void shouldHedgeSlowRequest() {
+        // Given - the first call hangs, the hedge answers right away
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        long start = System.nanoTime();
+        boolean result = switchExecutor.execute("test switch", () -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(1500);
+            }
+            return AttemptResult.SUCCESS;
+        }, () -> false);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertTrue(result);
+        assertEquals(2, calls.get());
+        assertTrue(elapsedMillis < 1000, "hedge should win, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should not hedge when hedging is disabled")
+    void shouldNotHedgeWhenDisabled() {
+        // Given
+        when(switchConfig.hedgeDelay()).thenReturn(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        boolean result = switchExecutor.execute("test switch", () -> {
+            calls.incrementAndGet();
+            Thread.sleep(300);
+            return AttemptResult.SUCCESS;
+        }, () -> false);
+
+        // Then
+        assertTrue(result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should treat an attempt that exceeds the timeout as a retryable failure")
+    void shouldRetryAfterAttemptTimeout() {
+        // Given
+        when(switchConfig.hedgeDelay()).thenReturn(Duration.ZERO);
+        when(switchConfig.attemptTimeout()).thenReturn(Duration.ofMillis(200));
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        boolean result = switchExecutor.execute("test switch", () -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(5000);
+            }
+            return AttemptResult.SUCCESS;
+        }, () -> false);
+
+        // Then
+        assertTrue(result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should check whether an earlier attempt landed before retrying")
+    void shouldCheckAlreadyAppliedBeforeRetry() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+
+        // When
+        boolean result = switchExecutor.execute("test switch", () -> {
+            calls.incrementAndGet();
+            return AttemptResult.RETRYABLE_FAILURE;
+        }, () -> checks.incrementAndGet() == 2);
+
+        // Then - first retry re-checked and retried, second retry found the change applied
+        assertTrue(result);
+        assertEquals(2, calls.get());
+        assertEquals(2, checks.get());
+    }
+}
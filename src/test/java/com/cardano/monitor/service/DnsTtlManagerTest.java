@@ -0,0 +1,163 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.NextAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DnsTtlManager Tests")
+class DnsTtlManagerTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private DnsTtlManager ttlManager;
+    private DnsServiceIF dnsService;
+    private MonitorConfig.TtlLoweringConfig ttlConfig;
+    private final AtomicInteger providerTtl = new AtomicInteger(300);
+
+    @BeforeEach
+    void setUp() {
+        ttlConfig = mock(MonitorConfig.TtlLoweringConfig.class);
+        when(ttlConfig.enabled()).thenReturn(true);
+        when(ttlConfig.loweredTtl()).thenReturn(30);
+        when(ttlConfig.stablePeriod()).thenReturn(Duration.ofSeconds(600));
+
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.recordTtl()).thenReturn(300);
+        when(dnsConfig.ttlLowering()).thenReturn(ttlConfig);
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        // DNS service mock that remembers the TTL written to the provider
+        dnsService = mock(DnsServiceIF.class);
+        when(dnsService.getEffectiveRecordTtl()).thenAnswer(invocation -> providerTtl.get());
+        when(dnsService.updateRecordTtl(anyInt())).thenAnswer(invocation -> {
+            providerTtl.set(invocation.getArgument(0));
+            return true;
+        });
+
+        ttlManager = new DnsTtlManager();
+        ttlManager.config = config;
+        ttlManager.dnsService = dnsService;
+    }
+
+    // Writes the TTL the manager asks for, as the monitor's effect executor does
+    private void cycle(NextAction action, Instant currentTime) {
+        ttlManager.onCycle(action, currentTime).ifPresent(dnsService::updateRecordTtl);
+    }
+
+    @Test
+    @DisplayName("Should leave TTL alone while everything is healthy")
+    void shouldLeaveTtlAloneWhileHealthy() {
+        // When
+        cycle(NextAction.NONE, T0);
+        cycle(NextAction.NONE, T0.plusSeconds(60));
+
+        // Then
+        assertFalse(ttlManager.isLowered());
+        verify(dnsService, never()).updateRecordTtl(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should only decide the TTL and leave the write to the caller")
+    void shouldOnlyDecideTtl() {
+        // When
+        OptionalInt ttl = ttlManager.onCycle(NextAction.WAITING_FOR_FAILOVER, T0);
+
+        // Then
+        assertEquals(OptionalInt.of(30), ttl);
+        verify(dnsService, never()).updateRecordTtl(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should lower TTL as soon as the primary becomes suspect")
+    void shouldLowerTtlWhenWaitingForFailover() {
+        // When
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0);
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0.plusSeconds(60));
+
+        // Then - lowered once, not rewritten every cycle
+        assertTrue(ttlManager.isLowered());
+        assertEquals(30, providerTtl.get());
+        verify(dnsService, times(1)).updateRecordTtl(30);
+    }
+
+    @Test
+    @DisplayName("Should keep TTL low through the switch and restore it after the stable period")
+    void shouldRestoreTtlAfterStablePeriod() {
+        // Given
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0);
+        cycle(NextAction.SWITCHED_TO_SECONDARY, T0.plusSeconds(300));
+
+        // When - stable, but not for long enough
+        cycle(NextAction.NONE, T0.plusSeconds(360));
+        cycle(NextAction.NONE, T0.plusSeconds(900));
+
+        // Then
+        assertTrue(ttlManager.isLowered());
+        assertEquals(30, providerTtl.get());
+
+        // When - stable period has elapsed
+        cycle(NextAction.NONE, T0.plusSeconds(960));
+
+        // Then
+        assertFalse(ttlManager.isLowered());
+        assertEquals(300, providerTtl.get());
+    }
+
+    @Test
+    @DisplayName("Should restart the stable period when the primary flaps again")
+    void shouldRestartStablePeriodOnFlap() {
+        // Given
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0);
+        cycle(NextAction.NONE, T0.plusSeconds(60));
+
+        // When - suspect again before the stable period is over
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0.plusSeconds(500));
+        cycle(NextAction.NONE, T0.plusSeconds(560));
+        cycle(NextAction.NONE, T0.plusSeconds(700));
+
+        // Then
+        assertTrue(ttlManager.isLowered());
+        assertEquals(30, providerTtl.get());
+    }
+
+    @Test
+    @DisplayName("Should retry lowering on the next cycle when the DNS update fails")
+    void shouldRetryWhenUpdateFails() {
+        // Given
+        when(dnsService.updateRecordTtl(anyInt())).thenReturn(false);
+
+        // When
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0);
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0.plusSeconds(60));
+
+        // Then
+        verify(dnsService, times(2)).updateRecordTtl(30);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when TTL lowering is disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        when(ttlConfig.enabled()).thenReturn(false);
+
+        // When
+        cycle(NextAction.WAITING_FOR_FAILOVER, T0);
+
+        // Then
+        assertFalse(ttlManager.isLowered());
+        verifyNoInteractions(dnsService);
+    }
+}
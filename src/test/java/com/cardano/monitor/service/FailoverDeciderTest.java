@@ -0,0 +1,217 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.LeaderSlotPolicy;
+import com.cardano.monitor.model.NextAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FailoverDecider Tests")
+class FailoverDeciderTest {
+
+    private final FailoverDecider decider = FailoverDecider.of(Duration.ofSeconds(30), Duration.ofSeconds(60));
+    private MonitorState initial;
+
+    @BeforeEach
+    void setUp() {
+        MonitorConfig config = mock(MonitorConfig.class);
+        MonitorConfig.ServerConfig primary = mock(MonitorConfig.ServerConfig.class);
+        MonitorConfig.ServerConfig secondary = mock(MonitorConfig.ServerConfig.class);
+        when(config.primary()).thenReturn(primary);
+        when(config.secondary()).thenReturn(secondary);
+        when(config.standbys()).thenReturn(Optional.empty());
+
+        initial = MonitorState.initial(CandidateGroup.of(config), Instant.EPOCH);
+    }
+
+    @Test
+    @DisplayName("Should wait for the failover delay and then ask for a switch")
+    void shouldAskForSwitchAfterFailoverDelay() {
+        // Given
+        FailoverDecider.Decision first = decide(initial, 0, false, true, 0);
+
+        // When
+        FailoverDecider.Decision early = decide(first.state(), 0, false, true, 10_000);
+        FailoverDecider.Decision late = decide(early.state(), 0, false, true, 30_000);
+
+        // Then
+        assertEquals(NextAction.WAITING_FOR_FAILOVER, early.state().lastNextAction().getAction());
+        assertEquals("waiting_for_failover (20s remaining)", early.state().lastNextAction().getValue());
+        assertTrue(early.effects().isEmpty());
+        FailoverDecider.SwitchDns effect = onlySwitch(late.effects());
+        assertEquals(0, effect.from());
+        assertEquals(1, effect.target());
+        assertEquals(1, late.state().switchInFlight());
+    }
+
+    @Test
+    @DisplayName("Should not ask for another switch while one is in flight")
+    void shouldNotSwitchTwiceWhileInFlight() {
+        // Given
+        FailoverDecider.Decision switching = decide(initial, 0, false, true, 0);
+        switching = decide(switching.state(), 0, false, true, 30_000);
+
+        // When
+        FailoverDecider.Decision again = decide(switching.state(), 0, false, true, 31_000);
+
+        // Then
+        assertTrue(again.effects().isEmpty());
+        assertEquals(1, again.state().switchInFlight());
+        assertEquals(Instant.ofEpochMilli(31_000), again.state().lastCheck());
+    }
+
+    @Test
+    @DisplayName("Should fold a switch outcome back into the state")
+    void shouldApplySwitchOutcome() {
+        // Given
+        MonitorState switching = decide(decide(initial, 0, false, true, 0).state(), 0, false, true, 30_000).state();
+        FailoverDecider.SwitchDns effect = new FailoverDecider.SwitchDns(0, 1, "test");
+
+        // When
+        MonitorState switched = FailoverDecider.afterSwitch(switching, effect, true);
+        MonitorState failed = FailoverDecider.afterSwitch(switching, effect, false);
+        MonitorState stale = FailoverDecider.afterSwitch(switching.reset(Instant.ofEpochMilli(30_000)), effect, true);
+
+        // Then
+        assertEquals(NextAction.SWITCHED_TO_SECONDARY, switched.lastNextAction().getAction());
+        assertEquals(CandidateGroup.NO_CANDIDATE, switched.switchInFlight());
+        assertEquals(NextAction.FAILED_TO_SWITCH_TO_SECONDARY, failed.lastNextAction().getAction());
+        assertEquals(NextAction.NONE, stale.lastNextAction().getAction());
+    }
+
+    @Test
+    @DisplayName("Should raise an alert when every candidate is down")
+    void shouldAlertWhenAllDown() {
+        // When
+        FailoverDecider.Decision decision = decide(initial, 0, false, false, 0);
+
+        // Then
+        assertEquals(NextAction.BOTH_SERVERS_DOWN, decision.state().lastNextAction().getAction());
+        assertEquals(1, decision.effects().size());
+        assertTrue(decision.effects().getFirst() instanceof FailoverDecider.Alert);
+    }
+
+    @Test
+    @DisplayName("Should fail back once the primary has been up for the failback delay")
+    void shouldFailBackAfterDelay() {
+        // Given
+        MonitorState onSecondary = decide(initial, 1, true, true, 0).state();
+
+        // When
+        FailoverDecider.Decision waiting = decide(onSecondary, 1, true, true, 59_000);
+        FailoverDecider.Decision failback = decide(waiting.state(), 1, true, true, 60_000);
+
+        // Then
+        assertEquals(NextAction.WAITING_FOR_FAILBACK, waiting.state().lastNextAction().getAction());
+        assertEquals(0, onlySwitch(failback.effects()).target());
+    }
+
+    @Test
+    @DisplayName("Should hold a due failback until the leader slot has passed")
+    void shouldDeferFailbackAroundLeaderSlot() {
+        // Given: a slot at 100s and a 60s guard
+        FailoverDecider gated = decider.withLeaderGate(new FailoverDecider.LeaderGate(LeaderSchedule.of(100_000), 60_000,
+            LeaderSlotPolicy.EXPEDITE, LeaderSlotPolicy.DEFER));
+        MonitorState onSecondary = decide(gated, initial, 1, true, true, 0).state();
+
+        // When
+        FailoverDecider.Decision due = decide(gated, onSecondary, 1, true, true, 60_000);
+        FailoverDecider.Decision atSlot = decide(gated, due.state(), 1, true, true, 100_000);
+        FailoverDecider.Decision afterSlot = decide(gated, atSlot.state(), 1, true, true, 101_000);
+
+        // Then
+        assertTrue(due.effects().isEmpty());
+        assertEquals("waiting_for_leader_slot (40s remaining)", due.state().lastNextAction().getValue());
+        assertTrue(atSlot.effects().isEmpty());
+        assertEquals(0, onlySwitch(afterSlot.effects()).target());
+    }
+
+    @Test
+    @DisplayName("Should fail over before the delay is up when waiting would land next to a leader slot")
+    void shouldExpediteFailoverBeforeLeaderSlot() {
+        // Given: a slot at 50s and a 30s guard; the 30s failover delay would end at 30s, inside the guard
+        FailoverDecider gated = decider.withLeaderGate(new FailoverDecider.LeaderGate(LeaderSchedule.of(50_000), 30_000,
+            LeaderSlotPolicy.EXPEDITE, LeaderSlotPolicy.DEFER));
+        MonitorState primaryDown = decide(initial, 0, false, true, 0).state();
+
+        // When
+        FailoverDecider.Decision expedited = decide(gated, primaryDown, 0, false, true, 10_000);
+        FailoverDecider.Decision ungated = decide(primaryDown, 0, false, true, 10_000);
+
+        // Then
+        FailoverDecider.SwitchDns effect = onlySwitch(expedited.effects());
+        assertEquals(1, effect.target());
+        assertTrue(effect.reason().endsWith("ahead of the leader slot at 1970-01-01T00:00:50Z"));
+        assertEquals(NextAction.WAITING_FOR_FAILOVER, ungated.state().lastNextAction().getAction());
+    }
+
+    @Test
+    @DisplayName("Should fail over to the next fit candidate and refuse when none is fit")
+    void shouldSkipUnfitFailoverTargets() {
+        // Given: a standby behind the secondary, and the primary down for the failover delay
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.primary()).thenReturn(mock(MonitorConfig.ServerConfig.class));
+        when(config.secondary()).thenReturn(mock(MonitorConfig.ServerConfig.class));
+        when(config.standbys()).thenReturn(Optional.of(List.of(mock(MonitorConfig.ServerConfig.class))));
+        MonitorState primaryDown = decider.decide(MonitorState.initial(CandidateGroup.of(config), Instant.EPOCH),
+            new FailoverDecider.Observation(0, new boolean[]{false, true, true}), Instant.EPOCH).state();
+
+        // When
+        FailoverDecider.Decision secondaryUnfit = decider.decide(primaryDown,
+            new FailoverDecider.Observation(0, new boolean[]{false, true, true}, new boolean[]{false, true, false}),
+            Instant.ofEpochMilli(30_000));
+        FailoverDecider.Decision noneFit = decider.decide(primaryDown,
+            new FailoverDecider.Observation(0, new boolean[]{false, true, true}, new boolean[]{false, true, true}),
+            Instant.ofEpochMilli(30_000));
+
+        // Then
+        assertEquals(2, onlySwitch(secondaryUnfit.effects()).target());
+        assertEquals(NextAction.STANDBY_NOT_FIT, noneFit.state().lastNextAction().getAction());
+        assertEquals(CandidateGroup.NO_CANDIDATE, noneFit.state().switchInFlight());
+        assertEquals(1, noneFit.effects().size());
+        assertTrue(noneFit.effects().getFirst() instanceof FailoverDecider.Alert);
+    }
+
+    @Test
+    @DisplayName("Should report a degraded active server without switching, and fail over as usual once it is down")
+    void shouldReportDegradationWithoutSwitching() {
+        // Given
+        FailoverDecider.Observation degraded = new FailoverDecider.Observation(0, new boolean[]{true, true}, null,
+            "connect latency rising");
+
+        // When
+        FailoverDecider.Decision decision = decider.decide(initial, degraded, Instant.EPOCH);
+        FailoverDecider.Decision down = decide(decision.state(), 0, false, true, 10_000);
+
+        // Then
+        assertEquals(NextAction.DEGRADED, decision.state().lastNextAction().getAction());
+        assertEquals("degraded (connect latency rising)", decision.state().lastNextAction().getValue());
+        assertTrue(decision.effects().isEmpty());
+        assertEquals(NextAction.WAITING_FOR_FAILOVER, down.state().lastNextAction().getAction());
+    }
+
+    private FailoverDecider.Decision decide(MonitorState state, int active, boolean primaryUp, boolean secondaryUp, long now) {
+        return decide(decider, state, active, primaryUp, secondaryUp, now);
+    }
+
+    private static FailoverDecider.Decision decide(FailoverDecider decider, MonitorState state, int active,
+                                                   boolean primaryUp, boolean secondaryUp, long now) {
+        return decider.decide(state, new FailoverDecider.Observation(active, new boolean[]{primaryUp, secondaryUp}),
+            Instant.ofEpochMilli(now));
+    }
+
+    private static FailoverDecider.SwitchDns onlySwitch(List<FailoverDecider.Effect> effects) {
+        assertEquals(1, effects.size());
+        assertTrue(effects.getFirst() instanceof FailoverDecider.SwitchDns);
+        return (FailoverDecider.SwitchDns) effects.getFirst();
+    }
+}
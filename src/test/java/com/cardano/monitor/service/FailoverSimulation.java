@@ -0,0 +1,556 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.model.DriftEvent;
+import com.cardano.monitor.model.FailoverGroupStatus;
+import com.cardano.monitor.model.NextAction;
+import com.cardano.monitor.model.ServerHealthStatus;
+import com.cardano.monitor.model.ServerType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs the real {@link BlockProducerMonitorService} through scripted outages in virtual time.
+ * A timeline gives every candidate a schedule of up and down periods; a simulated world answers
+ * the monitor's probes and DNS reads from it and takes its DNS writes, which may be set to fail
+ * at random. The monitor checks once per interval on a {@link VirtualClock}, so hours of
+ * outages run in milliseconds and the same seed always plays out the same way.
+ *
+ * <p>Invariants checked on every run:
+ * <ul>
+ *   <li>DNS is never switched to a candidate that is down.</li>
+ *   <li>DNS is only moved off a healthy candidate to fail back to a higher-priority one that has
+ *       been up for the failback delay.</li>
+ *   <li>Once the active candidate has been down for the failover delay, rounded up to whole check
+ *       intervals, plus one interval, DNS has moved on whenever another candidate is up, unless a
+ *       DNS write failed in the meantime.</li>
+ * </ul>
+ */
+final class FailoverSimulation {
+
+    static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    static final String NEVER_TO_DOWN_NODE = "never switch to a DOWN node";
+    static final String ONLY_FAIL_BACK_WHEN_STABLE = "only leave a healthy node to fail back after the failback delay";
+    static final String FAIL_OVER_IN_TIME = "fail over within the failover delay plus one interval";
+
+    /**
+     * Shape of the random timelines: outage and recovery lengths are drawn from exponential
+     * distributions with the given means.
+     */
+    record Settings(
+        int candidates,
+        Duration checkInterval,
+        Duration failoverDelay,
+        Duration failbackDelay,
+        Duration length,
+        Duration meanUp,
+        Duration meanDown,
+        double dnsFailureRate
+    ) {
+
+        static Settings defaults() {
+            return new Settings(3, Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(60),
+                Duration.ofHours(6), Duration.ofMinutes(30), Duration.ofMinutes(5), 0);
+        }
+
+        Settings withCandidates(int candidates) {
+            return new Settings(candidates, checkInterval, failoverDelay, failbackDelay, length, meanUp, meanDown, dnsFailureRate);
+        }
+
+        Settings withTiming(Duration checkInterval, Duration failoverDelay, Duration failbackDelay) {
+            return new Settings(candidates, checkInterval, failoverDelay, failbackDelay, length, meanUp, meanDown, dnsFailureRate);
+        }
+
+        Settings withLength(Duration length) {
+            return new Settings(candidates, checkInterval, failoverDelay, failbackDelay, length, meanUp, meanDown, dnsFailureRate);
+        }
+
+        Settings withOutages(Duration meanUp, Duration meanDown) {
+            return new Settings(candidates, checkInterval, failoverDelay, failbackDelay, length, meanUp, meanDown, dnsFailureRate);
+        }
+
+        Settings withDnsFailureRate(double dnsFailureRate) {
+            return new Settings(candidates, checkInterval, failoverDelay, failbackDelay, length, meanUp, meanDown, dnsFailureRate);
+        }
+    }
+
+    /**
+     * Every candidate starts up and flips between up and down at each of its transition times,
+     * in milliseconds since {@link #START}, ascending.
+     */
+    record Timeline(long seed, long[][] transitions) {
+
+        static Timeline scripted(long[]... transitions) {
+            return new Timeline(0, transitions);
+        }
+
+        static Timeline random(Settings settings, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            long length = settings.length().toMillis();
+            long[][] transitions = new long[settings.candidates()][];
+            for (int i = 0; i < transitions.length; i++) {
+                long[] times = new long[16];
+                int count = 0;
+                long time = 0;
+                boolean up = true;
+                while (true) {
+                    double mean = (up ? settings.meanUp() : settings.meanDown()).toMillis();
+                    time += Math.max(1, (long) (-mean * Math.log(1 - random.nextDouble())));
+                    if (time >= length) {
+                        break;
+                    }
+                    if (count == times.length) {
+                        times = Arrays.copyOf(times, count * 2);
+                    }
+                    times[count++] = time;
+                    up = !up;
+                }
+                transitions[i] = Arrays.copyOf(times, count);
+            }
+            return new Timeline(seed, transitions);
+        }
+    }
+
+    record Violation(long atMillis, String invariant, String detail) {}
+
+    record Result(Timeline timeline, int checks, int switches, int failedSwitches, List<Violation> violations) {}
+
+    private FailoverSimulation() {
+    }
+
+    static Result run(Settings settings, Timeline timeline) {
+        VirtualClock clock = new VirtualClock(START);
+        World world = new World(settings, timeline, clock);
+
+        BlockProducerMonitorService monitor = new BlockProducerMonitorService();
+        monitor.config = world.config();
+        monitor.networkService = world;
+        monitor.dnsService = world;
+        monitor.ttlManager = new NoTtlManager();
+        monitor.reconciler = new NoReconciler();
+        monitor.journal = new NoJournal();
+        monitor.clock = clock;
+
+        long interval = settings.checkInterval().toMillis();
+        long length = settings.length().toMillis();
+        int checks = 0;
+        try {
+            for (long time = 0; time <= length; time += interval) {
+                clock.set(START.plusMillis(time));
+                monitor.checkServers();
+                world.afterCycle(time);
+                checks++;
+            }
+        } finally {
+            monitor.shutdown();
+        }
+        return new Result(timeline, checks, world.switches, world.failedSwitches, world.violations);
+    }
+
+    /**
+     * Plays the timeline through the {@link FailoverDecider} alone, applying each switch right away
+     * on the calling thread. Checks the same invariants as {@link #run} without the monitor's
+     * threads, fast enough for thousands of timelines per second.
+     */
+    static Result runDecider(Settings settings, Timeline timeline) {
+        VirtualClock clock = new VirtualClock(START);
+        World world = new World(settings, timeline, clock);
+        FailoverDecider decider = FailoverDecider.of(settings.failoverDelay(), settings.failbackDelay());
+        MonitorState state = MonitorState.initial(CandidateGroup.of(world.config()), START);
+
+        long interval = settings.checkInterval().toMillis();
+        long length = settings.length().toMillis();
+        int checks = 0;
+        for (long time = 0; time <= length; time += interval) {
+            Instant now = START.plusMillis(time);
+            clock.set(now);
+            boolean[] up = new boolean[timeline.transitions().length];
+            for (int i = 0; i < up.length; i++) {
+                up[i] = world.isUp(i, time);
+            }
+            FailoverDecider.Decision decision = decider.decide(state, new FailoverDecider.Observation(world.dnsTarget, up), now);
+            state = decision.state();
+            for (FailoverDecider.Effect effect : decision.effects()) {
+                if (effect instanceof FailoverDecider.SwitchDns switchDns) {
+                    state = FailoverDecider.afterSwitch(state, switchDns, world.point(switchDns.target()));
+                }
+            }
+            world.afterCycle(time);
+            checks++;
+        }
+        return new Result(timeline, checks, world.switches, world.failedSwitches, world.violations);
+    }
+
+    /**
+     * The candidates, the network to them and the DNS record, all answering from the timeline.
+     */
+    private static final class World implements NetworkServiceIF, DnsServiceIF {
+
+        private final Settings settings;
+        private final long[][] transitions;
+        private final VirtualClock clock;
+        private final SplittableRandom random;
+        private final List<Violation> violations = new ArrayList<>();
+
+        private volatile int dnsTarget;
+        private volatile long pointedAt;
+        private volatile long lastFailedSwitch = Long.MIN_VALUE;
+        private volatile int switches;
+        private volatile int failedSwitches;
+
+        World(Settings settings, Timeline timeline, VirtualClock clock) {
+            this.settings = settings;
+            this.transitions = timeline.transitions();
+            this.clock = clock;
+            this.random = new SplittableRandom(timeline.seed() ^ 0x5DEECE66DL);
+        }
+
+        MonitorConfig config() {
+            List<MonitorConfig.ServerConfig> nodes = new ArrayList<>();
+            for (int i = 0; i < transitions.length; i++) {
+                nodes.add(new Node("bp-" + i, host(i), 6000));
+            }
+            return new SimulatedConfig(nodes, new Timing(settings.checkInterval(), settings.failoverDelay(),
+                settings.failbackDelay(), Duration.ofSeconds(1)));
+        }
+
+        void afterCycle(long time) {
+            int active = dnsTarget;
+            if (isUp(active, time)) {
+                return;
+            }
+            long downSince = Math.max(changedAt(active, time), pointedAt);
+            long interval = settings.checkInterval().toMillis();
+            long delay = settings.failoverDelay().toMillis();
+            long bound = (delay + interval - 1) / interval * interval + interval;
+            if (time - downSince < bound || lastFailedSwitch >= downSince) {
+                return;
+            }
+            for (int i = 0; i < transitions.length; i++) {
+                if (i != active && isUp(i, time)) {
+                    violations.add(new Violation(time, FAIL_OVER_IN_TIME, String.format(
+                        "bp-%d down since %d, bp-%d up, still active", active, downSince, i)));
+                    return;
+                }
+            }
+        }
+
+        private synchronized boolean point(int target) {
+            long time = now();
+            int active = dnsTarget;
+            if (!isUp(target, time)) {
+                violations.add(new Violation(time, NEVER_TO_DOWN_NODE, String.format("bp-%d -> bp-%d", active, target)));
+            }
+            if (isUp(active, time)
+                && (target > active || time - seenUpSince(target, time) < settings.failbackDelay().toMillis())) {
+                violations.add(new Violation(time, ONLY_FAIL_BACK_WHEN_STABLE, String.format(
+                    "bp-%d -> bp-%d, target seen up for %dms", active, target, time - seenUpSince(target, time))));
+            }
+            if (settings.dnsFailureRate() > 0 && random.nextDouble() < settings.dnsFailureRate()) {
+                failedSwitches++;
+                lastFailedSwitch = time;
+                return false;
+            }
+            dnsTarget = target;
+            pointedAt = time;
+            switches++;
+            return true;
+        }
+
+        private long now() {
+            return clock.millis() - START.toEpochMilli();
+        }
+
+        private boolean isUp(int index, long time) {
+            return index >= 0 && transitionsUntil(index, time) % 2 == 0;
+        }
+
+        /**
+         * When the candidate entered its state at {@code time}; 0 if it never changed.
+         */
+        private long changedAt(int index, long time) {
+            int count = transitionsUntil(index, time);
+            return count == 0 ? 0 : transitions[index][count - 1];
+        }
+
+        /**
+         * The first check of the run of checks, up to {@code time}, that found the candidate up.
+         * A dip shorter than one interval can fall between two checks, so this is what the monitor
+         * can know rather than when the candidate really came back.
+         */
+        private long seenUpSince(int index, long time) {
+            long interval = settings.checkInterval().toMillis();
+            long limit = settings.failbackDelay().toMillis();
+            long since = time;
+            while (since >= interval && time - since < limit && isUp(index, since - interval)) {
+                since -= interval;
+            }
+            return since;
+        }
+
+        private int transitionsUntil(int index, long time) {
+            int position = Arrays.binarySearch(transitions[index], time);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+
+        private static String host(int index) {
+            return "10.0.0." + (index + 1);
+        }
+
+        private int indexOfHost(String host) {
+            return Integer.parseInt(host.substring(host.lastIndexOf('.') + 1)) - 1;
+        }
+
+        @Override
+        public boolean checkHostPort(String host, int port, Duration timeout) {
+            return isUp(indexOfHost(host), now());
+        }
+
+        @Override
+        public ServerHealthStatus getServerHealthStatus(ServerType serverType) {
+            return isUp(CandidateGroup.indexOf(serverType), now()) ? ServerHealthStatus.UP : ServerHealthStatus.DOWN;
+        }
+
+        @Override
+        public boolean switchDnsToServer(ServerType serverType) {
+            return point(CandidateGroup.indexOf(serverType));
+        }
+
+        @Override
+        public boolean switchDnsToCandidate(int index) {
+            return point(index);
+        }
+
+        @Override
+        public String getCurrentDnsRecordIp() {
+            return host(dnsTarget);
+        }
+
+        @Override
+        public String getCurrentDnsRecordIp(ApiCallPriority priority) {
+            return getCurrentDnsRecordIp();
+        }
+
+        @Override
+        public RecordRead readCurrentRecord(ApiCallPriority priority) {
+            return RecordRead.live(getCurrentDnsRecordIp());
+        }
+
+        @Override
+        public ServerType detectCurrentActiveServer() {
+            return CandidateGroup.roleOf(dnsTarget);
+        }
+
+        @Override
+        public ServerType detectCurrentActiveServer(ApiCallPriority priority) {
+            return detectCurrentActiveServer();
+        }
+
+        @Override
+        public ServerType classifyIp(String ip) {
+            return CandidateGroup.roleOf(classifyCandidate(ip));
+        }
+
+        @Override
+        public int classifyCandidate(String ip) {
+            return indexOfHost(ip);
+        }
+
+        @Override
+        public int detectActiveCandidate() {
+            return dnsTarget;
+        }
+
+        @Override
+        public boolean updateRecordTtl(int ttl) {
+            return true;
+        }
+
+        @Override
+        public int getEffectiveRecordTtl() {
+            return 60;
+        }
+
+        @Override
+        public FailoverGroupStatus getLastGroupUpdate() {
+            return null;
+        }
+
+        @Override
+        public void fenceWrites(LongSupplier millisLeft) {
+        }
+    }
+
+    private record Node(String name, String host, int port) implements MonitorConfig.ServerConfig {}
+
+    private record Timing(Duration checkInterval, Duration failoverDelay, Duration failbackDelay,
+                          Duration connectionTimeout) implements MonitorConfig.TimingConfig {}
+
+    /**
+     * Only what a check cycle reads; DNS, journal, snapshot and the other features stay unset.
+     */
+    private record SimulatedConfig(List<ServerConfig> nodes, TimingConfig timing) implements MonitorConfig {
+
+        @Override
+        public ServerConfig primary() {
+            return nodes.get(0);
+        }
+
+        @Override
+        public ServerConfig secondary() {
+            return nodes.get(1);
+        }
+
+        @Override
+        public Optional<List<ServerConfig>> standbys() {
+            return Optional.of(nodes.subList(2, nodes.size()));
+        }
+
+        @Override
+        public DnsConfig dns() {
+            return null;
+        }
+
+        @Override
+        public SimulatorConfig simulator() {
+            return null;
+        }
+
+        @Override
+        public RelayPoolConfig relays() {
+            return null;
+        }
+
+        @Override
+        public PoolsConfig pools() {
+            return null;
+        }
+
+        @Override
+        public JournalConfig journal() {
+            return null;
+        }
+
+        @Override
+        public SnapshotConfig snapshot() {
+            return null;
+        }
+
+        @Override
+        public ShadowConfig shadow() {
+            return null;
+        }
+
+        @Override
+        public LeaderScheduleConfig leaderSchedule() {
+            return null;
+        }
+
+        @Override
+        public StandbyVerificationConfig standbyVerification() {
+            return null;
+        }
+
+        @Override
+        public HaConfig ha() {
+            return null;
+        }
+
+        @Override
+        public VantageConfig vantage() {
+            return null;
+        }
+
+        @Override
+        public DegradationConfig degradation() {
+            return null;
+        }
+    }
+
+    private static final class NoTtlManager implements DnsTtlManagerIF {
+
+        @Override
+        public OptionalInt onCycle(NextAction action, Instant currentTime) {
+            return OptionalInt.empty();
+        }
+
+        @Override
+        public boolean isLowered() {
+            return false;
+        }
+    }
+
+    private static final class NoReconciler implements DnsReconcilerIF {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public ServerType currentActive() {
+            return ServerType.NONE;
+        }
+
+        @Override
+        public int currentCandidate() {
+            return CandidateGroup.NO_CANDIDATE;
+        }
+
+        @Override
+        public void recordSwitch(ServerType target) {
+        }
+
+        @Override
+        public void recordSwitch(int candidate) {
+        }
+
+        @Override
+        public void forget() {
+        }
+
+        @Override
+        public DriftEvent reconcile(RepairWriter writer) {
+            return null;
+        }
+
+        @Override
+        public List<DriftEvent> getRecentDrift() {
+            return List.of();
+        }
+    }
+
+    private static final class NoJournal implements MonitorJournalIF {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void probe(int candidate, boolean up, long timestamp, long micros) {
+        }
+
+        @Override
+        public void dnsRead(int active, long timestamp, long micros) {
+        }
+
+        @Override
+        public void decision(int active, NextAction action, int switchTarget, long timestamp) {
+        }
+
+        @Override
+        public void switched(int target, boolean switched, long timestamp, long micros) {
+        }
+    }
+}
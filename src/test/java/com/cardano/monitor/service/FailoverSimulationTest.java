@@ -0,0 +1,88 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Failover Simulation Tests")
+class FailoverSimulationTest {
+
+    @Test
+    @DisplayName("Should fail over once the failover delay has passed, in virtual time")
+    void shouldFailOverAfterDelay() {
+        // Given: primary down from 95s to 10min, everything else up
+        FailoverSimulation.Settings settings = FailoverSimulation.Settings.defaults()
+            .withCandidates(2)
+            .withLength(Duration.ofMinutes(15));
+        FailoverSimulation.Timeline timeline = FailoverSimulation.Timeline.scripted(
+            new long[]{95_000, 600_000},
+            new long[0]);
+
+        // When
+        FailoverSimulation.Result result = FailoverSimulation.run(settings, timeline);
+
+        // Then: one failover, one failback, 91 checks over 15 minutes without sleeping
+        assertEquals(91, result.checks());
+        assertEquals(2, result.switches());
+        assertEquals(List.of(), result.violations());
+    }
+
+    @Test
+    @DisplayName("Should keep every invariant across randomized outage timelines")
+    void shouldKeepInvariantsOnRandomTimelines() {
+        // Given
+        FailoverSimulation.Settings settings = FailoverSimulation.Settings.defaults()
+            .withCandidates(4)
+            .withOutages(Duration.ofMinutes(20), Duration.ofMinutes(3));
+
+        // When
+        List<FailoverSimulation.Result> results = LongStream.range(0, 5_000).parallel()
+            .mapToObj(seed -> FailoverSimulation.runDecider(settings, FailoverSimulation.Timeline.random(settings, seed)))
+            .toList();
+
+        // Then
+        assertTrue(results.stream().mapToInt(FailoverSimulation.Result::switches).sum() > 5_000);
+        results.forEach(result -> assertEquals(List.of(), result.violations(), "seed " + result.timeline().seed()));
+    }
+
+    @Test
+    @DisplayName("Should keep every invariant when the whole monitor runs the timelines")
+    void shouldKeepInvariantsThroughMonitor() {
+        // Given
+        FailoverSimulation.Settings settings = FailoverSimulation.Settings.defaults()
+            .withCandidates(3)
+            .withLength(Duration.ofHours(2));
+
+        // When
+        List<FailoverSimulation.Result> results = LongStream.range(0, 50).parallel()
+            .mapToObj(seed -> FailoverSimulation.run(settings, FailoverSimulation.Timeline.random(settings, seed)))
+            .toList();
+
+        // Then
+        results.forEach(result -> assertEquals(
+            FailoverSimulation.runDecider(settings, result.timeline()).switches(), result.switches(), "seed " + result.timeline().seed()));
+        results.forEach(result -> assertEquals(List.of(), result.violations(), "seed " + result.timeline().seed()));
+    }
+
+    @Test
+    @DisplayName("Should never switch to a down node while DNS writes fail at random")
+    void shouldNotSwitchToDownNodeWhenWritesFail() {
+        // Given
+        FailoverSimulation.Settings settings = FailoverSimulation.Settings.defaults()
+            .withDnsFailureRate(0.3);
+
+        // When
+        List<FailoverSimulation.Result> results = LongStream.range(0, 1_000).parallel()
+            .mapToObj(seed -> FailoverSimulation.runDecider(settings, FailoverSimulation.Timeline.random(settings, seed)))
+            .toList();
+
+        // Then
+        assertTrue(results.stream().mapToInt(FailoverSimulation.Result::failedSwitches).sum() > 0);
+        results.forEach(result -> assertEquals(List.of(), result.violations(), "seed " + result.timeline().seed()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileLeaseStore Tests")
+class FileLeaseStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should grant the lease to one instance until it runs out")
+    void shouldGrantLeaseUntilItRunsOut() throws Exception {
+        // Given: two instances sharing one file
+        Path file = dir.resolve("monitor.lease");
+        FileLeaseStore a = new FileLeaseStore(file);
+        FileLeaseStore b = new FileLeaseStore(file);
+
+        // When
+        LeaseStoreIF.Lease first = a.tryAcquire("a", 0, 10_000);
+        LeaseStoreIF.Lease refused = b.tryAcquire("b", 5_000, 15_000);
+        LeaseStoreIF.Lease renewed = a.tryAcquire("a", 6_000, 16_000);
+        LeaseStoreIF.Lease takenOver = b.tryAcquire("b", 16_000, 26_000);
+
+        // Then
+        assertEquals(new LeaseStoreIF.Lease("a", 10_000, 1), first);
+        assertEquals(first, refused);
+        assertEquals(new LeaseStoreIF.Lease("a", 16_000, 1), renewed);
+        assertEquals(new LeaseStoreIF.Lease("b", 26_000, 2), takenOver);
+        assertEquals(List.of("b", "26000", "2"), Files.readAllLines(file));
+    }
+
+    @Test
+    @DisplayName("Should grant a free lease to exactly one of many racing instances")
+    void shouldGrantFreeLeaseOnce() throws Exception {
+        // Given
+        Path file = dir.resolve("monitor.lease");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<LeaseStoreIF.Lease>> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String holder = "instance-" + i;
+            requests.add(() -> new FileLeaseStore(file).tryAcquire(holder, 0, 10_000));
+        }
+
+        // When
+        List<LeaseStoreIF.Lease> seen = new ArrayList<>();
+        for (Future<LeaseStoreIF.Lease> future : executor.invokeAll(requests)) {
+            seen.add(future.get());
+        }
+        executor.shutdown();
+
+        // Then: everyone saw the same holder
+        String holder = seen.getFirst().holder();
+        assertTrue(seen.stream().allMatch(lease -> lease.heldBy(holder) && lease.term() == 1));
+    }
+
+    @Test
+    @DisplayName("Should treat an unreadable lease file as a free lease")
+    void shouldTreatGarbageAsFree() throws Exception {
+        // Given
+        Path file = dir.resolve("monitor.lease");
+        Files.writeString(file, "a\nnot a number\n");
+
+        // When
+        LeaseStoreIF.Lease lease = new FileLeaseStore(file).tryAcquire("b", 0, 10_000);
+
+        // Then
+        assertEquals("b", lease.holder());
+    }
+}
@@ -0,0 +1,38 @@
+package com.cardano.monitor.service;
+
+import java.io.IOException;
+
+/**
+ * A lease store for monitor instances in one process, for tests. Can be made unreachable to
+ * see a leader cut off from the store.
+ */
+final class InMemoryLeaseStore implements LeaseStoreIF {
+
+    private Lease lease = Lease.NONE;
+    private boolean unreachable;
+
+    @Override
+    public synchronized Lease tryAcquire(String holder, long nowMillis, long untilMillis) throws IOException {
+        checkReachable();
+        lease = lease.request(holder, nowMillis, untilMillis);
+        return lease;
+    }
+
+    @Override
+    public synchronized void release(String holder) throws IOException {
+        checkReachable();
+        if (lease.heldBy(holder)) {
+            lease = lease.released();
+        }
+    }
+
+    synchronized void setUnreachable(boolean unreachable) {
+        this.unreachable = unreachable;
+    }
+
+    private void checkReachable() throws IOException {
+        if (unreachable) {
+            throw new IOException("Lease store unreachable");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LeaderElection Tests")
+class LeaderElectionTest {
+
+    private static final Duration PERIOD = Duration.ofSeconds(20);
+
+    private final VirtualClock clock = new VirtualClock(FailoverSimulation.START);
+    private final InMemoryLeaseStore store = new InMemoryLeaseStore();
+    private final AtomicInteger changes = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should let one instance lead and hand over within a lease period once it stops renewing")
+    void shouldTakeOverWhenLeaderStopsRenewing() {
+        // Given
+        LeaderElection a = election("a");
+        LeaderElection b = election("b");
+        a.renew();
+
+        // When: b asks while a holds the lease, then a dies
+        long retryIn = b.renew();
+        clock.advance(Duration.ofSeconds(19));
+        long lastRetryIn = b.renew();
+        boolean bLeadsEarly = b.isLeader();
+        clock.advance(Duration.ofMillis(lastRetryIn));
+        b.renew();
+
+        // Then
+        assertEquals(Duration.ofSeconds(5).toMillis(), retryIn);
+        assertEquals(Duration.ofSeconds(1).toMillis(), lastRetryIn);
+        assertFalse(bLeadsEarly);
+        assertTrue(b.isLeader());
+        assertFalse(a.isLeader());
+        assertEquals("b", b.lease().holder());
+        assertEquals(2, b.lease().term());
+        assertEquals(2, changes.get());
+    }
+
+    @Test
+    @DisplayName("Should stop leading before the lease runs out when the store cannot be reached")
+    void shouldStepDownWhenCutOffFromStore() {
+        // Given
+        LeaderElection a = election("a");
+        LeaderElection b = election("b");
+        a.renew();
+        store.setUnreachable(true);
+
+        // When
+        clock.advance(Duration.ofSeconds(14));
+        a.renew();
+        boolean leadsBeforeGuard = a.isLeader();
+        clock.advance(Duration.ofSeconds(1));
+        boolean leadsAtGuard = a.isLeader();
+        store.setUnreachable(false);
+        b.renew();
+
+        // Then: a stepped down 5s before b could take over
+        assertTrue(leadsBeforeGuard);
+        assertFalse(leadsAtGuard);
+        assertFalse(b.isLeader());
+    }
+
+    @Test
+    @DisplayName("Should hand over at once when the leader releases the lease")
+    void shouldHandOverOnRelease() {
+        // Given
+        LeaderElection a = election("a");
+        LeaderElection b = election("b");
+        a.renew();
+        b.renew();
+
+        // When
+        a.close();
+        b.renew();
+
+        // Then
+        assertFalse(a.isLeader());
+        assertTrue(b.isLeader());
+    }
+
+    private LeaderElection election(String instanceId) {
+        return new LeaderElection(store, instanceId, PERIOD, clock, changes::incrementAndGet);
+    }
+}
@@ -0,0 +1,51 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LeaderSchedule Tests")
+class LeaderScheduleTest {
+
+    @Test
+    @DisplayName("Should read a cncli leader log and find the next slot")
+    void shouldFindNextSlot() throws Exception {
+        // Given: slots out of order, as a hand-edited log might have them
+        String json = """
+            {"status": "ok", "epoch": 512, "epochSlots": 2, "assignedSlots": [
+              {"no": 2, "slot": 131300000, "slotInEpoch": 300000, "at": "2024-09-02T08:00:00+00:00"},
+              {"no": 1, "slot": 131200000, "slotInEpoch": 200000, "at": "2024-09-01T06:13:20+02:00"}
+            ]}
+            """;
+
+        // When
+        LeaderSchedule schedule = LeaderSchedule.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        long first = Instant.parse("2024-09-01T04:13:20Z").toEpochMilli();
+        long second = Instant.parse("2024-09-02T08:00:00Z").toEpochMilli();
+        assertEquals(2, schedule.size());
+        assertEquals(first, schedule.nextAtOrAfter(first - 1));
+        assertEquals(first, schedule.nextAtOrAfter(first));
+        assertEquals(second, schedule.nextAtOrAfter(first + 1));
+        assertEquals(LeaderSchedule.NO_SLOT, schedule.nextAtOrAfter(second + 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a slot without a time")
+    void shouldRejectSlotWithoutTime() {
+        // Given
+        String json = "{\"assignedSlots\": [{\"no\": 1, \"slot\": 131200000}]}";
+
+        // When / Then
+        assertThrows(IOException.class,
+            () -> LeaderSchedule.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(LeaderSchedule.NO_SLOT, LeaderSchedule.EMPTY.nextAtOrAfter(0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.NextAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MonitorState Tests")
+class MonitorStateTest {
+
+    private MonitorState initial;
+
+    @BeforeEach
+    void setUp() {
+        MonitorConfig config = mock(MonitorConfig.class);
+        MonitorConfig.ServerConfig primary = mock(MonitorConfig.ServerConfig.class);
+        MonitorConfig.ServerConfig secondary = mock(MonitorConfig.ServerConfig.class);
+        when(config.primary()).thenReturn(primary);
+        when(config.secondary()).thenReturn(secondary);
+        when(config.standbys()).thenReturn(Optional.empty());
+
+        initial = MonitorState.initial(CandidateGroup.of(config), Instant.EPOCH);
+    }
+
+    @Test
+    @DisplayName("Should derive new candidate groups without touching the observed one")
+    void shouldKeepCandidateGroupsImmutable() {
+        // Given
+        CandidateGroup before = initial.candidates();
+
+        // When
+        CandidateGroup after = before.observe(new boolean[]{false, true}, 1_000);
+        CandidateGroup later = after.observe(new boolean[]{true, true}, 5_000);
+
+        // Then
+        assertFalse(before.isUp(1));
+        assertNull(before.downSince(0));
+        assertEquals(Instant.ofEpochMilli(1_000), after.downSince(0));
+        assertEquals(Instant.ofEpochMilli(1_000), later.upSince(1));
+        assertTrue(later.changedSince(after, 0));
+        assertFalse(later.changedSince(after, 1));
+    }
+
+    @Test
+    @DisplayName("Should apply a check cycle on top of the current state")
+    void shouldApplyCheckCycle() {
+        // Given
+        CandidateGroup observed = initial.candidates().observe(new boolean[]{false, true}, 1_000);
+        Instant checkedAt = Instant.ofEpochMilli(1_000);
+
+        // When
+        MonitorState stopped = initial.withRunning(false);
+        MonitorState checked = stopped.afterCheck(checkedAt, NextAction.WAITING_FOR_FAILOVER.withRemainingTime(60), observed);
+
+        // Then
+        assertFalse(checked.running());
+        assertEquals(checkedAt, checked.lastCheck());
+        assertEquals(NextAction.WAITING_FOR_FAILOVER, checked.lastNextAction().getAction());
+        assertSame(observed, checked.candidates());
+    }
+
+    @Test
+    @DisplayName("Should forget candidate timers after a manual switch but keep their health")
+    void shouldResetTimersOnManualSwitch() {
+        // Given
+        MonitorState down = initial.afterCheck(Instant.ofEpochMilli(1_000), NextAction.NONE.withoutContext(),
+            initial.candidates().observe(new boolean[]{false, true}, 1_000));
+
+        // When
+        MonitorState switched = down.afterManualSwitch();
+
+        // Then
+        assertNotNull(down.candidates().downSince(0));
+        assertNull(switched.candidates().downSince(0));
+        assertNull(switched.candidates().upSince(1));
+        assertTrue(switched.candidates().isUp(1));
+    }
+}
@@ -0,0 +1,149 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.ApiCallPriority;
+import com.cardano.monitor.service.DnsService.DnsRecordEntry;
+import com.cardano.monitor.service.DnsService.DnsRecordList;
+import com.cardano.monitor.service.DnsService.DnsUpdateRequest;
+import com.cardano.monitor.service.DnsService.NameComApiClient;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NameComAnswerSetPublisher Tests")
+class NameComAnswerSetPublisherTest {
+
+    private NameComAnswerSetPublisher publisher;
+    private NameComApiClient nameComClient;
+    private ApiQuotaManagerIF quotaManager;
+
+    @BeforeEach
+    void setUp() {
+        MonitorConfig.DnsConfig dnsConfig = mock(MonitorConfig.DnsConfig.class);
+        when(dnsConfig.username()).thenReturn("testuser");
+        when(dnsConfig.password()).thenReturn("testpass");
+        when(dnsConfig.domain()).thenReturn("example.com");
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.dns()).thenReturn(dnsConfig);
+
+        nameComClient = mock(NameComApiClient.class);
+        quotaManager = mock(ApiQuotaManagerIF.class);
+        when(quotaManager.tryAcquire(any())).thenReturn(true);
+
+        publisher = new NameComAnswerSetPublisher();
+        publisher.config = config;
+        publisher.nameComClient = nameComClient;
+        publisher.quotaManager = quotaManager;
+    }
+
+    @Test
+    @DisplayName("Should create new answers before deleting dropped ones")
+    void shouldMakeBeforeBreak() {
+        // Given
+        givenListed(
+            new DnsRecordEntry("1", "relays", "relays.example.com.", "A", "10.0.1.1", 60),
+            new DnsRecordEntry("2", "relays", "relays.example.com.", "A", "10.0.1.2", 60),
+            new DnsRecordEntry("3", "other", "other.example.com.", "A", "10.0.1.9", 60));
+        givenCreated("4", "10.0.1.3");
+        Response deleted = response(200);
+        when(nameComClient.deleteDnsRecord(anyString(), anyString(), anyString())).thenReturn(deleted);
+
+        // When
+        boolean published = publisher.publish("relays", "A", 60, List.of("10.0.1.1", "10.0.1.3"));
+
+        // Then
+        assertTrue(published);
+        ArgumentCaptor<DnsUpdateRequest> created = ArgumentCaptor.forClass(DnsUpdateRequest.class);
+        InOrder order = inOrder(nameComClient);
+        order.verify(nameComClient).createDnsRecord(anyString(), eq("example.com"), created.capture());
+        order.verify(nameComClient).deleteDnsRecord(anyString(), eq("example.com"), eq("2"));
+        assertEquals("10.0.1.3", created.getValue().answer());
+        assertEquals("relays", created.getValue().host());
+        verify(nameComClient, never()).deleteDnsRecord(anyString(), anyString(), eq("3"));
+    }
+
+    @Test
+    @DisplayName("Should list once and then write only the difference")
+    void shouldListOnceThenWriteDifference() {
+        // Given
+        givenListed(new DnsRecordEntry("1", "relays", "relays.example.com.", "A", "10.0.1.1", 60));
+        givenCreated("4", "10.0.1.3");
+        publisher.publish("relays", "A", 60, List.of("10.0.1.1", "10.0.1.3"));
+        Response deleted = response(200);
+        when(nameComClient.deleteDnsRecord(anyString(), anyString(), anyString())).thenReturn(deleted);
+
+        // When
+        boolean published = publisher.publish("relays", "A", 60, List.of("10.0.1.3"));
+
+        // Then
+        assertTrue(published);
+        verify(nameComClient, times(1)).listDnsRecords(anyString(), anyString());
+        verify(nameComClient, times(1)).createDnsRecord(anyString(), anyString(), any());
+        verify(nameComClient).deleteDnsRecord(anyString(), eq("example.com"), eq("1"));
+    }
+
+    @Test
+    @DisplayName("Should keep old answers and re-list after a failed create")
+    void shouldReListAfterFailedCreate() {
+        // Given
+        givenListed(new DnsRecordEntry("1", "relays", "relays.example.com.", "A", "10.0.1.1", 60));
+        Response failed = response(503);
+        when(nameComClient.createDnsRecord(anyString(), anyString(), any())).thenReturn(failed);
+
+        // When
+        boolean first = publisher.publish("relays", "A", 60, List.of("10.0.1.3"));
+        boolean second = publisher.publish("relays", "A", 60, List.of("10.0.1.3"));
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        verify(nameComClient, never()).deleteDnsRecord(anyString(), anyString(), anyString());
+        verify(nameComClient, times(2)).listDnsRecords(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should report a 429 to the quota manager")
+    void shouldReportRateLimit() {
+        // Given
+        Response limited = response(429);
+        when(limited.getHeaderString("Retry-After")).thenReturn("7");
+        when(nameComClient.listDnsRecords(anyString(), anyString())).thenReturn(limited);
+
+        // When
+        boolean published = publisher.publish("relays", "A", 60, List.of("10.0.1.1"));
+
+        // Then
+        assertFalse(published);
+        verify(quotaManager).tryAcquire(ApiCallPriority.RECONCILE);
+        verify(quotaManager).onRateLimited(java.time.Duration.ofSeconds(7));
+    }
+
+    private void givenListed(DnsRecordEntry... entries) {
+        Response listed = response(200);
+        when(listed.readEntity(DnsRecordList.class)).thenReturn(new DnsRecordList(List.of(entries)));
+        when(nameComClient.listDnsRecords(anyString(), eq("example.com"))).thenReturn(listed);
+    }
+
+    private void givenCreated(String recordId, String answer) {
+        Response created = response(200);
+        when(created.readEntity(DnsRecordEntry.class))
+            .thenReturn(new DnsRecordEntry(recordId, "relays", "relays.example.com.", "A", answer, 60));
+        when(nameComClient.createDnsRecord(anyString(), anyString(), any())).thenReturn(created);
+    }
+
+    private static Response response(int status) {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(status);
+        return response;
+    }
+}
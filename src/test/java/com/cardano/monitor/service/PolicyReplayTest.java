@@ -0,0 +1,77 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.journal.JournalRecord;
+import com.cardano.monitor.model.ReplayReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PolicyReplay Tests")
+class PolicyReplayTest {
+
+    private static final long INTERVAL = 10_000;
+
+    @Test
+    @DisplayName("Should report downtime, switches and flaps per timing")
+    void shouldCompareTimings() throws Exception {
+        // Given: primary down from 60s to 180s, secondary always up, DNS on the primary
+        StringBuilder csv = new StringBuilder("timestamp,active,up\n");
+        for (long time = 0; time <= 600_000; time += INTERVAL) {
+            boolean primaryUp = time < 60_000 || time >= 180_000;
+            csv.append(time).append(",0,").append(primaryUp ? "1;1" : "0;1").append('\n');
+        }
+        ProbeHistory history = ProbeHistory.parse(new StringReader(csv.toString()));
+        List<FailoverDecider> policies = List.of(
+            FailoverDecider.of(Duration.ofSeconds(30), Duration.ofSeconds(60)),
+            FailoverDecider.of(Duration.ofSeconds(180), Duration.ofSeconds(60)),
+            FailoverDecider.of(Duration.ofSeconds(30), Duration.ofSeconds(300)));
+
+        // When
+        List<ReplayReport.PolicyOutcome> outcomes = PolicyReplay.replay(history, initial(), policies, 3 * INTERVAL, 300_000);
+
+        // Then: quick failover and failback is one flap; waiting out the outage costs all of it
+        assertEquals(new ReplayReport.PolicyOutcome(30, 60, 30_000, 2, 1), outcomes.get(0));
+        assertEquals(new ReplayReport.PolicyOutcome(180, 60, 120_000, 0, 0), outcomes.get(1));
+        assertEquals(new ReplayReport.PolicyOutcome(30, 300, 30_000, 2, 0), outcomes.get(2));
+    }
+
+    @Test
+    @DisplayName("Should group journal records into cycles and export them")
+    void shouldReadCyclesFromJournal() throws Exception {
+        // Given: probes are journaled as they finish, before or after the DNS read
+        Stream<JournalRecord> records = Stream.of(
+            new JournalRecord(0, 1_000, JournalRecord.Type.PROBE, 1, 1, 900),
+            new JournalRecord(1, 1_000, JournalRecord.Type.DNS_READ, 0, 0, 300),
+            new JournalRecord(2, 1_000, JournalRecord.Type.PROBE, 0, 0, 5_000_000),
+            new JournalRecord(3, 1_000, JournalRecord.Type.DECISION, 0, 2, -1),
+            new JournalRecord(4, 11_000, JournalRecord.Type.DNS_READ, 0, 0, 300),
+            new JournalRecord(5, 11_000, JournalRecord.Type.PROBE, 0, 1, 800),
+            new JournalRecord(6, 11_000, JournalRecord.Type.PROBE, 1, 1, 700),
+            new JournalRecord(7, 11_500, JournalRecord.Type.SWITCH, 1, 1, 80_000));
+
+        // When
+        ProbeHistory history = ProbeHistory.fromJournal(records);
+        StringWriter exported = new StringWriter();
+        history.export(exported);
+
+        // Then
+        assertEquals("timestamp,active,up\n1000,0,0;1\n11000,0,1;1\n", exported.toString());
+        ProbeHistory parsed = ProbeHistory.parse(new StringReader(exported.toString()));
+        assertEquals(2, parsed.cycles());
+        assertFalse(parsed.isUp(0, 0));
+        assertTrue(parsed.isUp(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProbeHistory.parse(new StringReader("1000,0\n")));
+    }
+
+    private static MonitorState initial() {
+        return MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH);
+    }
+}
@@ -0,0 +1,99 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.PoolStatus;
+import com.cardano.monitor.model.ServerStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PoolScheduler Tests")
+class PoolSchedulerTest {
+
+    private final PoolScheduler scheduler = new PoolScheduler(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.close();
+    }
+
+    @Test
+    @DisplayName("Should spread pools over the shards round-robin")
+    void shouldSpreadPoolsOverShards() {
+        // Then
+        assertEquals(2, scheduler.shardCount());
+        assertEquals(0, scheduler.shardOf(0));
+        assertEquals(1, scheduler.shardOf(1));
+        assertEquals(0, scheduler.shardOf(2));
+    }
+
+    @Test
+    @DisplayName("Should keep checking a pool while another pool on the same shard is stuck")
+    void shouldNotLetSlowPoolDelayOthers() throws Exception {
+        // Given
+        BlockProducerMonitorServiceIF slowMonitor = monitor();
+        when(slowMonitor.checkServers()).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        BlockProducerMonitorServiceIF fastMonitor = monitor();
+        CountDownLatch fastChecks = new CountDownLatch(5);
+        when(fastMonitor.checkServers()).thenAnswer(invocation -> {
+            fastChecks.countDown();
+            return mock(ServerStatus.class);
+        });
+        PoolMonitor slow = pool("slow", slowMonitor);
+        PoolMonitor fast = pool("fast", fastMonitor);
+
+        // When
+        scheduler.start(List.of(slow, fast), Duration.ofHours(1));
+
+        // Then
+        assertTrue(fastChecks.await(2, TimeUnit.SECONDS));
+        PoolStatus slowStatus = slow.status();
+        assertNull(slowStatus.status());
+        assertTrue(slowStatus.skippedChecks() > 0);
+        assertNotNull(fast.status().status());
+        verify(slowMonitor, times(1)).checkServers();
+    }
+
+    @Test
+    @DisplayName("Should report a failing check per pool and keep scheduling it")
+    void shouldReportFailingCheck() throws Exception {
+        // Given
+        BlockProducerMonitorServiceIF failing = monitor();
+        CountDownLatch attempts = new CountDownLatch(2);
+        when(failing.checkServers()).thenAnswer(invocation -> {
+            attempts.countDown();
+            throw new IllegalStateException("boom");
+        });
+        PoolMonitor pool = pool("failing", failing);
+
+        // When
+        scheduler.start(List.of(pool), Duration.ofHours(1));
+
+        // Then
+        assertTrue(attempts.await(2, TimeUnit.SECONDS));
+        assertTrue(pool.status().lastError().contains("boom"));
+    }
+
+    private static BlockProducerMonitorServiceIF monitor() {
+        BlockProducerMonitorServiceIF monitor = mock(BlockProducerMonitorServiceIF.class);
+        when(monitor.isRunning()).thenReturn(true);
+        return monitor;
+    }
+
+    private static PoolMonitor pool(String name, BlockProducerMonitorServiceIF monitor) {
+        DnsReconcilerIF reconciler = mock(DnsReconcilerIF.class);
+        return new PoolMonitor(name, 0, Duration.ofMillis(20), monitor, reconciler, () -> {});
+    }
+}
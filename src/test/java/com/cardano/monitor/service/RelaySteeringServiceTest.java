@@ -0,0 +1,182 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.RelayPoolStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RelaySteeringService Tests")
+class RelaySteeringServiceTest {
+
+    private RelaySteeringService steering;
+    private NetworkServiceIF networkService;
+    private AnswerSetPublisherIF publisher;
+    private MonitorConfig.RelayPoolConfig pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = mock(MonitorConfig.RelayPoolConfig.class);
+        when(pool.enabled()).thenReturn(true);
+        when(pool.recordHost()).thenReturn("relays");
+        when(pool.recordType()).thenReturn("A");
+        when(pool.ttl()).thenReturn(60);
+        when(pool.maxAnswers()).thenReturn(0);
+        when(pool.rise()).thenReturn(2);
+        when(pool.fall()).thenReturn(2);
+        when(pool.members()).thenReturn(Optional.of(List.of(
+            member("relay1", "10.0.1.1", 100),
+            member("relay2", "10.0.1.2", 50),
+            member("relay3", "10.0.1.3", 200))));
+
+        MonitorConfig.TimingConfig timing = mock(MonitorConfig.TimingConfig.class);
+        when(timing.connectionTimeout()).thenReturn(Duration.ofSeconds(1));
+
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.relays()).thenReturn(pool);
+        when(config.timing()).thenReturn(timing);
+
+        networkService = mock(NetworkServiceIF.class);
+        when(networkService.checkHostPort(anyString(), anyInt(), any())).thenReturn(true);
+        publisher = mock(AnswerSetPublisherIF.class);
+        when(publisher.publish(anyString(), anyString(), anyInt(), anyList())).thenReturn(true);
+
+        steering = new RelaySteeringService();
+        steering.config = config;
+        steering.networkService = networkService;
+        steering.publisher = publisher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        steering.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should publish healthy relays by descending weight and only when the set changes")
+    void shouldPublishHealthyRelaysByWeight() {
+        // When
+        steering.runCycle();
+        steering.runCycle();
+
+        // Then
+        verify(publisher, times(1)).publish("relays", "A", 60, List.of("10.0.1.3", "10.0.1.1", "10.0.1.2"));
+        assertEquals(List.of("10.0.1.3", "10.0.1.1", "10.0.1.2"), steering.getStatus().publishedAnswers());
+    }
+
+    @Test
+    @DisplayName("Should drop a relay only after fall consecutive failures")
+    void shouldApplyFallHysteresis() {
+        // Given
+        steering.runCycle();
+        when(networkService.checkHostPort(eq("10.0.1.2"), anyInt(), any())).thenReturn(false);
+
+        // When
+        steering.runCycle();
+
+        // Then
+        verify(publisher, times(1)).publish(anyString(), anyString(), anyInt(), anyList());
+
+        // When
+        steering.runCycle();
+
+        // Then
+        verify(publisher).publish("relays", "A", 60, List.of("10.0.1.3", "10.0.1.1"));
+        RelayPoolStatus.MemberStatus relay2 = steering.getStatus().members().get(1);
+        assertFalse(relay2.healthy());
+        assertFalse(relay2.published());
+    }
+
+    @Test
+    @DisplayName("Should add a recovered relay back only after rise consecutive successes")
+    void shouldApplyRiseHysteresis() {
+        // Given
+        when(networkService.checkHostPort(eq("10.0.1.2"), anyInt(), any())).thenReturn(false);
+        steering.runCycle();
+        when(networkService.checkHostPort(eq("10.0.1.2"), anyInt(), any())).thenReturn(true);
+
+        // When
+        steering.runCycle();
+
+        // Then
+        assertEquals(List.of("10.0.1.3", "10.0.1.1"), steering.getStatus().publishedAnswers());
+
+        // When
+        steering.runCycle();
+
+        // Then
+        assertEquals(List.of("10.0.1.3", "10.0.1.1", "10.0.1.2"), steering.getStatus().publishedAnswers());
+    }
+
+    @Test
+    @DisplayName("Should keep the current answers when no relay is healthy")
+    void shouldNeverPublishEmptySet() {
+        // Given
+        steering.runCycle();
+        when(networkService.checkHostPort(anyString(), anyInt(), any())).thenReturn(false);
+
+        // When
+        steering.runCycle();
+        steering.runCycle();
+
+        // Then
+        verify(publisher, times(1)).publish(anyString(), anyString(), anyInt(), anyList());
+        RelayPoolStatus status = steering.getStatus();
+        assertEquals(3, status.publishedAnswers().size());
+        assertNotNull(status.lastError());
+    }
+
+    @Test
+    @DisplayName("Should cap the answer set at max-answers and skip drained relays")
+    void shouldCapAnswersAndSkipDrained() {
+        // Given
+        when(pool.maxAnswers()).thenReturn(1);
+        when(pool.members()).thenReturn(Optional.of(List.of(
+            member("relay1", "10.0.1.1", 100),
+            member("relay3", "10.0.1.3", 0))));
+
+        // When
+        steering.runCycle();
+
+        // Then
+        verify(publisher).publish("relays", "A", 60, List.of("10.0.1.1"));
+    }
+
+    @Test
+    @DisplayName("Should retry the publish on the next cycle after a failure")
+    void shouldRetryFailedPublish() {
+        // Given
+        when(publisher.publish(anyString(), anyString(), anyInt(), anyList())).thenReturn(false, true);
+
+        // When
+        steering.runCycle();
+        RelayPoolStatus afterFailure = steering.getStatus();
+        steering.runCycle();
+
+        // Then
+        assertTrue(afterFailure.publishedAnswers().isEmpty());
+        assertNotNull(afterFailure.lastError());
+        verify(publisher, times(2)).publish(anyString(), anyString(), anyInt(), anyList());
+        assertEquals(3, steering.getStatus().publishedAnswers().size());
+        assertNull(steering.getStatus().lastError());
+    }
+
+    private static MonitorConfig.RelayMemberConfig member(String name, String host, int weight) {
+        MonitorConfig.RelayMemberConfig member = mock(MonitorConfig.RelayMemberConfig.class);
+        when(member.name()).thenReturn(name);
+        when(member.host()).thenReturn(host);
+        when(member.port()).thenReturn(3001);
+        when(member.weight()).thenReturn(weight);
+        when(member.answer()).thenReturn(Optional.empty());
+        return member;
+    }
+}
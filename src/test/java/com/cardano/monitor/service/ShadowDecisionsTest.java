@@ -0,0 +1,63 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.model.NextAction;
+import com.cardano.monitor.model.ShadowReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShadowDecisions Tests")
+class ShadowDecisionsTest {
+
+    @Test
+    @DisplayName("Should record the switch the shadow would make while the live path still waits")
+    void shouldReportDivergenceUntilLiveCatchesUp() {
+        // Given: shadow fails over after 30s; the live path switches at 100s; primary down from 10s
+        ShadowDecisions shadow = new ShadowDecisions(FailoverDecider.of(Duration.ofSeconds(30), Duration.ofSeconds(60)), 10);
+        MonitorState live = MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH);
+
+        // When
+        for (long time = 0; time <= 110_000; time += 10_000) {
+            int active = time <= 100_000 ? 0 : 1;
+            int liveTarget = time == 100_000 ? 1 : CandidateGroup.NO_CANDIDATE;
+            NextAction liveAction = time == 100_000 ? NextAction.SWITCHED_TO_SECONDARY
+                : time >= 10_000 && active == 0 ? NextAction.WAITING_FOR_FAILOVER : NextAction.NONE;
+            shadow.observe(live, new FailoverDecider.Observation(active, new boolean[]{time < 10_000, true}),
+                Instant.ofEpochMilli(time), liveTarget, liveAction);
+        }
+
+        // Then: asked for at 40s and again every cycle until the live switch, reported once
+        ShadowReport report = shadow.report();
+        assertEquals(12, report.cycles());
+        assertEquals(6, report.divergentCycles());
+        assertEquals(1, report.intendedSwitches());
+        assertEquals(1, report.divergences().size());
+        ShadowReport.Divergence divergence = report.divergences().getFirst();
+        assertEquals(Instant.ofEpochMilli(40_000), divergence.at());
+        assertNull(divergence.liveTarget());
+        assertEquals("bp-b", divergence.shadowTarget());
+        assertEquals(NextAction.WAITING_FOR_FAILOVER, divergence.liveAction());
+        assertEquals(NextAction.SWITCHED_TO_SECONDARY, divergence.shadowAction());
+    }
+
+    @Test
+    @DisplayName("Should start from the live timers on its first cycle")
+    void shouldStartFromLiveState() {
+        // Given: the live state has seen the primary down since 0s, e.g. restored from a snapshot
+        ShadowDecisions shadow = new ShadowDecisions(FailoverDecider.of(Duration.ofSeconds(30), Duration.ofSeconds(60)), 10);
+        MonitorState live = MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH);
+        live = live.afterCheck(Instant.EPOCH, live.lastNextAction(), live.candidates().observe(new boolean[]{false, true}, 0));
+
+        // When
+        shadow.observe(live, new FailoverDecider.Observation(0, new boolean[]{false, true}), Instant.ofEpochMilli(30_000),
+            CandidateGroup.NO_CANDIDATE, NextAction.WAITING_FOR_FAILOVER);
+
+        // Then
+        assertEquals(1, shadow.report().intendedSwitches());
+        assertEquals("bp-a", shadow.report().divergences().getFirst().active());
+    }
+}
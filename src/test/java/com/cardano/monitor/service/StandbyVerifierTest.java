@@ -0,0 +1,156 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.model.StandbyVerdict;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StandbyVerifier Tests")
+class StandbyVerifierTest {
+
+    // Handshake replies: [3, {}] lists versions, [2, ...] refuses
+    private static final byte[] QUERY_REPLY = {(byte) 0x82, 0x03, (byte) 0xA0};
+    private static final byte[] REFUSE = {(byte) 0x82, 0x02, (byte) 0x80};
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochSecond(1_000), ZoneOffset.UTC);
+    private ServerSocket node;
+    private HttpServer metrics;
+    private volatile byte[] handshakeReply = QUERY_REPLY;
+    private volatile String metricsBody;
+    private MonitorConfig.StandbyVerificationConfig config;
+    private MonitorConfig.ServerConfig standby;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        node = new ServerSocket(0);
+        Thread.ofVirtual().start(this::serveHandshakes);
+        metrics = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        metrics.createContext("/metrics", exchange -> {
+            byte[] body = metricsBody.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        metrics.start();
+
+        config = mock(MonitorConfig.StandbyVerificationConfig.class);
+        when(config.networkMagic()).thenReturn(764824073L);
+        when(config.metricsPort()).thenReturn(metrics.getAddress().getPort());
+        when(config.metricsPath()).thenReturn("/metrics");
+        when(config.tipMetric()).thenReturn("cardano_node_metrics_slotNum_int");
+        when(config.peersMetric()).thenReturn("cardano_node_metrics_connectedPeers_int");
+        when(config.slotZeroTime()).thenReturn(Instant.EPOCH);
+        when(config.maxTipAge()).thenReturn(Duration.ofSeconds(120));
+        when(config.minPeers()).thenReturn(2);
+        when(config.verdictMaxAge()).thenReturn(Duration.ofMinutes(2));
+        standby = mock(MonitorConfig.ServerConfig.class);
+        when(standby.name()).thenReturn("standby");
+        when(standby.host()).thenReturn("127.0.0.1");
+        when(standby.port()).thenReturn(node.getLocalPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        node.close();
+        metrics.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should find a node fit when it shakes hands, is at the tip and has peers")
+    void shouldFindSyncedNodeFit() {
+        // Given: the tip 10s behind the clock, a sample with a timestamp and help lines around it
+        metricsBody = """
+            # HELP cardano_node_metrics_slotNum_int slot number
+            # TYPE cardano_node_metrics_slotNum_int gauge
+            cardano_node_metrics_slotNum_int 990 1700000000000
+            cardano_node_metrics_connectedPeers_int 5
+            """;
+
+        // When
+        StandbyVerdict verdict = new StandbyVerifier(config, 3, Duration.ofSeconds(2), clock).verify(standby);
+
+        // Then
+        assertTrue(verdict.fit(), verdict.reason());
+        assertEquals(Long.valueOf(10), verdict.tipAgeSeconds());
+        assertEquals(Integer.valueOf(5), verdict.peers());
+    }
+
+    @Test
+    @DisplayName("Should find a node unfit when its tip is stale and report it to the decider")
+    void shouldFindStaleNodeUnfit() throws Exception {
+        // Given: the tip 500s behind the clock
+        metricsBody = "cardano_node_metrics_slotNum_int 500\ncardano_node_metrics_connectedPeers_int 5\n";
+        StandbyVerifier verifier = new StandbyVerifier(config, 3, Duration.ofSeconds(2), clock);
+        MonitorConfig monitorConfig = mock(MonitorConfig.class);
+        when(monitorConfig.primary()).thenReturn(mock(MonitorConfig.ServerConfig.class));
+        when(monitorConfig.secondary()).thenReturn(mock(MonitorConfig.ServerConfig.class));
+        when(monitorConfig.standbys()).thenReturn(Optional.of(List.of(standby)));
+        CandidateGroup group = CandidateGroup.of(monitorConfig);
+
+        // When
+        verifier.verifyAsync(group, 2, Runnable::run);
+
+        // Then
+        StandbyVerdict verdict = verifier.verdicts().getFirst();
+        assertFalse(verdict.fit());
+        assertEquals("tip is 500s old", verdict.reason());
+        assertArrayEquals(new boolean[]{false, false, true}, verifier.unfit(3, clock.millis()));
+        assertNull(verifier.unfit(3, clock.millis() + Duration.ofMinutes(2).toMillis()));
+    }
+
+    @Test
+    @DisplayName("Should find a node unfit when it refuses the handshake")
+    void shouldFindRefusingNodeUnfit() {
+        // Given: a node on another network
+        handshakeReply = REFUSE;
+        metricsBody = "cardano_node_metrics_slotNum_int 990\ncardano_node_metrics_connectedPeers_int 5\n";
+
+        // When
+        StandbyVerdict verdict = new StandbyVerifier(config, 3, Duration.ofSeconds(2), clock).verify(standby);
+
+        // Then
+        assertFalse(verdict.fit());
+        assertTrue(verdict.reason().startsWith("handshake refused"));
+        assertNull(verdict.tipAgeSeconds());
+    }
+
+    private void serveHandshakes() {
+        while (!node.isClosed()) {
+            try (Socket socket = node.accept()) {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                in.readInt();
+                in.readUnsignedShort();
+                in.readFully(new byte[in.readUnsignedShort()]);
+                byte[] reply = handshakeReply;
+                OutputStream out = socket.getOutputStream();
+                // Mode bit set: sent by the responder
+                out.write(new byte[]{0, 0, 0, 0, (byte) 0x80, 0, 0, (byte) reply.length});
+                out.write(reply);
+                out.flush();
+            } catch (IOException e) {
+                // Closed by tearDown
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StateSnapshots Tests")
+class StateSnapshotsTest {
+
+    private static final Instant SAVED_AT = Instant.ofEpochMilli(1_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore candidate timers and the daemon flag after a restart")
+    void shouldRestoreTimers() throws Exception {
+        // Given
+        MonitorState before = MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH).withRunning(false);
+        before = before.afterCheck(SAVED_AT, before.lastNextAction(),
+            before.candidates().observe(new boolean[]{false, true}, 900_000));
+        StateSnapshots snapshots = new StateSnapshots(directory.resolve("state"), Duration.ofMinutes(15), Clock.fixed(SAVED_AT, ZoneOffset.UTC), holder(before));
+        snapshots.save();
+
+        // When
+        MonitorState restored = snapshots.restore(MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH), SAVED_AT.plusSeconds(5));
+
+        // Then
+        assertFalse(restored.running());
+        assertFalse(restored.candidates().isUp(0));
+        assertEquals(Instant.ofEpochMilli(900_000), restored.candidates().downSince(0));
+        assertEquals(Instant.ofEpochMilli(900_000), restored.candidates().upSince(1));
+        assertEquals(105_000, restored.candidates().downForMillis(0, 1_005_000));
+    }
+
+    @Test
+    @DisplayName("Should match candidates by name when the configured list changed")
+    void shouldMatchCandidatesByName() throws Exception {
+        // Given
+        MonitorState before = MonitorState.initial(TestCandidates.group("bp-a", "bp-b", "bp-c"), Instant.EPOCH);
+        before = before.afterCheck(SAVED_AT, before.lastNextAction(),
+            before.candidates().observe(new boolean[]{true, true, false}, 900_000));
+        byte[] bytes = StateSnapshots.encode(before, SAVED_AT);
+
+        // When
+        MonitorState restored = StateSnapshots.decode(bytes, MonitorState.initial(TestCandidates.group("bp-c", "bp-a", "bp-new"), Instant.EPOCH),
+            SAVED_AT, Duration.ofMinutes(15));
+
+        // Then
+        assertEquals(Instant.ofEpochMilli(900_000), restored.candidates().downSince(0));
+        assertEquals(Instant.ofEpochMilli(900_000), restored.candidates().upSince(1));
+        assertFalse(restored.candidates().isObserved(2));
+    }
+
+    @Test
+    @DisplayName("Should start fresh from a stale, corrupt or missing snapshot")
+    void shouldIgnoreUnusableSnapshots() throws Exception {
+        // Given
+        MonitorState before = MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH);
+        byte[] bytes = StateSnapshots.encode(before, SAVED_AT);
+        MonitorState fresh = MonitorState.initial(TestCandidates.group("bp-a", "bp-b"), Instant.EPOCH);
+        StateSnapshots missing = new StateSnapshots(directory.resolve("missing"), Duration.ofMinutes(15), Clock.fixed(SAVED_AT, ZoneOffset.UTC), holder(before));
+
+        // When
+        MonitorState stale = StateSnapshots.decode(bytes, fresh, SAVED_AT.plus(Duration.ofHours(1)), Duration.ofMinutes(15));
+        bytes[10] ^= 0x01;
+        byte[] corrupt = bytes;
+
+        // Then
+        assertSame(fresh, stale);
+        assertThrows(IOException.class, () -> StateSnapshots.decode(corrupt, fresh, SAVED_AT, Duration.ofMinutes(15)));
+        assertSame(fresh, missing.restore(fresh, SAVED_AT));
+    }
+
+    private static Supplier<MonitorState> holder(MonitorState state) {
+        return () -> state;
+    }
+}
@@ -0,0 +1,46 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Mocked candidate configuration for tests that need a {@link CandidateGroup} but no network.
+ * Candidates are given in priority order: primary, secondary, then the standbys.
+ */
+final class TestCandidates {
+
+    private TestCandidates() {
+    }
+
+    static CandidateGroup group(String... names) {
+        return CandidateGroup.of(config(Arrays.stream(names).map(TestCandidates::server).toArray(MonitorConfig.ServerConfig[]::new)));
+    }
+
+    /**
+     * A mocked configuration with these candidates; further settings can be stubbed on it.
+     */
+    static MonitorConfig config(MonitorConfig.ServerConfig... servers) {
+        MonitorConfig config = mock(MonitorConfig.class);
+        when(config.primary()).thenReturn(servers[0]);
+        when(config.secondary()).thenReturn(servers[1]);
+        when(config.standbys()).thenReturn(Optional.of(Arrays.asList(servers).subList(2, servers.length)));
+        return config;
+    }
+
+    static MonitorConfig.ServerConfig server(String name) {
+        MonitorConfig.ServerConfig server = mock(MonitorConfig.ServerConfig.class);
+        when(server.name()).thenReturn(name);
+        return server;
+    }
+
+    static MonitorConfig.ServerConfig server(String name, String host) {
+        MonitorConfig.ServerConfig server = server(name);
+        when(server.host()).thenReturn(host);
+        when(server.port()).thenReturn(6000);
+        return server;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cardano.monitor.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TrendDetector Tests")
+class TrendDetectorTest {
+
+    private final TrendDetector detector = new TrendDetector(0.05, 1, 5, 20, 1);
+
+    @Test
+    @DisplayName("Should stay quiet on a noisy but steady series with the odd spike")
+    void shouldIgnoreNoiseAndSpikes() {
+        // Given
+        Random random = new Random(42);
+        boolean alarmed = false;
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            double value = 20 + random.nextGaussian() * 3 + (i % 100 == 50 ? 30 : 0);
+            alarmed |= detector.add(value);
+        }
+
+        // Then
+        assertFalse(alarmed);
+        assertEquals(20, detector.baseline(), 2);
+    }
+
+    @Test
+    @DisplayName("Should alarm within a few samples of a steady rise and clear once it levels off again")
+    void shouldAlarmOnRiseAndClear() {
+        // Given: a learned baseline
+        Random random = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            detector.add(20 + random.nextGaussian() * 3);
+        }
+
+        // When: the series climbs by 2 per sample
+        int samplesToAlarm = 0;
+        while (!detector.add(20 + 2 * ++samplesToAlarm + random.nextGaussian() * 3) && samplesToAlarm < 50) {
+            // keep climbing
+        }
+
+        // Then
+        assertTrue(detector.alarmed());
+        assertTrue(samplesToAlarm <= 10, "alarmed after " + samplesToAlarm + " samples");
+
+        // When: it falls back to where it was
+        for (int i = 0; i < 30; i++) {
+            detector.add(20 + random.nextGaussian() * 3);
+        }
+
+        // Then
+        assertFalse(detector.alarmed());
+    }
+
+    @Test
+    @DisplayName("Should not alarm while learning its baseline")
+    void shouldNotAlarmDuringWarmUp() {
+        // Given: a series that jumps right after its first sample
+        detector.add(10);
+
+        // When
+        boolean alarmed = false;
+        for (int i = 1; i < 20; i++) {
+            alarmed |= detector.add(100);
+        }
+
+        // Then
+        assertFalse(alarmed);
+    }
+}
@@ -0,0 +1,88 @@
+package com.cardano.monitor.service;
+
+import com.cardano.monitor.config.MonitorConfig;
+import com.cardano.monitor.dto.ProbeReport;
+import com.cardano.monitor.model.VantageStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("VantageAggregator Tests")
+class VantageAggregatorTest {
+
+    private final VirtualClock clock = new VirtualClock(FailoverSimulation.START);
+    private VantageAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        MonitorConfig config = mock(MonitorConfig.class);
+        MonitorConfig.VantageConfig vantage = mock(MonitorConfig.VantageConfig.class);
+        when(config.vantage()).thenReturn(vantage);
+        when(vantage.enabled()).thenReturn(true);
+        when(vantage.quorum()).thenReturn(2);
+        when(vantage.reportMaxAge()).thenReturn(Duration.ofSeconds(90));
+
+        aggregator = new VantageAggregator();
+        aggregator.config = config;
+        aggregator.clock = clock;
+    }
+
+    @Test
+    @DisplayName("Should keep a node up that only this monitor sees down")
+    void shouldOverruleLoneDownVote() {
+        // Given: two agents that reach the primary
+        aggregator.accept(report("eu", List.of("10.0.0.1:3001"), List.of()));
+        aggregator.accept(report("us", List.of("10.0.0.1:3001"), List.of()));
+
+        // When
+        boolean down = aggregator.isDown("10.0.0.1", 3001, true, clock.millis());
+
+        // Then
+        assertFalse(down);
+    }
+
+    @Test
+    @DisplayName("Should count a node down once the quorum agrees, whatever this monitor sees")
+    void shouldCountNodeDownOnQuorum() {
+        // Given
+        aggregator.accept(report("eu", List.of(), List.of("10.0.0.1:3001")));
+        aggregator.accept(report("us", List.of("10.0.0.1:3001"), List.of()));
+
+        // When
+        boolean downHereToo = aggregator.isDown("10.0.0.1", 3001, true, clock.millis());
+        boolean downByAgents = aggregator.isDown("10.0.0.1", 3001, false, clock.millis());
+
+        // Then
+        assertTrue(downHereToo);
+        assertFalse(downByAgents);
+    }
+
+    @Test
+    @DisplayName("Should fall back to this monitor's own view when the agents go quiet")
+    void shouldIgnoreStaleReports() {
+        // Given
+        aggregator.accept(report("eu", List.of("10.0.0.1:3001"), List.of()));
+        aggregator.accept(report("us", List.of("10.0.0.1:3001"), List.of()));
+
+        // When
+        clock.advance(Duration.ofSeconds(91));
+        boolean down = aggregator.isDown("10.0.0.1", 3001, true, clock.millis());
+        VantageStatus status = aggregator.getStatus();
+
+        // Then
+        assertTrue(down);
+        assertEquals(2, status.agents().size());
+        assertTrue(status.agents().stream().noneMatch(VantageStatus.Agent::fresh));
+    }
+
+    private ProbeReport report(String agent, List<String> up, List<String> down) {
+        return new ProbeReport(agent, Instant.ofEpochMilli(clock.millis()), up, down);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cardano.monitor.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A clock that only moves when told to, for running the monitor through hours of virtual time
+ * without sleeping. Safe to read from the monitor's threads while the test thread advances it.
+ */
+final class VirtualClock extends Clock {
+
+    private volatile long millis;
+
+    VirtualClock(Instant start) {
+        this.millis = start.toEpochMilli();
+    }
+
+    void advance(Duration duration) {
+        millis += duration.toMillis();
+    }
+
+    void set(Instant instant) {
+        millis = instant.toEpochMilli();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+}
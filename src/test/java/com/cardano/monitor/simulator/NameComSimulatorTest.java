@@ -0,0 +1,225 @@
+package com.cardano.monitor.simulator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NameComSimulator Tests")
+class NameComSimulatorTest {
+
+    private static final String AUTH = "Basic dGVzdHVzZXI6dGVzdHBhc3M=";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private NameComSimulator simulator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simulator = NameComSimulator.start(0, SimulatorSettings.defaults());
+        simulator.putRecord("example.com", "123456", Map.of(
+            "host", "test", "fqdn", "test.example.com", "type", "A", "answer", "192.168.1.100", "ttl", 300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.close();
+    }
+
+    @Test
+    @DisplayName("Should serve and update records like the name.com API")
+    void shouldServeAndUpdateRecords() throws Exception {
+        // When
+        HttpResponse<String> before = get("123456", AUTH);
+        HttpResponse<String> update = put("123456",
+            "{\"host\":\"test\",\"fqdn\":\"test.example.com\",\"type\":\"A\",\"answer\":\"192.168.1.101\",\"ttl\":30}");
+        HttpResponse<String> after = get("123456", AUTH);
+
+        // Then
+        assertEquals(200, before.statusCode());
+        assertTrue(before.body().contains("\"answer\":\"192.168.1.100\""));
+        assertEquals(200, update.statusCode());
+        assertTrue(after.body().contains("\"answer\":\"192.168.1.101\""));
+        assertTrue(after.body().contains("\"ttl\":30"));
+        assertEquals("192.168.1.101", simulator.getRecord("example.com", "123456").orElseThrow().get("answer"));
+        assertEquals(2, simulator.stats().requests("GET"));
+        assertEquals(1, simulator.stats().requests("PUT"));
+    }
+
+    @Test
+    @DisplayName("Should list, create and delete records")
+    void shouldListCreateAndDeleteRecords() throws Exception {
+        // When
+        HttpResponse<String> created = send("POST", simulator.baseUri().resolve("/v4/domains/example.com/records"),
+            "{\"host\":\"relays\",\"type\":\"A\",\"answer\":\"10.0.1.1\",\"ttl\":60}");
+        HttpResponse<String> listed = send("GET", simulator.baseUri().resolve("/v4/domains/example.com/records"), null);
+        HttpResponse<String> deleted = send("DELETE", recordUri("123456"), null);
+        HttpResponse<String> deletedAgain = send("DELETE", recordUri("123456"), null);
+
+        // Then
+        assertEquals(200, created.statusCode());
+        assertTrue(created.body().contains("\"id\":\"1000000\""));
+        assertTrue(listed.body().startsWith("{\"records\":["));
+        assertTrue(listed.body().contains("\"answer\":\"10.0.1.1\""));
+        assertTrue(listed.body().contains("\"answer\":\"192.168.1.100\""));
+        assertEquals(200, deleted.statusCode());
+        assertEquals(404, deletedAgain.statusCode());
+        assertEquals(List.of("10.0.1.1"), simulator.listRecords("example.com").stream().map(r -> r.get("answer")).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject unauthenticated calls and unknown records")
+    void shouldRejectUnauthenticatedAndUnknown() throws Exception {
+        // When / Then
+        assertEquals(401, get("123456", null).statusCode());
+        assertEquals(404, get("999999", AUTH).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should fail the requested number of calls")
+    void shouldFailRequestedNumberOfCalls() throws Exception {
+        // Given
+        simulator.failNext(2, 503);
+
+        // When / Then
+        assertEquals(503, get("123456", AUTH).statusCode());
+        assertEquals(503, get("123456", AUTH).statusCode());
+        assertEquals(200, get("123456", AUTH).statusCode());
+        assertEquals(2, simulator.stats().responses(503));
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the burst is spent")
+    void shouldRateLimit() throws Exception {
+        // Given
+        simulator.configure(SimulatorSettings.defaults().withRateLimit(1, 2));
+
+        // When
+        HttpResponse<String> first = get("123456", AUTH);
+        HttpResponse<String> second = get("123456", AUTH);
+        HttpResponse<String> third = get("123456", AUTH);
+
+        // Then
+        assertEquals(200, first.statusCode());
+        assertEquals(200, second.statusCode());
+        assertEquals(429, third.statusCode());
+        assertEquals("1", third.headers().firstValue("Retry-After").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should delay responses by the configured latency")
+    void shouldDelayResponses() throws Exception {
+        // Given
+        simulator.configure(SimulatorSettings.defaults().withLatency(LatencyModel.fixed(Duration.ofMillis(150))));
+
+        // When
+        long start = System.nanoTime();
+        HttpResponse<String> response = get("123456", AUTH);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertTrue(elapsedMillis >= 150, "expected at least 150ms, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should stall halfway through slow bodies")
+    void shouldStallSlowBodies() throws Exception {
+        // Given
+        simulator.configure(SimulatorSettings.defaults().withSlowBodies(1.0, Duration.ofMillis(200)));
+
+        // When
+        long start = System.nanoTime();
+        HttpResponse<String> response = get("123456", AUTH);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertTrue(response.body().contains("\"answer\":\"192.168.1.100\""));
+        assertTrue(elapsedMillis >= 200, "expected at least 200ms, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should repeat the same failures for the same seed")
+    void shouldRepeatFailuresForSameSeed() throws Exception {
+        // Given
+        SimulatorSettings settings = SimulatorSettings.defaults().withErrors(0.5, 500).withSeed(7);
+
+        // When
+        simulator.configure(settings);
+        List<Integer> firstRun = statuses(20);
+        simulator.configure(settings);
+        List<Integer> secondRun = statuses(20);
+
+        // Then
+        assertEquals(firstRun, secondRun);
+        assertTrue(firstRun.contains(500));
+        assertTrue(firstRun.contains(200));
+    }
+
+    @Test
+    @DisplayName("Should fit the log-normal latency model to median and p99")
+    void shouldFitLogNormalLatency() {
+        // Given
+        LatencyModel model = LatencyModel.logNormal(Duration.ofMillis(80), Duration.ofMillis(400));
+        java.util.Random random = new java.util.Random(1);
+
+        // When
+        long[] samples = new long[10_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = model.sample(random).toMillis();
+        }
+        java.util.Arrays.sort(samples);
+
+        // Then
+        assertEquals(80, samples[samples.length / 2], 8);
+        assertEquals(400, samples[(int) (samples.length * 0.99)], 60);
+    }
+
+    private List<Integer> statuses(int count) throws Exception {
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            statuses.add(get("123456", AUTH).statusCode());
+        }
+        return statuses;
+    }
+
+    private HttpResponse<String> get(String recordId, String authorization) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(recordUri(recordId)).GET();
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> put(String recordId, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(recordUri(recordId))
+            .header("Authorization", AUTH)
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> send(String method, URI uri, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Authorization", AUTH)
+            .header("Content-Type", "application/json")
+            .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI recordUri(String recordId) {
+        return simulator.baseUri().resolve("/v4/domains/example.com/records/" + recordId);
+    }
+}